@@ -0,0 +1,46 @@
+package com.example.benchmark;
+
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.ReglasMesa;
+import com.example.simulacion.ResultadoSimulacion;
+import com.example.simulacion.SimuladorMonteCarlo;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compara el rendimiento del {@link SimuladorMonteCarlo} con uno a siete
+ * asientos por mesa. Con más asientos el crupier juega una sola vez para
+ * más manos, así que cada mano cuesta menos; el valor esperado por mano no
+ * debería moverse más que el ruido.
+ *
+ * Uso: {@code BenchmarkAsientos [manos] [reglas] [semilla]}
+ */
+public class BenchmarkAsientos {
+
+    public static void main(String[] args) {
+        long manos = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+        ReglasMesa reglas = ReglasMesa.leer(args.length > 1 ? args[1] : "mazos=6");
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        EstrategiaTabla estrategia = EstrategiaTabla.basica(reglas);
+        // Una corrida corta de cada variante para que el JIT las compile antes de medir
+        for (int asientos = 1; asientos <= SimuladorMonteCarlo.MAXIMO_ASIENTOS; asientos++) {
+            crear(reglas, asientos, estrategia).simular(manos / 10, semilla);
+        }
+
+        System.out.printf("%,d manos por corrida, reglas %s, estrategia básica%n", manos, reglas);
+        double base = 0;
+        for (int asientos = 1; asientos <= SimuladorMonteCarlo.MAXIMO_ASIENTOS; asientos++) {
+            ResultadoSimulacion resultado = crear(reglas, asientos, estrategia).simular(manos, semilla);
+            if (asientos == 1) {
+                base = resultado.getManosPorSegundo();
+            }
+            System.out.printf("%d asientos: %,12.0f manos/s  %5.2fx  EV %+.5f%n", asientos,
+                resultado.getManosPorSegundo(), resultado.getManosPorSegundo() / base,
+                resultado.getValorEsperado());
+        }
+    }
+
+    private static SimuladorMonteCarlo crear(ReglasMesa reglas, int asientos, EstrategiaTabla estrategia) {
+        return new SimuladorMonteCarlo(reglas, asientos, 0.75, estrategia, null, ForkJoinPool.commonPool());
+    }
+}
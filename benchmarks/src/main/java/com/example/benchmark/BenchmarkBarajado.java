@@ -0,0 +1,91 @@
+package com.example.benchmark;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.aleatorio.GeneradorSeguro;
+import com.example.aleatorio.GeneradorSplitMix;
+import com.example.aleatorio.GeneradorXoshiro;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Mazo;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mide cuántas barajadas completas por segundo hace un zapato con cada
+ * {@link GeneradorAleatorio}, y de paso revisa con chi-cuadrado que la
+ * primera carta del zapato salga uniforme entre los 52 códigos.
+ *
+ * Uso: {@code BenchmarkBarajado [barajadas] [mazos] [generador]}. Sin
+ * generador se mide cada uno en su propia JVM, para que la llamada al
+ * generador dentro de {@link Mazo#barajar()} vea un solo tipo y el JIT la
+ * optimice como en un proceso real, que usa siempre el mismo.
+ */
+public class BenchmarkBarajado {
+
+    private static final String[] GENERADORES = {
+        GeneradorSplitMix.NOMBRE, GeneradorXoshiro.NOMBRE, GeneradorSeguro.NOMBRE
+    };
+
+    /** Chi-cuadrado con 51 grados de libertad que se supera solo el 0,1% de las veces */
+    private static final double CHI_CUADRADO_LIMITE = 87.97;
+
+    public static void main(String[] args) throws Exception {
+        long barajadas = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int mazos = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        if (args.length > 2) {
+            medir(GeneradorAleatorio.crear(args[2], 42), barajadas, mazos);
+            return;
+        }
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        for (String nombre : GENERADORES) {
+            List<String> comando = new ArrayList<>();
+            comando.add(java);
+            comando.add("-cp");
+            comando.add(System.getProperty("java.class.path"));
+            comando.add(BenchmarkBarajado.class.getName());
+            comando.add(Long.toString(barajadas));
+            comando.add(Integer.toString(mazos));
+            comando.add(nombre);
+            int salida = new ProcessBuilder(comando).inheritIO().start().waitFor();
+            if (salida != 0) {
+                System.err.println("La medición de " + nombre + " terminó con código " + salida);
+            }
+        }
+    }
+
+    private static void medir(GeneradorAleatorio generador, long barajadas, int mazos) {
+        Mazo mazo = new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, generador);
+        long[] primeras = new long[CodigoCarta.CARTAS_POR_MAZO];
+
+        // Calentamiento del JIT
+        barajar(mazo, primeras, barajadas / 10);
+        java.util.Arrays.fill(primeras, 0);
+
+        long inicio = System.nanoTime();
+        barajar(mazo, primeras, barajadas);
+        long nanos = System.nanoTime() - inicio;
+
+        double esperado = (double) barajadas / primeras.length;
+        double chi = 0;
+        for (long observado : primeras) {
+            double diferencia = observado - esperado;
+            chi += diferencia * diferencia / esperado;
+        }
+        System.out.printf("%-9s %,12.0f barajadas/s  %,8.1f ns/barajada  %5.2f ns/carta  chi2 %.1f%s%n",
+            generador.getNombre(), barajadas * 1e9 / nanos, (double) nanos / barajadas,
+            (double) nanos / barajadas / mazo.getTamano(), chi,
+            chi > CHI_CUADRADO_LIMITE ? "  NO UNIFORME" : "");
+    }
+
+    /**
+     * Baraja el zapato completo las veces indicadas y cuenta la primera carta
+     * de cada barajada, lo que además impide que el JIT descarte el trabajo.
+     */
+    private static void barajar(Mazo mazo, long[] primeras, long barajadas) {
+        for (long n = 0; n < barajadas; n++) {
+            mazo.barajar();
+            primeras[mazo.repartirCodigo()]++;
+        }
+    }
+}
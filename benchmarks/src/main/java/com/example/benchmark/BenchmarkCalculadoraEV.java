@@ -0,0 +1,84 @@
+package com.example.benchmark;
+
+import com.example.modelo.Crupier;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.probabilidad.CalculadoraEV;
+import com.example.probabilidad.ProbabilidadCrupier;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Mide la latencia de {@link CalculadoraEV} en situaciones reales de juego:
+ * reparte rondas de un zapato y evalúa cada mano inicial del jugador.
+ *
+ * Cada corrida se hace dos veces sobre las mismas rondas, con un pool de un
+ * solo hilo y con el pool común, para medir la aceleración del fork-join.
+ *
+ * Uso: {@code BenchmarkCalculadoraEV [consultas] [mazos]}
+ */
+public class BenchmarkCalculadoraEV {
+
+    public static void main(String[] args) {
+        int consultas = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int mazos = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        System.out.printf("%d consultas, %d mazos%n", consultas, mazos);
+        long secuencial = correr("1 hilo", new CalculadoraEV(new ProbabilidadCrupier(), unHilo), mazos, consultas);
+        ForkJoinPool comun = ForkJoinPool.commonPool();
+        long paralelo = correr(comun.getParallelism() + " hilos",
+            new CalculadoraEV(new ProbabilidadCrupier(), comun), mazos, consultas);
+        unHilo.shutdown();
+        System.out.printf("Aceleración con %d hilos: %.2fx%n", comun.getParallelism(), (double) secuencial / paralelo);
+    }
+
+    /**
+     * Mide una corrida completa y devuelve su tiempo total en nanosegundos.
+     */
+    private static long correr(String nombre, CalculadoraEV calculadora, int mazos, int consultas) {
+        Mazo mazo = new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, new SplittableRandom(7));
+        JugadorApostador jugador = new JugadorApostador("Bot", 0);
+        Crupier crupier = new Crupier();
+
+        // Calentamiento del JIT
+        medir(calculadora, mazo, jugador, crupier, consultas / 5);
+        long[] nanos = medir(calculadora, mazo, jugador, crupier, consultas);
+
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-9s p50: %.3f ms  p90: %.3f ms  p99: %.3f ms  máx: %.3f ms%n", nombre,
+            percentil(nanos, 0.50), percentil(nanos, 0.90), percentil(nanos, 0.99), nanos[nanos.length - 1] / 1e6);
+        ProbabilidadCrupier cache = calculadora.getProbabilidadCrupier();
+        System.out.printf("%-9s caché del crupier: %,d aciertos, %,d fallos, %,d composiciones%n", "",
+            cache.getAciertos(), cache.getFallos(), cache.getTamanoCache());
+        return total;
+    }
+
+    private static long[] medir(CalculadoraEV calculadora, Mazo mazo, JugadorApostador jugador,
+                                Crupier crupier, int consultas) {
+        long[] nanos = new long[consultas];
+        for (int i = 0; i < consultas; i++) {
+            mazo.prepararRonda();
+            jugador.limpiarMano();
+            crupier.limpiarMano();
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+
+            long inicio = System.nanoTime();
+            calculadora.evaluar(jugador, crupier, mazo);
+            nanos[i] = System.nanoTime() - inicio;
+        }
+        return nanos;
+    }
+
+    private static double percentil(long[] ordenados, double p) {
+        return ordenados[(int) Math.min(ordenados.length - 1, p * ordenados.length)] / 1e6;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.benchmark;
+
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.EstadoMano;
+import java.util.SplittableRandom;
+
+/**
+ * Compara el cálculo de puntos recorriendo la mano (el bucle original de
+ * {@code Persona.calcularPuntos}) contra avanzar la tabla de {@link EstadoMano}.
+ *
+ * Uso: {@code BenchmarkEstadoMano [manos] [rondas]}
+ */
+public class BenchmarkEstadoMano {
+
+    public static void main(String[] args) {
+        int manos = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        // Manos aleatorias de 2 a 6 cartas, guardadas de corrido
+        SplittableRandom rand = new SplittableRandom(42);
+        int[] inicio = new int[manos + 1];
+        byte[] codigos = new byte[manos * 6];
+        int n = 0;
+        for (int m = 0; m < manos; m++) {
+            inicio[m] = n;
+            int cartas = 2 + rand.nextInt(5);
+            for (int c = 0; c < cartas; c++) {
+                codigos[n++] = (byte) rand.nextInt(CodigoCarta.CARTAS_POR_MAZO);
+            }
+        }
+        inicio[manos] = n;
+
+        if (sumaBucle(inicio, codigos) != sumaTabla(inicio, codigos)) {
+            throw new IllegalStateException("La tabla de estados no coincide con el bucle de puntos");
+        }
+
+        System.out.printf("%d manos de 2 a 6 cartas, %d rondas%n", manos, rondas);
+        for (int r = 0; r < rondas; r++) {
+            long t0 = System.nanoTime();
+            long a = sumaBucle(inicio, codigos);
+            long t1 = System.nanoTime();
+            long b = sumaTabla(inicio, codigos);
+            long t2 = System.nanoTime();
+            System.out.printf("ronda %2d  bucle: %6.2f ns/mano  tabla: %6.2f ns/mano  (control %d)%n",
+                r, (t1 - t0) / (double) manos, (t2 - t1) / (double) manos, a ^ b);
+        }
+    }
+
+    /**
+     * Suma de puntajes (los pasados cuentan 22) con el bucle original.
+     */
+    private static long sumaBucle(int[] inicio, byte[] codigos) {
+        long suma = 0;
+        for (int m = 0; m < inicio.length - 1; m++) {
+            int puntos = 0;
+            int ases = 0;
+            for (int i = inicio[m]; i < inicio[m + 1]; i++) {
+                puntos += CodigoCarta.puntos(codigos[i]);
+                if (CodigoCarta.esAs(codigos[i])) {
+                    ases++;
+                }
+            }
+            while (puntos > 21 && ases > 0) {
+                puntos -= 10;
+                ases--;
+            }
+            suma += Math.min(puntos, 22);
+        }
+        return suma;
+    }
+
+    /**
+     * Suma de puntajes (los pasados cuentan 22) avanzando la tabla de estados.
+     */
+    private static long sumaTabla(int[] inicio, byte[] codigos) {
+        long suma = 0;
+        for (int m = 0; m < inicio.length - 1; m++) {
+            int estado = EstadoMano.INICIAL;
+            for (int i = inicio[m]; i < inicio[m + 1]; i++) {
+                estado = EstadoMano.siguiente(estado, codigos[i]);
+            }
+            suma += Math.min(EstadoMano.total(estado), 22);
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.benchmark;
+
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.modelo.ReglasPago;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Mide cuántas manos por segundo juega un bot con una estrategia de tabla
+ * a través del modelo de la mesa ({@link JugadorApostador}, {@link Crupier}
+ * y {@link Mazo}), y cuánta memoria reserva por mano.
+ *
+ * Uso: {@code BenchmarkEstrategia [manos] [mazos] [archivoTabla]}
+ */
+public class BenchmarkEstrategia {
+
+    public static void main(String[] args) throws Exception {
+        long manos = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+        int mazos = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        Estrategia estrategia = args.length > 2
+            ? EstrategiaTabla.cargar(Paths.get(args[2]))
+            : EstrategiaTabla.basica();
+
+        Mazo mazo = new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, new SplittableRandom(7));
+        JugadorApostador jugador = new JugadorApostador("Bot", 0, estrategia);
+        Crupier crupier = new Crupier();
+
+        // Calentamiento del JIT
+        jugar(mazo, jugador, crupier, manos / 10);
+
+        com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        long bytesAntes = hilos.getThreadAllocatedBytes(id);
+        long inicio = System.nanoTime();
+        long neto = jugar(mazo, jugador, crupier, manos);
+        long nanos = System.nanoTime() - inicio;
+        long bytes = hilos.getThreadAllocatedBytes(id) - bytesAntes;
+
+        System.out.printf("%,d manos, %d mazos%n", manos, mazos);
+        System.out.printf("Rendimiento: %,.0f manos/s%n", manos * 1e9 / nanos);
+        System.out.printf("Memoria reservada: %,d bytes (%.4f por mano)%n", bytes, (double) bytes / manos);
+        System.out.printf("Valor esperado: %+.5f por unidad apostada%n", neto / 2.0 / manos);
+    }
+
+    /**
+     * Juega manos completas con las reglas de la mesa.
+     *
+     * @return Resultado neto acumulado en medias apuestas
+     */
+    private static long jugar(Mazo mazo, JugadorApostador jugador, Crupier crupier, long manos) {
+        long neto = 0;
+        for (long n = 0; n < manos; n++) {
+            mazo.prepararRonda();
+            jugador.limpiarMano();
+            crupier.limpiarMano();
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+
+            int resultado;
+            if (jugador.esBlackjack()) {
+                resultado = ReglasPago.BLACKJACK;
+            } else {
+                jugador.jugarTurno(mazo, CodigoCarta.valor(crupier.getCodigo(1)));
+                if (jugador.sePaso()) {
+                    resultado = ReglasPago.PIERDE;
+                } else {
+                    crupier.jugarTurno(mazo);
+                    resultado = ReglasPago.resultado(jugador.calcularPuntos(), crupier.calcularPuntos());
+                }
+            }
+            neto += ReglasPago.netoMediasApuestas(resultado);
+        }
+        return neto;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.benchmark;
+
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.historial.EscritorHistorial;
+import com.example.historial.LectorHistorial;
+import com.example.historial.RegistroMano;
+import com.example.historial.ReproductorHistorial;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.modelo.ReglasPago;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Mide el historial de manos: varios hilos, como si fueran mesas, juegan
+ * con la estrategia básica y escriben cada mano en el mismo historial;
+ * después se relee todo y se vuelve a jugar con {@link ReproductorHistorial}.
+ *
+ * Uso: {@code BenchmarkHistorial [manos] [hilos] [directorio]}; sin
+ * directorio se usa uno temporal que se borra al terminar.
+ */
+public class BenchmarkHistorial {
+
+    private static final int APUESTA = 10;
+
+    public static void main(String[] args) throws Exception {
+        long manos = args.length > 0 ? Long.parseLong(args[0]) : 5_000_000L;
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        boolean temporal = args.length < 3;
+        Path directorio = temporal ? Files.createTempDirectory("historial") : Paths.get(args[2]);
+
+        // Sin historial, para saber cuánto cuesta escribirlo
+        long nanosSolo = jugar(null, manos, hilos);
+        System.out.printf("Sin historial: %,.0f manos/s%n", manos * 1e9 / nanosSolo);
+
+        long nanos;
+        try (EscritorHistorial historial = new EscritorHistorial(directorio)) {
+            nanos = jugar(historial, manos, hilos);
+        }
+        List<Path> segmentos = LectorHistorial.segmentos(directorio);
+        long bytes = 0;
+        for (Path segmento : segmentos) {
+            bytes += Files.size(segmento);
+        }
+        System.out.printf("Con historial: %,.0f manos/s, %d segmentos, %.1f MB (%d bytes por mano)%n",
+            manos * 1e9 / nanos, segmentos.size(), bytes / 1e6, RegistroMano.TAMANO);
+
+        System.out.println("Reproducción:");
+        ReproductorHistorial.main(new String[] {directorio.toString()});
+
+        if (temporal) {
+            for (Path segmento : segmentos) {
+                Files.delete(segmento);
+            }
+            Files.delete(directorio);
+        }
+    }
+
+    /**
+     * Reparte las manos entre los hilos y espera a que terminen.
+     *
+     * @return Nanosegundos que tardó
+     */
+    private static long jugar(EscritorHistorial historial, long manos, int hilos) throws InterruptedException {
+        Thread[] mesas = new Thread[hilos];
+        long inicio = System.nanoTime();
+        for (int i = 0; i < hilos; i++) {
+            int mesa = i + 1;
+            long cantidad = manos / hilos + (i < manos % hilos ? 1 : 0);
+            mesas[i] = new Thread(() -> jugarMesa(historial, mesa, cantidad), "mesa-" + mesa);
+            mesas[i].start();
+        }
+        for (Thread hilo : mesas) {
+            hilo.join();
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private static void jugarMesa(EscritorHistorial historial, int mesa, long manos) {
+        RegistroMano registro = new RegistroMano();
+        Estrategia basica = EstrategiaTabla.basica();
+        // Anota cada decisión antes de devolverla
+        Estrategia anotada = (estado, visible) -> {
+            int decision = basica.decidir(estado, visible);
+            registro.decision(decision);
+            return decision;
+        };
+        Mazo mazo = new Mazo(6, Mazo.PENETRACION_POR_DEFECTO, (long) mesa);
+        JugadorApostador jugador = new JugadorApostador("Bot", 0, anotada);
+        Crupier crupier = new Crupier();
+
+        for (long ronda = 1; ronda <= manos; ronda++) {
+            mazo.prepararRonda();
+            registro.iniciar(ronda, mesa, 1, mazo, APUESTA);
+            jugador.limpiarMano();
+            crupier.limpiarMano();
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+
+            if (!jugador.esBlackjack()) {
+                jugador.jugarTurno(mazo, CodigoCarta.valor(crupier.getCodigo(1)));
+                if (!jugador.sePaso()) {
+                    crupier.jugarTurno(mazo);
+                }
+            }
+            int resultado = EstadoMano.resultado(jugador.getEstado(), crupier.getEstado());
+            if (historial != null) {
+                registro.copiarManos(jugador, crupier);
+                registro.liquidar(resultado, ReglasPago.devolucion(APUESTA, resultado));
+                historial.escribir(registro);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.benchmark;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.aleatorio.GeneradorSplitMix;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.simulacion.RampaApuestas;
+import com.example.simulacion.ResultadoSimulacion;
+import com.example.simulacion.SimuladorLote;
+
+/**
+ * Compara el {@link SimuladorLote} contra el modelo de objetos de la mesa
+ * ({@link Mazo}, {@link JugadorApostador} y {@link Crupier}).
+ *
+ * Primero revisa que cada carril del lote dé, mano por mano, el mismo
+ * resultado y la misma apuesta que un zapato de objetos con el mismo
+ * generador, con apuesta fija y con la rampa Hi-Lo; después mide manos por
+ * segundo de cada camino en un solo hilo.
+ *
+ * Uso: {@code BenchmarkLote [manos] [carriles] [mazos]}
+ */
+public class BenchmarkLote {
+
+    public static void main(String[] args) {
+        long manos = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+        int carriles = args.length > 1 ? Integer.parseInt(args[1]) : SimuladorLote.CARRILES_POR_DEFECTO;
+        int mazos = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        Estrategia estrategia = EstrategiaTabla.basica();
+
+        verificar(256, 400, mazos, estrategia, null);
+        verificar(256, 400, mazos, estrategia, RampaApuestas.UNO_A_OCHO);
+        System.out.println("Verificado: 2 x 102,400 manos iguales a las del modelo de objetos");
+
+        long rondas = Math.max(1, manos / carriles);
+        System.out.printf("%,d manos por camino, %d mazos, %d carriles%n", rondas * carriles, mazos, carriles);
+        for (int r = 0; r < 5; r++) {
+            long t0 = System.nanoTime();
+            long control = objetos(rondas * carriles, mazos, estrategia, new GeneradorSplitMix(r));
+            long t1 = System.nanoTime();
+            ResultadoSimulacion lote = new ResultadoSimulacion();
+            new SimuladorLote(carriles, mazos, Mazo.PENETRACION_POR_DEFECTO, estrategia, null,
+                new GeneradorSplitMix(r)).jugar(rondas, lote);
+            long t2 = System.nanoTime();
+            System.out.printf("ronda %d  objetos: %,12.0f manos/s  lote: %,12.0f manos/s  (control %d, EV %+.5f)%n",
+                r, rondas * carriles * 1e9 / (t1 - t0), rondas * carriles * 1e9 / (t2 - t1),
+                control, lote.getValorEsperado());
+        }
+    }
+
+    /**
+     * Juega el lote ronda por ronda y cada carril en paralelo con su zapato de objetos.
+     *
+     * @throws IllegalStateException Si alguna mano difiere
+     */
+    private static void verificar(int carriles, int rondas, int mazos, Estrategia estrategia, RampaApuestas rampa) {
+        SimuladorLote lote = new SimuladorLote(carriles, mazos, Mazo.PENETRACION_POR_DEFECTO, estrategia, rampa,
+            new GeneradorSplitMix(7));
+        // Los generadores de los carriles salen de la raíz en orden, igual que en el lote
+        GeneradorAleatorio raiz = new GeneradorSplitMix(7);
+        Mazo[] zapatos = new Mazo[carriles];
+        for (int i = 0; i < carriles; i++) {
+            zapatos[i] = new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, raiz.dividir());
+        }
+        JugadorApostador jugador = new JugadorApostador("Bot", 0, estrategia);
+        Crupier crupier = new Crupier();
+
+        for (int r = 0; r < rondas; r++) {
+            lote.jugarRonda();
+            for (int i = 0; i < carriles; i++) {
+                Mazo mazo = zapatos[i];
+                mazo.prepararRonda();
+                int apuesta = rampa == null ? 1 : rampa.apuesta(mazo.getContador().getCuentaRealEntera());
+                int resultado = ronda(mazo, jugador, crupier);
+                if (resultado != lote.getResultado(i) || apuesta != lote.getApuesta(i)
+                        || jugador.getEstado() != lote.getEstadoJugador(i)
+                        || (!jugador.sePaso() && crupier.getEstado() != lote.getEstadoCrupier(i))) {
+                    throw new IllegalStateException("El carril " + i + " difiere en la ronda " + r);
+                }
+            }
+        }
+    }
+
+    /**
+     * Una ronda con el modelo de objetos, como {@code RondaBenchmark}.
+     */
+    private static int ronda(Mazo mazo, JugadorApostador jugador, Crupier crupier) {
+        jugador.limpiarMano();
+        crupier.limpiarMano();
+        jugador.recibirCodigo(mazo.repartirCodigo());
+        crupier.recibirCodigo(mazo.repartirCodigo());
+        jugador.recibirCodigo(mazo.repartirCodigo());
+        crupier.recibirCodigo(mazo.repartirCodigo());
+        if (!jugador.esBlackjack()) {
+            jugador.jugarTurno(mazo, CodigoCarta.valor(crupier.getCodigo(1)));
+            if (!jugador.sePaso()) {
+                crupier.jugarTurno(mazo);
+            }
+        }
+        return EstadoMano.resultado(jugador.getEstado(), crupier.getEstado());
+    }
+
+    /**
+     * Manos seguidas con el modelo de objetos sobre un solo zapato.
+     *
+     * @return Suma de los resultados, para que el JIT no descarte el trabajo
+     */
+    private static long objetos(long manos, int mazos, Estrategia estrategia, GeneradorAleatorio rand) {
+        Mazo mazo = new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, rand);
+        JugadorApostador jugador = new JugadorApostador("Bot", 0, estrategia);
+        Crupier crupier = new Crupier();
+        long suma = 0;
+        for (long n = 0; n < manos; n++) {
+            mazo.prepararRonda();
+            suma += ronda(mazo, jugador, crupier);
+        }
+        return suma;
+    }
+}
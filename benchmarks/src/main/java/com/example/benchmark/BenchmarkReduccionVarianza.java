@@ -0,0 +1,54 @@
+package com.example.benchmark;
+
+import com.example.estrategia.EstrategiaTabla;
+import com.example.simulacion.ResultadoAdaptativo;
+import com.example.simulacion.SimuladorAdaptativo;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Lleva el {@link SimuladorAdaptativo} a la misma precisión con cada modo
+ * de reducción de varianza y compara cuántas manos y cuánto tiempo hace
+ * falta en cada caso contra el modo sin reducción.
+ *
+ * Los modos con control suelen pasarse de la precisión en el primer lote,
+ * así que las comparaciones usan las manos que hacen falta según la
+ * varianza medida (varianza por unidad por (1.96 / precisión)²) y el costo
+ * medido por mano, no las manos que jugó cada corrida.
+ *
+ * Uso: {@code BenchmarkReduccionVarianza [precision] [mazos] [semilla]}
+ */
+public class BenchmarkReduccionVarianza {
+
+    public static void main(String[] args) {
+        double precision = args.length > 0 ? Double.parseDouble(args[0]) : 0.0002;
+        int mazos = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        SimuladorAdaptativo simulador = new SimuladorAdaptativo(mazos, 0.75, EstrategiaTabla.basica(), null,
+            ForkJoinPool.commonPool());
+        // Una corrida corta para que el JIT compile las dos variantes antes de medir
+        simulador.setModo(SimuladorAdaptativo.TODAS);
+        simulador.simular(Double.MAX_VALUE, 0, semilla);
+        simulador.setModo(SimuladorAdaptativo.NINGUNA);
+        simulador.simular(Double.MAX_VALUE, 0, semilla);
+
+        System.out.printf("Precisión +/-%.5f (95%%), %d mazos, estrategia básica%n", precision, mazos);
+        double manosBase = 0;
+        double nanosBase = 0;
+        for (int modo = SimuladorAdaptativo.NINGUNA; modo <= SimuladorAdaptativo.TODAS; modo++) {
+            simulador.setModo(modo);
+            ResultadoAdaptativo resultado = simulador.simular(precision, Long.MAX_VALUE, semilla);
+            double necesarias = resultado.getVarianzaPorUnidad() * Math.pow(1.96 / precision, 2);
+            double nanos = necesarias * resultado.getNanos() / resultado.getManos();
+            if (modo == SimuladorAdaptativo.NINGUNA) {
+                manosBase = necesarias;
+                nanosBase = nanos;
+            }
+            System.out.printf("%-10s EV %+.5f +/- %.5f  %,13d manos en %6.2f s  varianza %.4f"
+                    + "  %6.1fx menos manos  %6.1fx menos tiempo%n",
+                SimuladorAdaptativo.nombreModo(modo), resultado.getValorEsperado(), resultado.getPrecision(),
+                resultado.getManos(), resultado.getNanos() / 1e9, resultado.getVarianzaPorUnidad(),
+                manosBase / necesarias, nanosBase / nanos);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.benchmark;
+
+import com.example.banca.Billetera;
+import com.example.controlador.BlackjackControlador;
+import com.example.controlador.InstantaneaMesa;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.metricas.HistogramaLatencia;
+import com.example.metricas.Metricas;
+import com.example.vista.VistaGrabadora;
+
+/**
+ * Juega rondas con el {@link BlackjackControlador} real, sin pantalla,
+ * para medir cuántas rondas por segundo soporta el controlador.
+ *
+ * Cada mesa es un controlador con una {@link VistaGrabadora} y un bot en
+ * su propio hilo que apuesta, espera la instantánea y decide con la
+ * estrategia básica, igual que haría una persona con los botones. Al final
+ * informa rondas por segundo y las latencias de cada acción que el
+ * controlador anota en {@link Metricas}.
+ *
+ * Uso: {@code BotControlador [rondas por mesa] [mesas] [apuesta]}
+ */
+public class BotControlador {
+
+    public static void main(String[] args) throws Exception {
+        int rondas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int mesas = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int apuesta = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        Bot[] bots = new Bot[mesas];
+        Thread[] hilos = new Thread[mesas];
+        for (int i = 0; i < mesas; i++) {
+            bots[i] = new Bot(rondas, apuesta);
+            hilos[i] = new Thread(bots[i], "bot-" + i);
+        }
+
+        long inicio = System.nanoTime();
+        for (Thread hilo : hilos) {
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long totalRondas = 0, acciones = 0, neto = 0;
+        for (Bot bot : bots) {
+            if (bot.error != null) {
+                throw bot.error;
+            }
+            totalRondas += bot.jugadas;
+            acciones += bot.acciones;
+            neto += bot.neto;
+        }
+        System.out.printf("%,d rondas en %d mesas en %.2f s: %,.0f rondas/s, %,.0f acciones/s%n",
+            totalRondas, mesas, segundos, totalRondas / segundos, acciones / segundos);
+        System.out.printf("Ganancia del bot: %+.5f por unidad apostada%n", neto / (double) totalRondas / apuesta);
+        if (Metricas.ACTIVAS) {
+            imprimir("nuevaPartida", Metricas.global().latencia(Metricas.NUEVA_PARTIDA));
+            imprimir("pedirCarta", Metricas.global().latencia(Metricas.PEDIR_CARTA));
+            imprimir("plantarse", Metricas.global().latencia(Metricas.PLANTARSE));
+        }
+    }
+
+    private static void imprimir(String accion, HistogramaLatencia.Instantanea latencia) {
+        System.out.printf("  %-12s %,10d  p50 %,8d ns  p99 %,8d ns  max %,10d ns%n", accion,
+            latencia.getCantidad(), latencia.percentil(50), latencia.percentil(99), latencia.getMaximo());
+    }
+
+    /**
+     * Un bot sentado en su propio controlador.
+     */
+    private static final class Bot implements Runnable {
+        private final int rondas;
+        private final int apuesta;
+        private final Estrategia estrategia = EstrategiaTabla.basica();
+        private final VistaGrabadora vista = new VistaGrabadora();
+        private final long saldoInicial;
+        private final BlackjackControlador controlador;
+
+        long jugadas;
+        long acciones;
+        long neto;
+        Exception error;
+
+        Bot(int rondas, int apuesta) {
+            this.rondas = rondas;
+            this.apuesta = apuesta;
+            // Alcanza aunque pierda todas las manos
+            this.saldoInicial = (long) rondas * apuesta + apuesta;
+            this.controlador = new BlackjackControlador(vista, new Billetera("Bot", saldoInicial));
+        }
+
+        @Override
+        public void run() {
+            try {
+                // El controlador publica una vez al arrancar
+                long publicadas = 1;
+                InstantaneaMesa mesa = vista.esperar(publicadas);
+                for (int r = 0; r < rondas; r++) {
+                    long ronda = mesa.getRonda();
+                    controlador.nuevaPartida(apuesta);
+                    mesa = vista.esperar(++publicadas);
+                    acciones++;
+                    if (mesa.getRonda() == ronda) {
+                        throw new IllegalStateException("El controlador rechazó la apuesta: " + mesa.getMensajes());
+                    }
+                    while (mesa.isTurnoJugador()) {
+                        if (estrategia.decidir(mesa.getEstadoJugador(), mesa.getValorVisibleCrupier()) == Estrategia.PEDIR) {
+                            controlador.pedirCarta();
+                        } else {
+                            controlador.plantarse();
+                        }
+                        mesa = vista.esperar(++publicadas);
+                        acciones++;
+                    }
+                    jugadas++;
+                }
+                neto = mesa.getSaldo() - saldoInicial;
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.benchmark;
+
+import com.example.banca.Auditoria;
+import com.example.banca.Banca;
+import com.example.banca.Billetera;
+import com.example.banca.Movimiento;
+import com.example.banca.Reserva;
+import com.example.modelo.ReglasPago;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Prueba de contención de las billeteras: muchos hilos, como si fueran
+ * mesas, reservan y liquidan apuestas contra pocas billeteras compartidas.
+ *
+ * Al terminar verifica que ningún saldo haya quedado negativo, que no
+ * quede nada en juego, que cada billetera concilie y que el
+ * saldo final de cada una figure en la auditoría. Para comparar, corre la
+ * misma carga con las mismas billeteras pero con todas las operaciones
+ * dentro de un único candado global.
+ *
+ * Uso: {@code EstresBilletera [hilos] [billeteras] [segundos]}
+ */
+public class EstresBilletera {
+
+    /** Lo que se deposita cuando una billetera se queda sin saldo */
+    private static final long RECARGA = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int cantidad = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        double segundos = args.length > 2 ? Double.parseDouble(args[2]) : 3;
+        long nanos = (long) (segundos * 1e9);
+
+        Banca banca = new Banca();
+        Billetera[] billeteras = new Billetera[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            billeteras[i] = banca.abrir("jugador-" + i, RECARGA);
+        }
+
+        System.out.printf("%d hilos contra %d billetera(s), %.1f s por prueba%n", hilos, cantidad, segundos);
+        long[] operaciones = new long[1];
+        long duracion = correr(hilos, nanos, (hilo, azar, fin) -> {
+            long n = 0;
+            while (System.nanoTime() < fin) {
+                Billetera billetera = billeteras[azar.nextInt(billeteras.length)];
+                long monto = 1 + azar.nextInt(100);
+                Reserva reserva = billetera.reservar(monto);
+                if (reserva == null) {
+                    billetera.depositar(RECARGA);
+                    continue;
+                }
+                int resultado = azar.nextInt(4);
+                reserva.liquidar(ReglasPago.devolucion((int) monto, resultado));
+                n++;
+            }
+            synchronized (operaciones) {
+                operaciones[0] += n;
+            }
+        });
+        System.out.printf("Sin candados: %,.0f manos liquidadas/s%n", operaciones[0] * 1e9 / duracion);
+
+        boolean correcto = verificar(banca, billeteras);
+
+        Banca bancaCandado = new Banca();
+        Billetera[] conCandado = new Billetera[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            conCandado[i] = bancaCandado.abrir("jugador-" + i, RECARGA);
+        }
+        long[] operacionesCandado = new long[1];
+        Object candado = new Object();
+        long duracionCandado = correr(hilos, nanos, (hilo, azar, fin) -> {
+            long n = 0;
+            while (System.nanoTime() < fin) {
+                Billetera billetera = conCandado[azar.nextInt(conCandado.length)];
+                long monto = 1 + azar.nextInt(100);
+                Reserva reserva;
+                synchronized (candado) {
+                    reserva = billetera.reservar(monto);
+                    if (reserva == null) {
+                        billetera.depositar(RECARGA);
+                        continue;
+                    }
+                }
+                int resultado = azar.nextInt(4);
+                synchronized (candado) {
+                    reserva.liquidar(ReglasPago.devolucion((int) monto, resultado));
+                }
+                n++;
+            }
+            synchronized (operacionesCandado) {
+                operacionesCandado[0] += n;
+            }
+        });
+        System.out.printf("Con un candado global: %,.0f manos liquidadas/s%n",
+            operacionesCandado[0] * 1e9 / duracionCandado);
+
+        if (!correcto) {
+            System.exit(1);
+        }
+    }
+
+    private interface Carga {
+        void correr(int hilo, SplittableRandom azar, long fin);
+    }
+
+    /**
+     * Corre la carga en todos los hilos a la vez.
+     *
+     * @return Nanosegundos que tardó
+     */
+    private static long correr(int hilos, long nanos, Carga carga) throws InterruptedException {
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] trabajadores = new Thread[hilos];
+        long[] fin = new long[1];
+        for (int i = 0; i < hilos; i++) {
+            int hilo = i;
+            trabajadores[i] = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                carga.correr(hilo, new SplittableRandom(hilo), fin[0]);
+            }, "estres-" + i);
+            trabajadores[i].start();
+        }
+        long inicio = System.nanoTime();
+        fin[0] = inicio + nanos;
+        largada.countDown();
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private static boolean verificar(Banca banca, Billetera[] billeteras) {
+        boolean correcto = true;
+        List<Movimiento> movimientos = banca.getAuditoria().movimientos();
+        for (Billetera billetera : billeteras) {
+            // El orden entre hilos de la auditoría es aproximado, pero el
+            // movimiento que dejó el saldo final tiene que estar
+            boolean auditada = false;
+            for (Movimiento movimiento : movimientos) {
+                auditada |= movimiento.getBilletera() == billetera.getId()
+                    && movimiento.getTipo() != Auditoria.RECHAZO
+                    && movimiento.getSaldo() == billetera.getSaldo();
+            }
+            boolean bien = billetera.getSaldo() >= 0 && billetera.getEnJuego() == 0
+                && billetera.estaConciliada() && auditada;
+            if (!bien) {
+                System.out.println("ERROR en " + billetera
+                    + (billetera.estaConciliada() ? "" : ", no concilia")
+                    + (auditada ? "" : ", saldo final sin auditar"));
+            }
+            correcto &= bien;
+        }
+        System.out.printf("Auditoría: %,d movimientos registrados, %,d retenidos; billeteras %s%n",
+            banca.getAuditoria().getRegistrados(), movimientos.size(),
+            correcto ? "conciliadas" : "CON ERRORES");
+        return correcto;
+    }
+}
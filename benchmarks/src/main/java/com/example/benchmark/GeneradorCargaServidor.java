@@ -0,0 +1,256 @@
+package com.example.benchmark;
+
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.EstadoMano;
+import com.example.servidor.Protocolo;
+import com.example.servidor.ServidorMesas;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Generador de carga para {@link ServidorMesas}: abre una conexión por
+ * mesa y en cada una juega un bot con la estrategia básica.
+ *
+ * Mide la latencia de cada acción (desde que se envía el comando hasta que
+ * llega la primera línea de respuesta), las acciones por segundo y la
+ * memoria ocupada por cada mesa abierta. Si no se da una dirección levanta
+ * un servidor en la misma JVM; en ese caso la memoria por mesa incluye
+ * también el lado del cliente.
+ *
+ * Uso: {@code GeneradorCargaServidor [mesas] [rondas] [host:puerto]}
+ */
+public class GeneradorCargaServidor {
+
+    private static final int APUESTA = 10;
+
+    /** Pila de los hilos de los bots; sólo leen y escriben líneas cortas */
+    private static final long PILA_BOT = 256 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int mesas = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        ServidorMesas embebido = null;
+        InetAddress host = InetAddress.getLoopbackAddress();
+        int puerto;
+        if (args.length > 2) {
+            String[] partes = args[2].split(":");
+            host = InetAddress.getByName(partes[0]);
+            puerto = Integer.parseInt(partes[1]);
+        } else {
+            embebido = new ServidorMesas(6).iniciar(0);
+            puerto = embebido.getPuerto();
+            System.out.println("Servidor embebido en el puerto " + puerto
+                + (embebido.usaHilosVirtuales() ? " (hilos virtuales)" : " (hilos de plataforma)"));
+        }
+
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        long heapAntes = heapUsado(memoria);
+
+        CountDownLatch sentados = new CountDownLatch(mesas);
+        CountDownLatch largada = new CountDownLatch(1);
+        Bot[] bots = new Bot[mesas];
+        Thread[] hilos = new Thread[mesas];
+        for (int i = 0; i < mesas; i++) {
+            bots[i] = new Bot(host, puerto, "carga-" + i, rondas, sentados, largada);
+            hilos[i] = new Thread(null, bots[i], "bot-" + i, PILA_BOT);
+            hilos[i].setDaemon(true);
+            hilos[i].start();
+        }
+        sentados.await();
+
+        long heapSentados = heapUsado(memoria);
+        if (embebido != null) {
+            System.out.printf("Mesas abiertas: %,d%n", embebido.getMesasAbiertas());
+        }
+        System.out.printf("Memoria por mesa: %,.0f bytes%n", (double) (heapSentados - heapAntes) / mesas);
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        int acciones = 0;
+        long errores = 0;
+        long manos = 0;
+        for (Bot bot : bots) {
+            acciones += bot.acciones;
+            errores += bot.errores;
+            manos += bot.manos;
+        }
+        long[] latencias = new long[acciones];
+        int desde = 0;
+        for (Bot bot : bots) {
+            System.arraycopy(bot.latencias, 0, latencias, desde, bot.acciones);
+            desde += bot.acciones;
+        }
+        Arrays.sort(latencias);
+
+        System.out.printf("%,d mesas, %,d manos, %,d acciones en %.2f s%n", mesas, manos, acciones, nanos / 1e9);
+        System.out.printf("Rendimiento: %,.0f acciones/s, %,.0f manos/s%n",
+            acciones * 1e9 / nanos, manos * 1e9 / nanos);
+        if (acciones > 0) {
+            System.out.printf("Latencia: p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, máx %.3f ms%n",
+                percentil(latencias, 0.50), percentil(latencias, 0.99),
+                percentil(latencias, 0.999), latencias[acciones - 1] / 1e6);
+        }
+        System.out.printf("Errores del protocolo: %,d%n", errores);
+
+        if (embebido != null) {
+            embebido.close();
+        }
+    }
+
+    private static long heapUsado(MemoryMXBean memoria) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        return ordenadas[(int) Math.min(ordenadas.length - 1, (long) (p * ordenadas.length))] / 1e6;
+    }
+
+    /**
+     * Un cliente que se sienta solo en su mesa y juega las rondas pedidas.
+     */
+    private static final class Bot implements Runnable {
+        private final InetAddress host;
+        private final int puerto;
+        private final String mesa;
+        private final int rondas;
+        private final CountDownLatch sentados;
+        private final CountDownLatch largada;
+        private final Estrategia estrategia = EstrategiaTabla.basica();
+
+        /** Latencias en nanosegundos; cada ronda tiene al menos dos acciones */
+        long[] latencias;
+        int acciones;
+        long errores;
+        long manos;
+
+        Bot(InetAddress host, int puerto, String mesa, int rondas,
+                CountDownLatch sentados, CountDownLatch largada) {
+            this.host = host;
+            this.puerto = puerto;
+            this.mesa = mesa;
+            this.rondas = rondas;
+            this.sentados = sentados;
+            this.largada = largada;
+            this.latencias = new long[rondas * 3];
+        }
+
+        @Override
+        public void run() {
+            boolean contado = false;
+            try (Socket socket = new Socket(host, puerto)) {
+                socket.setTcpNoDelay(true);
+                BufferedReader entrada = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII), 512);
+                PrintWriter salida = new PrintWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII), false);
+
+                enviar(salida, Protocolo.MESA + " " + mesa);
+                String linea = entrada.readLine();
+                if (linea == null || !linea.startsWith(Protocolo.SENTADO)) {
+                    throw new IOException("Respuesta inesperada al sentarse: " + linea);
+                }
+                long saldo = Long.parseLong(linea.split(" ")[2]);
+                sentados.countDown();
+                contado = true;
+                largada.await();
+
+                for (int ronda = 0; ronda < rondas && saldo >= APUESTA; ronda++) {
+                    saldo = jugarRonda(entrada, salida);
+                    manos++;
+                }
+                enviar(salida, Protocolo.SALIR);
+                entrada.readLine();
+            } catch (IOException | RuntimeException e) {
+                System.err.println(mesa + ": " + e);
+                errores++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (!contado) {
+                    sentados.countDown();
+                }
+            }
+        }
+
+        /**
+         * Apuesta y juega una mano hasta recibir FIN.
+         *
+         * @return Saldo después de la mano
+         */
+        private long jugarRonda(BufferedReader entrada, PrintWriter salida) throws IOException {
+            int estado = EstadoMano.INICIAL;
+            int visible = Estrategia.SIN_CARTA_VISIBLE;
+            long enviado = System.nanoTime();
+            enviar(salida, Protocolo.APUESTA + " " + APUESTA);
+
+            while (true) {
+                String linea = entrada.readLine();
+                if (linea == null) {
+                    throw new IOException("El servidor cerró la conexión");
+                }
+                if (enviado != 0) {
+                    registrar(System.nanoTime() - enviado);
+                    enviado = 0;
+                }
+                String[] campos = linea.split(" ");
+                switch (campos[0]) {
+                    case Protocolo.MANO:
+                        estado = EstadoMano.siguiente(estado, Protocolo.codigo(campos[1]));
+                        estado = EstadoMano.siguiente(estado, Protocolo.codigo(campos[2]));
+                        visible = CodigoCarta.valor(Protocolo.codigo(campos[4]));
+                        break;
+                    case Protocolo.CARTA:
+                        estado = EstadoMano.siguiente(estado, Protocolo.codigo(campos[1]));
+                        break;
+                    case Protocolo.TURNO:
+                        boolean pedir = estrategia.decidir(estado, visible) == Estrategia.PEDIR;
+                        enviado = System.nanoTime();
+                        enviar(salida, pedir ? Protocolo.PEDIR : Protocolo.PLANTARSE);
+                        break;
+                    case Protocolo.FIN:
+                        return Long.parseLong(campos[3]);
+                    case Protocolo.ERROR:
+                        errores++;
+                        break;
+                    default:
+                        throw new IOException("Mensaje inesperado: " + linea);
+                }
+            }
+        }
+
+        private void registrar(long nanos) {
+            if (acciones == latencias.length) {
+                latencias = Arrays.copyOf(latencias, latencias.length * 2);
+            }
+            latencias[acciones++] = nanos;
+        }
+
+        private static void enviar(PrintWriter salida, String linea) {
+            salida.print(linea);
+            salida.print('\n');
+            salida.flush();
+        }
+    }
+}
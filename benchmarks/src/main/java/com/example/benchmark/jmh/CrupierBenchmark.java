@@ -0,0 +1,46 @@
+package com.example.benchmark.jmh;
+
+import com.example.modelo.Crupier;
+import com.example.modelo.Mazo;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Turno completo del crupier: recibe dos cartas y pide hasta llegar a 17.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CrupierBenchmark {
+
+    private Mazo mazo;
+    private Crupier crupier;
+
+    @Setup
+    public void preparar() {
+        mazo = new Mazo(6, Mazo.PENETRACION_POR_DEFECTO, 7L);
+        crupier = new Crupier();
+    }
+
+    @Benchmark
+    public int jugarTurno() {
+        mazo.prepararRonda();
+        crupier.limpiarMano();
+        crupier.recibirCodigo(mazo.repartirCodigo());
+        crupier.recibirCodigo(mazo.repartirCodigo());
+        crupier.jugarTurno(mazo);
+        return crupier.getEstado();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.Main;
+
+/**
+ * Punto de entrada del jar de benchmarks. Pasa las opciones a JMH tal como
+ * llegan, pero si no se pidió otro formato guarda los resultados en JSON
+ * ({@value #RESULTADOS_POR_DEFECTO}), que es lo que se compara entre versiones.
+ *
+ * Uso: {@code java -jar benchmarks.jar [opciones de JMH] [filtro]}, por
+ * ejemplo {@code java -jar benchmarks.jar -f 1 MazoBenchmark}.
+ */
+public class EjecutarBenchmarks {
+
+    static final String RESULTADOS_POR_DEFECTO = "jmh-resultados.json";
+
+    public static void main(String[] args) throws Exception {
+        List<String> opciones = new ArrayList<>(Arrays.asList(args));
+        if (!opciones.contains("-rf") && !opciones.contains("-h") && !opciones.contains("-l")) {
+            opciones.add(0, "-rf");
+            opciones.add(1, "json");
+            if (!opciones.contains("-rff")) {
+                opciones.add(2, "-rff");
+                opciones.add(3, RESULTADOS_POR_DEFECTO);
+            }
+        }
+        Main.main(opciones.toArray(new String[0]));
+    }
+}
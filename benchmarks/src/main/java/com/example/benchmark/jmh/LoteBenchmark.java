@@ -0,0 +1,85 @@
+package com.example.benchmark.jmh;
+
+import com.example.aleatorio.GeneradorSplitMix;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.simulacion.SimuladorLote;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Manos por segundo del {@link SimuladorLote} contra el modelo de objetos
+ * de la mesa, con la estrategia básica. Cada invocación juega
+ * {@link #MANOS} manos en los dos casos, así que las operaciones por
+ * segundo son manos por segundo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoteBenchmark {
+
+    private static final int MANOS = SimuladorLote.CARRILES_POR_DEFECTO;
+
+    private SimuladorLote lote;
+    private Mazo mazo;
+    private JugadorApostador jugador;
+    private Crupier crupier;
+
+    @Setup
+    public void preparar() {
+        lote = new SimuladorLote(MANOS, 6, Mazo.PENETRACION_POR_DEFECTO, EstrategiaTabla.basica(), null,
+            new GeneradorSplitMix(7));
+        mazo = new Mazo(6, Mazo.PENETRACION_POR_DEFECTO, 7L);
+        jugador = new JugadorApostador("Bot", 0, EstrategiaTabla.basica());
+        crupier = new Crupier();
+    }
+
+    /** Una ronda del lote: una mano en cada carril */
+    @Benchmark
+    @OperationsPerInvocation(MANOS)
+    public int lote() {
+        lote.jugarRonda();
+        return lote.getResultado(0);
+    }
+
+    /** Las mismas manos de a una con Mazo, JugadorApostador y Crupier */
+    @Benchmark
+    @OperationsPerInvocation(MANOS)
+    public int objetos() {
+        int suma = 0;
+        for (int n = 0; n < MANOS; n++) {
+            mazo.prepararRonda();
+            jugador.limpiarMano();
+            crupier.limpiarMano();
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+            if (!jugador.esBlackjack()) {
+                jugador.jugarTurno(mazo, CodigoCarta.valor(crupier.getCodigo(1)));
+                if (!jugador.sePaso()) {
+                    crupier.jugarTurno(mazo);
+                }
+            }
+            suma += EstadoMano.resultado(jugador.getEstado(), crupier.getEstado());
+        }
+        return suma;
+    }
+}
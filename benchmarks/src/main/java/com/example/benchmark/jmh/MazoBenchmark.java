@@ -0,0 +1,67 @@
+package com.example.benchmark.jmh;
+
+import com.example.modelo.Carta;
+import com.example.modelo.Mazo;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de crear un zapato, barajarlo y repartir cartas de él.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MazoBenchmark {
+
+    @Param({"1", "6", "8"})
+    int mazos;
+
+    private Mazo mazo;
+
+    @Setup
+    public void preparar() {
+        mazo = new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, 7L);
+    }
+
+    /** Arma y baraja un zapato nuevo, como al abrir una mesa */
+    @Benchmark
+    public Mazo construccion() {
+        return new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, 7L);
+    }
+
+    @Benchmark
+    public int barajar() {
+        mazo.barajar();
+        return mazo.getRestantes();
+    }
+
+    /**
+     * Reparte una carta como objeto, barajando cuando sale la carta de
+     * corte como hace la mesa entre rondas.
+     */
+    @Benchmark
+    public Carta repartirCarta() {
+        mazo.prepararRonda();
+        return mazo.repartirCarta();
+    }
+
+    /** Lo mismo sin crear ni buscar el objeto Carta */
+    @Benchmark
+    public int repartirCodigo() {
+        mazo.prepararRonda();
+        return mazo.repartirCodigo();
+    }
+}
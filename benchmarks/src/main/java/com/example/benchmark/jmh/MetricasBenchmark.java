@@ -0,0 +1,47 @@
+package com.example.benchmark.jmh;
+
+import com.example.metricas.HistogramaLatencia;
+import com.example.metricas.Metricas;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de anotar métricas, sin contar la lectura del reloj: un valor en
+ * el histograma de latencias y un contador, con uno y con cuatro hilos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricasBenchmark {
+
+    private final HistogramaLatencia histograma = new HistogramaLatencia();
+    private long valor;
+
+    @Benchmark
+    public void histograma() {
+        histograma.registrar(valor++ & 0xFFFFF);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void histogramaCuatroHilos() {
+        histograma.registrar(valor & 0xFFFFF);
+    }
+
+    @Benchmark
+    public void contador() {
+        Metricas.global().barajada();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.benchmark.jmh;
+
+import com.example.modelo.Crupier;
+import com.example.modelo.Persona;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Puntaje de una mano según cuántas cartas tiene. Las manos son de cartas
+ * bajas con ases (A, 2, 3, 4, A, ...) para que ninguna se pase y el As
+ * tenga que reevaluarse como 1 en las más largas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersonaBenchmark {
+
+    /** Códigos de A, 2, 3 y 4 de corazones */
+    private static final int[] CARTAS_BAJAS = {0, 1, 2, 3};
+
+    @Param({"2", "3", "5", "8"})
+    int cartas;
+
+    private Persona mano;
+
+    @Setup
+    public void preparar() {
+        mano = new Crupier();
+        armar(mano, cartas);
+    }
+
+    private static void armar(Persona persona, int cartas) {
+        persona.limpiarMano();
+        for (int i = 0; i < cartas; i++) {
+            persona.recibirCodigo(CARTAS_BAJAS[i % CARTAS_BAJAS.length]);
+        }
+    }
+
+    /** Puntaje de una mano ya armada */
+    @Benchmark
+    public int calcularPuntos() {
+        return mano.calcularPuntos();
+    }
+
+    /** Armar la mano carta por carta y puntuarla, como durante una ronda */
+    @Benchmark
+    public int armarYCalcular() {
+        armar(mano, cartas);
+        return mano.calcularPuntos();
+    }
+}
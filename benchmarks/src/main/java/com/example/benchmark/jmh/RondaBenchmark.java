@@ -0,0 +1,69 @@
+package com.example.benchmark.jmh;
+
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.modelo.ReglasPago;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rondas completas por segundo con el modelo de la mesa: reparto, turno
+ * del jugador con la estrategia básica, turno del crupier y liquidación.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RondaBenchmark {
+
+    private static final int APUESTA = 10;
+
+    private Mazo mazo;
+    private JugadorApostador jugador;
+    private Crupier crupier;
+
+    @Setup
+    public void preparar() {
+        mazo = new Mazo(6, Mazo.PENETRACION_POR_DEFECTO, 7L);
+        jugador = new JugadorApostador("Bot", 0, EstrategiaTabla.basica());
+        crupier = new Crupier();
+    }
+
+    /**
+     * @return Lo que se le devuelve al jugador por su apuesta
+     */
+    @Benchmark
+    public int ronda() {
+        mazo.prepararRonda();
+        jugador.limpiarMano();
+        crupier.limpiarMano();
+        jugador.recibirCodigo(mazo.repartirCodigo());
+        crupier.recibirCodigo(mazo.repartirCodigo());
+        jugador.recibirCodigo(mazo.repartirCodigo());
+        crupier.recibirCodigo(mazo.repartirCodigo());
+
+        if (!jugador.esBlackjack()) {
+            jugador.jugarTurno(mazo, CodigoCarta.valor(crupier.getCodigo(1)));
+            if (!jugador.sePaso()) {
+                crupier.jugarTurno(mazo);
+            }
+        }
+        int resultado = EstadoMano.resultado(jugador.getEstado(), crupier.getEstado());
+        return ReglasPago.devolucion(APUESTA, resultado);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.benchmark.jmh;
+
+import com.example.modelo.CodigoCarta;
+import com.example.vista.CacheSprites;
+import com.example.vista.PanelMesa;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import javax.swing.Icon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Imágenes de las cartas en la interfaz: la carga inicial de los PNG, lo
+ * que cuesta obtener el ícono de una carta ya cargada (lo que antes hacía
+ * {@code BlackjackGUI.crearLabelCarta} leyendo y escalando el archivo cada
+ * vez), el reescalado al cambiar el tamaño de la ventana y el dibujo de la
+ * mesa completa. Corre sin pantalla.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SpritesBenchmark {
+
+    private static final int ANCHO_MESA = 900;
+    private static final int ALTO_MESA = 600;
+
+    private CacheSprites sprites;
+    private PanelMesa panel;
+    private BufferedImage lienzo;
+    private int siguiente;
+    private boolean grande;
+
+    @Setup
+    public void preparar() {
+        sprites = new CacheSprites();
+        sprites.getCarga().join();
+        panel = new PanelMesa(sprites);
+        panel.setSize(ANCHO_MESA, ALTO_MESA);
+        panel.mostrarCrupier(new int[] {12, 22}, true);
+        panel.mostrarJugador(new int[] {0, 9, 17, 30, 44});
+        panel.reacomodar();
+        lienzo = new BufferedImage(ANCHO_MESA, ALTO_MESA, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Decodifica y escala los 53 PNG desde el jar, como al abrir la ventana.
+     * Cada medición crea una caché nueva, por eso se mide de a una.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public CacheSprites cargaInicial() {
+        CacheSprites nueva = new CacheSprites();
+        nueva.getCarga().join();
+        return nueva;
+    }
+
+    /** Ícono de una carta por nombre de archivo, el camino de la interfaz al mostrar una mano */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Icon iconoCarta() {
+        siguiente = (siguiente + 1) % CodigoCarta.CARTAS_POR_MAZO;
+        return sprites.getIcono(CodigoCarta.carta(siguiente).getNombreArchivo());
+    }
+
+    /** Reescalado de las 53 imágenes, alternando entre dos tamaños de ventana */
+    @Benchmark
+    public Object reescalar() {
+        grande = !grande;
+        int ancho = grande ? CacheSprites.ANCHO_POR_DEFECTO * 3 / 2 : CacheSprites.ANCHO_POR_DEFECTO;
+        int alto = grande ? CacheSprites.ALTO_POR_DEFECTO * 3 / 2 : CacheSprites.ALTO_POR_DEFECTO;
+        sprites.reescalar(ancho, alto).join();
+        return sprites.getAtlas();
+    }
+
+    /** Dibujo completo de la mesa con siete cartas en un lienzo fuera de pantalla */
+    @Benchmark
+    public BufferedImage dibujarMesa() {
+        Graphics2D g = lienzo.createGraphics();
+        try {
+            panel.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return lienzo;
+    }
+}
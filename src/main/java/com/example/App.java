@@ -1,17 +1,68 @@
 package com.example;
 
 import com.example.vista.BlackjackGUI;
+import com.example.banca.Billetera;
 import com.example.controlador.BlackjackControlador;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.eventos.ConsolaOyente;
+import com.example.eventos.OyenteAsincrono;
+import com.example.historial.EscritorHistorial;
+import com.example.metricas.VolcadoMetricas;
+import com.example.modelo.ReglasMesa;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 public class App {
     public static void main(String[] args) {
         System.out.println("DEBUG: Iniciando App.main()");
+        // Con -Dunblackjack.registro=true se registran los eventos del juego en la consola
+        boolean registro = Boolean.getBoolean("unblackjack.registro");
+        // Con -Dunblackjack.historial=<directorio> se guarda cada mano en un historial binario
+        String directorioHistorial = System.getProperty("unblackjack.historial");
+        // Con -Dunblackjack.reglas=<nombre o reglas> se juega otra variante, por ejemplo "vegas"
+        ReglasMesa reglas = ReglasMesa.leer(System.getProperty("unblackjack.reglas", "clasica"));
+        // Con -Dunblackjack.asientos=<n> se sientan n - 1 jugadores automáticos con la estrategia básica
+        int asientos = Integer.getInteger("unblackjack.asientos", 1);
+        // Con -Dunblackjack.tiempo=<milisegundos> cada asiento que no decide a tiempo se planta solo
+        long tiempo = Long.getLong("unblackjack.tiempo", 0L);
+        // Métricas por JMX; con -Dunblackjack.metricas.volcado=<segundos> también por consola
+        VolcadoMetricas.configurar();
         javax.swing.SwingUtilities.invokeLater(() -> {
             BlackjackGUI gui = new BlackjackGUI();
-            BlackjackControlador controlador = new BlackjackControlador(gui);
+            BlackjackControlador controlador = new BlackjackControlador(gui, new Billetera("Jugador", 1000), reglas);
+            controlador.setTiempoDecision(tiempo);
+            for (int i = 2; i <= asientos; i++) {
+                controlador.sentar("Bot " + i, new Billetera("Bot " + i, 1000), EstrategiaTabla.basica(reglas), 100);
+            }
+            if (registro) {
+                controlador.setOyente(new OyenteAsincrono(new ConsolaOyente(System.out, false)));
+            }
+            if (directorioHistorial != null) {
+                try {
+                    controlador.setHistorial(abrirHistorial(directorioHistorial));
+                } catch (IOException e) {
+                    System.err.println("No se pudo abrir el historial: " + e.getMessage());
+                }
+            }
             gui.setControlador(controlador);
             gui.registrarListeners();
             gui.setVisible(true);
         });
     }
+
+    /**
+     * Abre el historial y lo cierra al salir, para que el último segmento
+     * quede bajado a disco.
+     */
+    private static EscritorHistorial abrirHistorial(String directorio) throws IOException {
+        EscritorHistorial historial = new EscritorHistorial(Paths.get(directorio));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                historial.close();
+            } catch (IOException e) {
+                System.err.println("No se pudo cerrar el historial: " + e.getMessage());
+            }
+        }));
+        return historial;
+    }
 } 
\ No newline at end of file
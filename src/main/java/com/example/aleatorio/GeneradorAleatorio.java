@@ -0,0 +1,72 @@
+package com.example.aleatorio;
+
+/**
+ * Fuente de números aleatorios de un zapato.
+ *
+ * Un generador pertenece a un solo zapato o a un solo hilo y no es seguro
+ * compartirlo; para otro trabajador u otra mesa se pide un flujo propio con
+ * {@link #dividir()}, que no comparte estado con el original. Así los hilos
+ * nunca compiten por un generador y una corrida con semilla fija se repite
+ * exacta sin importar cuántos hilos la jueguen.
+ *
+ * Implementaciones:
+ * <ul>
+ * <li>{@link GeneradorSplitMix}: el de siempre ({@code SplittableRandom}),
+ *     determinista con semilla.</li>
+ * <li>{@link GeneradorXoshiro}: xoshiro256**, el más rápido, determinista
+ *     con semilla.</li>
+ * <li>{@link GeneradorSeguro}: criptográficamente seguro, para partidas con
+ *     dinero real; no es reproducible.</li>
+ * </ul>
+ */
+public interface GeneradorAleatorio {
+
+    /**
+     * Entero uniforme en [0, limite), sin sesgo.
+     *
+     * @param limite Mayor que cero
+     */
+    int enteroHasta(int limite);
+
+    /**
+     * 64 bits uniformes.
+     */
+    long siguienteLong();
+
+    /**
+     * Crea un generador independiente de éste, para otro hilo o mesa. El
+     * original avanza, así que dividir varias veces da flujos distintos.
+     */
+    GeneradorAleatorio dividir();
+
+    /**
+     * Semilla que reproduce este flujo desde el principio, o 0 si no la hay
+     * (generadores seguros o creados por {@link #dividir()} sin semilla propia).
+     */
+    long getSemilla();
+
+    /**
+     * Nombre corto del algoritmo, el mismo que acepta {@link #crear(String, long)}.
+     */
+    String getNombre();
+
+    /**
+     * Crea un generador por nombre: "splitmix", "xoshiro" o "seguro".
+     *
+     * @param semilla Ignorada por el generador seguro
+     * @throws IllegalArgumentException Si el nombre no es ninguno de esos
+     */
+    static GeneradorAleatorio crear(String nombre, long semilla) {
+        switch (nombre) {
+            case GeneradorSplitMix.NOMBRE:
+                return new GeneradorSplitMix(semilla);
+            case GeneradorXoshiro.NOMBRE:
+                return new GeneradorXoshiro(semilla);
+            case GeneradorSeguro.NOMBRE:
+                return new GeneradorSeguro();
+            default:
+                throw new IllegalArgumentException("Generador desconocido: " + nombre
+                    + " (se esperaba splitmix, xoshiro o seguro)");
+        }
+    }
+}
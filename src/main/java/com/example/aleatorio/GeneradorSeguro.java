@@ -0,0 +1,55 @@
+package com.example.aleatorio;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Generador criptográficamente seguro, para mesas con dinero real: nadie
+ * puede deducir las cartas que siguen a partir de las que ya salieron.
+ *
+ * Usa el DRBG de la plataforma (NIST SP 800-90A), sembrado por el sistema
+ * operativo. Cada generador dividido es una instancia nueva con su propia
+ * siembra, de modo que las mesas no comparten el candado interno de un
+ * {@link SecureRandom} común. No tiene semilla reproducible.
+ */
+public final class GeneradorSeguro implements GeneradorAleatorio {
+
+    public static final String NOMBRE = "seguro";
+
+    private final SecureRandom rand;
+
+    public GeneradorSeguro() {
+        SecureRandom drbg;
+        try {
+            drbg = SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            drbg = new SecureRandom();  // Plataforma sin DRBG: el generador seguro por defecto
+        }
+        this.rand = drbg;
+    }
+
+    @Override
+    public int enteroHasta(int limite) {
+        return rand.nextInt(limite);
+    }
+
+    @Override
+    public long siguienteLong() {
+        return rand.nextLong();
+    }
+
+    @Override
+    public GeneradorAleatorio dividir() {
+        return new GeneradorSeguro();
+    }
+
+    @Override
+    public long getSemilla() {
+        return 0;
+    }
+
+    @Override
+    public String getNombre() {
+        return NOMBRE;
+    }
+}
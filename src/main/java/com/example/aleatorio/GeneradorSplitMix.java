@@ -0,0 +1,60 @@
+package com.example.aleatorio;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generador basado en {@link SplittableRandom} (SplitMix64).
+ *
+ * Es el generador por defecto de los zapatos: con la misma semilla da las
+ * mismas barajadas que antes de existir esta interfaz, y se divide con
+ * {@link SplittableRandom#split()}, pensado justamente para repartir
+ * trabajo entre hilos de fork-join.
+ */
+public final class GeneradorSplitMix implements GeneradorAleatorio {
+
+    public static final String NOMBRE = "splitmix";
+
+    private final SplittableRandom rand;
+    private final long semilla;
+
+    public GeneradorSplitMix(long semilla) {
+        this(new SplittableRandom(semilla), semilla);
+    }
+
+    /**
+     * Envuelve un generador ya creado; su semilla no se conoce.
+     */
+    public GeneradorSplitMix(SplittableRandom rand) {
+        this(rand, 0);
+    }
+
+    private GeneradorSplitMix(SplittableRandom rand, long semilla) {
+        this.rand = rand;
+        this.semilla = semilla;
+    }
+
+    @Override
+    public int enteroHasta(int limite) {
+        return rand.nextInt(limite);
+    }
+
+    @Override
+    public long siguienteLong() {
+        return rand.nextLong();
+    }
+
+    @Override
+    public GeneradorAleatorio dividir() {
+        return new GeneradorSplitMix(rand.split());
+    }
+
+    @Override
+    public long getSemilla() {
+        return semilla;
+    }
+
+    @Override
+    public String getNombre() {
+        return NOMBRE;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.banca;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registro de los últimos movimientos de las billeteras.
+ *
+ * Para no convertirse en el punto de contención que las billeteras evitan,
+ * el registro está dividido en franjas: cada hilo escribe en la franja que
+ * le toca por su identificador, con su propio contador, y cada franja es
+ * un búfer circular de arreglos primitivos que no crea objetos al anotar.
+ * Cuando una franja se llena, los movimientos más viejos se pisan.
+ *
+ * {@link #movimientos()} puede llamarse mientras se juega: cada posición
+ * lleva un número de secuencia que se marca inválido antes de escribirla y
+ * se publica al terminar, y la lectura descarta las posiciones que cambiaron
+ * mientras las copiaba.
+ */
+public final class Auditoria {
+
+    public static final int DEPOSITO = 0;
+    public static final int RESERVA = 1;
+    public static final int LIQUIDACION = 2;
+    /** Reserva rechazada por falta de saldo; el saldo no cambió */
+    public static final int RECHAZO = 3;
+
+    static final String[] TIPOS = {"DEPOSITO", "RESERVA", "LIQUIDACION", "RECHAZO"};
+
+    /** Movimientos que guarda cada franja antes de pisar los más viejos */
+    public static final int CAPACIDAD_POR_DEFECTO = 4096;
+
+    /** Auditoría que no anota nada */
+    public static final Auditoria DESACTIVADA = new Auditoria(0);
+
+    /**
+     * Un búfer circular; sólo los hilos que caen en la misma franja
+     * comparten su contador.
+     */
+    private static final class Franja {
+        final AtomicLong cursor = new AtomicLong();
+        /** Secuencia publicada en cada posición, o -1 mientras se escribe */
+        final AtomicLongArray secuencias;
+        final int[] billeteras;
+        final byte[] tipos;
+        final long[] montos;
+        final long[] saldos;
+        final long[] instantes;
+
+        Franja(int capacidad) {
+            secuencias = new AtomicLongArray(capacidad);
+            for (int i = 0; i < capacidad; i++) {
+                secuencias.set(i, -1);
+            }
+            billeteras = new int[capacidad];
+            tipos = new byte[capacidad];
+            montos = new long[capacidad];
+            saldos = new long[capacidad];
+            instantes = new long[capacidad];
+        }
+    }
+
+    private final Franja[] franjas;
+    private final int mascaraFranjas;
+    private final int mascaraPosicion;
+
+    public Auditoria() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param capacidadPorFranja Movimientos por franja; se redondea a una
+     *                           potencia de dos, y 0 desactiva la auditoría
+     */
+    public Auditoria(int capacidadPorFranja) {
+        if (capacidadPorFranja <= 0) {
+            franjas = new Franja[0];
+            mascaraFranjas = 0;
+            mascaraPosicion = 0;
+            return;
+        }
+        int capacidad = potenciaDeDos(capacidadPorFranja);
+        int cantidad = potenciaDeDos(2 * Runtime.getRuntime().availableProcessors());
+        franjas = new Franja[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            franjas[i] = new Franja(capacidad);
+        }
+        mascaraFranjas = cantidad - 1;
+        mascaraPosicion = capacidad - 1;
+    }
+
+    private static int potenciaDeDos(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Anota un movimiento en la franja del hilo actual.
+     */
+    void registrar(int billetera, int tipo, long monto, long saldo) {
+        if (franjas.length == 0) {
+            return;
+        }
+        Franja franja = franjas[(int) Thread.currentThread().getId() & mascaraFranjas];
+        long secuencia = franja.cursor.getAndIncrement();
+        int i = (int) secuencia & mascaraPosicion;
+        franja.secuencias.set(i, -1);
+        VarHandle.storeStoreFence();
+        franja.billeteras[i] = billetera;
+        franja.tipos[i] = (byte) tipo;
+        franja.montos[i] = monto;
+        franja.saldos[i] = saldo;
+        franja.instantes[i] = System.nanoTime();
+        franja.secuencias.lazySet(i, secuencia);
+    }
+
+    /**
+     * Copia los movimientos que siguen en el registro, ordenados por el
+     * instante en que se anotaron. Entre hilos distintos ese orden es
+     * aproximado (un hilo puede demorarse entre mover el saldo y anotarlo),
+     * pero el saldo de cada movimiento es exactamente el que dejó.
+     */
+    public List<Movimiento> movimientos() {
+        List<Movimiento> copia = new ArrayList<>();
+        for (Franja franja : franjas) {
+            for (int i = 0; i < franja.billeteras.length; i++) {
+                long antes = franja.secuencias.get(i);
+                if (antes < 0) {
+                    continue;
+                }
+                int billetera = franja.billeteras[i];
+                int tipo = franja.tipos[i];
+                long monto = franja.montos[i];
+                long saldo = franja.saldos[i];
+                long instante = franja.instantes[i];
+                VarHandle.loadLoadFence();
+                if (franja.secuencias.get(i) == antes) {
+                    copia.add(new Movimiento(billetera, tipo, monto, saldo, instante));
+                }
+            }
+        }
+        copia.sort(Comparator.comparingLong(Movimiento::getInstante));
+        return copia;
+    }
+
+    /**
+     * Total de movimientos anotados desde que se creó, incluidos los que
+     * ya se pisaron.
+     */
+    public long getRegistrados() {
+        long total = 0;
+        for (Franja franja : franjas) {
+            total += franja.cursor.get();
+        }
+        return total;
+    }
+
+    public boolean estaActiva() {
+        return franjas.length > 0;
+    }
+}
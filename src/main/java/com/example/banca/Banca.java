@@ -0,0 +1,55 @@
+package com.example.banca;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Billeteras de los jugadores por nombre, con una auditoría común.
+ *
+ * Un jugador que se sienta en varias mesas usa siempre la misma billetera,
+ * así que su saldo es uno solo aunque apueste en todas a la vez.
+ */
+public final class Banca {
+
+    private final ConcurrentMap<String, Billetera> billeteras = new ConcurrentHashMap<>();
+    private final Auditoria auditoria;
+
+    public Banca() {
+        this(new Auditoria());
+    }
+
+    public Banca(Auditoria auditoria) {
+        this.auditoria = auditoria;
+    }
+
+    /**
+     * Billetera del jugador; si no tenía, se abre con el saldo inicial dado.
+     */
+    public Billetera abrir(String jugador, long saldoInicial) {
+        return billeteras.computeIfAbsent(jugador, n -> new Billetera(n, saldoInicial, auditoria));
+    }
+
+    /**
+     * Billetera que no queda registrada a nombre de nadie, para jugadores
+     * anónimos; sus movimientos sí se auditan.
+     */
+    public Billetera anonima(long saldoInicial) {
+        return new Billetera("anónimo", saldoInicial, auditoria);
+    }
+
+    /**
+     * @return La billetera del jugador, o null si no tiene
+     */
+    public Billetera buscar(String jugador) {
+        return billeteras.get(jugador);
+    }
+
+    public Collection<Billetera> getBilleteras() {
+        return billeteras.values();
+    }
+
+    public Auditoria getAuditoria() {
+        return auditoria;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.banca;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Saldo de un jugador, compartido por todas las mesas en las que juega.
+ *
+ * El saldo es un único {@link AtomicLong} y nunca se protege con un
+ * candado: una apuesta lo descuenta con compare-and-set sólo si alcanza
+ * (ver {@link #reservar(long)}), y el pago de la {@link Reserva} es una
+ * suma atómica que no puede fallar. Así varias mesas pueden apostar y
+ * liquidar contra la misma billetera a la vez sin que el saldo quede
+ * negativo ni se pierda un pago.
+ *
+ * Cada movimiento se anota en la {@link Auditoria} de la billetera, y los
+ * totales depositados, reservados y devueltos se acumulan aparte para
+ * poder conciliar el saldo (ver {@link #estaConciliada()}).
+ */
+public final class Billetera {
+
+    private static final AtomicInteger SIGUIENTE_ID = new AtomicInteger();
+
+    private final int id;
+    private final String nombre;
+    private final Auditoria auditoria;
+    private final AtomicLong saldo = new AtomicLong();
+
+    // Totales para conciliar; sólo se leen exactos con la billetera quieta
+    private final LongAdder depositado = new LongAdder();
+    private final LongAdder reservado = new LongAdder();
+    private final LongAdder devuelto = new LongAdder();
+    private final LongAdder enJuego = new LongAdder();
+
+    /**
+     * Billetera sin auditoría.
+     */
+    public Billetera(String nombre, long saldoInicial) {
+        this(nombre, saldoInicial, Auditoria.DESACTIVADA);
+    }
+
+    /**
+     * @param saldoInicial Se anota como un depósito
+     * @param auditoria    Registro donde se anotan los movimientos
+     */
+    public Billetera(String nombre, long saldoInicial, Auditoria auditoria) {
+        this.id = SIGUIENTE_ID.incrementAndGet();
+        this.nombre = nombre;
+        this.auditoria = auditoria;
+        if (saldoInicial > 0) {
+            depositar(saldoInicial);
+        }
+    }
+
+    /**
+     * Aparta el monto de una apuesta. Si el saldo no alcanza no cambia nada.
+     *
+     * @return La reserva a liquidar al terminar la mano, o null si no hay saldo
+     * @throws IllegalArgumentException Si el monto no es positivo
+     */
+    public Reserva reservar(long monto) {
+        if (monto <= 0) {
+            throw new IllegalArgumentException("Monto inválido: " + monto);
+        }
+        long actual = saldo.get();
+        while (true) {
+            if (actual < monto) {
+                auditoria.registrar(id, Auditoria.RECHAZO, monto, actual);
+                return null;
+            }
+            long visto = saldo.compareAndExchange(actual, actual - monto);
+            if (visto == actual) {
+                break;
+            }
+            actual = visto;  // Otra mesa movió el saldo: reintentar con el valor nuevo
+        }
+        long restante = actual - monto;
+        reservado.add(monto);
+        enJuego.add(monto);
+        auditoria.registrar(id, Auditoria.RESERVA, monto, restante);
+        return new Reserva(this, monto, restante);
+    }
+
+    /**
+     * Acredita la devolución de una reserva; lo llama {@link Reserva#liquidar(long)}
+     * una sola vez por reserva.
+     *
+     * @return Saldo después de acreditar
+     */
+    long acreditar(Reserva reserva, long devolucion) {
+        long nuevo = devolucion != 0 ? saldo.addAndGet(devolucion) : saldo.get();
+        devuelto.add(devolucion);
+        enJuego.add(-reserva.getMonto());
+        auditoria.registrar(id, Auditoria.LIQUIDACION, devolucion, nuevo);
+        return nuevo;
+    }
+
+    /**
+     * Agrega dinero a la billetera.
+     *
+     * @return Saldo después del depósito
+     * @throws IllegalArgumentException Si el monto no es positivo
+     */
+    public long depositar(long monto) {
+        if (monto <= 0) {
+            throw new IllegalArgumentException("Monto inválido: " + monto);
+        }
+        long nuevo = saldo.addAndGet(monto);
+        depositado.add(monto);
+        auditoria.registrar(id, Auditoria.DEPOSITO, monto, nuevo);
+        return nuevo;
+    }
+
+    /**
+     * Saldo disponible para apostar; no incluye lo reservado en manos en curso.
+     */
+    public long getSaldo() {
+        return saldo.get();
+    }
+
+    /**
+     * Total reservado en manos que todavía no se liquidaron.
+     */
+    public long getEnJuego() {
+        return enJuego.sum();
+    }
+
+    /**
+     * Verifica que el saldo sea lo depositado, menos lo reservado, más lo
+     * devuelto. Sólo es exacto cuando ninguna mesa está moviendo la billetera.
+     */
+    public boolean estaConciliada() {
+        return saldo.get() == depositado.sum() - reservado.sum() + devuelto.sum();
+    }
+
+    /**
+     * Identificador de la billetera en la auditoría.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public String toString() {
+        return nombre + " ($" + saldo.get() + ", $" + enJuego.sum() + " en juego)";
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.banca;
+
+/**
+ * Un movimiento copiado de la {@link Auditoria}.
+ */
+public final class Movimiento {
+
+    private final int billetera;
+    private final int tipo;
+    private final long monto;
+    private final long saldo;
+    private final long instante;
+
+    Movimiento(int billetera, int tipo, long monto, long saldo, long instante) {
+        this.billetera = billetera;
+        this.tipo = tipo;
+        this.monto = monto;
+        this.saldo = saldo;
+        this.instante = instante;
+    }
+
+    /**
+     * Identificador de la billetera (ver Billetera#getId).
+     */
+    public int getBilletera() {
+        return billetera;
+    }
+
+    /**
+     * Tipo de movimiento, una de las constantes de {@link Auditoria}.
+     */
+    public int getTipo() {
+        return tipo;
+    }
+
+    public long getMonto() {
+        return monto;
+    }
+
+    /**
+     * Saldo disponible de la billetera después del movimiento.
+     */
+    public long getSaldo() {
+        return saldo;
+    }
+
+    /**
+     * Momento del movimiento según System.nanoTime().
+     */
+    public long getInstante() {
+        return instante;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + billetera + " " + Auditoria.TIPOS[tipo] + " $" + monto + " -> $" + saldo;
+    }
+}
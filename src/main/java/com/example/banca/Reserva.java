@@ -0,0 +1,77 @@
+package com.example.banca;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Dinero apartado de una {@link Billetera} para una apuesta.
+ *
+ * Se liquida exactamente una vez: el cambio de estado es un
+ * compare-and-set, así que aunque dos hilos intenten pagar la misma mano
+ * sólo uno acredita la devolución.
+ */
+public final class Reserva {
+
+    private static final int PENDIENTE = 0;
+    private static final int LIQUIDADA = 1;
+
+    private static final AtomicIntegerFieldUpdater<Reserva> ESTADO =
+        AtomicIntegerFieldUpdater.newUpdater(Reserva.class, "estado");
+
+    private final Billetera billetera;
+    private final long monto;
+    private final long saldoAlReservar;
+    private volatile int estado = PENDIENTE;
+
+    Reserva(Billetera billetera, long monto, long saldoAlReservar) {
+        this.billetera = billetera;
+        this.monto = monto;
+        this.saldoAlReservar = saldoAlReservar;
+    }
+
+    /**
+     * Paga la mano acreditando la devolución en la billetera.
+     *
+     * @param devolucion Lo que vuelve al jugador: 0 si pierde, el monto si
+     *                   empata, más si gana (ver ReglasPago#devolucion)
+     * @return Saldo de la billetera después del pago
+     * @throws IllegalArgumentException Si la devolución es negativa
+     * @throws IllegalStateException    Si la reserva ya se había liquidado
+     */
+    public long liquidar(long devolucion) {
+        if (devolucion < 0) {
+            throw new IllegalArgumentException("Devolución inválida: " + devolucion);
+        }
+        if (!ESTADO.compareAndSet(this, PENDIENTE, LIQUIDADA)) {
+            throw new IllegalStateException("La reserva ya se liquidó");
+        }
+        return billetera.acreditar(this, devolucion);
+    }
+
+    /**
+     * Devuelve el monto completo, como si la mano no se hubiera jugado.
+     *
+     * @return Saldo de la billetera después de la devolución
+     */
+    public long anular() {
+        return liquidar(monto);
+    }
+
+    public boolean estaPendiente() {
+        return estado == PENDIENTE;
+    }
+
+    public long getMonto() {
+        return monto;
+    }
+
+    /**
+     * Saldo de la billetera justo después de apartar el monto.
+     */
+    public long getSaldoAlReservar() {
+        return saldoAlReservar;
+    }
+
+    public Billetera getBilletera() {
+        return billetera;
+    }
+}
@@ -1,289 +1,923 @@
 package com.example.controlador;
 
+import com.example.banca.Billetera;
+import com.example.banca.Reserva;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaConsola;
+import com.example.eventos.OyenteJuego;
+import com.example.historial.EscritorHistorial;
+import com.example.historial.RegistroMano;
+import com.example.metricas.Metricas;
 import com.example.modelo.*;
-import com.example.vista.*;
+import com.example.vista.CacheSprites;
+import com.example.vista.VistaMesa;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controlador principal del juego de Blackjack.
- * 
+ *
  * Esta clase implementa el patrón MVC (Modelo-Vista-Controlador) y actúa como
  * intermediario entre la interfaz gráfica (vista) y la lógica del juego (modelo).
- * 
+ *
  * Responsabilidades principales:
  * - Gestionar el estado del juego (turnos, saldo, apuestas)
- * - Coordinar las acciones del jugador y crupier
+ * - Coordinar las acciones de los jugadores y el crupier
  * - Actualizar la interfaz gráfica con los cambios del juego
  * - Manejar la lógica de victoria/derrota
+ *
+ * Las acciones del jugador no se ejecutan en el hilo de eventos de Swing:
+ * los métodos públicos sólo encolan la acción en el hilo del motor del
+ * juego, que la procesa y al terminar publica una {@link InstantaneaMesa}
+ * inmutable a la vista. Todo el estado del juego se toca únicamente desde
+ * ese hilo.
+ *
+ * Las reglas de la mesa salen de una {@link ReglasMesa} elegida al crearlo:
+ * la cantidad de mazos del zapato, cómo juega el crupier, el pago del
+ * blackjack y si el jugador puede doblar o rendirse. Dividir todavía no se
+ * ofrece en la mesa gráfica.
+ *
+ * La mesa tiene hasta {@link #MAXIMO_ASIENTOS} asientos que comparten el
+ * zapato y el crupier. El primero es el del dueño de la billetera del
+ * constructor; los demás se agregan con {@link #sentar}. Todos los asientos
+ * juegan su mano a la vez: los automáticos deciden al repartir y cada
+ * persona actúa cuando quiere, así que nadie espera a nadie. Si hay un
+ * tiempo de decisión ({@link #setTiempoDecision(long)}), el asiento que no
+ * actúa a tiempo se planta solo sin frenar a los demás. Cuando ningún
+ * asiento tiene decisiones pendientes el crupier juega una sola vez y se
+ * liquidan todas las manos juntas.
  */
 public class BlackjackControlador {
-    
+
+    /** Asientos que entran en una mesa */
+    public static final int MAXIMO_ASIENTOS = 7;
+
     // === ATRIBUTOS PRINCIPALES ===
-    
-    /** Referencia a la interfaz gráfica del juego */
-    private BlackjackGUI vista;
-    
-    /** Mazo de cartas del juego */
+
+    /** Vista que recibe las instantáneas: la ventana de Swing o una sin pantalla */
+    private final VistaMesa vista;
+
+    /** Variante de reglas de la mesa, ya compilada */
+    private final ReglasMesa reglas;
+
+    /** Zapato de cartas del juego; se reutiliza entre rondas y lo comparten todos los asientos */
     private Mazo mazo;
-    
-    /** Jugador humano del juego */
-    private JugadorApostador jugador;
-    
+
     /** Crupier (dealer) del juego */
-    private Crupier crupier;
-    
-    /** Saldo actual del jugador en dinero */
-    private int saldo;
-    
-    /** Apuesta actual de la ronda */
-    private int apuesta;
-    
-    /** Indica si es el turno del jugador (true) o del crupier (false) */
-    private boolean turnoJugador;
+    private final Crupier crupier = new Crupier();
+
+    /** Billetera del jugador del primer asiento; el saldo vive ahí y no en el controlador */
+    private final Billetera billetera;
+
+    /** Asientos ocupados, en orden de reparto; el primero es el del jugador de la ventana */
+    private final List<Asiento> asientos = new ArrayList<>(MAXIMO_ASIENTOS);
+
+    /** Indica si hay una ronda repartida que todavía no se liquidó */
+    private boolean rondaEnCurso;
+
+    /** Milisegundos que tiene cada asiento para decidir, o 0 para esperar sin límite */
+    private volatile long tiempoDecision;
+
+    // === MOTOR DEL JUEGO ===
+
+    /**
+     * Hilo único que procesa las acciones en orden, fuera del hilo de
+     * eventos. También corre los vencimientos de los tiempos de decisión,
+     * así que un asiento lento sólo ocupa una tarea programada y no un hilo.
+     */
+    private final ScheduledExecutorService motor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "motor-juego");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /** Número de ronda, para que la vista sepa cuándo limpiar la mesa */
+    private long ronda;
+
+    /** Mensajes desde la última limpieza, acumulados para las instantáneas */
+    private final List<String> mensajes = new ArrayList<>();
+
+    /** Mensajes para ventana emergente desde la última limpieza */
+    private final List<String> mensajesImportantes = new ArrayList<>();
+
+    /** Cambia cada vez que se limpian los mensajes */
+    private int generacionMensajes;
+
+    /** Recibe los eventos del juego; por defecto no hace nada */
+    private volatile OyenteJuego oyente = OyenteJuego.NINGUNO;
+
+    /** Historial donde se guarda cada mano, o null para no guardarlas */
+    private volatile EscritorHistorial historial;
+
+    /** Historial de la ronda en curso, tomado al repartir */
+    private EscritorHistorial historialRonda;
+
+    /**
+     * Un lugar en la mesa, con su jugador, su billetera y su apuesta.
+     * Sólo se toca desde el hilo del motor.
+     */
+    private static final class Asiento {
+        /** Número de asiento, de 1 a {@link #MAXIMO_ASIENTOS} */
+        final int numero;
+        final JugadorApostador jugador;
+        final Billetera billetera;
+        /** Estrategia que decide por el asiento, o null si decide una persona */
+        final Estrategia estrategia;
+        /** Apuesta de cada ronda; la del primer asiento llega con {@link #nuevaPartida(int)} */
+        final int apuestaFija;
+        /** Registro de la mano en curso; se reutiliza entre rondas */
+        final RegistroMano registro = new RegistroMano();
+
+        /** Apuesta actual de la ronda */
+        int apuesta;
+        /** Dinero apartado para la ronda en curso, hasta liquidarla */
+        Reserva reserva;
+        /** Dinero apartado al doblar, o null si la mano no se dobló */
+        Reserva reservaDoble;
+        /** Recibió cartas en la ronda en curso */
+        boolean enRonda;
+        /** Todavía puede pedir, plantarse, doblar o rendirse */
+        boolean decidiendo;
+        /** Se rindió y ya cobró media apuesta */
+        boolean rendido;
+        /** Resultado de la última mano liquidada, o {@link InstantaneaAsiento#SIN_RESULTADO} */
+        int resultado = InstantaneaAsiento.SIN_RESULTADO;
+        /** Vencimiento programado del tiempo de decisión, o null */
+        ScheduledFuture<?> limite;
+
+        Asiento(int numero, String nombre, Billetera billetera, Estrategia estrategia, int apuestaFija) {
+            this.numero = numero;
+            this.billetera = billetera;
+            this.estrategia = estrategia;
+            this.apuestaFija = apuestaFija;
+            // Las personas deciden con los botones; la estrategia de consola sólo cumple con el modelo
+            this.jugador = new JugadorApostador(nombre, billetera,
+                estrategia != null ? estrategia : EstrategiaConsola.sistema());
+        }
+
+        int getApostado() {
+            return reservaDoble != null ? apuesta * 2 : apuesta;
+        }
+    }
 
     /**
      * Constructor del controlador.
-     * 
-     * @param vista La interfaz gráfica que se conectará con este controlador
+     *
+     * @param vista La vista que se conectará con este controlador
+     */
+    public BlackjackControlador(VistaMesa vista) {
+        this(vista, new Billetera("Jugador", 1000));  // Saldo inicial del jugador
+    }
+
+    /**
+     * Constructor con una billetera propia, por ejemplo una que el jugador
+     * comparte con otras mesas.
+     *
+     * @param vista     La vista que se conectará con este controlador
+     * @param billetera Billetera de donde salen las apuestas
+     */
+    public BlackjackControlador(VistaMesa vista, Billetera billetera) {
+        this(vista, billetera, ReglasMesa.CLASICA);
+    }
+
+    /**
+     * Constructor con una variante de reglas.
+     *
+     * @param vista     La vista que se conectará con este controlador
+     * @param billetera Billetera de donde salen las apuestas
+     * @param reglas    Reglas de la mesa durante toda la sesión
      */
-    public BlackjackControlador(BlackjackGUI vista) {
+    public BlackjackControlador(VistaMesa vista, Billetera billetera, ReglasMesa reglas) {
         this.vista = vista;
-        this.saldo = 1000;  // Saldo inicial del jugador
-        this.apuesta = 100; // Apuesta por defecto (se cambiará en cada partida)
-        
+        this.billetera = billetera;
+        this.reglas = reglas;
+        // Un solo zapato para toda la sesión
+        this.mazo = new Mazo(reglas.getMazos(), Mazo.PENETRACION_POR_DEFECTO);
+        // Apuesta por defecto (se cambiará en cada partida)
+        asientos.add(new Asiento(1, "Jugador", billetera, null, 100));
+        asientos.get(0).apuesta = 100;
+
         // Inicializar la vista con el saldo inicial
-        vista.actualizarSaldo(saldo);
-        vista.mostrarMensaje("Haz clic en 'Nueva partida' para comenzar.");
+        motor.execute(() -> {
+            mostrarMensaje("Haz clic en 'Nueva partida' para comenzar.");
+            publicar();
+        });
+    }
+
+    /**
+     * Cambia el oyente de los eventos del juego (cartas, liquidaciones y
+     * saldo). Se aplica desde la próxima ronda.
+     *
+     * @param oyente El nuevo oyente, o null para no avisar a nadie
+     */
+    public void setOyente(OyenteJuego oyente) {
+        this.oyente = oyente != null ? oyente : OyenteJuego.NINGUNO;
+    }
+
+    /**
+     * Cambia el historial donde se guarda cada mano jugada. Se aplica
+     * desde la próxima ronda.
+     *
+     * @param historial El historial, o null para no guardar las manos
+     */
+    public void setHistorial(EscritorHistorial historial) {
+        this.historial = historial;
+    }
+
+    /**
+     * Cambia el tiempo que tiene cada asiento para decidir. Al vencer, el
+     * asiento se planta solo; los demás siguen jugando. Se aplica desde la
+     * próxima decisión.
+     *
+     * @param milis Milisegundos por decisión, o 0 para esperar sin límite
+     */
+    public void setTiempoDecision(long milis) {
+        if (milis < 0) {
+            throw new IllegalArgumentException("Tiempo de decisión inválido: " + milis);
+        }
+        this.tiempoDecision = milis;
+    }
+
+    /**
+     * Encola sentar a otro jugador en el próximo asiento libre. Entra a
+     * jugar desde la próxima ronda y apuesta siempre lo mismo; si no le
+     * alcanza el saldo, no juega esa ronda.
+     *
+     * @param nombre     Nombre que se muestra en la mesa
+     * @param billetera  Billetera de donde salen sus apuestas
+     * @param estrategia Estrategia que decide por él, o null si decide una persona
+     *                   con los métodos que reciben el número de asiento
+     * @param apuesta    Apuesta de cada ronda
+     */
+    public void sentar(String nombre, Billetera billetera, Estrategia estrategia, int apuesta) {
+        if (apuesta <= 0) {
+            throw new IllegalArgumentException("Apuesta inválida: " + apuesta);
+        }
+        motor.execute(() -> {
+            if (asientos.size() >= MAXIMO_ASIENTOS) {
+                mostrarMensaje("La mesa está llena: " + nombre + " no se pudo sentar.");
+            } else {
+                Estrategia paraMesa = estrategia != null ? estrategia.para(reglas) : null;
+                asientos.add(new Asiento(asientos.size() + 1, nombre, billetera, paraMesa, apuesta));
+                mostrarMensaje(nombre + " se sentó en el asiento " + asientos.size() + ".");
+            }
+            publicar();
+        });
+    }
+
+    // === ACCIONES DEL JUGADOR (SE ENCOLAN EN EL MOTOR) ===
+
+    /**
+     * Inicia una nueva partida con la apuesta indicada.
+     *
+     * La apuesta llega como parámetro: la ventana la pide al usuario en el
+     * hilo de eventos y un bot la elige solo. Este método sólo encola la acción.
+     *
+     * @param apuesta La apuesta de la ronda (se valida contra el saldo)
+     */
+    public void nuevaPartida(int apuesta) {
+        long inicio = Metricas.reloj();
+        motor.execute(() -> {
+            procesarNuevaPartida(apuesta);
+            publicar();
+            Metricas.global().registrar(Metricas.NUEVA_PARTIDA, inicio);
+        });
+    }
+
+    /**
+     * Encola la acción de pedir una carta adicional.
+     */
+    public void pedirCarta() {
+        pedirCarta(1);
+    }
+
+    /**
+     * Encola la acción de pedir una carta para un asiento.
+     *
+     * @param asiento Número de asiento, desde 1
+     */
+    public void pedirCarta(int asiento) {
+        long inicio = Metricas.reloj();
+        motor.execute(() -> {
+            Asiento a = asientoHumano(asiento);
+            if (a != null) {
+                procesarPedirCarta(a);
+                publicar();
+            }
+            Metricas.global().registrar(Metricas.PEDIR_CARTA, inicio);
+        });
+    }
+
+    /**
+     * Encola la acción de plantarse.
+     */
+    public void plantarse() {
+        plantarse(1);
+    }
+
+    /**
+     * Encola la acción de plantarse para un asiento.
+     *
+     * @param asiento Número de asiento, desde 1
+     */
+    public void plantarse(int asiento) {
+        long inicio = Metricas.reloj();
+        motor.execute(() -> {
+            Asiento a = asientoHumano(asiento);
+            if (a != null) {
+                procesarPlantarse(a);
+                publicar();
+            }
+            Metricas.global().registrar(Metricas.PLANTARSE, inicio);
+        });
+    }
+
+    /**
+     * Encola la acción de doblar: duplicar la apuesta, recibir una carta y plantarse.
+     */
+    public void doblar() {
+        doblar(1);
+    }
+
+    /**
+     * Encola la acción de doblar para un asiento.
+     *
+     * @param asiento Número de asiento, desde 1
+     */
+    public void doblar(int asiento) {
+        long inicio = Metricas.reloj();
+        motor.execute(() -> {
+            Asiento a = asientoHumano(asiento);
+            if (a != null) {
+                procesarDoblar(a);
+                publicar();
+            }
+            Metricas.global().registrar(Metricas.DOBLAR, inicio);
+        });
+    }
+
+    /**
+     * Encola la acción de rendirse y recuperar media apuesta.
+     */
+    public void rendirse() {
+        rendirse(1);
+    }
+
+    /**
+     * Encola la acción de rendirse para un asiento.
+     *
+     * @param asiento Número de asiento, desde 1
+     */
+    public void rendirse(int asiento) {
+        long inicio = Metricas.reloj();
+        motor.execute(() -> {
+            Asiento a = asientoHumano(asiento);
+            if (a != null) {
+                procesarRendirse(a);
+                publicar();
+            }
+            Metricas.global().registrar(Metricas.RENDIRSE, inicio);
+        });
+    }
+
+    /**
+     * Reglas con las que juega la mesa.
+     */
+    public ReglasMesa getReglas() {
+        return reglas;
+    }
+
+    // === LÓGICA DEL JUEGO (HILO DEL MOTOR) ===
+
+    /**
+     * Asiento manejado por una persona con ese número, o null. Las
+     * acciones dirigidas a un asiento automático se ignoran.
+     */
+    private Asiento asientoHumano(int numero) {
+        if (numero < 1 || numero > asientos.size()) {
+            return null;
+        }
+        Asiento asiento = asientos.get(numero - 1);
+        return asiento.estrategia == null ? asiento : null;
     }
 
     /**
      * Inicia una nueva partida de Blackjack.
-     * 
+     *
      * Este método:
      * 1. Verifica que el jugador tenga saldo suficiente
-     * 2. Solicita la apuesta al usuario
-     * 3. Crea un nuevo mazo y reinicia jugador/crupier
-     * 4. Reparte las cartas iniciales
-     * 5. Verifica si hay Blackjack natural
-     */
-    public void nuevaPartida() {
-        System.out.println("DEBUG: Se llamó a nuevaPartida()");
-        
+     * 2. Valida la apuesta recibida y aparta la de cada asiento
+     * 3. Baraja el zapato si ya salió la carta de corte y limpia las manos
+     * 4. Reparte las cartas iniciales a todos los asientos
+     * 5. Verifica si hay Blackjack natural y juega los asientos automáticos
+     */
+    private void procesarNuevaPartida(int apuesta) {
         // Verificar saldo suficiente
-        if (saldo <= 0) {
-            vista.mostrarMensajeImportante("No tienes suficiente saldo para apostar. Juego terminado.");
+        if (billetera.getSaldo() <= 0) {
+            mostrarMensajeImportante("No tienes suficiente saldo para apostar. Juego terminado.");
             return;
         }
-        
-        vista.limpiarMensajes(); // Limpiar mensajes anteriores
-        
-        // === SOLICITAR APUESTA AL USUARIO ===
-        String apuestaStr = javax.swing.JOptionPane.showInputDialog(
-            vista, 
-            "¿Cuánto deseas apostar? (Saldo: $" + saldo + ")"
-        );
-        
-        if (apuestaStr == null) return; // Usuario canceló
-        
-        // Validar que la apuesta sea un número válido
-        try {
-            apuesta = Integer.parseInt(apuestaStr);
-            if (apuesta <= 0 || apuesta > saldo) {
-                vista.mostrarMensaje("Apuesta inválida. Intenta de nuevo.");
-                return;
-            }
-        } catch (NumberFormatException e) {
-            vista.mostrarMensaje("Apuesta inválida. Intenta de nuevo.");
+
+        limpiarMensajes(); // Limpiar mensajes anteriores
+
+        // Validar la apuesta y apartarla de la billetera
+        if (apuesta <= 0 || apuesta > billetera.getSaldo()) {
+            mostrarMensaje("Apuesta inválida. Intenta de nuevo.");
             return;
         }
-        
+        if (rondaEnCurso) {
+            abandonarRonda();  // La ronda anterior quedó sin terminar: se cierra para los demás asientos
+            limpiarMensajes();
+        }
+        Asiento propio = asientos.get(0);
+        Reserva nueva = billetera.reservar(apuesta);
+        if (nueva == null) {
+            // Otra mesa usó el saldo entre la validación y la reserva
+            mostrarMensaje("Apuesta inválida. Intenta de nuevo.");
+            return;
+        }
+        propio.apuesta = apuesta;
+        propio.reserva = nueva;
+
         // === INICIALIZAR NUEVA PARTIDA ===
-        mazo = new Mazo();                    // Crear nuevo mazo mezclado
-        jugador = new JugadorApostador("Jugador", saldo);  // Crear jugador
-        crupier = new Crupier();              // Crear crupier
-        
-        saldo -= apuesta;  // Descontar apuesta del saldo
-        vista.actualizarSaldo(saldo);
-        
+        if (mazo.prepararRonda()) {           // Barajar al pasar la carta de corte
+            mostrarMensaje("Se barajó el zapato.");
+            Metricas.global().barajada();
+        }
+        crupier.setOyente(oyente);
+        crupier.limpiarMano();
+        ronda++;
+        historialRonda = historial;
+
+        avisarSaldo(propio, nueva.getSaldoAlReservar(), -apuesta);  // La apuesta ya salió del saldo
+
         // Mostrar información de la nueva partida
-        vista.mostrarMensaje("\n=== NUEVA PARTIDA ===");
-        vista.mostrarMensaje("Apuesta: $" + apuesta);
-        
-        // Limpiar cartas anteriores
-        jugador.getCartas().clear();
-        crupier.getCartas().clear();
-        
+        mostrarMensaje("\n=== NUEVA PARTIDA ===");
+        mostrarMensaje("Apuesta: $" + apuesta);
+
+        // Los demás asientos apuestan lo suyo; el que no llega se queda afuera esta ronda
+        for (int i = 1; i < asientos.size(); i++) {
+            Asiento asiento = asientos.get(i);
+            asiento.reserva = asiento.billetera.reservar(asiento.apuestaFija);
+            if (asiento.reserva == null) {
+                mostrarMensaje(asiento.jugador.getNombre() + " no tiene saldo y no juega esta ronda.");
+            } else {
+                asiento.apuesta = asiento.apuestaFija;
+                avisarSaldo(asiento, asiento.reserva.getSaldoAlReservar(), -asiento.apuesta);
+            }
+        }
+
+        // Limpiar cartas anteriores (la vista limpia la mesa al cambiar de ronda)
+        List<Asiento> enJuego = new ArrayList<>(asientos.size());
+        for (Asiento asiento : asientos) {
+            asiento.jugador.setOyente(oyente);
+            asiento.jugador.limpiarMano();
+            asiento.reservaDoble = null;
+            asiento.rendido = false;
+            asiento.resultado = InstantaneaAsiento.SIN_RESULTADO;
+            asiento.enRonda = asiento.reserva != null;
+            asiento.decidiendo = asiento.enRonda;
+            if (asiento.enRonda) {
+                asiento.registro.iniciar(ronda, 0, asiento.numero, mazo, reglas, asiento.apuesta);
+                enJuego.add(asiento);
+            }
+        }
+        rondaEnCurso = true;
+
         // === REPARTIR CARTAS INICIALES ===
-        // Orden importante: jugador, crupier oculta, jugador, crupier visible
-        jugador.recibirCarta(mazo.repartirCarta());           // 1ra carta jugador
-        crupier.recibirCartaOculta(mazo.repartirCarta());     // 1ra carta crupier (oculta)
-        jugador.recibirCarta(mazo.repartirCarta());           // 2da carta jugador
-        crupier.recibirCartaVisible(mazo.repartirCarta());    // 2da carta crupier (visible)
-        
-        turnoJugador = true;  // Comenzar con el turno del jugador
-        
-        // Mostrar cartas en la interfaz
-        mostrarCartas();
-        
-        // Verificar Blackjack natural (21 puntos con 2 cartas)
-        if (jugador.calcularPuntos() == 21) {
-            vista.mostrarMensaje("¡BLACKJACK NATURAL!");
-            terminarRonda(true);
-        } else {
-            vista.mostrarMensaje("Tu turno. Elige: Pedir carta o Plantarse.");
+        // Orden importante: jugadores, crupier oculta, jugadores, crupier visible
+        for (Asiento asiento : enJuego) {
+            asiento.jugador.recibirCarta(mazo.repartirCarta());   // 1ra carta de cada jugador
+        }
+        crupier.recibirCartaOculta(mazo.repartirCarta());         // 1ra carta crupier (oculta)
+        for (Asiento asiento : enJuego) {
+            asiento.jugador.recibirCarta(mazo.repartirCarta());   // 2da carta de cada jugador
+        }
+        crupier.recibirCartaVisible(mazo.repartirCarta());        // 2da carta crupier (visible)
+
+        // Verificar Blackjack natural (21 puntos con 2 cartas): esa mano ya no decide
+        for (Asiento asiento : enJuego) {
+            if (asiento.jugador.esBlackjack()) {
+                asiento.decidiendo = false;
+                mostrarMensaje(asiento == propio ? "¡BLACKJACK NATURAL!"
+                    : asiento.jugador.getNombre() + ": ¡blackjack natural!");
+            }
+        }
+        if (propio.decidiendo) {
+            if (puedeDoblar(propio) || puedeRendirse(propio)) {
+                mostrarMensaje("Tu turno. Elige: Pedir carta, Plantarse"
+                    + (puedeDoblar(propio) ? ", Doblar" : "") + (puedeRendirse(propio) ? ", Rendirse" : "") + ".");
+            } else {
+                mostrarMensaje("Tu turno. Elige: Pedir carta o Plantarse.");
+            }
+        }
+
+        // Los asientos automáticos juegan ya; las personas tienen su tiempo
+        for (Asiento asiento : enJuego) {
+            if (!asiento.decidiendo) {
+                continue;
+            }
+            if (asiento.estrategia != null) {
+                jugarAutomatico(asiento);
+            } else {
+                programarLimite(asiento);
+            }
+        }
+        terminarSiNadieDecide();
+    }
+
+    /**
+     * Juega la mano de un asiento automático con su estrategia. Si la
+     * estrategia pide algo que no se puede (doblar sin saldo), pide carta
+     * o se planta en su lugar.
+     */
+    private void jugarAutomatico(Asiento asiento) {
+        int valorVisible = CodigoCarta.valor(crupier.getCodigo(1));
+        while (asiento.decidiendo) {
+            int decision = asiento.estrategia.decidir(asiento.jugador.getEstado(), valorVisible);
+            if (decision == Estrategia.DOBLAR && puedeDoblar(asiento)) {
+                procesarDoblar(asiento);
+            } else if (decision == Estrategia.RENDIRSE && puedeRendirse(asiento)) {
+                procesarRendirse(asiento);
+            } else if (decision == Estrategia.PEDIR || decision == Estrategia.DOBLAR) {
+                procesarPedirCarta(asiento);
+            } else {
+                procesarPlantarse(asiento);
+            }
         }
     }
 
     /**
      * Acción del jugador para pedir una carta adicional.
-     * 
+     *
      * Este método:
-     * 1. Verifica que sea el turno del jugador
+     * 1. Verifica que el asiento tenga decisiones pendientes
      * 2. Reparte una carta al jugador
      * 3. Verifica si se pasó de 21 o llegó exactamente a 21
      * 4. Si llega a 21, automáticamente planta
      */
-    public void pedirCarta() {
-        System.out.println("DEBUG: Se llamó a pedirCarta()");
-        
-        if (!turnoJugador) return;  // No es turno del jugador
-        
+    private void procesarPedirCarta(Asiento asiento) {
+        if (!asiento.decidiendo) return;  // No es turno del jugador
+        asiento.registro.decision(Estrategia.PEDIR);
+
         // Repartir carta al jugador
-        jugador.recibirCarta(mazo.repartirCarta());
-        mostrarCartas();  // Actualizar vista
-        
-        int puntos = jugador.calcularPuntos();
-        
+        asiento.jugador.recibirCarta(mazo.repartirCarta());
+
+        int puntos = asiento.jugador.calcularPuntos();
+
         // Verificar resultado de pedir carta
         if (puntos > 21) {
-            vista.mostrarMensajeImportante("Te pasaste de 21. Pierdes la ronda.");
-            terminarRonda(false);
+            avisar(asiento, "Te pasaste de 21. Pierdes la ronda.", "se pasó de 21.");
+            terminarDecisiones(asiento);
         } else if (puntos == 21) {
-            vista.mostrarMensaje("¡Tienes 21!");
-            plantarse();  // Automáticamente planta al llegar a 21
+            if (asiento.estrategia == null) {
+                mostrarMensaje(asiento.numero == 1 ? "¡Tienes 21!" : asiento.jugador.getNombre() + ": ¡21!");
+            }
+            terminarDecisiones(asiento);  // Automáticamente planta al llegar a 21
+        } else {
+            programarLimite(asiento);
         }
     }
 
     /**
-     * Acción del jugador para terminar su turno y pasar al crupier.
-     * 
-     * Este método:
-     * 1. Verifica que sea el turno del jugador
-     * 2. Cambia el turno al crupier
-     * 3. Ejecuta la lógica del crupier
-     * 4. Compara puntajes y determina el ganador
-     * 5. Actualiza el saldo según el resultado
+     * Acción del jugador para terminar su mano. Cuando ningún asiento
+     * tiene decisiones pendientes, juega el crupier.
      */
-    public void plantarse() {
-        System.out.println("DEBUG: Se llamó a plantarse()");
-        
-        if (!turnoJugador) return;  // No es turno del jugador
-        
-        turnoJugador = false;  // Cambiar turno al crupier
-        
-        vista.mostrarMensaje("\n--- Turno del Crupier ---");
-        
-        // El crupier juega automáticamente según las reglas
-        crupier.jugarTurno(mazo);
-        
-        // Mostrar todas las cartas (incluyendo la que estaba oculta)
-        mostrarCartas();
-        
-        // === DETERMINAR GANADOR ===
-        int puntosJugador = jugador.calcularPuntos();
-        int puntosCrupier = crupier.calcularPuntos();
-        
-        if (puntosCrupier > 21 || puntosJugador > puntosCrupier) {
-            // Jugador gana: crupier se pasó o jugador tiene más puntos
-            vista.mostrarMensajeImportante("¡Ganaste la ronda!");
-            saldo += apuesta * 2;  // Recupera apuesta + gana apuesta
-        } else if (puntosJugador == puntosCrupier) {
-            // Empate: jugador recupera su apuesta
-            vista.mostrarMensajeImportante("Empate. Recuperas tu apuesta.");
-            saldo += apuesta;
-        } else {
-            // Crupier gana: jugador pierde la apuesta
-            vista.mostrarMensajeImportante("El crupier gana la ronda.");
+    private void procesarPlantarse(Asiento asiento) {
+        if (!asiento.decidiendo) return;  // No es turno del jugador
+        if (asiento.jugador.calcularPuntos() < 21) {
+            asiento.registro.decision(Estrategia.PLANTARSE);  // Con 21 se planta solo, sin decidir
         }
-        
-        vista.actualizarSaldo(saldo);
-        terminarRonda(false);
+        terminarDecisiones(asiento);
     }
 
     /**
-     * Finaliza la ronda actual y prepara para la siguiente.
-     * 
-     * @param blackjackNatural true si el jugador ganó con Blackjack natural
+     * Acción del jugador para doblar: aparta otra apuesta igual, recibe
+     * una sola carta y termina su mano.
      */
-    private void terminarRonda(boolean blackjackNatural) {
-        turnoJugador = false;  // Asegurar que no sea turno del jugador
-        
-        if (blackjackNatural) {
-            // Premio especial por Blackjack natural (1.5 veces la apuesta)
-            vista.mostrarMensajeImportante("¡Ganaste con Blackjack! Premio especial.");
-            saldo += apuesta * 2 + apuesta / 2;  // Apuesta + apuesta + mitad de apuesta
-            vista.actualizarSaldo(saldo);
+    private void procesarDoblar(Asiento asiento) {
+        if (!asiento.decidiendo || !puedeDoblar(asiento)) return;
+        Reserva doble = asiento.billetera.reservar(asiento.apuesta);
+        if (doble == null) {
+            avisar(asiento, null, "no tiene saldo para doblar la apuesta.");
+            return;
+        }
+        asiento.reservaDoble = doble;
+        asiento.registro.decision(Estrategia.DOBLAR);
+        avisarSaldo(asiento, doble.getSaldoAlReservar(), -asiento.apuesta);
+        mostrarMensaje((asiento.numero == 1 ? "Doblas" : asiento.jugador.getNombre() + " dobla")
+            + " la apuesta a $" + asiento.apuesta * 2 + ".");
+
+        asiento.jugador.recibirCarta(mazo.repartirCarta());
+        if (asiento.jugador.calcularPuntos() > 21) {
+            avisar(asiento, "Te pasaste de 21. Pierdes la ronda.", "se pasó de 21.");
         }
-        
-        vista.mostrarMensaje("Haz clic en 'Nueva partida' para jugar otra ronda.");
+        terminarDecisiones(asiento);
+    }
+
+    /**
+     * Acción del jugador para rendirse con sus dos primeras cartas: cobra
+     * media apuesta en el momento y su mano ya no cuenta para el crupier.
+     */
+    private void procesarRendirse(Asiento asiento) {
+        if (!asiento.decidiendo || !puedeRendirse(asiento)) return;
+        asiento.rendido = true;
+        asiento.registro.decision(Estrategia.RENDIRSE);
+        avisar(asiento, "Te rendiste. Recuperas la mitad de tu apuesta.", "se rinde.");
+        terminarDecisiones(asiento);
+    }
+
+    /**
+     * Si la mano de un asiento se puede doblar según las reglas de la mesa.
+     */
+    private boolean puedeDoblar(Asiento asiento) {
+        return asiento.decidiendo && reglas.sePuedeDoblar(asiento.jugador.getEstado())
+            && asiento.billetera.getSaldo() >= asiento.apuesta;
     }
 
     /**
-     * Actualiza la vista con las cartas actuales del jugador y crupier.
-     * 
-     * Este método es crucial para mantener sincronizada la interfaz gráfica
-     * con el estado actual del juego. Maneja la lógica de mostrar cartas
-     * ocultas del crupier durante el turno del jugador.
+     * Si el jugador se puede rendir: sólo con sus dos primeras cartas.
      */
-    private void mostrarCartas() {
-        // === MOSTRAR CARTAS DEL JUGADOR ===
-        List<String> cartasJugador = new ArrayList<>();
-        for (Carta c : jugador.getCartas()) {
-            cartasJugador.add(nombreArchivoCarta(c));
+    private boolean puedeRendirse(Asiento asiento) {
+        return asiento.decidiendo && reglas.isRendicion() && asiento.jugador.getCantidadCartas() == 2;
+    }
+
+    // === TIEMPO DE DECISIÓN ===
+
+    /**
+     * Programa el vencimiento del tiempo de decisión de un asiento de una
+     * persona, reemplazando el anterior. El vencimiento es una tarea más del
+     * motor: mientras no llega, los demás asientos siguen actuando.
+     */
+    private void programarLimite(Asiento asiento) {
+        cancelarLimite(asiento);
+        long milis = tiempoDecision;
+        if (milis > 0 && asiento.estrategia == null) {
+            long rondaLimite = ronda;
+            asiento.limite = motor.schedule(() -> vencerLimite(asiento, rondaLimite), milis, TimeUnit.MILLISECONDS);
         }
-        vista.mostrarCartasJugador(cartasJugador);
-        vista.actualizarPuntajeJugador(jugador.calcularPuntos());
+    }
 
-        // === MOSTRAR CARTAS DEL CRUPIER ===
-        List<String> cartasCrupier = new ArrayList<>();
-        
-        if (crupier.getCartas().size() >= 2 && turnoJugador) {
-            // Durante el turno del jugador: mostrar primera carta como reverso
-            cartasCrupier.add("BACK.png");  // Imagen del reverso de la carta
-            cartasCrupier.add(nombreArchivoCarta(crupier.getCartas().get(1)));  // Segunda carta visible
-        } else {
-            // Fin de ronda: mostrar todas las cartas del crupier
-            for (Carta c : crupier.getCartas()) {
-                cartasCrupier.add(nombreArchivoCarta(c));
+    private void cancelarLimite(Asiento asiento) {
+        if (asiento.limite != null) {
+            asiento.limite.cancel(false);
+            asiento.limite = null;
+        }
+    }
+
+    /**
+     * El asiento no decidió a tiempo: se planta solo. Si la tarea llega
+     * tarde (la ronda cambió o el asiento ya terminó) no hace nada.
+     */
+    private void vencerLimite(Asiento asiento, long rondaLimite) {
+        if (rondaLimite != ronda || !asiento.decidiendo) {
+            return;
+        }
+        asiento.limite = null;
+        avisar(asiento, null, "se quedó sin tiempo y se planta.");
+        procesarPlantarse(asiento);
+        publicar();
+    }
+
+    // === FIN DE LA RONDA ===
+
+    /**
+     * Cierra las decisiones de un asiento y, si era el último en decidir,
+     * juega el crupier y liquida la ronda.
+     */
+    private void terminarDecisiones(Asiento asiento) {
+        asiento.decidiendo = false;
+        cancelarLimite(asiento);
+        terminarSiNadieDecide();
+    }
+
+    private void terminarSiNadieDecide() {
+        if (!rondaEnCurso) {
+            return;
+        }
+        for (Asiento asiento : asientos) {
+            if (asiento.decidiendo) {
+                return;
             }
         }
-        vista.mostrarCartasCrupier(cartasCrupier, false);
+        turnoCrupier();
+    }
+
+    /**
+     * Juega el turno del crupier una sola vez para toda la mesa y liquida
+     * todas las manos juntas. El crupier sólo pide si alguna mano quedó
+     * plantada sin pasarse, sin blackjack y sin rendirse.
+     */
+    private void turnoCrupier() {
+        boolean algunoEnJuego = false;
+        for (Asiento asiento : asientos) {
+            JugadorApostador jugador = asiento.jugador;
+            algunoEnJuego |= asiento.enRonda && !asiento.rendido && !jugador.sePaso() && !jugador.esBlackjack();
+        }
+        if (algunoEnJuego) {
+            mostrarMensaje("\n--- Turno del Crupier ---");
 
-        // === MOSTRAR PUNTAJE DEL CRUPIER ===
-        if (turnoJugador && crupier.getCartas().size() >= 2) {
-            // Durante turno del jugador: mostrar solo el valor de la carta visible
-            int valorVisible = crupier.getCartas().get(1).getPuntosBase();
-            vista.actualizarPuntajeCrupier("? + " + valorVisible);
+            // El crupier juega automáticamente según las reglas
+            crupier.jugarTurno(mazo, reglas);
+        }
+
+        // === DETERMINAR GANADORES Y LIQUIDAR ===
+        int liquidadas = 0;
+        for (Asiento asiento : asientos) {
+            if (!asiento.enRonda) {
+                continue;
+            }
+            JugadorApostador jugador = asiento.jugador;
+            int resultado = asiento.rendido ? ReglasPago.RENDICION
+                : EstadoMano.resultado(jugador.getEstado(), crupier.getEstado());
+            if (resultado == ReglasPago.BLACKJACK) {
+                // Premio especial por Blackjack natural (3 a 2, o lo que pague la variante)
+                avisar(asiento, "¡Ganaste con Blackjack! Premio especial.", "gana con blackjack.");
+            } else if (resultado == ReglasPago.GANA) {
+                // Jugador gana: crupier se pasó o jugador tiene más puntos
+                avisar(asiento, "¡Ganaste la ronda!", "gana.");
+            } else if (resultado == ReglasPago.EMPATE) {
+                // Empate: jugador recupera su apuesta
+                avisar(asiento, "Empate. Recuperas tu apuesta.", "empata.");
+            } else if (resultado == ReglasPago.PIERDE && !jugador.sePaso()) {
+                // Crupier gana: jugador pierde la apuesta (si se pasó ya se avisó)
+                avisar(asiento, "El crupier gana la ronda.", "pierde.");
+            }
+            liquidar(asiento, resultado);
+            liquidadas++;
+        }
+        Metricas.global().ronda(liquidadas);
+        rondaEnCurso = false;
+
+        mostrarMensaje("Haz clic en 'Nueva partida' para jugar otra ronda.");
+    }
+
+    /**
+     * Paga la apuesta de un asiento según el resultado y avisa al oyente.
+     *
+     * @param resultado Resultado según ReglasPago
+     */
+    private void liquidar(Asiento asiento, int resultado) {
+        JugadorApostador jugador = asiento.jugador;
+        int devolucion = reglas.devolucion(asiento.apuesta, resultado);
+        int multiplo = asiento.reservaDoble != null ? 2 : 1;
+        oyente.manoLiquidada(jugador.getNombre(), jugador.calcularPuntos(), crupier.calcularPuntos(),
+            resultado, asiento.apuesta * multiplo, devolucion * multiplo);
+        long saldo = asiento.reserva.liquidar(devolucion);
+        if (asiento.reservaDoble != null) {
+            // Una mano doblada no es blackjack ni rendición: la segunda apuesta cobra igual que la primera
+            saldo = asiento.reservaDoble.liquidar(devolucion);
+        }
+        devolucion *= multiplo;
+        asiento.resultado = resultado;
+        asiento.reserva = null;
+        if (devolucion != 0) {
+            avisarSaldo(asiento, saldo, devolucion);
+        }
+        if (historialRonda != null) {
+            asiento.registro.copiarManos(jugador, crupier);
+            asiento.registro.liquidar(resultado, devolucion);
+            historialRonda.escribir(asiento.registro);
+        }
+    }
+
+    /**
+     * Cierra una ronda que no terminó porque el jugador de la ventana pidió
+     * otra. Si todavía estaba decidiendo, su apuesta se pierde; los demás
+     * asientos que decidían se plantan, y el crupier juega y liquida la
+     * ronda para todos los que siguen en ella, como si hubiera terminado.
+     */
+    private void abandonarRonda() {
+        Asiento propio = asientos.get(0);
+        if (propio.decidiendo) {
+            cancelarLimite(propio);
+            propio.reserva.liquidar(0);  // Quien decide todavía no dobló: hay una sola reserva
+            propio.reserva = null;
+            propio.enRonda = false;
+            propio.decidiendo = false;
+        }
+        for (Asiento asiento : asientos) {
+            if (asiento.decidiendo) {
+                avisar(asiento, null, "se planta: la ronda se cierra.");
+                procesarPlantarse(asiento);
+            }
+        }
+        terminarSiNadieDecide();
+    }
+
+    /**
+     * Avisa al oyente un movimiento de la billetera de un asiento.
+     *
+     * @param saldo    Saldo justo después del movimiento
+     * @param cantidad Lo que cambió el saldo
+     */
+    private void avisarSaldo(Asiento asiento, long saldo, long cantidad) {
+        oyente.saldoCambiado(asiento.jugador.getNombre(), saldo - cantidad, saldo);
+    }
+
+    /**
+     * Muestra lo que le pasó a un asiento: al jugador de la ventana en una
+     * ventana emergente, y a los demás como mensaje con su nombre.
+     *
+     * @param propio Texto para el jugador de la ventana, o null para usar el otro
+     * @param otros  Texto que sigue al nombre del asiento
+     */
+    private void avisar(Asiento asiento, String propio, String otros) {
+        if (asiento.numero == 1 && propio != null) {
+            mostrarMensajeImportante(propio);
         } else {
+            mostrarMensaje(asiento.jugador.getNombre() + " " + otros);
+        }
+    }
+
+    // === PUBLICACIÓN A LA VISTA ===
+
+    private void mostrarMensaje(String mensaje) {
+        mensajes.add(mensaje);
+    }
+
+    private void mostrarMensajeImportante(String mensaje) {
+        mensajesImportantes.add(mensaje);
+    }
+
+    private void limpiarMensajes() {
+        mensajes.clear();
+        mensajesImportantes.clear();
+        generacionMensajes++;
+    }
+
+    /**
+     * Arma una instantánea del estado actual y la entrega a la vista.
+     *
+     * Se llama en el hilo del motor al terminar cada acción. Maneja la
+     * lógica de mostrar la carta oculta del crupier mientras algún asiento
+     * todavía decide.
+     */
+    private void publicar() {
+        boolean alguienDecide = false;
+        for (Asiento asiento : asientos) {
+            alguienDecide |= asiento.decidiendo;
+        }
+
+        // === CARTAS DE CADA ASIENTO ===
+        List<InstantaneaAsiento> vistaAsientos = new ArrayList<>(asientos.size());
+        for (Asiento asiento : asientos) {
+            List<String> cartas = new ArrayList<>();
+            for (Carta c : asiento.jugador.getCartas()) {
+                cartas.add(nombreArchivoCarta(c));
+            }
+            String puntaje = ronda > 0 && asiento.jugador.getCantidadCartas() > 0
+                ? String.valueOf(asiento.jugador.calcularPuntos()) : "?";
+            vistaAsientos.add(new InstantaneaAsiento(asiento.numero, asiento.jugador.getNombre(),
+                asiento.estrategia != null, asiento.billetera.getSaldo(), asiento.getApostado(), cartas, puntaje,
+                asiento.jugador.getEstado(), asiento.decidiendo, asiento.resultado));
+        }
+        InstantaneaAsiento propio = vistaAsientos.get(0);
+
+        // === CARTAS DEL CRUPIER ===
+        // Mientras algún asiento decide la primera carta va boca abajo y la
+        // instantánea lleva el reverso en su lugar, para que ninguna vista
+        // pueda leerla; al terminar llega la carta y la vista la voltea
+        List<String> cartasCrupier = new ArrayList<>();
+        String puntajeCrupier = "?";
+        int valorVisible = Estrategia.SIN_CARTA_VISIBLE;
+        if (crupier.getCantidadCartas() >= 2) {
+            valorVisible = CodigoCarta.valor(crupier.getCodigo(1));
+        }
+        for (Carta c : crupier.getCartas()) {
+            boolean oculta = alguienDecide && cartasCrupier.isEmpty();
+            cartasCrupier.add(oculta ? CacheSprites.REVERSO : nombreArchivoCarta(c));
+        }
+        if (alguienDecide && crupier.getCartas().size() >= 2) {
+            // Durante el turno de los jugadores: mostrar solo el valor de la carta visible
+            puntajeCrupier = "? + " + crupier.getCartas().get(1).getPuntosBase();
+        } else if (ronda > 0) {
             // Fin de ronda: mostrar puntaje total real
-            vista.actualizarPuntajeCrupier(String.valueOf(crupier.calcularPuntos()));
+            puntajeCrupier = String.valueOf(crupier.calcularPuntos());
         }
+
+        Asiento primero = asientos.get(0);
+        vista.publicar(new InstantaneaMesa(ronda, billetera.getSaldo(), primero.getApostado(), primero.decidiendo,
+            puedeDoblar(primero), puedeRendirse(primero), propio.getCartas(), cartasCrupier, alguienDecide,
+            propio.getPuntaje(), puntajeCrupier, propio.getEstado(), valorVisible, vistaAsientos,
+            generacionMensajes, mensajes, mensajesImportantes));
     }
 
     /**
      * Genera el nombre del archivo de imagen para una carta específica.
-     * 
+     *
      * Convierte una carta en el nombre de su archivo de imagen correspondiente.
      * Formato: "VALOR-PALO.png"
      * Ejemplos: "A-H.png" (As de corazones), "10-S.png" (10 de picas)
-     * 
+     *
      * @param carta La carta para la cual generar el nombre del archivo
      * @return El nombre del archivo de imagen de la carta
      */
     private String nombreArchivoCarta(Carta carta) {
-        String valor = carta.getValor();      // "A", "2", "3", ..., "10", "J", "Q", "K"
-        String paloLetra = carta.getPaloLetra(); // "H" (hearts), "D" (diamonds), "C" (clubs), "S" (spades)
-        return valor + "-" + paloLetra + ".png";
+        return carta.getNombreArchivo();  // Precalculado en cada carta compartida
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.example.controlador;
+
+import java.util.List;
+
+/**
+ * Foto inmutable de un asiento de la mesa, parte de una {@link InstantaneaMesa}.
+ *
+ * Como la instantánea de la mesa, se arma en el hilo del motor y nada en
+ * ella cambia después, así que la vista la lee sin sincronizar.
+ */
+public final class InstantaneaAsiento {
+
+    /** Resultado cuando el asiento todavía no tiene una mano liquidada */
+    public static final int SIN_RESULTADO = -1;
+
+    private final int numero;
+    private final String nombre;
+    private final boolean automatico;
+    private final long saldo;
+    private final int apuesta;
+    private final List<String> cartas;
+    private final String puntaje;
+    private final int estado;
+    private final boolean decidiendo;
+    private final int resultado;
+
+    InstantaneaAsiento(int numero, String nombre, boolean automatico, long saldo, int apuesta,
+                       List<String> cartas, String puntaje, int estado, boolean decidiendo, int resultado) {
+        this.numero = numero;
+        this.nombre = nombre;
+        this.automatico = automatico;
+        this.saldo = saldo;
+        this.apuesta = apuesta;
+        this.cartas = List.copyOf(cartas);
+        this.puntaje = puntaje;
+        this.estado = estado;
+        this.decidiendo = decidiendo;
+        this.resultado = resultado;
+    }
+
+    /**
+     * Número de asiento, desde 1; el 1 es el del jugador de la ventana.
+     */
+    public int getNumero() {
+        return numero;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Indica si el asiento lo juega una estrategia y no una persona.
+     */
+    public boolean isAutomatico() {
+        return automatico;
+    }
+
+    public long getSaldo() {
+        return saldo;
+    }
+
+    /**
+     * Apuesta de la ronda, contando la segunda si se dobló.
+     */
+    public int getApuesta() {
+        return apuesta;
+    }
+
+    /**
+     * Nombres de archivo de las cartas del asiento.
+     */
+    public List<String> getCartas() {
+        return cartas;
+    }
+
+    public String getPuntaje() {
+        return puntaje;
+    }
+
+    /**
+     * Estado compacto de la mano (ver {@code EstadoMano}).
+     */
+    public int getEstado() {
+        return estado;
+    }
+
+    /**
+     * Indica si el asiento todavía puede pedir, plantarse, doblar o rendirse.
+     */
+    public boolean isDecidiendo() {
+        return decidiendo;
+    }
+
+    /**
+     * Resultado de la última mano según {@code ReglasPago}, o
+     * {@link #SIN_RESULTADO} mientras la ronda no se liquidó.
+     */
+    public int getResultado() {
+        return resultado;
+    }
+}
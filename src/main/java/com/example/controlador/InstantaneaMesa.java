@@ -0,0 +1,170 @@
+package com.example.controlador;
+
+import java.util.List;
+
+/**
+ * Foto inmutable del estado de la mesa que el controlador publica a la vista.
+ *
+ * El motor del juego arma una instantánea al terminar cada acción y la
+ * entrega desde su propio hilo; como nada en ella cambia después, la vista
+ * puede leerla desde el hilo de eventos sin sincronizar y quedarse sólo con
+ * la última si llegan varias juntas. Por eso los mensajes van acumulados:
+ * saltear una instantánea intermedia no pierde ningún mensaje.
+ */
+public final class InstantaneaMesa {
+
+    private final long ronda;
+    private final long saldo;
+    private final int apuesta;
+    private final boolean turnoJugador;
+    private final boolean puedeDoblar;
+    private final boolean puedeRendirse;
+    private final List<String> cartasJugador;
+    private final List<String> cartasCrupier;
+    private final boolean ocultarPrimera;
+    private final String puntajeJugador;
+    private final String puntajeCrupier;
+    private final int estadoJugador;
+    private final int valorVisibleCrupier;
+    private final List<InstantaneaAsiento> asientos;
+    private final int generacionMensajes;
+    private final List<String> mensajes;
+    private final List<String> mensajesImportantes;
+
+    InstantaneaMesa(long ronda, long saldo, int apuesta, boolean turnoJugador,
+                    boolean puedeDoblar, boolean puedeRendirse, List<String> cartasJugador, List<String> cartasCrupier, boolean ocultarPrimera,
+                    String puntajeJugador, String puntajeCrupier,
+                    int estadoJugador, int valorVisibleCrupier, List<InstantaneaAsiento> asientos, int generacionMensajes, List<String> mensajes, List<String> mensajesImportantes) {
+        this.ronda = ronda;
+        this.saldo = saldo;
+        this.apuesta = apuesta;
+        this.turnoJugador = turnoJugador;
+        this.puedeDoblar = puedeDoblar;
+        this.puedeRendirse = puedeRendirse;
+        this.cartasJugador = List.copyOf(cartasJugador);
+        this.cartasCrupier = List.copyOf(cartasCrupier);
+        this.ocultarPrimera = ocultarPrimera;
+        this.puntajeJugador = puntajeJugador;
+        this.puntajeCrupier = puntajeCrupier;
+        this.estadoJugador = estadoJugador;
+        this.valorVisibleCrupier = valorVisibleCrupier;
+        this.asientos = List.copyOf(asientos);
+        this.generacionMensajes = generacionMensajes;
+        this.mensajes = List.copyOf(mensajes);
+        this.mensajesImportantes = List.copyOf(mensajesImportantes);
+    }
+
+    /**
+     * Número de la ronda; cambia cuando se reparten cartas nuevas.
+     */
+    public long getRonda() {
+        return ronda;
+    }
+
+    public long getSaldo() {
+        return saldo;
+    }
+
+    public int getApuesta() {
+        return apuesta;
+    }
+
+    /**
+     * Indica si el jugador puede pedir carta o plantarse.
+     */
+    public boolean isTurnoJugador() {
+        return turnoJugador;
+    }
+
+    /**
+     * Indica si las reglas de la mesa dejan doblar la mano ahora.
+     */
+    public boolean isPuedeDoblar() {
+        return puedeDoblar;
+    }
+
+    /**
+     * Indica si las reglas de la mesa dejan rendirse ahora.
+     */
+    public boolean isPuedeRendirse() {
+        return puedeRendirse;
+    }
+
+    /**
+     * Nombres de archivo de las cartas del jugador.
+     */
+    public List<String> getCartasJugador() {
+        return cartasJugador;
+    }
+
+    /**
+     * Nombres de archivo de las cartas del crupier. Mientras la primera va
+     * boca abajo su lugar lo ocupa {@link com.example.vista.CacheSprites#REVERSO}.
+     */
+    public List<String> getCartasCrupier() {
+        return cartasCrupier;
+    }
+
+    /**
+     * Si la primera carta del crupier debe mostrarse boca abajo.
+     */
+    public boolean isOcultarPrimera() {
+        return ocultarPrimera;
+    }
+
+    public String getPuntajeJugador() {
+        return puntajeJugador;
+    }
+
+    /**
+     * Puntaje del crupier: el total, o "? + X" mientras tiene una carta oculta.
+     */
+    public String getPuntajeCrupier() {
+        return puntajeCrupier;
+    }
+
+    /**
+     * Estado compacto de la mano del jugador (ver {@code EstadoMano}), para
+     * decidir con una {@code Estrategia} sin leer los textos.
+     */
+    public int getEstadoJugador() {
+        return estadoJugador;
+    }
+
+    /**
+     * Valor de la carta visible del crupier (ver {@code CodigoCarta#valor}),
+     * o {@code Estrategia.SIN_CARTA_VISIBLE} si todavía no hay.
+     */
+    public int getValorVisibleCrupier() {
+        return valorVisibleCrupier;
+    }
+
+    /**
+     * Todos los asientos ocupados, en orden de reparto. El primero es el del
+     * jugador de la ventana y repite lo que dicen los demás métodos.
+     */
+    public List<InstantaneaAsiento> getAsientos() {
+        return asientos;
+    }
+
+    /**
+     * Cambia cada vez que se limpia el área de mensajes.
+     */
+    public int getGeneracionMensajes() {
+        return generacionMensajes;
+    }
+
+    /**
+     * Todos los mensajes desde la última limpieza, en orden.
+     */
+    public List<String> getMensajes() {
+        return mensajes;
+    }
+
+    /**
+     * Mensajes para ventana emergente desde la última limpieza, en orden.
+     */
+    public List<String> getMensajesImportantes() {
+        return mensajesImportantes;
+    }
+}
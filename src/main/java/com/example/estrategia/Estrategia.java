@@ -0,0 +1,76 @@
+package com.example.estrategia;
+
+import com.example.modelo.ReglasMesa;
+
+/**
+ * Política de decisión de un jugador.
+ *
+ * El motor la consulta en cada decisión con el estado compacto de la mano
+ * (ver {@code EstadoMano}) y el valor de la carta visible del crupier (ver
+ * {@code CodigoCarta#valor}). Las implementaciones de tabla son inmutables
+ * y pueden compartirse entre hilos; las que esperan a una persona no.
+ *
+ * Doblar, rendirse y dividir sólo aparecen si la variante de reglas los
+ * permite: los motores le piden a la estrategia su versión para la
+ * variante con {@link #para(ReglasMesa)} y después confían en las
+ * decisiones sin volver a mirar las reglas.
+ */
+public interface Estrategia {
+
+    /** El jugador se planta */
+    int PLANTARSE = 0;
+
+    /** El jugador pide otra carta */
+    int PEDIR = 1;
+
+    /** El jugador duplica la apuesta, recibe una sola carta y se planta */
+    int DOBLAR = 2;
+
+    /** El jugador abandona la mano y recupera media apuesta */
+    int RENDIRSE = 3;
+
+    /** Columnas por estado en las tablas de decisión (10 valores visibles, redondeado a 16) */
+    int COLUMNAS = 16;
+
+    /** Valor visible a usar cuando no se conoce la carta del crupier */
+    int SIN_CARTA_VISIBLE = 10;
+
+    /**
+     * Decide la próxima acción.
+     *
+     * @param estadoMano   Estado de la mano del jugador (ver EstadoMano)
+     * @param valorVisible Valor de la carta visible del crupier (0 a 9), o {@link #SIN_CARTA_VISIBLE}
+     * @return {@link #PEDIR} o {@link #PLANTARSE}; {@link #DOBLAR} o
+     *         {@link #RENDIRSE} sólo si la variante los permite en ese estado
+     */
+    int decidir(int estadoMano, int valorVisible);
+
+    /**
+     * Decide la próxima acción en una mano que salió de dividir una pareja.
+     * Nunca devuelve {@link #RENDIRSE}, ni {@link #DOBLAR} si la variante no
+     * deja doblar después de dividir.
+     */
+    default int decidirTrasDividir(int estadoMano, int valorVisible) {
+        return decidir(estadoMano, valorVisible);
+    }
+
+    /**
+     * Indica si el jugador divide una pareja. Sólo se consulta si la
+     * variante permite otra mano más.
+     *
+     * @param valorPar     Valor de las dos cartas de la pareja (0 a 9, ver CodigoCarta#valor)
+     * @param valorVisible Valor de la carta visible del crupier (0 a 9)
+     */
+    default boolean dividir(int valorPar, int valorVisible) {
+        return false;
+    }
+
+    /**
+     * Esta estrategia ajustada a una variante de reglas: las acciones que
+     * la variante no permite quedan reemplazadas por pedir o plantarse.
+     * Las estrategias que sólo piden o se plantan se devuelven a sí mismas.
+     */
+    default Estrategia para(ReglasMesa reglas) {
+        return this;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.estrategia;
+
+import com.example.modelo.EstadoMano;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+/**
+ * Estrategia de un jugador humano que responde por consola.
+ *
+ * Usa un único lector para toda la sesión, en lugar de un Scanner nuevo
+ * por turno. Si la entrada se termina, el jugador se planta.
+ */
+public class EstrategiaConsola implements Estrategia {
+
+    private static EstrategiaConsola sistema;
+
+    private final BufferedReader entrada;
+    private final PrintStream salida;
+
+    /**
+     * @param entrada De dónde se leen las respuestas
+     * @param salida  Dónde se escriben las preguntas
+     */
+    public EstrategiaConsola(InputStream entrada, PrintStream salida) {
+        this.entrada = new BufferedReader(new InputStreamReader(entrada, Charset.defaultCharset()));
+        this.salida = salida;
+    }
+
+    /**
+     * Estrategia compartida sobre la entrada y salida estándar.
+     */
+    public static synchronized EstrategiaConsola sistema() {
+        if (sistema == null) {
+            sistema = new EstrategiaConsola(System.in, System.out);
+        }
+        return sistema;
+    }
+
+    @Override
+    public synchronized int decidir(int estadoMano, int valorVisible) {
+        salida.print("Tienes " + EstadoMano.total(estadoMano) + " puntos");
+        if (valorVisible != SIN_CARTA_VISIBLE) {
+            salida.print(" y el crupier muestra " + nombreValor(valorVisible));
+        }
+        salida.println(".");
+        salida.println("Deseas otra carta? (s para si / cualquier otra para plantarte):");
+        try {
+            String respuesta = entrada.readLine();
+            return respuesta != null && respuesta.trim().equalsIgnoreCase("s") ? PEDIR : PLANTARSE;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Texto de un valor de carta: "A", "2" a "9" o "10".
+     */
+    static String nombreValor(int valor) {
+        return valor == 0 ? "A" : String.valueOf(valor + 1);
+    }
+}
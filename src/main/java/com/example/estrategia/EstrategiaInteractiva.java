@@ -0,0 +1,48 @@
+package com.example.estrategia;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Estrategia de un jugador humano que decide desde otra parte, por ejemplo
+ * los botones de la interfaz gráfica.
+ *
+ * El hilo que juega la mano se bloquea en {@link #decidir(int, int)} hasta
+ * que alguien llama a {@link #pedir()} o {@link #plantarse()}. Si ese hilo
+ * se interrumpe mientras espera, el jugador se planta.
+ */
+public class EstrategiaInteractiva implements Estrategia {
+
+    private final BlockingQueue<Integer> decisiones = new LinkedBlockingQueue<>();
+
+    @Override
+    public int decidir(int estadoMano, int valorVisible) {
+        try {
+            return decisiones.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PLANTARSE;
+        }
+    }
+
+    /**
+     * Entrega la decisión de pedir carta al hilo que está esperando.
+     */
+    public void pedir() {
+        decisiones.add(PEDIR);
+    }
+
+    /**
+     * Entrega la decisión de plantarse al hilo que está esperando.
+     */
+    public void plantarse() {
+        decisiones.add(PLANTARSE);
+    }
+
+    /**
+     * Descarta decisiones enviadas que nadie llegó a usar.
+     */
+    public void descartarPendientes() {
+        decisiones.clear();
+    }
+}
@@ -0,0 +1,610 @@
+package com.example.estrategia;
+
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.ReglasMesa;
+import com.example.modelo.ReglasPago;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Estrategia dada por una tabla plana de decisiones.
+ *
+ * La tabla tiene una posición por cada estado de mano y valor visible del
+ * crupier, {@code (estado << 4) | valorVisible}, así que decidir es una
+ * sola lectura de un arreglo de 4 KB: no crea objetos ni tiene ramas que
+ * dependan de la mano. Las tablas son inmutables y se comparten entre hilos.
+ *
+ * Formato de texto (ver {@link #cargar(Path)} y {@link #aTexto()}): una
+ * fila por mano, "D" para totales duros y "B" para blandos, seguida de una
+ * decisión por carta visible del crupier en el orden 2 3 4 5 6 7 8 9 10 A,
+ * donde "P" es pedir y "Q" es quedarse (plantarse). Lo que sigue a "#" es
+ * un comentario.
+ * <pre>
+ * # Mano  2 3 4 5 6 7 8 9 10 A
+ * D12     P P Q Q Q P P P P  P
+ * B18     Q Q Q Q Q Q Q P P  P
+ * </pre>
+ * Para las variantes con más acciones una celda también puede ser "DP" o
+ * "DQ" (doblar, y si no se puede pedir o quedarse) y "RP" o "RQ"
+ * (rendirse, y si no se puede pedir o quedarse), y las filas PAR2 a PAR10
+ * y PARA dicen con "S" o "N" si se divide cada pareja.
+ *
+ * La tabla guarda esas decisiones tal como se escribieron y una versión
+ * compilada para una {@link ReglasMesa}, donde lo que la variante no
+ * permite ya está reemplazado por su alternativa; {@link #decidir(int, int)}
+ * lee sólo la compilada. Las fábricas compilan para
+ * {@link ReglasMesa#CLASICA}, así que devuelven sólo pedir o plantarse, y
+ * {@link #para(ReglasMesa)} compila la misma tabla para otra variante.
+ */
+public final class EstrategiaTabla implements Estrategia {
+
+    /** Primer y último total duro con fila propia en el formato de texto */
+    private static final int DURO_MINIMO = 4;
+    private static final int DURO_MAXIMO = 21;
+
+    /** Primer y último total blando con fila propia en el formato de texto */
+    private static final int BLANDO_MINIMO = 12;
+    private static final int BLANDO_MAXIMO = 21;
+
+    /** Valor de carta (ver CodigoCarta#valor) de cada columna del formato: 2..10 y el As al final */
+    private static final int[] VALOR_COLUMNA = {1, 2, 3, 4, 5, 6, 7, 8, 9, 0};
+
+    /** Texto de cada celda según decisión y alternativa: CELDAS[decision * 2 + alternativa] */
+    private static final String[] CELDAS = {"Q", null, null, "P", "DQ", "DP", "RQ", "RP"};
+
+    /** Rangos por mazo, para las probabilidades de mazo infinito de {@link #basica(ReglasMesa)} */
+    private static final int RANGOS = CodigoCarta.CARTAS_POR_MAZO / 4;
+
+    /**
+     * Estrategia básica de pedir o plantarse para un zapato de varios
+     * mazos, con el crupier plantado en 17 blando.
+     */
+    private static final String[] BASICA = {
+        "# Mano  2 3 4 5 6 7 8 9 10 A",
+        "D4      P P P P P P P P P  P",
+        "D5      P P P P P P P P P  P",
+        "D6      P P P P P P P P P  P",
+        "D7      P P P P P P P P P  P",
+        "D8      P P P P P P P P P  P",
+        "D9      P P P P P P P P P  P",
+        "D10     P P P P P P P P P  P",
+        "D11     P P P P P P P P P  P",
+        "D12     P P Q Q Q P P P P  P",
+        "D13     Q Q Q Q Q P P P P  P",
+        "D14     Q Q Q Q Q P P P P  P",
+        "D15     Q Q Q Q Q P P P P  P",
+        "D16     Q Q Q Q Q P P P P  P",
+        "D17     Q Q Q Q Q Q Q Q Q  Q",
+        "D18     Q Q Q Q Q Q Q Q Q  Q",
+        "D19     Q Q Q Q Q Q Q Q Q  Q",
+        "D20     Q Q Q Q Q Q Q Q Q  Q",
+        "D21     Q Q Q Q Q Q Q Q Q  Q",
+        "B12     P P P P P P P P P  P",
+        "B13     P P P P P P P P P  P",
+        "B14     P P P P P P P P P  P",
+        "B15     P P P P P P P P P  P",
+        "B16     P P P P P P P P P  P",
+        "B17     P P P P P P P P P  P",
+        "B18     Q Q Q Q Q Q Q P P  P",
+        "B19     Q Q Q Q Q Q Q Q Q  Q",
+        "B20     Q Q Q Q Q Q Q Q Q  Q",
+        "B21     Q Q Q Q Q Q Q Q Q  Q",
+    };
+
+    private static volatile EstrategiaTabla basica;
+
+    // === TABLA ESCRITA ===
+
+    /** Decisión escrita por (estado << 4) | valorVisible, de PLANTARSE a RENDIRSE */
+    private final byte[] fuente;
+
+    /** Pedir o plantarse cuando la decisión escrita no está permitida */
+    private final byte[] alternativas;
+
+    /** Si se divide cada pareja: (valorPar << 4) | valorVisible */
+    private final boolean[] paresFuente;
+
+    // === TABLA COMPILADA PARA LAS REGLAS ===
+
+    private final ReglasMesa reglas;
+
+    /** Decisión por (estado << 4) | valorVisible */
+    private final byte[] decisiones;
+
+    /** Decisión en manos que salieron de dividir, mismo índice */
+    private final byte[] trasDividir;
+
+    /** Parejas que se dividen, mismo índice que {@link #paresFuente} */
+    private final boolean[] pares;
+
+    private EstrategiaTabla(byte[] fuente, byte[] alternativas, boolean[] paresFuente, ReglasMesa reglas) {
+        this.fuente = fuente;
+        this.alternativas = alternativas;
+        this.paresFuente = paresFuente;
+        this.reglas = reglas;
+        this.decisiones = new byte[fuente.length];
+        this.trasDividir = new byte[fuente.length];
+        this.pares = new boolean[paresFuente.length];
+
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            boolean doblar = reglas.sePuedeDoblar(estado);
+            boolean rendirse = reglas.isRendicion() && EstadoMano.cartas(estado) == 2
+                && !EstadoMano.esBlackjack(estado);
+            for (int columna = 0; columna < COLUMNAS; columna++) {
+                int i = (estado << 4) | columna;
+                byte decision = fuente[i];
+                byte alternativa = alternativas[i];
+                decisiones[i] = decision;
+                trasDividir[i] = decision;
+                if (decision == DOBLAR) {
+                    decisiones[i] = doblar ? decision : alternativa;
+                    trasDividir[i] = doblar && reglas.isDoblarTrasDividir() ? decision : alternativa;
+                } else if (decision == RENDIRSE) {
+                    decisiones[i] = rendirse ? decision : alternativa;
+                    trasDividir[i] = alternativa;
+                }
+            }
+        }
+        for (int i = 0; i < pares.length; i++) {
+            pares[i] = paresFuente[i] && reglas.getManosMaximas() > 1;
+        }
+    }
+
+    /**
+     * Tabla sólo de pedir o plantarse, sin parejas, compilada para las reglas clásicas.
+     */
+    private static EstrategiaTabla deDecisiones(byte[] decisiones) {
+        return new EstrategiaTabla(decisiones, decisiones, new boolean[CodigoCarta.VALORES_DISTINTOS * COLUMNAS],
+            ReglasMesa.CLASICA);
+    }
+
+    @Override
+    public int decidir(int estadoMano, int valorVisible) {
+        return decisiones[(estadoMano << 4) | valorVisible];
+    }
+
+    @Override
+    public int decidirTrasDividir(int estadoMano, int valorVisible) {
+        return trasDividir[(estadoMano << 4) | valorVisible];
+    }
+
+    @Override
+    public boolean dividir(int valorPar, int valorVisible) {
+        return pares[(valorPar << 4) | valorVisible];
+    }
+
+    /**
+     * La misma tabla escrita, compilada para otra variante de reglas.
+     */
+    @Override
+    public EstrategiaTabla para(ReglasMesa reglas) {
+        if (reglas.equals(this.reglas)) {
+            return this;
+        }
+        return new EstrategiaTabla(fuente, alternativas, paresFuente, reglas);
+    }
+
+    /**
+     * Reglas para las que está compilada la tabla.
+     */
+    public ReglasMesa getReglas() {
+        return reglas;
+    }
+
+    /**
+     * Estrategia básica de pedir o plantarse.
+     */
+    public static EstrategiaTabla basica() {
+        EstrategiaTabla tabla = basica;
+        if (tabla == null) {
+            byte[] decisiones = tablaUmbral(17);
+            aplicarFilas(decisiones, decisiones, new boolean[CodigoCarta.VALORES_DISTINTOS * COLUMNAS],
+                BASICA, "estrategia básica");
+            basica = tabla = deDecisiones(decisiones);
+        }
+        return tabla;
+    }
+
+    /**
+     * Estrategia básica completa para una variante: pedir, plantarse,
+     * doblar, rendirse y dividir según lo que permita, compilada para ella.
+     *
+     * Se calcula con un mazo infinito (cada rango con probabilidad 1/13),
+     * comparando el valor esperado de cada acción contra el crupier de la
+     * variante y sus pagos. Las manos divididas se valúan como si no se
+     * volvieran a dividir; la decisión de dividir casi no cambia por eso.
+     */
+    public static EstrategiaTabla basica(ReglasMesa reglas) {
+        byte[] fuente = tablaUmbral(17);
+        byte[] alternativas = fuente.clone();
+        boolean[] pares = new boolean[CodigoCarta.VALORES_DISTINTOS * COLUMNAS];
+
+        for (int visible = 0; visible < CodigoCarta.VALORES_DISTINTOS; visible++) {
+            ValorMazoInfinito valor = new ValorMazoInfinito(reglas, visible);
+            for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+                if (EstadoMano.cartas(estado) < 2 || EstadoMano.sePaso(estado)) {
+                    continue;
+                }
+                int i = (estado << 4) | visible;
+                alternativas[i] = (byte) (valor.pedir(estado) > valor.plantarse(estado) ? PEDIR : PLANTARSE);
+                fuente[i] = (byte) valor.mejorDecision(estado);
+            }
+            for (int par = 0; par < CodigoCarta.VALORES_DISTINTOS; par++) {
+                pares[(par << 4) | visible] = valor.dividir(par) > valor.mejor(valor.pareja(par));
+            }
+        }
+        return new EstrategiaTabla(fuente, alternativas, pares, reglas);
+    }
+
+    /**
+     * Estrategia fija: pedir mientras el total sea menor que el umbral,
+     * sin mirar la carta del crupier.
+     *
+     * @param umbral Total a partir del cual el jugador se planta
+     */
+    public static EstrategiaTabla umbral(int umbral) {
+        return deDecisiones(tablaUmbral(umbral));
+    }
+
+    /**
+     * Carga una tabla de un archivo de texto. Las filas que el archivo no
+     * define se toman de la estrategia básica.
+     *
+     * @param archivo Archivo en el formato descrito en la clase
+     * @throws IOException              Si no se puede leer el archivo
+     * @throws IllegalArgumentException Si alguna fila no respeta el formato
+     */
+    public static EstrategiaTabla cargar(Path archivo) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return desdeBasica(lector.lines().toArray(String[]::new), archivo.toString());
+        }
+    }
+
+    /**
+     * Lee una tabla del formato de texto, como {@link #cargar(Path)} pero
+     * desde un texto ya en memoria (por ejemplo el de {@link #aTexto()}).
+     *
+     * @throws IllegalArgumentException Si alguna fila no respeta el formato
+     */
+    public static EstrategiaTabla leer(String texto) {
+        return desdeBasica(texto.split("\\R"), "tabla");
+    }
+
+    private static EstrategiaTabla desdeBasica(String[] lineas, String origen) {
+        EstrategiaTabla base = basica();
+        byte[] fuente = base.fuente.clone();
+        byte[] alternativas = base.alternativas.clone();
+        boolean[] pares = base.paresFuente.clone();
+        aplicarFilas(fuente, alternativas, pares, lineas, origen);
+        return new EstrategiaTabla(fuente, alternativas, pares, ReglasMesa.CLASICA);
+    }
+
+    /**
+     * Escribe la tabla escrita (no la compilada) en el formato de texto,
+     * lista para editar y cargar. Las filas de parejas sólo aparecen si
+     * alguna pareja se divide.
+     */
+    public String aTexto() {
+        int ancho = 1;
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            for (int valor : VALOR_COLUMNA) {
+                if (fuente[(estado << 4) | valor] > PEDIR) {
+                    ancho = 2;
+                }
+            }
+        }
+        StringBuilder texto = new StringBuilder();
+        if (ancho == 1) {
+            texto.append(BASICA[0]);
+        } else {
+            texto.append("# Mano  2  3  4  5  6  7  8  9  10 A");
+        }
+        texto.append('\n');
+        for (int total = DURO_MINIMO; total <= DURO_MAXIMO; total++) {
+            int estado = estadoDe(total, false);
+            fila(texto, "D" + total, ancho, columna -> celda(estado, columna));
+        }
+        for (int total = BLANDO_MINIMO; total <= BLANDO_MAXIMO; total++) {
+            int estado = estadoDe(total, true);
+            fila(texto, "B" + total, ancho, columna -> celda(estado, columna));
+        }
+        boolean divide = false;
+        for (boolean par : paresFuente) {
+            divide |= par;
+        }
+        if (divide) {
+            for (int columna = 0; columna < VALOR_COLUMNA.length; columna++) {
+                int par = VALOR_COLUMNA[columna];
+                fila(texto, "PAR" + (par == 0 ? "A" : String.valueOf(par + 1)), ancho,
+                    visible -> paresFuente[(par << 4) | visible] ? "S" : "N");
+            }
+        }
+        return texto.toString();
+    }
+
+    private String celda(int estado, int valorVisible) {
+        int i = (estado << 4) | valorVisible;
+        return CELDAS[fuente[i] * 2 + alternativas[i]];
+    }
+
+    private static void fila(StringBuilder texto, String clave, int ancho,
+                             IntFunction<String> celda) {
+        texto.append(clave);
+        for (int i = clave.length(); i < 8; i++) {
+            texto.append(' ');
+        }
+        for (int columna = 0; columna < VALOR_COLUMNA.length; columna++) {
+            String valor = celda.apply(VALOR_COLUMNA[columna]);
+            texto.append(valor);
+            for (int i = valor.length(); i <= ancho; i++) {
+                texto.append(' ');
+            }
+            if (columna == 8) {
+                texto.append(' ');
+            }
+        }
+        while (texto.charAt(texto.length() - 1) == ' ') {
+            texto.setLength(texto.length() - 1);
+        }
+        texto.append('\n');
+    }
+
+    /**
+     * Tabla base: pide bajo el umbral con cualquier carta visible, incluidas
+     * las manos de una carta y la columna sin carta visible.
+     */
+    private static byte[] tablaUmbral(int umbral) {
+        byte[] decisiones = new byte[EstadoMano.ESTADOS * COLUMNAS];
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            byte decision = (byte) (EstadoMano.total(estado) < umbral ? PEDIR : PLANTARSE);
+            Arrays.fill(decisiones, estado * COLUMNAS, (estado + 1) * COLUMNAS, decision);
+        }
+        return decisiones;
+    }
+
+    /**
+     * Sobrescribe las filas de texto dadas en la tabla: cada fila se aplica
+     * a todos los estados con ese total y tipo, sin importar cuántas cartas
+     * tenga la mano; las filas de parejas, a la pareja de ese valor.
+     */
+    private static void aplicarFilas(byte[] decisiones, byte[] alternativas, boolean[] pares,
+                                     String[] lineas, String origen) {
+        for (int n = 0; n < lineas.length; n++) {
+            String linea = lineas[n];
+            int comentario = linea.indexOf('#');
+            if (comentario >= 0) {
+                linea = linea.substring(0, comentario);
+            }
+            linea = linea.trim();
+            if (linea.isEmpty()) {
+                continue;
+            }
+
+            String[] campos = linea.split("\\s+");
+            String error = origen + ", línea " + (n + 1) + ": ";
+            if (campos.length != VALOR_COLUMNA.length + 1) {
+                throw new IllegalArgumentException(error + "se esperaban una mano y "
+                    + VALOR_COLUMNA.length + " decisiones");
+            }
+            String mano = campos[0].toUpperCase();
+            if (mano.startsWith("PAR")) {
+                int par = valorPareja(mano.substring(3));
+                if (par < 0) {
+                    throw new IllegalArgumentException(error + "pareja inválida: " + campos[0]);
+                }
+                for (int columna = 0; columna < VALOR_COLUMNA.length; columna++) {
+                    String decision = campos[columna + 1].toUpperCase();
+                    if (!decision.equals("S") && !decision.equals("N")) {
+                        throw new IllegalArgumentException(error + "decisión inválida: " + campos[columna + 1]);
+                    }
+                    pares[(par << 4) | VALOR_COLUMNA[columna]] = decision.equals("S");
+                }
+                continue;
+            }
+
+            char tipo = mano.charAt(0);
+            int total;
+            try {
+                total = Integer.parseInt(mano.substring(1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(error + "mano inválida: " + campos[0]);
+            }
+            boolean blanda = tipo == 'B';
+            if ((tipo != 'D' && !blanda)
+                    || (!blanda && (total < DURO_MINIMO || total > DURO_MAXIMO))
+                    || (blanda && (total < BLANDO_MINIMO || total > BLANDO_MAXIMO))) {
+                throw new IllegalArgumentException(error + "mano inválida: " + campos[0]);
+            }
+
+            byte[] fila = new byte[VALOR_COLUMNA.length];
+            byte[] filaAlternativa = new byte[VALOR_COLUMNA.length];
+            for (int columna = 0; columna < fila.length; columna++) {
+                int celda = Arrays.asList(CELDAS).indexOf(campos[columna + 1].toUpperCase());
+                if (celda < 0) {
+                    throw new IllegalArgumentException(error + "decisión inválida: " + campos[columna + 1]);
+                }
+                fila[columna] = (byte) (celda / 2);
+                filaAlternativa[columna] = (byte) (celda % 2);
+            }
+
+            for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+                if (EstadoMano.total(estado) == total && EstadoMano.esBlanda(estado) == blanda
+                        && !EstadoMano.sePaso(estado)) {
+                    for (int columna = 0; columna < fila.length; columna++) {
+                        decisiones[estado * COLUMNAS + VALOR_COLUMNA[columna]] = fila[columna];
+                        alternativas[estado * COLUMNAS + VALOR_COLUMNA[columna]] = filaAlternativa[columna];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Valor de carta de una pareja escrita como "2" a "10" o "A", o -1.
+     */
+    private static int valorPareja(String texto) {
+        if (texto.equals("A")) {
+            return CodigoCarta.AS;
+        }
+        try {
+            int puntos = Integer.parseInt(texto);
+            return puntos >= 2 && puntos <= 10 ? puntos - 1 : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Algún estado de dos o más cartas con el total y tipo dados.
+     */
+    private static int estadoDe(int total, boolean blanda) {
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            if (EstadoMano.cartas(estado) >= 2 && EstadoMano.total(estado) == total
+                    && EstadoMano.esBlanda(estado) == blanda && !EstadoMano.sePaso(estado)) {
+                return estado;
+            }
+        }
+        throw new IllegalStateException("No hay estado para " + (blanda ? "B" : "D") + total);
+    }
+
+    /**
+     * Valores esperados de cada acción contra una carta visible del
+     * crupier, con un mazo infinito y las reglas de una variante. Los
+     * valores están en unidades de la apuesta inicial.
+     */
+    private static final class ValorMazoInfinito {
+
+        private final ReglasMesa reglas;
+        /** Probabilidad de cada puntaje final del crupier, de 17 a 22 (22 = se pasó) */
+        private final double[] crupier = new double[23];
+        private final double[] mejor = new double[EstadoMano.ESTADOS];
+        private final boolean[] calculado = new boolean[EstadoMano.ESTADOS];
+
+        ValorMazoInfinito(ReglasMesa reglas, int visible) {
+            this.reglas = reglas;
+            repartirCrupier(EstadoMano.siguienteRango(EstadoMano.INICIAL, visible), 1.0);
+        }
+
+        /**
+         * Suma la probabilidad de cada final del crupier desde un estado.
+         * Sin revisión del blackjack del crupier, su blackjack vale 21.
+         */
+        private void repartirCrupier(int estado, double probabilidad) {
+            if (!reglas.crupierPide(estado)) {
+                crupier[EstadoMano.sePaso(estado) ? 22 : EstadoMano.total(estado)] += probabilidad;
+                return;
+            }
+            for (int rango = 0; rango < RANGOS; rango++) {
+                repartirCrupier(EstadoMano.siguienteRango(estado, rango), probabilidad / RANGOS);
+            }
+        }
+
+        double plantarse(int estado) {
+            if (EstadoMano.sePaso(estado)) {
+                return -1;
+            }
+            double valor = 0;
+            for (int puntos = Crupier.PLANTARSE_EN; puntos <= 22; puntos++) {
+                int resultado = ReglasPago.resultado(EstadoMano.total(estado), puntos);
+                valor += crupier[puntos] * reglas.neto(resultado);
+            }
+            return valor / ReglasMesa.FRACCIONES_POR_UNIDAD;
+        }
+
+        double pedir(int estado) {
+            double valor = 0;
+            for (int rango = 0; rango < RANGOS; rango++) {
+                valor += mejorPedirPlantarse(EstadoMano.siguienteRango(estado, rango));
+            }
+            return valor / RANGOS;
+        }
+
+        double doblar(int estado) {
+            double valor = 0;
+            for (int rango = 0; rango < RANGOS; rango++) {
+                valor += plantarse(EstadoMano.siguienteRango(estado, rango));
+            }
+            return 2 * valor / RANGOS;
+        }
+
+        /**
+         * Lo mejor entre pedir y plantarse, que es lo único que queda
+         * después de la primera decisión.
+         */
+        double mejorPedirPlantarse(int estado) {
+            if (EstadoMano.sePaso(estado)) {
+                return -1;
+            }
+            if (!calculado[estado]) {
+                double plantarse = plantarse(estado);
+                mejor[estado] = EstadoMano.total(estado) == 21 ? plantarse : Math.max(plantarse, pedir(estado));
+                calculado[estado] = true;
+            }
+            return mejor[estado];
+        }
+
+        /**
+         * Mejor acción permitida en un estado; doblar y rendirse sólo con dos cartas.
+         */
+        int mejorDecision(int estado) {
+            int decision = pedir(estado) > plantarse(estado) ? PEDIR : PLANTARSE;
+            double valor = mejorPedirPlantarse(estado);
+            if (reglas.sePuedeDoblar(estado) && doblar(estado) > valor) {
+                decision = DOBLAR;
+                valor = doblar(estado);
+            }
+            if (reglas.isRendicion() && EstadoMano.cartas(estado) == 2 && -0.5 > valor) {
+                decision = RENDIRSE;
+            }
+            return decision;
+        }
+
+        /**
+         * Valor de la mejor acción permitida con las dos primeras cartas.
+         */
+        double mejor(int estado) {
+            switch (mejorDecision(estado)) {
+                case DOBLAR: return doblar(estado);
+                case RENDIRSE: return -0.5;
+                default: return mejorPedirPlantarse(estado);
+            }
+        }
+
+        /**
+         * Estado de dos cartas de la pareja del valor dado.
+         */
+        int pareja(int valorPar) {
+            return EstadoMano.siguienteRango(EstadoMano.siguienteRango(EstadoMano.INICIAL, valorPar), valorPar);
+        }
+
+        /**
+         * Valor de dividir la pareja: dos manos que arrancan con una de sus
+         * cartas. Los ases reciben una carta y se plantan; el resto juega
+         * con doblar sólo si la variante lo permite tras dividir.
+         */
+        double dividir(int valorPar) {
+            int inicial = EstadoMano.siguienteRango(EstadoMano.INICIAL, valorPar);
+            double valor = 0;
+            for (int rango = 0; rango < RANGOS; rango++) {
+                int estado = EstadoMano.siguienteRango(inicial, rango);
+                if (valorPar == CodigoCarta.AS) {
+                    valor += plantarse(estado);
+                } else {
+                    double mano = mejorPedirPlantarse(estado);
+                    if (reglas.isDoblarTrasDividir() && reglas.sePuedeDoblar(estado)) {
+                        mano = Math.max(mano, doblar(estado));
+                    }
+                    valor += mano;
+                }
+            }
+            return 2 * valor / RANGOS;
+        }
+    }
+}
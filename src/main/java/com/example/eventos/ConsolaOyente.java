@@ -0,0 +1,93 @@
+package com.example.eventos;
+
+import com.example.modelo.CodigoCarta;
+import java.io.Flushable;
+import java.io.PrintStream;
+
+/**
+ * Oyente que escribe los eventos como texto, con los mismos mensajes que
+ * antes imprimían el modelo y el controlador.
+ *
+ * Las líneas se arman en un búfer propio; se escriben en la salida en cada
+ * evento o sólo al llamar a {@link #flush()}, que es lo que hace
+ * {@link OyenteAsincrono} al terminar cada lote. No es seguro usar una
+ * misma instancia desde varios hilos.
+ */
+public class ConsolaOyente implements OyenteJuego, Flushable {
+
+    /** Textos de los resultados, en el orden de las constantes de ReglasPago */
+    private static final String[] RESULTADOS = {"Pierde", "Empate", "Gana", "Blackjack", "Se rinde"};
+
+    private final PrintStream salida;
+    private final boolean vaciarCadaEvento;
+    private final StringBuilder bufer = new StringBuilder(256);
+
+    /**
+     * Oyente que escribe cada evento en la salida estándar.
+     */
+    public ConsolaOyente() {
+        this(System.out, true);
+    }
+
+    /**
+     * @param salida           Dónde escribir
+     * @param vaciarCadaEvento Si es false, las líneas se acumulan hasta {@link #flush()}
+     */
+    public ConsolaOyente(PrintStream salida, boolean vaciarCadaEvento) {
+        this.salida = salida;
+        this.vaciarCadaEvento = vaciarCadaEvento;
+    }
+
+    @Override
+    public void cartaRepartida(String nombre, int codigo, boolean oculta, int puntos) {
+        bufer.append(nombre).append(" recibe carta: ");
+        if (oculta) {
+            bufer.append("[CARTA OCULTA]");
+        } else {
+            bufer.append(CodigoCarta.carta(codigo)).append(" (").append(puntos).append(" puntos)");
+        }
+        terminarLinea();
+    }
+
+    @Override
+    public void cartaOcultaRevelada(String nombre, int codigo, int puntos) {
+        bufer.append("\n--- Turno del ").append(nombre).append(" ---\n");
+        bufer.append("La carta oculta era: ").append(CodigoCarta.carta(codigo))
+            .append(" (").append(puntos).append(" puntos)");
+        terminarLinea();
+    }
+
+    @Override
+    public void manoLiquidada(String nombre, int puntosJugador, int puntosCrupier,
+                              int resultado, int apuesta, int devolucion) {
+        bufer.append(nombre).append(": ").append(puntosJugador).append(" contra ").append(puntosCrupier)
+            .append(" del crupier -> ").append(RESULTADOS[resultado])
+            .append(" (apuesta $").append(apuesta).append(", devolución $").append(devolucion).append(')');
+        terminarLinea();
+    }
+
+    @Override
+    public void saldoCambiado(String nombre, long anterior, long nuevo) {
+        bufer.append("Saldo de ").append(nombre).append(": $").append(anterior).append(" -> $").append(nuevo);
+        terminarLinea();
+    }
+
+    private void terminarLinea() {
+        bufer.append('\n');
+        if (vaciarCadaEvento) {
+            flush();
+        }
+    }
+
+    /**
+     * Escribe en la salida todas las líneas acumuladas.
+     */
+    @Override
+    public void flush() {
+        if (bufer.length() > 0) {
+            salida.print(bufer);
+            salida.flush();
+            bufer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.eventos;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Oyente que entrega los eventos a otro oyente en un hilo propio y por lotes.
+ *
+ * El hilo que juega sólo encola el evento en una cola acotada; nunca espera
+ * al oyente de destino. Si la cola está llena el evento se descarta y se
+ * cuenta en {@link #getDescartados()}, de modo que un destino lento (por
+ * ejemplo la consola) no frena la partida. El hilo de entrega toma hasta
+ * {@link #TAMANO_LOTE} eventos por vez, los reenvía en orden y, si el
+ * destino es {@link Flushable}, lo vacía una sola vez por lote.
+ */
+public class OyenteAsincrono implements OyenteJuego, AutoCloseable {
+
+    /** Capacidad por defecto de la cola de eventos */
+    public static final int CAPACIDAD_POR_DEFECTO = 8192;
+
+    /** Máximo de eventos que se entregan juntos */
+    public static final int TAMANO_LOTE = 256;
+
+    private static final int CARTA = 0;
+    private static final int REVELADA = 1;
+    private static final int LIQUIDADA = 2;
+    private static final int SALDO = 3;
+
+    /** Evento encolado; los campos que no usa un tipo quedan en cero */
+    private static final class Evento {
+        final int tipo;
+        final String nombre;
+        final long a, b;
+        final int c, d, e;
+
+        Evento(int tipo, String nombre, long a, long b, int c, int d, int e) {
+            this.tipo = tipo;
+            this.nombre = nombre;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            this.e = e;
+        }
+    }
+
+    private final OyenteJuego destino;
+    private final BlockingQueue<Evento> cola;
+    private final Thread entrega;
+    private final LongAdder descartados = new LongAdder();
+    private volatile boolean cerrado;
+
+    public OyenteAsincrono(OyenteJuego destino) {
+        this(destino, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param destino   Oyente que recibe los eventos en el hilo de entrega
+     * @param capacidad Eventos que pueden esperar en la cola antes de descartar
+     */
+    public OyenteAsincrono(OyenteJuego destino, int capacidad) {
+        this.destino = destino;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.entrega = new Thread(this::entregar, "oyente-asincrono");
+        entrega.setDaemon(true);
+        entrega.start();
+    }
+
+    @Override
+    public void cartaRepartida(String nombre, int codigo, boolean oculta, int puntos) {
+        encolar(new Evento(CARTA, nombre, codigo, oculta ? 1 : 0, puntos, 0, 0));
+    }
+
+    @Override
+    public void cartaOcultaRevelada(String nombre, int codigo, int puntos) {
+        encolar(new Evento(REVELADA, nombre, codigo, puntos, 0, 0, 0));
+    }
+
+    @Override
+    public void manoLiquidada(String nombre, int puntosJugador, int puntosCrupier,
+                              int resultado, int apuesta, int devolucion) {
+        encolar(new Evento(LIQUIDADA, nombre, puntosJugador, puntosCrupier, resultado, apuesta, devolucion));
+    }
+
+    @Override
+    public void saldoCambiado(String nombre, long anterior, long nuevo) {
+        encolar(new Evento(SALDO, nombre, anterior, nuevo, 0, 0, 0));
+    }
+
+    private void encolar(Evento evento) {
+        if (cerrado || !cola.offer(evento)) {
+            descartados.increment();
+        }
+    }
+
+    private void entregar() {
+        List<Evento> lote = new ArrayList<>(TAMANO_LOTE);
+        try {
+            while (!cerrado || !cola.isEmpty()) {
+                Evento primero = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, TAMANO_LOTE - 1);
+                for (Evento evento : lote) {
+                    despachar(evento);
+                }
+                lote.clear();
+                if (destino instanceof Flushable) {
+                    ((Flushable) destino).flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("No se pudieron escribir los eventos: " + e.getMessage());
+        }
+    }
+
+    private void despachar(Evento evento) {
+        switch (evento.tipo) {
+            case CARTA:
+                destino.cartaRepartida(evento.nombre, (int) evento.a, evento.b != 0, evento.c);
+                break;
+            case REVELADA:
+                destino.cartaOcultaRevelada(evento.nombre, (int) evento.a, (int) evento.b);
+                break;
+            case LIQUIDADA:
+                destino.manoLiquidada(evento.nombre, (int) evento.a, (int) evento.b, evento.c, evento.d, evento.e);
+                break;
+            default:
+                destino.saldoCambiado(evento.nombre, evento.a, evento.b);
+                break;
+        }
+    }
+
+    /**
+     * Cantidad de eventos descartados porque la cola estaba llena o el oyente cerrado.
+     */
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    /**
+     * Deja de aceptar eventos y espera a que se entreguen los pendientes.
+     * Si se interrumpe la espera vuelve enseguida con la interrupción
+     * marcada; el hilo de entrega termina de vaciar la cola por su cuenta.
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        try {
+            entrega.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.eventos;
+
+/**
+ * Oyente de los eventos de una partida.
+ *
+ * Los eventos se entregan como argumentos primitivos y referencias que ya
+ * existen (el nombre de la persona), sin armar objetos de evento ni
+ * textos. Todos los métodos tienen una implementación vacía, así que con
+ * {@link #NINGUNO} notificar un evento es una llamada que el compilador JIT
+ * elimina y no reserva memoria.
+ *
+ * Los eventos se notifican en el hilo que juega la mano (el motor del
+ * juego o el hilo de simulación); un oyente lento debe envolverse en
+ * {@link OyenteAsincrono}.
+ */
+public interface OyenteJuego {
+
+    /** Oyente que ignora todos los eventos */
+    OyenteJuego NINGUNO = new OyenteJuego() { };
+
+    /**
+     * Una persona recibió una carta.
+     *
+     * @param nombre Nombre de quien recibe la carta
+     * @param codigo Código de la carta (ver CodigoCarta)
+     * @param oculta Si la carta se reparte boca abajo
+     * @param puntos Puntaje de la mano después de recibirla
+     */
+    default void cartaRepartida(String nombre, int codigo, boolean oculta, int puntos) {
+    }
+
+    /**
+     * El crupier dio vuelta su carta oculta al comenzar su turno.
+     *
+     * @param nombre Nombre del crupier
+     * @param codigo Código de la carta revelada
+     * @param puntos Puntaje de la mano del crupier con la carta revelada
+     */
+    default void cartaOcultaRevelada(String nombre, int codigo, int puntos) {
+    }
+
+    /**
+     * Se liquidó la mano de un jugador.
+     *
+     * @param nombre        Nombre del jugador
+     * @param puntosJugador Puntaje final del jugador
+     * @param puntosCrupier Puntaje final del crupier
+     * @param resultado     Resultado según ReglasPago (PIERDE, EMPATE, GANA o BLACKJACK)
+     * @param apuesta       Apuesta de la mano
+     * @param devolucion    Dinero devuelto al jugador, incluida la apuesta
+     */
+    default void manoLiquidada(String nombre, int puntosJugador, int puntosCrupier,
+                               int resultado, int apuesta, int devolucion) {
+    }
+
+    /**
+     * Cambió el saldo de un jugador.
+     *
+     * @param nombre   Nombre del jugador
+     * @param anterior Saldo antes del cambio
+     * @param nuevo    Saldo después del cambio
+     */
+    default void saldoCambiado(String nombre, long anterior, long nuevo) {
+    }
+
+    /**
+     * Oyente que reenvía cada evento a los dos oyentes dados, en orden.
+     */
+    static OyenteJuego combinar(OyenteJuego primero, OyenteJuego segundo) {
+        if (primero == NINGUNO) {
+            return segundo;
+        }
+        if (segundo == NINGUNO) {
+            return primero;
+        }
+        return new OyenteJuego() {
+            @Override
+            public void cartaRepartida(String nombre, int codigo, boolean oculta, int puntos) {
+                primero.cartaRepartida(nombre, codigo, oculta, puntos);
+                segundo.cartaRepartida(nombre, codigo, oculta, puntos);
+            }
+
+            @Override
+            public void cartaOcultaRevelada(String nombre, int codigo, int puntos) {
+                primero.cartaOcultaRevelada(nombre, codigo, puntos);
+                segundo.cartaOcultaRevelada(nombre, codigo, puntos);
+            }
+
+            @Override
+            public void manoLiquidada(String nombre, int puntosJugador, int puntosCrupier,
+                                      int resultado, int apuesta, int devolucion) {
+                primero.manoLiquidada(nombre, puntosJugador, puntosCrupier, resultado, apuesta, devolucion);
+                segundo.manoLiquidada(nombre, puntosJugador, puntosCrupier, resultado, apuesta, devolucion);
+            }
+
+            @Override
+            public void saldoCambiado(String nombre, long anterior, long nuevo) {
+                primero.saldoCambiado(nombre, anterior, nuevo);
+                segundo.saldoCambiado(nombre, anterior, nuevo);
+            }
+        };
+    }
+}
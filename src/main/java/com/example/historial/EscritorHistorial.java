@@ -0,0 +1,223 @@
+package com.example.historial;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escribe el historial de manos en segmentos de tamaño fijo mapeados en
+ * memoria, sólo agregando al final.
+ *
+ * Escribir una mano es reservar su lugar en el segmento actual con una suma
+ * atómica y copiar los {@value RegistroMano#TAMANO} bytes al mapa: no hay
+ * llamadas al sistema ni candados, y varias mesas pueden escribir a la vez.
+ * El siguiente segmento se crea y se mapea por adelantado en un hilo
+ * aparte, así que cambiar de segmento es sólo cambiar una referencia; el
+ * segmento lleno se baja a disco y se cierra también en ese hilo.
+ *
+ * Los archivos se llaman {@code manos-000001.ubjh}, {@code manos-000002.ubjh},
+ * etc. Cada uno tiene una cabecera de {@value #CABECERA} bytes (ver
+ * {@link LectorHistorial}) seguida de los registros.
+ */
+public final class EscritorHistorial implements AutoCloseable {
+
+    /** "UBJH" */
+    static final int MAGICO = 0x55424A48;
+    /** 2: registros de 88 bytes con las reglas de la mesa y decisiones de dos bits */
+    static final int VERSION = 2;
+    static final int CABECERA = 64;
+    static final String PREFIJO = "manos-";
+    static final String EXTENSION = ".ubjh";
+
+    /** Registros por segmento si no se indica otra cosa (unos 20 MB) */
+    public static final int REGISTROS_POR_SEGMENTO = 262_144;
+
+    /**
+     * Un archivo mapeado. Los escritores cuentan cuántos están copiando
+     * para que el segmento no se cierre con una copia a medias.
+     */
+    private static final class Segmento {
+        final int numero;
+        final Path archivo;
+        final FileChannel canal;
+        final MappedByteBuffer mapa;
+        final AtomicInteger reservado = new AtomicInteger(CABECERA);
+        final AtomicInteger escribiendo = new AtomicInteger();
+
+        Segmento(int numero, Path archivo, FileChannel canal, MappedByteBuffer mapa) {
+            this.numero = numero;
+            this.archivo = archivo;
+            this.canal = canal;
+            this.mapa = mapa;
+        }
+    }
+
+    private final Path directorio;
+    private final int capacidad;
+    private final ExecutorService segundoPlano = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "historial-segmentos");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final LongAdder escritos = new LongAdder();
+
+    private volatile Segmento actual;
+    private CompletableFuture<Segmento> siguiente;
+    private volatile boolean cerrado;
+
+    public EscritorHistorial(Path directorio) throws IOException {
+        this(directorio, REGISTROS_POR_SEGMENTO);
+    }
+
+    /**
+     * Abre el historial a continuación del último segmento que haya en el
+     * directorio.
+     *
+     * @param registrosPorSegmento Manos que entran en cada archivo
+     */
+    public EscritorHistorial(Path directorio, int registrosPorSegmento) throws IOException {
+        if (registrosPorSegmento < 1
+                || registrosPorSegmento > (Integer.MAX_VALUE / 2 - CABECERA) / RegistroMano.TAMANO) {
+            throw new IllegalArgumentException("Registros por segmento inválidos: " + registrosPorSegmento);
+        }
+        Files.createDirectories(directorio);
+        this.directorio = directorio;
+        this.capacidad = CABECERA + registrosPorSegmento * RegistroMano.TAMANO;
+        int ultimo = 0;
+        for (Path segmento : LectorHistorial.segmentos(directorio)) {
+            ultimo = Math.max(ultimo, LectorHistorial.numero(segmento));
+        }
+        this.actual = crear(ultimo + 1);
+        this.siguiente = prepararSiguiente(ultimo + 2);
+    }
+
+    /**
+     * Copia el registro al historial. Puede llamarse desde cualquier hilo;
+     * el registro se puede reutilizar apenas vuelve.
+     *
+     * @throws IllegalStateException Si el historial ya se cerró
+     */
+    public void escribir(RegistroMano registro) {
+        while (true) {
+            Segmento segmento = actual;
+            segmento.escribiendo.incrementAndGet();
+            try {
+                if (cerrado) {
+                    throw new IllegalStateException("El historial está cerrado");
+                }
+                int posicion = segmento.reservado.getAndAdd(RegistroMano.TAMANO);
+                if (posicion <= capacidad - RegistroMano.TAMANO) {
+                    registro.escribir(segmento.mapa, posicion);
+                    escritos.increment();
+                    return;
+                }
+            } finally {
+                segmento.escribiendo.decrementAndGet();
+            }
+            rotar(segmento);
+        }
+    }
+
+    /**
+     * Pasa al segmento preparado si el lleno sigue siendo el actual. Sólo
+     * espera si el hilo de fondo todavía no terminó de mapear el siguiente.
+     */
+    private synchronized void rotar(Segmento lleno) {
+        if (actual != lleno || cerrado) {
+            return;
+        }
+        Segmento nuevo = siguiente.join();
+        actual = nuevo;
+        siguiente = prepararSiguiente(nuevo.numero + 1);
+        segundoPlano.execute(() -> terminar(lleno));
+    }
+
+    private CompletableFuture<Segmento> prepararSiguiente(int numero) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return crear(numero);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo crear el segmento " + numero, e);
+            }
+        }, segundoPlano);
+    }
+
+    private Segmento crear(int numero) throws IOException {
+        Path archivo = directorio.resolve(String.format("%s%06d%s", PREFIJO, numero, EXTENSION));
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidad);
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+        mapa.putInt(0, MAGICO);
+        mapa.putShort(4, (short) VERSION);
+        mapa.putShort(6, (short) RegistroMano.TAMANO);
+        mapa.putInt(8, numero);
+        mapa.putLong(16, System.currentTimeMillis());
+        return new Segmento(numero, archivo, canal, mapa);
+    }
+
+    /**
+     * Espera a que terminen las copias en curso, baja el segmento a disco y
+     * recorta el archivo a lo escrito.
+     */
+    private void terminar(Segmento segmento) {
+        while (segmento.escribiendo.get() != 0) {
+            Thread.yield();  // Una copia de un registro; sólo tarda si el escritor perdió el procesador
+        }
+        try {
+            segmento.mapa.force();
+            segmento.canal.truncate(Math.min(segmento.reservado.get(), capacidad));
+            segmento.canal.close();
+        } catch (IOException e) {
+            System.err.println("No se pudo cerrar " + segmento.archivo + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Manos escritas desde que se abrió el historial.
+     */
+    public long getEscritos() {
+        return escritos.sum();
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    /**
+     * Cierra el segmento actual y borra el que estaba preparado sin usar.
+     */
+    @Override
+    public void close() throws IOException {
+        Segmento ultimo;
+        CompletableFuture<Segmento> preparado;
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            ultimo = actual;
+            preparado = siguiente;
+        }
+        segundoPlano.execute(() -> terminar(ultimo));
+        segundoPlano.shutdown();
+        try {
+            segundoPlano.awaitTermination(30, TimeUnit.SECONDS);
+            Segmento sobrante = preparado.join();
+            sobrante.canal.close();
+            Files.deleteIfExists(sobrante.archivo);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
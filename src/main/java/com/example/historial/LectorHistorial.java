@@ -0,0 +1,151 @@
+package com.example.historial;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Lee un segmento del historial de manos, registro por registro.
+ *
+ * El archivo se mapea en memoria de sólo lectura y cada registro se copia
+ * al mismo {@link RegistroMano}, así que leer no crea objetos. Los
+ * registros cuyo CRC no coincide se saltean y se cuentan en
+ * {@link #getCorruptos()}; las posiciones en cero (reservadas pero nunca
+ * escritas, por ejemplo si el proceso se cortó) se saltean sin contarse.
+ *
+ * Cabecera del segmento, en little-endian:
+ * <pre>
+ *  0 int   "UBJH"
+ *  4 short versión
+ *  6 short tamaño de registro
+ *  8 int   número de segmento
+ * 16 long  creación (ms)
+ * </pre>
+ */
+public final class LectorHistorial implements AutoCloseable {
+
+    private final Path archivo;
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final int numero;
+    private int posicion = EscritorHistorial.CABECERA;
+    private long corruptos;
+
+    /**
+     * @throws IOException Si el archivo no es un segmento del historial
+     */
+    public LectorHistorial(Path archivo) throws IOException {
+        this.archivo = archivo;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            long tamano = canal.size();
+            if (tamano < EscritorHistorial.CABECERA || tamano > Integer.MAX_VALUE) {
+                throw new IOException(archivo + " no es un segmento del historial");
+            }
+            mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+            mapa.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapa.getInt(0) != EscritorHistorial.MAGICO) {
+                throw new IOException(archivo + " no es un segmento del historial");
+            }
+            if (mapa.getShort(4) != EscritorHistorial.VERSION || mapa.getShort(6) != RegistroMano.TAMANO) {
+                throw new IOException(archivo + ": versión " + mapa.getShort(4) + " no soportada");
+            }
+            numero = mapa.getInt(8);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Segmentos del directorio, en orden.
+     */
+    public static List<Path> segmentos(Path directorio) throws IOException {
+        if (!Files.isDirectory(directorio)) {
+            return List.of();
+        }
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(LectorHistorial::esSegmento).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static boolean esSegmento(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return nombre.startsWith(EscritorHistorial.PREFIJO) && nombre.endsWith(EscritorHistorial.EXTENSION);
+    }
+
+    /**
+     * Número de segmento según el nombre del archivo.
+     */
+    static int numero(Path segmento) {
+        String nombre = segmento.getFileName().toString();
+        try {
+            return Integer.parseInt(nombre.substring(EscritorHistorial.PREFIJO.length(),
+                nombre.length() - EscritorHistorial.EXTENSION.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Lee el siguiente registro válido.
+     *
+     * @return false si no quedan registros
+     */
+    public boolean siguiente(RegistroMano destino) {
+        while (posicion <= mapa.limit() - RegistroMano.TAMANO) {
+            int actual = posicion;
+            posicion += RegistroMano.TAMANO;
+            if (destino.leer(mapa, actual)) {
+                return true;
+            }
+            if (!enCero(actual)) {
+                corruptos++;
+            }
+        }
+        return false;
+    }
+
+    private boolean enCero(int inicio) {
+        for (int i = 0; i < RegistroMano.TAMANO; i += 8) {
+            if (mapa.getLong(inicio + i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registros salteados porque su CRC no coincidía.
+     */
+    public long getCorruptos() {
+        return corruptos;
+    }
+
+    public int getNumero() {
+        return numero;
+    }
+
+    /**
+     * Bytes del segmento.
+     */
+    public long getTamano() {
+        return mapa.limit();
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.historial;
+
+import com.example.estrategia.Estrategia;
+import com.example.modelo.Mazo;
+import com.example.modelo.Persona;
+import com.example.modelo.ReglasMesa;
+import com.example.modelo.ReglasPago;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+
+/**
+ * Una mano del historial en formato binario de tamaño fijo.
+ *
+ * El objeto es mutable y se reutiliza mano tras mano: la mesa lo llena
+ * mientras se juega ({@link #iniciar}, {@link #decision}, {@link #copiarManos},
+ * {@link #liquidar}) y el escritor lo copia al archivo, sin crear objetos.
+ * El lector hace lo contrario sobre el mismo objeto.
+ *
+ * Disposición de los {@value #TAMANO} bytes, en little-endian:
+ * <pre>
+ *  0 long  ronda              44 byte  cantidad de decisiones
+ *  8 long  instante (ms)      45 byte  cartas del jugador
+ * 16 long  semilla del zapato 46 byte  cartas del crupier
+ * 24 int   barajada           47 byte  asiento
+ * 28 short posición en zapato 48 byte[12] cartas del jugador
+ * 30 byte  mazos              60 byte[12] cartas del crupier (oculta primero)
+ * 31 byte  resultado          72 int   mesa
+ * 32 int   apuesta            76 short reglas de la mesa
+ * 36 int   devolución         78 short reservado
+ * 40 int   decisiones         80 int   reservado
+ *          (2 bits cada una)  84 int   CRC32C de los bytes 0 a 83
+ * </pre>
+ *
+ * Cada decisión ocupa dos bits con su valor de {@link Estrategia}, así que
+ * doblar y rendirse quedan anotados como tales. Las reglas guardan lo que
+ * hace falta para volver a jugar la mano con la misma {@link ReglasMesa}
+ * (ver {@link #getReglas()}): bit 0 H17, bits 1 y 2 la regla de doblar,
+ * bit 3 doblar tras dividir, bits 4 a 6 las manos divididas menos una,
+ * bit 7 rendición y el byte alto el pago del blackjack en veinteavos de
+ * apuesta; los mazos van en su propio byte.
+ */
+public final class RegistroMano {
+
+    /** Bytes de un registro */
+    public static final int TAMANO = 88;
+
+    /** Cartas por mano que entran en el registro */
+    public static final int MAXIMO_CARTAS = 12;
+
+    /** Decisiones por mano que entran en el registro */
+    public static final int MAXIMO_DECISIONES = 16;
+
+    private static final int DATOS = TAMANO - 4;
+
+    private long ronda;
+    private long instante;
+    private long semilla;
+    private int barajada;
+    private int posicion;
+    private int mazos;
+    private int resultado;
+    private int apuesta;
+    private int devolucion;
+    private int decisiones;
+    private int cantidadDecisiones;
+    private int asiento;
+    private int mesa;
+    /** Reglas de la mesa codificadas como en el registro */
+    private int codigoReglas;
+    /** Últimas reglas decodificadas, para no crear una variante por mano al leer */
+    private ReglasMesa reglas;
+    private final byte[] cartasJugador = new byte[MAXIMO_CARTAS];
+    private final byte[] cartasCrupier = new byte[MAXIMO_CARTAS];
+    private int cantidadJugador;
+    private int cantidadCrupier;
+
+    /** Copia del registro en bytes, para calcular el CRC */
+    private final byte[] bytes = new byte[TAMANO];
+    private final ByteBuffer bufer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+
+    // === LLENADO DURANTE LA MANO ===
+
+    /**
+     * Empieza el registro de una mano nueva jugada con las reglas
+     * clásicas. Se llama después de preparar el zapato y antes de repartir.
+     */
+    public void iniciar(long ronda, int mesa, int asiento, Mazo mazo, int apuesta) {
+        iniciar(ronda, mesa, asiento, mazo, ReglasMesa.CLASICA.conMazos(mazo.getMazos()), apuesta);
+    }
+
+    /**
+     * Empieza el registro de una mano nueva. Se llama después de preparar
+     * el zapato y antes de repartir.
+     *
+     * @param reglas Reglas de la mesa; sus mazos deben ser los del zapato
+     */
+    public void iniciar(long ronda, int mesa, int asiento, Mazo mazo, ReglasMesa reglas, int apuesta) {
+        if (reglas != this.reglas) {
+            this.codigoReglas = codificar(reglas);
+            this.reglas = reglas;
+        }
+        this.ronda = ronda;
+        this.instante = System.currentTimeMillis();
+        this.semilla = mazo.getSemilla();
+        this.barajada = mazo.getBarajadas();
+        this.posicion = mazo.getTamano() - mazo.getRestantes();
+        this.mazos = mazo.getMazos();
+        this.mesa = mesa;
+        this.asiento = asiento;
+        this.apuesta = apuesta;
+        this.resultado = 0;
+        this.devolucion = 0;
+        this.decisiones = 0;
+        this.cantidadDecisiones = 0;
+        this.cantidadJugador = 0;
+        this.cantidadCrupier = 0;
+    }
+
+    /**
+     * Anota una decisión del jugador, en el orden en que la tomó. Las que
+     * no entran en el registro se cuentan pero no se guardan.
+     *
+     * @param decision Una de las de {@link Estrategia}: pedir, plantarse, doblar o rendirse
+     */
+    public void decision(int decision) {
+        if (cantidadDecisiones < MAXIMO_DECISIONES) {
+            decisiones |= (decision & 3) << 2 * cantidadDecisiones;
+        }
+        cantidadDecisiones++;
+    }
+
+    /**
+     * Copia las manos finales de jugador y crupier.
+     */
+    public void copiarManos(Persona jugador, Persona crupier) {
+        cantidadJugador = jugador.getCantidadCartas();
+        for (int i = 0; i < Math.min(cantidadJugador, MAXIMO_CARTAS); i++) {
+            cartasJugador[i] = (byte) jugador.getCodigo(i);
+        }
+        cantidadCrupier = crupier.getCantidadCartas();
+        for (int i = 0; i < Math.min(cantidadCrupier, MAXIMO_CARTAS); i++) {
+            cartasCrupier[i] = (byte) crupier.getCodigo(i);
+        }
+    }
+
+    /**
+     * @param resultado  Resultado según ReglasPago
+     * @param devolucion Lo que se devolvió al jugador, contando las dos apuestas si dobló
+     */
+    public void liquidar(int resultado, int devolucion) {
+        this.resultado = resultado;
+        this.devolucion = devolucion;
+    }
+
+    // === FORMATO BINARIO ===
+
+    /**
+     * Escribe el registro en la posición dada del búfer, sin mover su
+     * posición. Varios hilos pueden escribir a la vez en zonas distintas.
+     */
+    void escribir(ByteBuffer destino, int posicion) {
+        bufer.putLong(0, ronda);
+        bufer.putLong(8, instante);
+        bufer.putLong(16, semilla);
+        bufer.putInt(24, barajada);
+        bufer.putShort(28, (short) this.posicion);
+        bufer.put(30, (byte) mazos);
+        bufer.put(31, (byte) resultado);
+        bufer.putInt(32, apuesta);
+        bufer.putInt(36, devolucion);
+        bufer.putInt(40, decisiones);
+        bufer.put(44, (byte) Math.min(cantidadDecisiones, 127));
+        bufer.put(45, (byte) Math.min(cantidadJugador, 127));
+        bufer.put(46, (byte) Math.min(cantidadCrupier, 127));
+        bufer.put(47, (byte) asiento);
+        System.arraycopy(cartasJugador, 0, bytes, 48, MAXIMO_CARTAS);
+        System.arraycopy(cartasCrupier, 0, bytes, 60, MAXIMO_CARTAS);
+        bufer.putInt(72, mesa);
+        bufer.putShort(76, (short) codigoReglas);
+        bufer.putShort(78, (short) 0);
+        bufer.putInt(80, 0);
+        crc.reset();
+        crc.update(bytes, 0, DATOS);
+        bufer.putInt(DATOS, (int) crc.getValue());
+
+        // De a ocho bytes: el búfer de destino es compartido y en Java 11 no
+        // tiene copia masiva a una posición absoluta
+        for (int i = 0; i < TAMANO; i += 8) {
+            destino.putLong(posicion + i, bufer.getLong(i));
+        }
+    }
+
+    /**
+     * Lee el registro de la posición dada del búfer.
+     *
+     * @return false si el CRC no coincide; el contenido queda indefinido
+     */
+    boolean leer(ByteBuffer origen, int posicion) {
+        for (int i = 0; i < TAMANO; i += 8) {
+            bufer.putLong(i, origen.getLong(posicion + i));
+        }
+        crc.reset();
+        crc.update(bytes, 0, DATOS);
+        if (bufer.getInt(DATOS) != (int) crc.getValue()) {
+            return false;
+        }
+        ronda = bufer.getLong(0);
+        instante = bufer.getLong(8);
+        semilla = bufer.getLong(16);
+        barajada = bufer.getInt(24);
+        this.posicion = bufer.getShort(28) & 0xFFFF;
+        mazos = bufer.get(30);
+        resultado = bufer.get(31);
+        apuesta = bufer.getInt(32);
+        devolucion = bufer.getInt(36);
+        decisiones = bufer.getInt(40);
+        cantidadDecisiones = bufer.get(44);
+        cantidadJugador = bufer.get(45);
+        cantidadCrupier = bufer.get(46);
+        asiento = bufer.get(47) & 0xFF;
+        System.arraycopy(bytes, 48, cartasJugador, 0, MAXIMO_CARTAS);
+        System.arraycopy(bytes, 60, cartasCrupier, 0, MAXIMO_CARTAS);
+        mesa = bufer.getInt(72);
+        int codigo = bufer.getShort(76) & 0xFFFF;
+        if (codigo != codigoReglas || reglas == null || reglas.getMazos() != mazos) {
+            reglas = null;  // Se decodifica recién cuando alguien la pide
+        }
+        codigoReglas = codigo;
+        return true;
+    }
+
+    // === LECTURA ===
+
+    public long getRonda() {
+        return ronda;
+    }
+
+    /**
+     * Momento de inicio de la mano, en milisegundos desde la época.
+     */
+    public long getInstante() {
+        return instante;
+    }
+
+    /**
+     * Semilla del zapato (ver Mazo#getSemilla); con la barajada y la
+     * posición alcanza para reconstruirlo.
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public int getBarajada() {
+        return barajada;
+    }
+
+    /**
+     * Cartas que ya se habían repartido del zapato al empezar la mano.
+     */
+    public int getPosicion() {
+        return posicion;
+    }
+
+    public int getMazos() {
+        return mazos;
+    }
+
+    public int getMesa() {
+        return mesa;
+    }
+
+    public int getAsiento() {
+        return asiento;
+    }
+
+    public int getApuesta() {
+        return apuesta;
+    }
+
+    public int getResultado() {
+        return resultado;
+    }
+
+    public int getDevolucion() {
+        return devolucion;
+    }
+
+    /**
+     * Cantidad de cartas del jugador, aunque no hayan entrado todas.
+     */
+    public int getCantidadJugador() {
+        return cantidadJugador;
+    }
+
+    public int getCartaJugador(int i) {
+        return cartasJugador[i];
+    }
+
+    /**
+     * Cantidad de cartas del crupier, aunque no hayan entrado todas.
+     */
+    public int getCantidadCrupier() {
+        return cantidadCrupier;
+    }
+
+    public int getCartaCrupier(int i) {
+        return cartasCrupier[i];
+    }
+
+    public int getCantidadDecisiones() {
+        return cantidadDecisiones;
+    }
+
+    /**
+     * @return Una de las decisiones de {@link Estrategia}
+     */
+    public int getDecision(int i) {
+        return decisiones >>> 2 * i & 3;
+    }
+
+    /**
+     * Reglas con las que se jugó la mano. Al leer se decodifican sólo
+     * cuando cambian de un registro a otro.
+     */
+    public ReglasMesa getReglas() {
+        if (reglas == null) {
+            reglas = decodificar(mazos, codigoReglas);
+        }
+        return reglas;
+    }
+
+    // === CODIFICACIÓN DE LAS REGLAS ===
+
+    private static int codificar(ReglasMesa reglas) {
+        int pago = reglas.neto(ReglasPago.BLACKJACK);
+        if (pago > 0xFF) {
+            throw new IllegalArgumentException("Pago de blackjack que el historial no guarda: " + reglas);
+        }
+        return (reglas.isCrupierPideBlando17() ? 1 : 0)
+            | reglas.getDoblar() << 1
+            | (reglas.isDoblarTrasDividir() ? 1 << 3 : 0)
+            | (reglas.getManosMaximas() - 1) << 4
+            | (reglas.isRendicion() ? 1 << 7 : 0)
+            | pago << 8;
+    }
+
+    private static ReglasMesa decodificar(int mazos, int codigo) {
+        int pago = codigo >>> 8;
+        int divisor = ReglasMesa.FRACCIONES_POR_UNIDAD;
+        while (pago % 2 == 0 && divisor % 2 == 0) {
+            pago /= 2;
+            divisor /= 2;
+        }
+        while (pago % 5 == 0 && divisor % 5 == 0) {
+            pago /= 5;
+            divisor /= 5;
+        }
+        return new ReglasMesa(mazos, (codigo & 1) != 0, pago, divisor, codigo >>> 1 & 3,
+            (codigo & 1 << 3) != 0, (codigo >>> 4 & 7) + 1, (codigo & 1 << 7) != 0);
+    }
+
+    /**
+     * Indica si la mano entró completa en el registro.
+     */
+    public boolean estaCompleto() {
+        return cantidadJugador <= MAXIMO_CARTAS && cantidadCrupier <= MAXIMO_CARTAS
+            && cantidadDecisiones <= MAXIMO_DECISIONES;
+    }
+}
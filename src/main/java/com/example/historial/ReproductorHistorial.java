@@ -0,0 +1,245 @@
+package com.example.historial;
+
+import com.example.estrategia.Estrategia;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.modelo.ReglasMesa;
+import com.example.modelo.ReglasPago;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Vuelve a jugar las manos del historial con el modelo de la mesa
+ * ({@link JugadorApostador} y {@link Crupier}) para verificar que cada
+ * resultado y cada pago sean los que corresponden a las cartas y
+ * decisiones registradas.
+ *
+ * Las cartas salen de un zapato que reparte exactamente las de la mano, y
+ * las decisiones de una estrategia que repite las registradas; así el
+ * jugador y el crupier toman sus propias decisiones de reglas (plantarse
+ * al llegar a 21, pedir según la variante) y cualquier diferencia con lo
+ * registrado aparece como un error. Cada mano se juega con las
+ * {@link ReglasMesa} de su registro: doblar y rendirse tienen que estar
+ * permitidos, el crupier pide con 17 blando si la variante lo dice y los
+ * pagos salen de la variante. No crea objetos por mano, salvo la variante
+ * cuando cambia de un registro al siguiente.
+ */
+public final class ReproductorHistorial {
+
+    /**
+     * Zapato que reparte en orden las cartas cargadas: primero las que
+     * pidió el jugador y después las del crupier.
+     */
+    private static final class ZapatoGrabado extends Mazo {
+        private final byte[] cartas = new byte[2 * RegistroMano.MAXIMO_CARTAS];
+        private int cantidad;
+        private int cursor;
+        private boolean agotado;
+
+        ZapatoGrabado() {
+            super(1, 1.0, 0L);
+        }
+
+        void cargar(RegistroMano registro) {
+            cantidad = 0;
+            cursor = 0;
+            agotado = false;
+            for (int i = 2; i < registro.getCantidadJugador(); i++) {
+                cartas[cantidad++] = (byte) registro.getCartaJugador(i);
+            }
+            for (int i = 2; i < registro.getCantidadCrupier(); i++) {
+                cartas[cantidad++] = (byte) registro.getCartaCrupier(i);
+            }
+        }
+
+        @Override
+        public int repartirCodigo() {
+            if (cursor == cantidad) {
+                agotado = true;  // Se pidió una carta que la mano registrada no tiene
+                return 0;
+            }
+            return cartas[cursor++];
+        }
+    }
+
+    /**
+     * Estrategia que repite las decisiones registradas. Doblar y rendirse
+     * sólo pueden ser la primera decisión, y ésa la juega el reproductor;
+     * si aparecen después, la mano no corresponde a lo registrado.
+     */
+    private static final class DecisionesGrabadas implements Estrategia {
+        private RegistroMano registro;
+        private int siguiente;
+        private boolean agotadas;
+
+        void cargar(RegistroMano registro) {
+            this.registro = registro;
+            this.siguiente = 0;
+            this.agotadas = false;
+        }
+
+        @Override
+        public int decidir(int estadoMano, int valorVisible) {
+            if (siguiente == registro.getCantidadDecisiones()) {
+                agotadas = true;
+                return PLANTARSE;
+            }
+            int decision = registro.getDecision(siguiente++);
+            if (decision != PEDIR && decision != PLANTARSE) {
+                agotadas = true;
+                return PLANTARSE;
+            }
+            return decision;
+        }
+    }
+
+    private final ZapatoGrabado zapato = new ZapatoGrabado();
+    private final DecisionesGrabadas decisiones = new DecisionesGrabadas();
+    private final JugadorApostador jugador = new JugadorApostador("Jugador", 0, decisiones);
+    private final Crupier crupier = new Crupier();
+
+    private long verificadas;
+    private long incompletas;
+    private long errores;
+
+    /**
+     * Vuelve a jugar una mano.
+     *
+     * @return null si la mano coincide, o la descripción de la diferencia
+     */
+    public String verificar(RegistroMano registro) {
+        if (!registro.estaCompleto()) {
+            incompletas++;
+            return null;  // No entró entera en el registro; no hay con qué compararla
+        }
+        if (registro.getCantidadJugador() < 2 || registro.getCantidadCrupier() < 2) {
+            return error("mano de menos de dos cartas");
+        }
+        verificadas++;
+        zapato.cargar(registro);
+        decisiones.cargar(registro);
+        jugador.limpiarMano();
+        crupier.limpiarMano();
+        jugador.recibirCodigo(registro.getCartaJugador(0));
+        crupier.recibirCodigo(registro.getCartaCrupier(0));
+        jugador.recibirCodigo(registro.getCartaJugador(1));
+        crupier.recibirCodigo(registro.getCartaCrupier(1));
+
+        ReglasMesa reglas = registro.getReglas();
+        boolean doblada = false;
+        boolean rendida = false;
+        if (!jugador.esBlackjack()) {
+            int primera = registro.getCantidadDecisiones() > 0 ? registro.getDecision(0) : Estrategia.PLANTARSE;
+            if (primera == Estrategia.DOBLAR) {
+                if (!reglas.sePuedeDoblar(jugador.getEstado())) {
+                    return error("dobló una mano que las reglas no dejan doblar");
+                }
+                decisiones.siguiente = 1;
+                doblada = true;
+                jugador.recibirCodigo(zapato.repartirCodigo());
+            } else if (primera == Estrategia.RENDIRSE) {
+                if (!reglas.isRendicion()) {
+                    return error("se rindió en una mesa sin rendición");
+                }
+                decisiones.siguiente = 1;
+                rendida = true;
+            } else {
+                jugador.jugarTurno(zapato, CodigoCarta.valor(registro.getCartaCrupier(1)));
+            }
+        }
+        if (jugador.getCantidadCartas() != registro.getCantidadJugador() || decisiones.agotadas
+                || decisiones.siguiente != registro.getCantidadDecisiones()) {
+            return error("las decisiones no corresponden a las cartas del jugador");
+        }
+
+        // En una mesa con otros asientos el crupier puede jugar aunque este jugador se haya pasado
+        boolean crupierJuega = (!jugador.sePaso() && !jugador.esBlackjack() && !rendida)
+            || registro.getCantidadCrupier() > 2;
+        if (crupierJuega) {
+            crupier.jugarTurno(zapato, reglas);
+        }
+        if (zapato.agotado || crupier.getCantidadCartas() != registro.getCantidadCrupier()) {
+            return error("el crupier no jugó según sus reglas");
+        }
+
+        int resultado = rendida ? ReglasPago.RENDICION
+            : EstadoMano.resultado(jugador.getEstado(), crupier.getEstado());
+        if (resultado != registro.getResultado()) {
+            return error("resultado " + resultado + " registrado como " + registro.getResultado());
+        }
+        int devolucion = reglas.devolucion(registro.getApuesta(), resultado) * (doblada ? 2 : 1);
+        if (devolucion != registro.getDevolucion()) {
+            return error("devolución " + devolucion + " registrada como " + registro.getDevolucion());
+        }
+        return null;
+    }
+
+    private String error(String detalle) {
+        errores++;
+        return detalle;
+    }
+
+    public long getVerificadas() {
+        return verificadas;
+    }
+
+    /**
+     * Manos que no entraron completas en el registro y no se verificaron.
+     */
+    public long getIncompletas() {
+        return incompletas;
+    }
+
+    public long getErrores() {
+        return errores;
+    }
+
+    /**
+     * Verifica todos los segmentos de un directorio, o un solo segmento.
+     *
+     * Uso: {@code ReproductorHistorial <directorio | segmento>}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: ReproductorHistorial <directorio | segmento>");
+            System.exit(2);
+        }
+        Path origen = Paths.get(args[0]);
+        List<Path> segmentos = Files.isDirectory(origen) ? LectorHistorial.segmentos(origen) : List.of(origen);
+
+        ReproductorHistorial reproductor = new ReproductorHistorial();
+        RegistroMano registro = new RegistroMano();
+        long bytes = 0;
+        long corruptos = 0;
+        long inicio = System.nanoTime();
+        for (Path segmento : segmentos) {
+            try (LectorHistorial lector = new LectorHistorial(segmento)) {
+                while (lector.siguiente(registro)) {
+                    String error = reproductor.verificar(registro);
+                    if (error != null && reproductor.getErrores() <= 10) {
+                        System.out.println(segmento.getFileName() + ", mesa " + registro.getMesa()
+                            + ", ronda " + registro.getRonda() + ": " + error);
+                    }
+                }
+                bytes += lector.getTamano();
+                corruptos += lector.getCorruptos();
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        long manos = reproductor.getVerificadas() + reproductor.getIncompletas();
+        System.out.printf("%d segmentos, %,d manos en %.2f s (%,.0f manos/s, %.0f MB/s)%n",
+            segmentos.size(), manos, nanos / 1e9, manos * 1e9 / nanos, bytes * 1e3 / nanos);
+        System.out.printf("Verificadas: %,d, incompletas: %,d, con errores: %,d, corruptas: %,d%n",
+            reproductor.getVerificadas(), reproductor.getIncompletas(), reproductor.getErrores(), corruptos);
+        if (reproductor.getErrores() > 0 || corruptos > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.metricas;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Un arreglo de contadores por cada hilo que anota.
+ *
+ * Cada hilo escribe sólo en su propia celda, así que sumar es leer, sumar y
+ * guardar con acceso opaco: sin instrucciones atómicas ni barreras, que en
+ * una máquina virtual cuestan más que todo lo demás. Quien lee recorre
+ * todas las celdas; cada contador se lee entero (nunca a medias) aunque
+ * puede no incluir todavía lo último que anotó otro hilo.
+ *
+ * Las celdas de los hilos que terminan se conservan con sus cuentas, así
+ * que está pensado para hilos de larga vida (el motor del juego, los
+ * hilos de las mesas) y no para anotar desde hilos efímeros.
+ */
+final class CeldasPorHilo {
+
+    private static final VarHandle CONTADOR = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int ancho;
+    private final Queue<long[]> celdas = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<long[]> propia = ThreadLocal.withInitial(this::nuevaCelda);
+
+    /**
+     * @param ancho Contadores por celda
+     */
+    CeldasPorHilo(int ancho) {
+        this.ancho = ancho;
+    }
+
+    private long[] nuevaCelda() {
+        long[] celda = new long[ancho];
+        celdas.add(celda);
+        return celda;
+    }
+
+    /**
+     * Celda del hilo actual; sólo este hilo debe escribir en ella, con
+     * {@link #sumar(long[], int, long)}.
+     */
+    long[] celda() {
+        return propia.get();
+    }
+
+    /**
+     * Suma al contador de una celda propia.
+     */
+    static void sumar(long[] celda, int contador, long cantidad) {
+        CONTADOR.setOpaque(celda, contador, celda[contador] + cantidad);
+    }
+
+    /**
+     * Total de un contador entre todos los hilos.
+     */
+    long total(int contador) {
+        long total = 0;
+        for (long[] celda : celdas) {
+            total += (long) CONTADOR.getOpaque(celda, contador);
+        }
+        return total;
+    }
+
+    /**
+     * Totales de todos los contadores entre todos los hilos.
+     */
+    long[] totales() {
+        long[] totales = new long[ancho];
+        for (long[] celda : celdas) {
+            for (int i = 0; i < ancho; i++) {
+                totales[i] += (long) CONTADOR.getOpaque(celda, i);
+            }
+        }
+        return totales;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.metricas;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de latencias con cubetas fijas, seguro entre hilos.
+ *
+ * Las cubetas son log-lineales: cada potencia de dos se parte en
+ * {@value #SUBCUBETAS} cubetas iguales, así que cualquier valor se guarda
+ * con un error relativo menor al 12,5% y el histograma cubre desde 1 ns
+ * hasta siglos sin crecer. Anotar es calcular el índice con un par de
+ * operaciones de bits y sumar en la celda del hilo actual (ver
+ * {@link CeldasPorHilo}), sin instrucciones atómicas.
+ */
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUBCUBETA = 3;
+    /** Cubetas por potencia de dos */
+    static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    /** Cantidad de cubetas: los valores chicos exactos y el resto log-lineal hasta 2^63 */
+    static final int CUBETAS = (64 - BITS_SUBCUBETA + 1) << BITS_SUBCUBETA;
+
+    /** Posición de la suma de los valores, después de las cubetas */
+    private static final int SUMA = CUBETAS;
+
+    private final CeldasPorHilo celdas = new CeldasPorHilo(CUBETAS + 1);
+
+    /**
+     * Anota una duración. Los valores negativos (relojes que retroceden) cuentan como 0.
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        long[] celda = celdas.celda();
+        CeldasPorHilo.sumar(celda, indice(valor), 1);
+        CeldasPorHilo.sumar(celda, SUMA, valor);
+    }
+
+    /**
+     * Cubeta de un valor: los menores a {@link #SUBCUBETAS} tienen cubeta
+     * propia; para el resto, el exponente elige el grupo y los bits que
+     * siguen al más alto eligen la cubeta dentro del grupo.
+     */
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return ((exponente - BITS_SUBCUBETA + 1) << BITS_SUBCUBETA) | sub;
+    }
+
+    /**
+     * Mayor valor que cae en la cubeta.
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int exponente = (indice >>> BITS_SUBCUBETA) + BITS_SUBCUBETA - 1;
+        long ancho = 1L << (exponente - BITS_SUBCUBETA);
+        long inferior = (long) (SUBCUBETAS | (indice & (SUBCUBETAS - 1))) << (exponente - BITS_SUBCUBETA);
+        return inferior + ancho - 1;
+    }
+
+    /**
+     * Copia de los conteos actuales. Puede llamarse mientras otros hilos
+     * anotan; una anotación concurrente puede aparecer o no, y su cubeta y
+     * la suma pueden verse en copias distintas.
+     */
+    public Instantanea instantanea() {
+        long[] totales = celdas.totales();
+        return new Instantanea(Arrays.copyOf(totales, CUBETAS), totales[SUMA]);
+    }
+
+    /**
+     * Conteos del histograma en un momento dado, con sus percentiles.
+     */
+    public static final class Instantanea {
+        private final long[] conteos;
+        private final long suma;
+        private final long cantidad;
+
+        Instantanea(long[] conteos, long suma) {
+            this.conteos = conteos;
+            this.suma = suma;
+            long total = 0;
+            for (long conteo : conteos) {
+                total += conteo;
+            }
+            this.cantidad = total;
+        }
+
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        /**
+         * Promedio en nanosegundos, o 0 sin anotaciones.
+         */
+        public double getMedia() {
+            return cantidad == 0 ? 0 : (double) suma / cantidad;
+        }
+
+        /**
+         * Percentil en nanosegundos, redondeado hacia arriba al límite de su cubeta.
+         *
+         * @param percentil Entre 0 y 100
+         * @return El valor, o 0 sin anotaciones
+         */
+        public long percentil(double percentil) {
+            if (cantidad == 0) {
+                return 0;
+            }
+            long objetivo = Math.max(1, (long) Math.ceil(cantidad * percentil / 100.0));
+            long acumulado = 0;
+            for (int i = 0; i < conteos.length; i++) {
+                acumulado += conteos[i];
+                if (acumulado >= objetivo) {
+                    return limiteSuperior(i);
+                }
+            }
+            return getMaximo();
+        }
+
+        /**
+         * Límite superior de la cubeta más alta con anotaciones, o 0 sin anotaciones.
+         */
+        public long getMaximo() {
+            for (int i = conteos.length - 1; i >= 0; i--) {
+                if (conteos[i] != 0) {
+                    return limiteSuperior(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.metricas;
+
+/**
+ * Copia inmutable de las {@link Metricas} en un momento dado. Dos copias
+ * sucesivas dan las tasas del intervalo entre ellas.
+ */
+public final class InstantaneaMetricas {
+
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+    private static final String[] ETIQUETAS = {"p50", "p99", "p99.9"};
+
+    private final long nanosActivo;
+    private final long rondas;
+    private final long manos;
+    private final long barajadas;
+    private final long aciertosSprites;
+    private final long fallosSprites;
+    private final HistogramaLatencia.Instantanea[] latencias;
+
+    InstantaneaMetricas(long nanosActivo, long rondas, long manos, long barajadas,
+                        long aciertosSprites, long fallosSprites, HistogramaLatencia.Instantanea[] latencias) {
+        this.nanosActivo = nanosActivo;
+        this.rondas = rondas;
+        this.manos = manos;
+        this.barajadas = barajadas;
+        this.aciertosSprites = aciertosSprites;
+        this.fallosSprites = fallosSprites;
+        this.latencias = latencias;
+    }
+
+    /**
+     * Nanosegundos desde que se crearon las métricas.
+     */
+    public long getNanosActivo() {
+        return nanosActivo;
+    }
+
+    public long getRondas() {
+        return rondas;
+    }
+
+    public long getManos() {
+        return manos;
+    }
+
+    public long getBarajadas() {
+        return barajadas;
+    }
+
+    public long getAciertosSprites() {
+        return aciertosSprites;
+    }
+
+    public long getFallosSprites() {
+        return fallosSprites;
+    }
+
+    /**
+     * @param accion Una de las constantes de acción de {@link Metricas}
+     */
+    public HistogramaLatencia.Instantanea getLatencia(int accion) {
+        return latencias[accion];
+    }
+
+    /**
+     * Manos liquidadas por segundo desde otra instantánea anterior, o desde
+     * el principio si es null.
+     */
+    public double manosPorSegundo(InstantaneaMetricas anterior) {
+        long nanos = anterior == null ? nanosActivo : nanosActivo - anterior.nanosActivo;
+        long cantidad = anterior == null ? manos : manos - anterior.manos;
+        return nanos <= 0 ? 0 : cantidad * 1e9 / nanos;
+    }
+
+    /**
+     * Una línea con todas las métricas, con las tasas desde la instantánea
+     * anterior (o desde el principio si es null).
+     */
+    public String resumen(InstantaneaMetricas anterior) {
+        StringBuilder texto = new StringBuilder(256);
+        texto.append(String.format("rondas=%d manos=%d manos/s=%.1f barajadas=%d sprites=%d/%d",
+            rondas, manos, manosPorSegundo(anterior), barajadas, aciertosSprites, fallosSprites));
+        for (int i = 0; i < latencias.length; i++) {
+            HistogramaLatencia.Instantanea latencia = latencias[i];
+            texto.append(' ').append(Metricas.ACCIONES[i]).append("[n=").append(latencia.getCantidad());
+            if (latencia.getCantidad() > 0) {
+                for (int p = 0; p < PERCENTILES.length; p++) {
+                    texto.append(String.format(" %s=%.1fus", ETIQUETAS[p], latencia.percentil(PERCENTILES[p]) / 1e3));
+                }
+                texto.append(String.format(" max=%.1fus", latencia.getMaximo() / 1e3));
+            }
+            texto.append(']');
+        }
+        return texto.toString();
+    }
+
+    @Override
+    public String toString() {
+        return resumen(null);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.metricas;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas del proceso: cuánto tardan las acciones del jugador y cuántas
+ * rondas, manos y barajadas se jugaron.
+ *
+ * Las mesas (la gráfica y las del servidor) anotan acá directamente, desde
+ * el hilo del motor o los hilos de las mesas. Cada hilo suma en sus propias
+ * celdas (ver {@link CeldasPorHilo}) y los tiempos van a un
+ * {@link HistogramaLatencia} por acción, así que anotar no toma candados,
+ * no crea objetos ni usa instrucciones atómicas: cuesta unos pocos
+ * nanosegundos más la lectura del reloj.
+ * Con {@code -Dunblackjack.metricas=false} no se anota nada y el JIT
+ * elimina las llamadas.
+ *
+ * Se leen con {@link #instantanea()}, por JMX (ver {@link MetricasMXBean})
+ * o con un {@link VolcadoMetricas} periódico.
+ */
+public final class Metricas {
+
+    /** Si se anotan métricas; constante para que el JIT quite el código cuando no */
+    public static final boolean ACTIVAS =
+        Boolean.parseBoolean(System.getProperty("unblackjack.metricas", "true"));
+
+    public static final int NUEVA_PARTIDA = 0;
+    public static final int PEDIR_CARTA = 1;
+    public static final int PLANTARSE = 2;
+    public static final int DOBLAR = 3;
+    public static final int RENDIRSE = 4;
+
+    /** Nombres de las acciones, por su constante */
+    static final String[] ACCIONES = {"nuevaPartida", "pedirCarta", "plantarse", "doblar", "rendirse"};
+
+    /** Nombre con el que se publican en JMX */
+    public static final String NOMBRE_MBEAN = "com.example.unblackjack:type=Metricas";
+
+    private static final Metricas GLOBAL = new Metricas();
+
+    // Posiciones de los contadores en las celdas
+    private static final int RONDAS = 0;
+    private static final int MANOS = 1;
+    private static final int BARAJADAS = 2;
+
+    private final HistogramaLatencia[] latencias = new HistogramaLatencia[ACCIONES.length];
+    private final CeldasPorHilo contadores = new CeldasPorHilo(3);
+    private final long inicio = System.nanoTime();
+    private volatile LongSupplier aciertosSprites = () -> 0;
+    private volatile LongSupplier fallosSprites = () -> 0;
+
+    Metricas() {
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i] = new HistogramaLatencia();
+        }
+    }
+
+    /**
+     * Las métricas del proceso.
+     */
+    public static Metricas global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Instante para medir una acción con {@link #registrar(int, long)}; 0 si
+     * las métricas están desactivadas, para no leer el reloj en vano.
+     */
+    public static long reloj() {
+        return ACTIVAS ? System.nanoTime() : 0;
+    }
+
+    // === ANOTAR ===
+
+    /**
+     * Anota cuánto tardó una acción desde que se pidió.
+     *
+     * @param accion Una de {@link #NUEVA_PARTIDA}, {@link #PEDIR_CARTA}, {@link #PLANTARSE},
+     *               {@link #DOBLAR} o {@link #RENDIRSE}
+     * @param inicio Lo que devolvió {@link #reloj()} al pedir la acción
+     */
+    public void registrar(int accion, long inicio) {
+        if (ACTIVAS) {
+            latencias[accion].registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Anota una ronda terminada con la cantidad de manos que se liquidaron en ella.
+     */
+    public void ronda(int manosLiquidadas) {
+        if (ACTIVAS) {
+            long[] celda = contadores.celda();
+            CeldasPorHilo.sumar(celda, RONDAS, 1);
+            CeldasPorHilo.sumar(celda, MANOS, manosLiquidadas);
+        }
+    }
+
+    /**
+     * Anota que una mesa volvió a barajar su zapato.
+     */
+    public void barajada() {
+        if (ACTIVAS) {
+            CeldasPorHilo.sumar(contadores.celda(), BARAJADAS, 1);
+        }
+    }
+
+    /**
+     * Indica de dónde leer los aciertos y fallos de la caché de imágenes,
+     * que ella misma ya cuenta.
+     */
+    public void setFuenteSprites(LongSupplier aciertos, LongSupplier fallos) {
+        this.aciertosSprites = aciertos;
+        this.fallosSprites = fallos;
+    }
+
+    // === LEER ===
+
+    public long getRondas() {
+        return contadores.total(RONDAS);
+    }
+
+    public long getManos() {
+        return contadores.total(MANOS);
+    }
+
+    public long getBarajadas() {
+        return contadores.total(BARAJADAS);
+    }
+
+    public long getAciertosSprites() {
+        return aciertosSprites.getAsLong();
+    }
+
+    public long getFallosSprites() {
+        return fallosSprites.getAsLong();
+    }
+
+    public HistogramaLatencia.Instantanea latencia(int accion) {
+        return latencias[accion].instantanea();
+    }
+
+    /**
+     * Copia de todas las métricas en este momento.
+     */
+    public InstantaneaMetricas instantanea() {
+        HistogramaLatencia.Instantanea[] copias = new HistogramaLatencia.Instantanea[latencias.length];
+        for (int i = 0; i < latencias.length; i++) {
+            copias[i] = latencias[i].instantanea();
+        }
+        return new InstantaneaMetricas(System.nanoTime() - inicio, getRondas(), getManos(), getBarajadas(),
+            getAciertosSprites(), getFallosSprites(), copias);
+    }
+
+    /**
+     * Publica estas métricas en el servidor de MBeans de la plataforma, bajo
+     * {@link #NOMBRE_MBEAN}. Si ya estaban publicadas no hace nada.
+     */
+    public void publicarEnJmx() {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            servidor.registerMBean(new MetricasMXBeanImpl(this), new ObjectName(NOMBRE_MBEAN));
+        } catch (InstanceAlreadyExistsException e) {
+            // Ya publicadas
+        } catch (JMException e) {
+            System.err.println("No se pudieron publicar las métricas en JMX: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.metricas;
+
+/**
+ * Vista JMX de las {@link Metricas}, publicada con
+ * {@link Metricas#publicarEnJmx()}. Se puede ver con JConsole o VisualVM.
+ */
+public interface MetricasMXBean {
+
+    long getRondas();
+
+    long getManos();
+
+    /**
+     * Manos por segundo desde la lectura anterior de este atributo (o desde
+     * el principio en la primera); lecturas con menos de un segundo de
+     * diferencia repiten el último valor.
+     */
+    double getManosPorSegundo();
+
+    long getBarajadas();
+
+    long getAciertosSprites();
+
+    long getFallosSprites();
+
+    ResumenLatencia getNuevaPartida();
+
+    ResumenLatencia getPedirCarta();
+
+    ResumenLatencia getPlantarse();
+}
@@ -0,0 +1,68 @@
+package com.example.metricas;
+
+/**
+ * Adapta las {@link Metricas} a {@link MetricasMXBean}.
+ */
+final class MetricasMXBeanImpl implements MetricasMXBean {
+
+    private static final long NANOS_MINIMOS_TASA = 1_000_000_000L;
+
+    private final Metricas metricas;
+    /** Última instantánea usada para la tasa, o null si todavía no se leyó */
+    private InstantaneaMetricas anterior;
+    private double ultimaTasa;
+
+    MetricasMXBeanImpl(Metricas metricas) {
+        this.metricas = metricas;
+    }
+
+    @Override
+    public long getRondas() {
+        return metricas.getRondas();
+    }
+
+    @Override
+    public long getManos() {
+        return metricas.getManos();
+    }
+
+    @Override
+    public synchronized double getManosPorSegundo() {
+        InstantaneaMetricas actual = metricas.instantanea();
+        if (anterior == null || actual.getNanosActivo() - anterior.getNanosActivo() >= NANOS_MINIMOS_TASA) {
+            ultimaTasa = actual.manosPorSegundo(anterior);
+            anterior = actual;
+        }
+        return ultimaTasa;
+    }
+
+    @Override
+    public long getBarajadas() {
+        return metricas.getBarajadas();
+    }
+
+    @Override
+    public long getAciertosSprites() {
+        return metricas.getAciertosSprites();
+    }
+
+    @Override
+    public long getFallosSprites() {
+        return metricas.getFallosSprites();
+    }
+
+    @Override
+    public ResumenLatencia getNuevaPartida() {
+        return ResumenLatencia.de(metricas.latencia(Metricas.NUEVA_PARTIDA));
+    }
+
+    @Override
+    public ResumenLatencia getPedirCarta() {
+        return ResumenLatencia.de(metricas.latencia(Metricas.PEDIR_CARTA));
+    }
+
+    @Override
+    public ResumenLatencia getPlantarse() {
+        return ResumenLatencia.de(metricas.latencia(Metricas.PLANTARSE));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.metricas;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Percentiles de una acción en microsegundos, tal como se ven por JMX.
+ */
+public final class ResumenLatencia {
+
+    private final long cantidad;
+    private final double media;
+    private final double p50;
+    private final double p99;
+    private final double p999;
+    private final double maximo;
+
+    @ConstructorProperties({"cantidad", "media", "p50", "p99", "p999", "maximo"})
+    public ResumenLatencia(long cantidad, double media, double p50, double p99, double p999, double maximo) {
+        this.cantidad = cantidad;
+        this.media = media;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.maximo = maximo;
+    }
+
+    static ResumenLatencia de(HistogramaLatencia.Instantanea latencia) {
+        return new ResumenLatencia(latencia.getCantidad(), latencia.getMedia() / 1e3,
+            latencia.percentil(50) / 1e3, latencia.percentil(99) / 1e3,
+            latencia.percentil(99.9) / 1e3, latencia.getMaximo() / 1e3);
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.metricas;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escribe una línea con las {@link Metricas} cada cierto tiempo, con las
+ * tasas del último intervalo. Corre en un hilo demonio propio, así que no
+ * impide que el proceso termine.
+ */
+public final class VolcadoMetricas implements AutoCloseable {
+
+    private final Metricas metricas;
+    private final PrintStream salida;
+    private final ScheduledExecutorService programador;
+    private InstantaneaMetricas anterior;
+
+    /**
+     * Empieza a volcar enseguida.
+     *
+     * @param segundos Segundos entre volcados
+     */
+    public VolcadoMetricas(Metricas metricas, PrintStream salida, long segundos) {
+        if (segundos <= 0) {
+            throw new IllegalArgumentException("Intervalo inválido: " + segundos);
+        }
+        this.metricas = metricas;
+        this.salida = salida;
+        this.programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "volcado-metricas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleAtFixedRate(this::volcar, segundos, segundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Escribe una línea ahora. Sólo la llama el hilo del volcado.
+     */
+    private void volcar() {
+        InstantaneaMetricas actual = metricas.instantanea();
+        salida.println("METRICAS " + actual.resumen(anterior));
+        anterior = actual;
+    }
+
+    @Override
+    public void close() {
+        programador.shutdownNow();
+    }
+
+    /**
+     * Publica las métricas globales en JMX y, si se pidió con
+     * {@code -Dunblackjack.metricas.volcado=<segundos>}, las vuelca por la
+     * salida estándar. Es lo que hacen al arrancar la aplicación y el servidor.
+     *
+     * @return El volcado, o null si no se pidió
+     */
+    public static VolcadoMetricas configurar() {
+        Metricas metricas = Metricas.global();
+        if (!Metricas.ACTIVAS) {
+            return null;
+        }
+        metricas.publicarEnJmx();
+        long segundos = Long.getLong("unblackjack.metricas.volcado", 0);
+        return segundos > 0 ? new VolcadoMetricas(metricas, System.out, segundos) : null;
+    }
+}
@@ -1,14 +1,40 @@
 package com.example.modelo;
 
 public class Carta {
-    private String palo;
-    private String valor;
-    private int puntos;
+    private final String palo;
+    private final String valor;
+    private final int puntos;
+    private final int codigo;
+    private final boolean as;
+    private final String paloLetra;
+    private final String nombreArchivo;
 
     public Carta(String palo, String valor, int puntos) {
+        this(palo, valor, puntos, CodigoCarta.buscar(palo, valor));
+        if (codigo < 0) {
+            throw new IllegalArgumentException("Carta desconocida: " + valor + " de " + palo);
+        }
+    }
+
+    /**
+     * Crea la carta compartida de un código; ver {@link CodigoCarta#carta(int)}.
+     */
+    Carta(int codigo) {
+        this(CodigoCarta.PALOS[CodigoCarta.palo(codigo)],
+             CodigoCarta.VALORES[CodigoCarta.rango(codigo)],
+             CodigoCarta.puntosRango(CodigoCarta.rango(codigo)),
+             codigo);
+    }
+
+    private Carta(String palo, String valor, int puntos, int codigo) {
         this.palo = palo;
         this.valor = valor;
         this.puntos = puntos;
+        this.codigo = codigo;
+        // Todo se calcula una sola vez: las cartas se consultan en cada jugada y en cada repintado
+        this.as = valor.equals("A");
+        this.paloLetra = codigo >= 0 ? CodigoCarta.LETRAS_PALO[CodigoCarta.palo(codigo)] : "?";
+        this.nombreArchivo = valor + "-" + paloLetra + ".png";
     }
 
     public int getPuntosBase() {
@@ -16,7 +42,7 @@ public class Carta {
     }
 
     public boolean esAs() {
-        return valor.equals("A");
+        return as;
     }
 
     public String getValor() {
@@ -24,16 +50,24 @@ public class Carta {
     }
 
     public String getPaloLetra() {
-        switch (palo) {
-            case "Picas": return "S";
-            case "Corazones": return "H";
-            case "Diamantes": return "D";
-            case "Treboles": return "C";
-            default: return "?";
-        }
+        return paloLetra;
+    }
+
+    /**
+     * Código primitivo de la carta (ver {@link CodigoCarta}).
+     */
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Nombre del archivo de imagen de la carta, por ejemplo "A-H.png".
+     */
+    public String getNombreArchivo() {
+        return nombreArchivo;
     }
 
     public String toString() {
         return valor + " de " + palo;
     }
-} 
\ No newline at end of file
+}
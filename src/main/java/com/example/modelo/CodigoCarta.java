@@ -0,0 +1,134 @@
+package com.example.modelo;
+
+/**
+ * Representación primitiva de una carta como un entero entre 0 y 51.
+ *
+ * El código es {@code palo * 13 + rango}, donde el rango va de 0 (As) a
+ * 12 (K) y el palo sigue el orden en que {@link Mazo} arma la baraja:
+ * Corazones, Diamantes, Tréboles, Picas. Todo lo que la lógica del juego
+ * necesita saber de una carta (puntos, si es As) sale de tablas indexadas
+ * por el código, sin comparar cadenas ni crear objetos.
+ *
+ * Para la interfaz gráfica se mantiene una tabla de 52 objetos {@link Carta}
+ * compartidos: {@link #carta(int)} siempre devuelve la misma instancia.
+ */
+public final class CodigoCarta {
+
+    /** Cantidad de cartas distintas en una baraja */
+    public static final int CARTAS_POR_MAZO = 52;
+
+    /** Cantidad de rangos (A, 2..10, J, Q, K) */
+    public static final int RANGOS = 13;
+
+    /** Rango del As */
+    public static final int AS = 0;
+
+    /**
+     * Cantidad de valores distintos para el juego: As, 2 a 9 y el grupo de
+     * cartas que valen 10. Las composiciones del zapato se cuentan por valor.
+     */
+    public static final int VALORES_DISTINTOS = 10;
+
+    /** Nombres de los palos en el orden de los códigos */
+    static final String[] PALOS = {"Corazones", "Diamantes", "Treboles", "Picas"};
+
+    /** Letra de cada palo usada en los nombres de archivo de las imágenes */
+    static final String[] LETRAS_PALO = {"H", "D", "C", "S"};
+
+    /** Valores de cada rango tal como aparecen en las cartas */
+    static final String[] VALORES = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
+
+    /** Puntos base de cada código (el As vale 11) */
+    private static final byte[] PUNTOS = new byte[CARTAS_POR_MAZO];
+
+    /** Indica si cada código es un As */
+    private static final boolean[] ES_AS = new boolean[CARTAS_POR_MAZO];
+
+    /** Instancias compartidas de Carta, una por código */
+    private static final Carta[] CARTAS = new Carta[CARTAS_POR_MAZO];
+
+    static {
+        for (int codigo = 0; codigo < CARTAS_POR_MAZO; codigo++) {
+            int rango = rango(codigo);
+            PUNTOS[codigo] = (byte) puntosRango(rango);
+            ES_AS[codigo] = rango == AS;
+            CARTAS[codigo] = new Carta(codigo);
+        }
+    }
+
+    private CodigoCarta() {
+    }
+
+    /**
+     * Construye el código de una carta.
+     *
+     * @param palo  Palo, de 0 a 3
+     * @param rango Rango, de 0 (As) a 12 (K)
+     */
+    public static int codificar(int palo, int rango) {
+        return palo * RANGOS + rango;
+    }
+
+    public static int rango(int codigo) {
+        return codigo % RANGOS;
+    }
+
+    public static int palo(int codigo) {
+        return codigo / RANGOS;
+    }
+
+    /**
+     * Puntos base de la carta (el As cuenta 11).
+     */
+    public static int puntos(int codigo) {
+        return PUNTOS[codigo];
+    }
+
+    public static boolean esAs(int codigo) {
+        return ES_AS[codigo];
+    }
+
+    /**
+     * Valor de juego de la carta: 0 para el As, 1 a 8 para 2 a 9 y 9 para
+     * 10, J, Q y K. El valor coincide con el rango de la carta que lo
+     * representa, así que sirve para {@link EstadoMano#siguienteRango(int, int)}.
+     */
+    public static int valor(int codigo) {
+        return Math.min(rango(codigo), VALORES_DISTINTOS - 1);
+    }
+
+    /**
+     * Puntos base de un rango (el As cuenta 11; J, Q y K cuentan 10).
+     */
+    public static int puntosRango(int rango) {
+        if (rango == AS) {
+            return 11;
+        }
+        return rango >= 9 ? 10 : rango + 1;
+    }
+
+    /**
+     * Instancia compartida de {@link Carta} para un código.
+     */
+    public static Carta carta(int codigo) {
+        return CARTAS[codigo];
+    }
+
+    /**
+     * Busca el código de una carta a partir de sus nombres de palo y valor.
+     *
+     * @return El código, o -1 si el palo o el valor no existen
+     */
+    static int buscar(String palo, String valor) {
+        for (int p = 0; p < PALOS.length; p++) {
+            if (PALOS[p].equals(palo)) {
+                for (int r = 0; r < VALORES.length; r++) {
+                    if (VALORES[r].equals(valor)) {
+                        return codificar(p, r);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.modelo;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Composición y cuenta de las cartas que quedan en un zapato.
+ *
+ * El {@link Mazo} le avisa cada carta que reparte y cada barajada, y el
+ * contador se actualiza en tiempo constante: resta la carta de su rango y
+ * suma su marca a la cuenta corriente según el {@link SistemaConteo}
+ * elegido. Así las consultas de composición ya no recorren el zapato.
+ *
+ * La composición por rango se lee sin copiar, como vista de sólo lectura
+ * que sigue al zapato; la composición por valor de juego se deriva de ella.
+ * Como el zapato, pertenece a un solo hilo.
+ */
+public final class ContadorZapato {
+
+    /** Cartas de una baraja */
+    private static final int CARTAS_POR_BARAJA = CodigoCarta.CARTAS_POR_MAZO;
+
+    /** Rango de cada código, para no dividir en cada carta */
+    private static final byte[] RANGO = new byte[CARTAS_POR_BARAJA];
+    /** Primer rango que vale 10 (el 10; después vienen J, Q y K) */
+    private static final int PRIMER_DIEZ = CodigoCarta.VALORES_DISTINTOS - 1;
+
+    static {
+        for (int codigo = 0; codigo < CARTAS_POR_BARAJA; codigo++) {
+            RANGO[codigo] = (byte) CodigoCarta.rango(codigo);
+        }
+    }
+
+    private final int mazos;
+    /** Cartas restantes por rango, de 0 (As) a 12 (K) */
+    private final int[] porRango = new int[CodigoCarta.RANGOS];
+    private final IntBuffer vistaRangos = IntBuffer.wrap(porRango).asReadOnlyBuffer();
+    private final Mazo mazo;
+
+    private SistemaConteo sistema;
+    /** Marca de cada código según el sistema, para no buscar el valor en cada carta */
+    private final int[] marcas = new int[CARTAS_POR_BARAJA];
+    private int cuentaCorriente;
+
+    /**
+     * @param mazo    Zapato que se sigue; de él sale cuántas cartas quedan
+     * @param sistema Sistema con el que se lleva la cuenta
+     */
+    ContadorZapato(Mazo mazo, SistemaConteo sistema) {
+        this.mazo = mazo;
+        this.mazos = mazo.getMazos();
+        this.sistema = sistema;
+        copiarMarcas(sistema);
+        reiniciar();
+    }
+
+    private void copiarMarcas(SistemaConteo sistema) {
+        for (int codigo = 0; codigo < CARTAS_POR_BARAJA; codigo++) {
+            marcas[codigo] = sistema.marca(CodigoCarta.valor(codigo));
+        }
+    }
+
+    /**
+     * Vuelve al zapato completo, al barajar.
+     */
+    void reiniciar() {
+        Arrays.fill(porRango, 4 * mazos);
+        cuentaCorriente = sistema.cuentaInicial(mazos);
+    }
+
+    /**
+     * Descuenta una carta que salió del zapato: una resta y una suma. Lo
+     * que vale por valor de juego se deriva de los rangos al leerlo.
+     */
+    void sacar(int codigo) {
+        porRango[RANGO[codigo]]--;
+        cuentaCorriente += marcas[codigo];
+    }
+
+    /**
+     * Cambia el sistema de conteo; la cuenta corriente se recalcula con las
+     * cartas que ya salieron.
+     */
+    public void setSistema(SistemaConteo sistema) {
+        this.sistema = sistema;
+        copiarMarcas(sistema);
+        int cuenta = sistema.cuentaInicial(mazos);
+        for (int rango = 0; rango < CodigoCarta.RANGOS; rango++) {
+            cuenta += sistema.marca(Math.min(rango, PRIMER_DIEZ)) * (4 * mazos - porRango[rango]);
+        }
+        cuentaCorriente = cuenta;
+    }
+
+    public SistemaConteo getSistema() {
+        return sistema;
+    }
+
+    // === COMPOSICIÓN ===
+
+    /**
+     * Cartas restantes de un valor de juego (ver {@link CodigoCarta#valor(int)}).
+     */
+    public int restantesValor(int valor) {
+        if (valor < PRIMER_DIEZ) {
+            return porRango[valor];
+        }
+        return porRango[PRIMER_DIEZ] + porRango[PRIMER_DIEZ + 1] + porRango[PRIMER_DIEZ + 2] + porRango[PRIMER_DIEZ + 3];
+    }
+
+    /**
+     * Cartas restantes de un rango, de 0 (As) a 12 (K).
+     */
+    public int restantesRango(int rango) {
+        return porRango[rango];
+    }
+
+    public int getRestantes() {
+        return mazo.getRestantes();
+    }
+
+    /**
+     * Vista de sólo lectura de las cartas restantes por rango, de 0 (As) a
+     * 12 (K). No copia nada: refleja el zapato en cada momento. Cada llamada
+     * devuelve una vista nueva con su propia posición.
+     */
+    public IntBuffer getComposicion() {
+        return vistaRangos.duplicate();
+    }
+
+    /**
+     * Copia las cartas restantes por valor en un arreglo propio, para los
+     * motores que modifican la composición mientras recorren.
+     *
+     * @param destino Arreglo de {@link CodigoCarta#VALORES_DISTINTOS} posiciones que se sobrescribe
+     * @return El mismo arreglo destino
+     */
+    public int[] copiarComposicion(int[] destino) {
+        System.arraycopy(porRango, 0, destino, 0, PRIMER_DIEZ);
+        destino[PRIMER_DIEZ] = restantesValor(PRIMER_DIEZ);
+        return destino;
+    }
+
+    // === CUENTA ===
+
+    /**
+     * Cuenta corriente desde la última barajada, incluida la cuenta inicial del sistema.
+     */
+    public int getCuentaCorriente() {
+        return cuentaCorriente;
+    }
+
+    /**
+     * Barajas que quedan por repartir, en fracción.
+     */
+    public double getBarajasRestantes() {
+        return (double) mazo.getRestantes() / CARTAS_POR_BARAJA;
+    }
+
+    /**
+     * Cuenta real: la corriente dividida por las barajas restantes. En los
+     * sistemas desbalanceados no es la forma habitual de usarlos, pero se
+     * calcula igual. Con el zapato vacío devuelve la cuenta corriente.
+     */
+    public double getCuentaReal() {
+        int restantes = mazo.getRestantes();
+        return restantes == 0 ? cuentaCorriente : cuentaCorriente * (double) CARTAS_POR_BARAJA / restantes;
+    }
+
+    /**
+     * Cuenta real truncada hacia abajo, como se usa para elegir la apuesta.
+     */
+    public int getCuentaRealEntera() {
+        return (int) Math.floor(getCuentaReal());
+    }
+}
@@ -1,36 +1,42 @@
 package com.example.modelo;
 
 public class Crupier extends Persona {
-    private Carta cartaOculta;
+    /** El crupier se planta al alcanzar este puntaje */
+    public static final int PLANTARSE_EN = 17;
 
     public Crupier() {
         super("Crupier");
     }
 
     public void recibirCartaVisible(Carta carta) {
-        System.out.println(nombre + " recibe carta: " + carta);
         recibirCarta(carta);
     }
 
     public void recibirCartaOculta(Carta carta) {
-        cartaOculta = carta;
-        cartas.add(carta);  // la carta igual se agrega, solo que no se muestra hasta después
-        System.out.println(nombre + " recibe carta: [CARTA OCULTA]");
+        recibirCodigo(carta.getCodigo(), true);  // la carta igual se agrega, solo que no se muestra hasta después
     }
     
     public void jugarTurno(Mazo mazo) {
-        System.out.println("\n--- Turno del Crupier ---");
-        System.out.println("La carta oculta era: " + cartaOculta);
-        // Imprimir la carta oculta como si la recibiera en este momento
-        // (opcional, para coherencia visual)
-        // System.out.println(nombre + " recibe carta: " + cartaOculta);
+        jugarTurno(mazo, ReglasMesa.CLASICA);
+    }
+
+    /**
+     * Revela la carta oculta y pide según la tabla compilada de la variante
+     * (por ejemplo pidiendo con 17 blando en H17).
+     */
+    public void jugarTurno(Mazo mazo, ReglasMesa reglas) {
+        // La carta oculta es siempre la primera de la mano
+        oyente.cartaOcultaRevelada(nombre, getCodigo(0), calcularPuntos());
 
-        while (calcularPuntos() < 17) {
-            Carta carta = mazo.repartirCarta();
-            recibirCarta(carta);
-            System.out.println(nombre + " tiene " + calcularPuntos() + " puntos.");
+        while (reglas.crupierPide(getEstado())) {
+            recibirCodigo(mazo.repartirCodigo());
         }
+    }
 
-        System.out.println("Crupier termina su turno con " + calcularPuntos() + " puntos.");
+    /**
+     * Regla de la casa: el crupier pide carta mientras tenga menos de 17.
+     */
+    public static boolean debePedir(int puntos) {
+        return puntos < PLANTARSE_EN;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package com.example.modelo;
+
+/**
+ * Tablas precalculadas de estados de una mano de Blackjack.
+ *
+ * Todo lo que importa de una mano cabe en un estado de 8 bits:
+ * <pre>
+ *   bits 0-4: puntaje (0 a 31; más de 21 significa que se pasó)
+ *   bit 5:    mano blanda (un As cuenta 11)
+ *   bits 6-7: cantidad de cartas (0, 1, 2, o 3 y más)
+ * </pre>
+ * Recibir una carta es una sola lectura en {@link #siguiente(int, int)} en
+ * lugar de sumar puntos y ajustar ases, y el resultado de una ronda sale de
+ * {@link #resultado(int, int)}. Las tablas se arman una vez al cargar la
+ * clase a partir de {@link CodigoCarta}, {@link Crupier#debePedir(int)} y
+ * {@link ReglasPago}, así que respetan exactamente las reglas de la mesa.
+ */
+public final class EstadoMano {
+
+    /** Cantidad de estados posibles */
+    public static final int ESTADOS = 256;
+
+    /** Estado de una mano vacía */
+    public static final int INICIAL = 0;
+
+    /** Clase final: la mano se pasó de 21 */
+    public static final int CLASE_PASADO = 22;
+
+    /** Clase final: blackjack natural */
+    public static final int CLASE_BLACKJACK = 23;
+
+    /** Cantidad de clases finales (puntajes 0 a 21, pasado y blackjack) */
+    public static final int CLASES = 24;
+
+    private static final int BIT_BLANDA = 1 << 5;
+    private static final int DESPLAZAMIENTO_CARTAS = 6;
+    private static final int MAXIMO = 31;
+
+    /**
+     * Estado siguiente para cada estado y código de carta: SIGUIENTE[estado * 64 + codigo].
+     * Se indexa por código (no por rango) para evitar el módulo en el bucle interno;
+     * los estados caben en un byte sin signo y la tabla ocupa 16 KB.
+     */
+    private static final byte[] SIGUIENTE = new byte[ESTADOS * 64];
+
+    /** Clase final de cada estado, de 0 a {@link #CLASES} - 1 */
+    private static final byte[] CLASE = new byte[ESTADOS];
+
+    /** Indica si el crupier debe pedir carta en cada estado */
+    private static final boolean[] CRUPIER_PIDE = new boolean[ESTADOS];
+
+    /** Resultado de la ronda según ReglasPago: RESULTADO[claseJugador * CLASES + claseCrupier] */
+    private static final byte[] RESULTADO = new byte[CLASES * CLASES];
+
+    static {
+        for (int estado = 0; estado < ESTADOS; estado++) {
+            int total = total(estado);
+            boolean blanda = esBlanda(estado);
+            int cartas = estado >>> DESPLAZAMIENTO_CARTAS;
+
+            for (int codigo = 0; codigo < CodigoCarta.CARTAS_POR_MAZO; codigo++) {
+                int rango = CodigoCarta.rango(codigo);
+                SIGUIENTE[estado * 64 + codigo] = (byte) calcularSiguiente(total, blanda, cartas, rango);
+            }
+
+            if (total > 21) {
+                CLASE[estado] = CLASE_PASADO;
+            } else if (cartas == 2 && total == 21) {
+                CLASE[estado] = CLASE_BLACKJACK;
+            } else {
+                CLASE[estado] = (byte) total;
+            }
+            CRUPIER_PIDE[estado] = total <= 21 && Crupier.debePedir(total);
+        }
+
+        for (int claseJugador = 0; claseJugador < CLASES; claseJugador++) {
+            for (int claseCrupier = 0; claseCrupier < CLASES; claseCrupier++) {
+                int resultado;
+                if (claseJugador == CLASE_BLACKJACK) {
+                    // El blackjack natural se paga sin que juegue el crupier
+                    resultado = ReglasPago.BLACKJACK;
+                } else {
+                    resultado = ReglasPago.resultado(puntosClase(claseJugador), puntosClase(claseCrupier));
+                }
+                RESULTADO[claseJugador * CLASES + claseCrupier] = (byte) resultado;
+            }
+        }
+    }
+
+    private EstadoMano() {
+    }
+
+    private static int calcularSiguiente(int total, boolean blanda, int cartas, int rango) {
+        int nuevasCartas = Math.min(cartas + 1, 3);
+        if (total > 21) {
+            // Una mano pasada ya no cambia de puntaje
+            return (nuevasCartas << DESPLAZAMIENTO_CARTAS) | total;
+        }
+        int nuevoTotal = total + CodigoCarta.puntosRango(rango);
+        boolean nuevaBlanda = blanda || rango == CodigoCarta.AS;
+        // Un As que pasa de 21 cuenta 1; nunca hace falta más de un As en 11
+        if (rango == CodigoCarta.AS && blanda) {
+            nuevoTotal -= 10;
+        }
+        if (nuevoTotal > 21 && nuevaBlanda) {
+            nuevoTotal -= 10;
+            nuevaBlanda = false;
+        }
+        nuevoTotal = Math.min(nuevoTotal, MAXIMO);
+        return (nuevasCartas << DESPLAZAMIENTO_CARTAS) | (nuevaBlanda ? BIT_BLANDA : 0) | nuevoTotal;
+    }
+
+    private static int puntosClase(int clase) {
+        if (clase == CLASE_BLACKJACK) {
+            return 21;
+        }
+        return clase == CLASE_PASADO ? 22 : clase;
+    }
+
+    /**
+     * Estado de la mano después de recibir una carta.
+     *
+     * @param estado Estado actual
+     * @param codigo Código de la carta recibida (ver CodigoCarta)
+     */
+    public static int siguiente(int estado, int codigo) {
+        return SIGUIENTE[(estado << 6) | codigo] & 0xFF;
+    }
+
+    /**
+     * Estado de la mano después de recibir una carta del rango indicado.
+     */
+    public static int siguienteRango(int estado, int rango) {
+        // El código de un rango en el primer palo es el propio rango
+        return SIGUIENTE[(estado << 6) | rango] & 0xFF;
+    }
+
+    /**
+     * Puntaje de la mano (más de 21 si se pasó).
+     */
+    public static int total(int estado) {
+        return estado & MAXIMO;
+    }
+
+    public static boolean esBlanda(int estado) {
+        return (estado & BIT_BLANDA) != 0;
+    }
+
+    public static boolean esBlackjack(int estado) {
+        return CLASE[estado] == CLASE_BLACKJACK;
+    }
+
+    /**
+     * El mismo puntaje marcado como mano de tres cartas o más, para que un
+     * 21 de dos cartas no cuente como blackjack (por ejemplo tras dividir).
+     */
+    public static int sinBlackjack(int estado) {
+        return estado | (3 << DESPLAZAMIENTO_CARTAS);
+    }
+
+    public static boolean sePaso(int estado) {
+        return CLASE[estado] == CLASE_PASADO;
+    }
+
+    /**
+     * Cantidad de cartas recibidas, saturada en 3.
+     */
+    public static int cartas(int estado) {
+        return estado >>> DESPLAZAMIENTO_CARTAS;
+    }
+
+    /**
+     * Clase final de la mano: puntaje de 0 a 21, {@link #CLASE_PASADO} o {@link #CLASE_BLACKJACK}.
+     */
+    public static int clase(int estado) {
+        return CLASE[estado];
+    }
+
+    /**
+     * Indica si el crupier, con esta mano, debe pedir otra carta.
+     */
+    public static boolean crupierPide(int estado) {
+        return CRUPIER_PIDE[estado];
+    }
+
+    /**
+     * Resultado de la ronda según {@link ReglasPago} para las manos finales
+     * de jugador y crupier.
+     *
+     * @return {@link ReglasPago#PIERDE}, {@link ReglasPago#EMPATE},
+     *         {@link ReglasPago#GANA} o {@link ReglasPago#BLACKJACK}
+     */
+    public static int resultado(int estadoJugador, int estadoCrupier) {
+        return RESULTADO[CLASE[estadoJugador] * CLASES + CLASE[estadoCrupier]];
+    }
+}
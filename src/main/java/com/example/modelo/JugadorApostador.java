@@ -1,47 +1,71 @@
 package com.example.modelo;
 
-import java.util.Scanner;
+import com.example.banca.Billetera;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaConsola;
 
 public class JugadorApostador extends Persona {
-    private int dinero;
+    /** Saldo del jugador, que puede compartir con otras mesas */
+    private final Billetera billetera;
 
-    public JugadorApostador(String nombre, int dinero) {
-        super(nombre);
-        this.dinero = dinero;
-    }
+    /** Decide en cada turno si pedir carta o plantarse */
+    private Estrategia estrategia;
 
-    public void jugarTurno(Mazo mazo) {
-        Scanner scanner = new Scanner(System.in);
-        String respuesta;
+    /**
+     * Jugador que decide por consola.
+     */
+    public JugadorApostador(String nombre, long dinero) {
+        this(nombre, dinero, EstrategiaConsola.sistema());
+    }
 
-        do {
-            System.out.println(nombre + " tienes " + calcularPuntos() + " puntos.");
-            System.out.println("Deseas otra carta? (s para si / cualquier otra para plantarte):");
-            respuesta = scanner.nextLine();
+    /**
+     * @param estrategia Política que decide cada jugada (humana o automática)
+     */
+    public JugadorApostador(String nombre, long dinero, Estrategia estrategia) {
+        this(nombre, new Billetera(nombre, dinero), estrategia);
+    }
 
-            if (respuesta.equalsIgnoreCase("s")) {
-                Carta carta = mazo.repartirCarta();
-                recibirCarta(carta);
-            }
+    /**
+     * @param billetera Billetera de donde salen las apuestas y adonde vuelven los pagos
+     */
+    public JugadorApostador(String nombre, Billetera billetera, Estrategia estrategia) {
+        super(nombre);
+        this.billetera = billetera;
+        this.estrategia = estrategia;
+    }
 
-            if (calcularPuntos() >= 21) {
-                break;
-            }
+    /**
+     * Juega el turno sin conocer la carta visible del crupier.
+     */
+    public void jugarTurno(Mazo mazo) {
+        jugarTurno(mazo, Estrategia.SIN_CARTA_VISIBLE);
+    }
 
-        } while (respuesta.equalsIgnoreCase("s"));
+    /**
+     * Juega el turno consultando la estrategia en cada decisión. Al llegar
+     * a 21 o pasarse el turno termina solo.
+     *
+     * @param valorVisible Valor de la carta visible del crupier (ver CodigoCarta#valor)
+     */
+    public void jugarTurno(Mazo mazo, int valorVisible) {
+        while (calcularPuntos() < 21 && estrategia.decidir(getEstado(), valorVisible) == Estrategia.PEDIR) {
+            recibirCodigo(mazo.repartirCodigo());
+        }
+    }
 
-        System.out.println(nombre + " termina su turno con " + calcularPuntos() + " puntos.");
+    public Estrategia getEstrategia() {
+        return estrategia;
     }
 
-    public int getDinero() {
-        return dinero;
+    public void setEstrategia(Estrategia estrategia) {
+        this.estrategia = estrategia;
     }
 
-    public void setDinero(int dinero) {
-        this.dinero = dinero;
+    public Billetera getBilletera() {
+        return billetera;
     }
 
-    public void ajustarDinero(int cantidad) {
-        dinero += cantidad;
+    public long getDinero() {
+        return billetera.getSaldo();
     }
-} 
\ No newline at end of file
+}
@@ -1,50 +1,267 @@
 package com.example.modelo;
 
-import java.util.Vector;
-import java.util.Random;
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.aleatorio.GeneradorSplitMix;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
+/**
+ * Zapato de una o varias barajas de 52 cartas.
+ *
+ * Las cartas se guardan como códigos (ver {@link CodigoCarta}) en un arreglo
+ * fijo que se recorre con un cursor: repartir es leer una posición y avanzar,
+ * sin mover elementos ni tomar candados. Un mismo zapato se reutiliza entre
+ * rondas; cuando el cursor pasa la carta de corte, {@link #prepararRonda()}
+ * vuelve a barajar antes de la siguiente ronda. Si una ronda agota el zapato
+ * antes de terminar, se barajan sólo los descartes de las rondas anteriores:
+ * las cartas que están sobre la mesa no vuelven al zapato hasta la ronda
+ * siguiente.
+ *
+ * El orden lo decide un {@link GeneradorAleatorio} propio del zapato; si no
+ * se indica otro, se usa {@link GeneradorSplitMix}. Un {@link ContadorZapato}
+ * sigue la composición y la cuenta de las cartas que quedan, desde que
+ * alguien lo pide con {@link #getContador()}.
+ *
+ * Un zapato pertenece a una sola mesa o a un solo hilo de simulación y no
+ * es seguro compartirlo entre hilos.
+ */
 public class Mazo {
-    private Vector<Carta> cartas;
+    /** Fracción del zapato que se reparte antes de la carta de corte */
+    public static final double PENETRACION_POR_DEFECTO = 0.75;
+
+    /** Códigos de las cartas; las restantes van de cursor al final */
+    private final byte[] cartas;
+    private final int mazos;
+    private final int corte;
+    private final GeneradorAleatorio rand;
+    /** Se crea la primera vez que alguien lo pide; hasta entonces repartir no lo paga */
+    private ContadorZapato contador;
+    /** Veces que se barajó el zapato desde que se creó */
+    private int barajadas;
+    private int cursor;
+    /** Primera carta de la ronda en curso, o -1 si nadie llamó a {@link #prepararRonda()} */
+    private int inicioRonda = -1;
 
     public Mazo() {
-        cartas = new Vector<>();
+        this(1, PENETRACION_POR_DEFECTO);
+    }
+
+    /**
+     * @param mazos       Cantidad de barajas en el zapato (1 a 8)
+     * @param penetracion Fracción del zapato repartida antes de volver a barajar (0 a 1]
+     */
+    public Mazo(int mazos, double penetracion) {
+        this(mazos, penetracion, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @param mazos       Cantidad de barajas en el zapato (1 a 8)
+     * @param penetracion Fracción del zapato repartida antes de volver a barajar (0 a 1]
+     * @param semilla     Semilla del generador; la misma semilla da los mismos zapatos
+     */
+    public Mazo(int mazos, double penetracion, long semilla) {
+        this(mazos, penetracion, new GeneradorSplitMix(semilla));
+    }
+
+    /**
+     * @param mazos       Cantidad de barajas en el zapato (1 a 8)
+     * @param penetracion Fracción del zapato repartida antes de volver a barajar (0 a 1]
+     * @param rand        Generador propio de este zapato
+     */
+    public Mazo(int mazos, double penetracion, SplittableRandom rand) {
+        this(mazos, penetracion, new GeneradorSplitMix(rand));
+    }
+
+    /**
+     * @param mazos       Cantidad de barajas en el zapato (1 a 8)
+     * @param penetracion Fracción del zapato repartida antes de volver a barajar (0 a 1]
+     * @param rand        Generador propio de este zapato; no se comparte con otro
+     */
+    public Mazo(int mazos, double penetracion, GeneradorAleatorio rand) {
+        if (mazos < 1 || mazos > 8) {
+            throw new IllegalArgumentException("Cantidad de mazos inválida: " + mazos);
+        }
+        if (penetracion <= 0 || penetracion > 1) {
+            throw new IllegalArgumentException("Penetración inválida: " + penetracion);
+        }
+        this.mazos = mazos;
+        this.cartas = new byte[mazos * CodigoCarta.CARTAS_POR_MAZO];
+        this.corte = (int) (cartas.length * penetracion);
+        this.rand = rand;
         inicializarMazo();
         barajar();
     }
 
     private void inicializarMazo() {
-        String[] palos = {"Corazones", "Diamantes", "Treboles", "Picas"};
-        String[] valores = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
-
-        for (String palo : palos) {
-            for (String valor : valores) {
-                int puntos;
-                switch (valor) {
-                    case "A": puntos = 11; break;
-                    case "J":
-                    case "Q":
-                    case "K": puntos = 10; break;
-                    default: puntos = Integer.parseInt(valor);
-                }
-                cartas.add(new Carta(palo, valor, puntos));
-            }
+        for (int i = 0; i < cartas.length; i++) {
+            cartas[i] = (byte) (i % CodigoCarta.CARTAS_POR_MAZO);
         }
     }
 
+    /**
+     * Junta todas las cartas y las baraja con Fisher–Yates, de modo que
+     * cada orden posible del zapato es igualmente probable.
+     */
     public void barajar() {
-        Random rand = new Random();
-        for (int i = 0; i < cartas.size(); i++) {
-            int j = rand.nextInt(cartas.size());
-            Carta temp = cartas.get(i);
-            cartas.set(i, cartas.get(j));
-            cartas.set(j, temp);
+        for (int i = cartas.length - 1; i > 0; i--) {
+            int j = rand.enteroHasta(i + 1);
+            byte temp = cartas[i];
+            cartas[i] = cartas[j];
+            cartas[j] = temp;
+        }
+        cursor = 0;
+        if (inicioRonda > 0) {
+            inicioRonda = 0;  // La ronda en curso sigue desde el zapato nuevo
+        }
+        barajadas++;
+        if (contador != null) {
+            contador.reiniciar();
+        }
+    }
+
+    /**
+     * Indica si ya se repartió la carta de corte.
+     */
+    public boolean necesitaBarajar() {
+        return cursor >= corte;
+    }
+
+    /**
+     * Se llama antes de repartir una ronda: si ya salió la carta de corte,
+     * vuelve a barajar el zapato completo.
+     *
+     * @return true si el zapato se barajó
+     */
+    public boolean prepararRonda() {
+        boolean barajado = false;
+        if (cursor >= corte) {
+            barajar();
+            barajado = true;
+        }
+        inicioRonda = cursor;
+        return barajado;
+    }
+
+    /**
+     * Reparte la siguiente carta como código primitivo. Si una ronda agota
+     * el zapato, se barajan los descartes en el momento para poder
+     * terminarla; sin rondas marcadas con {@link #prepararRonda()} se
+     * baraja el zapato completo.
+     *
+     * @return El código de la carta
+     * @throws IllegalStateException si la ronda en curso ya repartió el zapato entero
+     */
+    public int repartirCodigo() {
+        if (cursor == cartas.length) {
+            if (inicioRonda < 0) {
+                barajar();
+            } else {
+                barajarDescartes();
+            }
+        }
+        int codigo = cartas[cursor++];
+        if (contador != null) {
+            contador.sacar(codigo);
+        }
+        return codigo;
+    }
+
+    /**
+     * Baraja las cartas repartidas antes de la ronda en curso y sigue la
+     * ronda con ellas. Las de la ronda pasan al principio del arreglo como
+     * ya repartidas, así el zapato queda como cualquier otro a mitad de
+     * camino y la carta de corte sigue valiendo para la ronda siguiente.
+     */
+    private void barajarDescartes() {
+        if (inicioRonda == 0) {
+            throw new IllegalStateException("La ronda repartió las " + cartas.length + " cartas del zapato");
+        }
+        int enMesa = cartas.length - inicioRonda;
+        byte[] mesa = Arrays.copyOfRange(cartas, inicioRonda, cartas.length);
+        System.arraycopy(cartas, 0, cartas, enMesa, inicioRonda);
+        System.arraycopy(mesa, 0, cartas, 0, enMesa);
+        for (int i = cartas.length - 1; i > enMesa; i--) {
+            int j = enMesa + rand.enteroHasta(i - enMesa + 1);
+            byte temp = cartas[i];
+            cartas[i] = cartas[j];
+            cartas[j] = temp;
+        }
+        cursor = enMesa;
+        inicioRonda = 0;
+        barajadas++;
+        if (contador != null) {
+            contador.reiniciar();
+            for (int i = 0; i < enMesa; i++) {
+                contador.sacar(cartas[i]);
+            }
         }
     }
 
     public Carta repartirCarta() {
-        if (cartas.size() > 0) {
-            return cartas.remove(0);
+        return CodigoCarta.carta(repartirCodigo());
+    }
+
+    /**
+     * Cuenta las cartas que quedan por repartir según su valor de juego
+     * (ver {@link CodigoCarta#valor(int)}), leyéndolas del contador.
+     *
+     * @param destino Arreglo de {@link CodigoCarta#VALORES_DISTINTOS} posiciones que se sobrescribe
+     * @return El mismo arreglo destino
+     */
+    public int[] composicionRestante(int[] destino) {
+        return getContador().copiarComposicion(destino);
+    }
+
+    /**
+     * Composición y cuenta de las cartas que quedan, al día con cada carta
+     * repartida. La primera llamada crea el contador con Hi-Lo y descuenta
+     * las cartas que ya salieron desde la última barajada.
+     */
+    public ContadorZapato getContador() {
+        if (contador == null) {
+            ContadorZapato nuevo = new ContadorZapato(this, SistemaConteo.HI_LO);
+            for (int i = 0; i < cursor; i++) {
+                nuevo.sacar(cartas[i]);
+            }
+            contador = nuevo;
         }
-        return null;
+        return contador;
+    }
+
+    public int getMazos() {
+        return mazos;
+    }
+
+    /**
+     * Semilla con la que se creó el generador del zapato, o 0 si el
+     * generador no es reproducible o se recibió sin semilla conocida.
+     */
+    public long getSemilla() {
+        return rand.getSemilla();
+    }
+
+    public GeneradorAleatorio getGenerador() {
+        return rand;
+    }
+
+    /**
+     * Veces que se barajó el zapato, contando la barajada inicial.
+     */
+    public int getBarajadas() {
+        return barajadas;
+    }
+
+    /**
+     * Cantidad total de cartas del zapato.
+     */
+    public int getTamano() {
+        return cartas.length;
+    }
+
+    /**
+     * Cantidad de cartas que quedan por repartir.
+     */
+    public int getRestantes() {
+        return cartas.length - cursor;
     }
-} 
\ No newline at end of file
+}
@@ -1,49 +1,155 @@
 package com.example.modelo;
 
-import java.util.ArrayList;
+import com.example.eventos.OyenteJuego;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 public abstract class Persona {
     protected String nombre;
-    protected List<Carta> cartas;
+
+    /** Códigos de las cartas de la mano (ver CodigoCarta) */
+    private byte[] codigos;
+    private int cantidad;
+
+    /** Estado de la mano: puntaje, si es blanda y cantidad de cartas (ver EstadoMano) */
+    private int estado;
+
+    /** Vista de sólo lectura de la mano como objetos Carta, para la interfaz */
+    private final List<Carta> cartas;
+
+    /** Recibe los eventos de la mano; por defecto no hace nada */
+    protected OyenteJuego oyente = OyenteJuego.NINGUNO;
 
     public Persona(String nombre) {
         this.nombre = nombre;
-        this.cartas = new ArrayList<>();
+        this.codigos = new byte[12];
+        this.cartas = new AbstractList<Carta>() {
+            @Override
+            public Carta get(int indice) {
+                return CodigoCarta.carta(getCodigo(indice));
+            }
+
+            @Override
+            public int size() {
+                return cantidad;
+            }
+        };
     }
 
     public void recibirCarta(Carta carta) {
-        cartas.add(carta);
-        // Solo imprimir si la carta no es oculta (no imprimir si el nombre es "Crupier" y la carta es la oculta)
-        // La carta oculta se maneja en Crupier, que ya imprime un mensaje especial
-        if (!(this instanceof Crupier)) {
-            System.out.println(nombre + " recibe carta: " + carta);
+        recibirCodigo(carta.getCodigo(), false);
+    }
+
+    /**
+     * Agrega una carta a la mano sin crear objetos. Sin oyente no hace
+     * nada más que actualizar la mano.
+     *
+     * @param codigo Código de la carta (ver CodigoCarta)
+     */
+    public void recibirCodigo(int codigo) {
+        recibirCodigo(codigo, false);
+    }
+
+    /**
+     * Agrega una carta a la mano y avisa al oyente.
+     *
+     * @param codigo Código de la carta (ver CodigoCarta)
+     * @param oculta Si la carta se reparte boca abajo
+     */
+    protected void recibirCodigo(int codigo, boolean oculta) {
+        if (cantidad == codigos.length) {
+            codigos = Arrays.copyOf(codigos, cantidad * 2);
         }
+        codigos[cantidad++] = (byte) codigo;
+
+        // Una sola lectura de tabla: los ases ya vienen ajustados
+        estado = EstadoMano.siguiente(estado, codigo);
+        oyente.cartaRepartida(nombre, codigo, oculta, EstadoMano.total(estado));
+    }
+
+    /**
+     * Cambia el oyente de los eventos de la mano.
+     *
+     * @param oyente El nuevo oyente, o null para no avisar a nadie
+     */
+    public void setOyente(OyenteJuego oyente) {
+        this.oyente = oyente != null ? oyente : OyenteJuego.NINGUNO;
+    }
+
+    public String getNombre() {
+        return nombre;
     }
 
+    /**
+     * Puntaje de la mano. Se mantiene al recibir cada carta, así que
+     * la consulta no recorre la mano.
+     */
     public int calcularPuntos() {
-        int puntos = 0;
-        int ases = 0;
+        return EstadoMano.total(estado);
+    }
 
-        for (Carta carta : cartas) {
-            puntos += carta.getPuntosBase();
-            if (carta.esAs()) {
-                ases++;
-            }
-        }
+    /**
+     * Total duro de la mano: todos los ases cuentan 1.
+     */
+    public int getTotalDuro() {
+        return EstadoMano.esBlanda(estado) ? EstadoMano.total(estado) - 10 : EstadoMano.total(estado);
+    }
 
-        // Si hay Ases y el puntaje pasa de 21, contamos algunos As como 1 en vez de 11
-        while (puntos > 21 && ases > 0) {
-            puntos -= 10;
-            ases--;
-        }
+    /**
+     * Indica si la mano es blanda: tiene un As que cuenta 11.
+     */
+    public boolean esBlanda() {
+        return EstadoMano.esBlanda(estado);
+    }
+
+    /**
+     * Blackjack natural: 21 puntos con las dos primeras cartas.
+     */
+    public boolean esBlackjack() {
+        return EstadoMano.esBlackjack(estado);
+    }
+
+    public boolean sePaso() {
+        return EstadoMano.sePaso(estado);
+    }
+
+    /**
+     * Estado compacto de la mano (ver EstadoMano).
+     */
+    public int getEstado() {
+        return estado;
+    }
+
+    /**
+     * Descarta todas las cartas de la mano.
+     */
+    public void limpiarMano() {
+        cantidad = 0;
+        estado = EstadoMano.INICIAL;
+    }
+
+    public int getCantidadCartas() {
+        return cantidad;
+    }
 
-        return puntos;
+    /**
+     * Código de la carta en la posición indicada de la mano.
+     */
+    public int getCodigo(int indice) {
+        if (indice >= cantidad) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", cartas: " + cantidad);
+        }
+        return codigos[indice];
     }
 
+    /**
+     * Cartas de la mano en orden de recepción. La lista es de sólo lectura
+     * y refleja la mano actual; para descartarla usar {@link #limpiarMano()}.
+     */
     public List<Carta> getCartas() {
         return cartas;
     }
 
     public abstract void jugarTurno(Mazo mazo);
-} 
\ No newline at end of file
+}
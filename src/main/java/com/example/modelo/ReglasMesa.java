@@ -0,0 +1,327 @@
+package com.example.modelo;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Variante de reglas de una mesa: cómo juega el crupier, cuánto paga el
+ * blackjack, qué se puede doblar, dividir o rendir y con cuántos mazos.
+ *
+ * Al crearse, la variante se compila a tablas: qué estados hacen pedir al
+ * crupier, cuánto gana o pierde cada resultado y en qué totales se puede
+ * doblar. Los motores leen esas tablas en lugar de preguntar por cada
+ * regla, así que el bucle de una mano es el mismo para todas las
+ * variantes. Las estrategias se compilan contra una variante con
+ * {@code EstrategiaTabla.para(ReglasMesa)}. Es inmutable y la comparten
+ * todos los hilos.
+ *
+ * Formato de texto (ver {@link #leer(String)} y {@link #toString()}):
+ * opciones separadas por comas, por ejemplo
+ * {@code "mazos=6,H17,bj=6:5,doblar=todo,das,dividir=4,rendicion"}.
+ * <ul>
+ *   <li>{@code mazos=N}: mazos en el zapato, de 1 a 8.</li>
+ *   <li>{@code S17} o {@code H17}: el crupier se planta o pide con 17 blando.</li>
+ *   <li>{@code bj=A:B}: el blackjack paga A a B.</li>
+ *   <li>{@code doblar=no|10-11|9-11|todo}: totales duros de dos cartas en
+ *   los que se puede doblar; "todo" es cualquier mano de dos cartas.</li>
+ *   <li>{@code das}: se puede doblar después de dividir.</li>
+ *   <li>{@code dividir=N}: una pareja se puede dividir hasta tener N manos
+ *   (1 es no dividir). Los ases divididos reciben una sola carta cada uno
+ *   y no se vuelven a dividir, y un 21 de dos cartas tras dividir no es
+ *   blackjack.</li>
+ *   <li>{@code rendicion}: con las dos primeras cartas el jugador puede
+ *   rendirse y recuperar media apuesta. Como el crupier no revisa si tiene
+ *   blackjack antes de que juegue el jugador, equivale a la rendición
+ *   temprana.</li>
+ * </ul>
+ * Las opciones que no aparecen quedan como en {@link #CLASICA}.
+ */
+public final class ReglasMesa {
+
+    /** No se puede doblar */
+    public static final int DOBLAR_NUNCA = 0;
+
+    /** Se dobla sólo con 10 u 11 duros */
+    public static final int DOBLAR_10_11 = 1;
+
+    /** Se dobla sólo con 9, 10 u 11 duros */
+    public static final int DOBLAR_9_11 = 2;
+
+    /** Se dobla con cualquier mano de dos cartas */
+    public static final int DOBLAR_CUALQUIERA = 3;
+
+    private static final String[] NOMBRES_DOBLAR = {"no", "10-11", "9-11", "todo"};
+
+    /** Resultados posibles, de {@link ReglasPago#PIERDE} a {@link ReglasPago#RENDICION} */
+    public static final int RESULTADOS = 5;
+
+    /**
+     * Las ganancias netas se cuentan en veinteavos de apuesta: así son
+     * enteras para la media apuesta de la rendición y para los pagos
+     * 3:2, 6:5, 7:5, 5:4, 2:1 y 1:1.
+     */
+    public static final int FRACCIONES_POR_UNIDAD = 20;
+
+    /** Las reglas de siempre de la mesa: un mazo, S17, 3:2, sin doblar, dividir ni rendirse */
+    public static final ReglasMesa CLASICA = new ReglasMesa(1, false, 3, 2, DOBLAR_NUNCA, false, 1, false);
+
+    /** Zapato de 6 mazos, S17, 3:2, doblar cualquier mano y tras dividir, hasta 4 manos y rendición */
+    public static final ReglasMesa VEGAS = leer("mazos=6,S17,bj=3:2,doblar=todo,das,dividir=4,rendicion");
+
+    /** Como {@link #VEGAS} pero H17, blackjack 6:5 y sin rendición */
+    public static final ReglasMesa SEIS_A_CINCO = leer("mazos=6,H17,bj=6:5,doblar=todo,das,dividir=4");
+
+    private final int mazos;
+    private final boolean crupierPideBlando17;
+    private final int pagoNumerador;
+    private final int pagoDenominador;
+    private final int doblar;
+    private final boolean doblarTrasDividir;
+    private final int manosMaximas;
+    private final boolean rendicion;
+
+    // === TABLAS COMPILADAS ===
+
+    /** Si el crupier pide en cada estado de mano */
+    private final boolean[] crupierPide = new boolean[EstadoMano.ESTADOS];
+
+    /** Si una mano de dos cartas en cada estado se puede doblar */
+    private final boolean[] doblable = new boolean[EstadoMano.ESTADOS];
+
+    /** Ganancia neta de cada resultado en veinteavos de apuesta */
+    private final int[] neto = new int[RESULTADOS];
+
+    /**
+     * @param mazos              Mazos en el zapato (1 a 8)
+     * @param crupierPideBlando17 Si el crupier pide con 17 blando (H17)
+     * @param pagoNumerador      Numerador del pago del blackjack
+     * @param pagoDenominador    Denominador del pago del blackjack
+     * @param doblar             Una de las constantes DOBLAR_*
+     * @param doblarTrasDividir  Si se puede doblar después de dividir
+     * @param manosMaximas       Manos a las que se puede llegar dividiendo (1 = no dividir)
+     * @param rendicion          Si el jugador se puede rendir
+     */
+    public ReglasMesa(int mazos, boolean crupierPideBlando17, int pagoNumerador, int pagoDenominador,
+                      int doblar, boolean doblarTrasDividir, int manosMaximas, boolean rendicion) {
+        if (mazos < 1 || mazos > 8) {
+            throw new IllegalArgumentException("Cantidad de mazos inválida: " + mazos);
+        }
+        if (pagoNumerador <= 0 || pagoDenominador <= 0
+                || FRACCIONES_POR_UNIDAD * pagoNumerador % pagoDenominador != 0) {
+            throw new IllegalArgumentException("Pago de blackjack no soportado: " + pagoNumerador + ":" + pagoDenominador);
+        }
+        if (doblar < DOBLAR_NUNCA || doblar > DOBLAR_CUALQUIERA) {
+            throw new IllegalArgumentException("Regla de doblar inválida: " + doblar);
+        }
+        if (manosMaximas < 1 || manosMaximas > 8) {
+            throw new IllegalArgumentException("Cantidad de manos divididas inválida: " + manosMaximas);
+        }
+        this.mazos = mazos;
+        this.crupierPideBlando17 = crupierPideBlando17;
+        this.pagoNumerador = pagoNumerador;
+        this.pagoDenominador = pagoDenominador;
+        this.doblar = doblar;
+        this.doblarTrasDividir = doblarTrasDividir;
+        this.manosMaximas = manosMaximas;
+        this.rendicion = rendicion;
+
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            int total = EstadoMano.total(estado);
+            boolean blanda = EstadoMano.esBlanda(estado);
+            crupierPide[estado] = total <= 21
+                && (Crupier.debePedir(total) || (crupierPideBlando17 && blanda && total == Crupier.PLANTARSE_EN));
+            boolean dosCartas = EstadoMano.cartas(estado) == 2 && total < 21;
+            switch (doblar) {
+                case DOBLAR_CUALQUIERA: doblable[estado] = dosCartas; break;
+                case DOBLAR_9_11: doblable[estado] = dosCartas && !blanda && total >= 9 && total <= 11; break;
+                case DOBLAR_10_11: doblable[estado] = dosCartas && !blanda && total >= 10 && total <= 11; break;
+                default: doblable[estado] = false;
+            }
+        }
+        neto[ReglasPago.PIERDE] = -FRACCIONES_POR_UNIDAD;
+        neto[ReglasPago.EMPATE] = 0;
+        neto[ReglasPago.GANA] = FRACCIONES_POR_UNIDAD;
+        neto[ReglasPago.BLACKJACK] = FRACCIONES_POR_UNIDAD * pagoNumerador / pagoDenominador;
+        neto[ReglasPago.RENDICION] = -FRACCIONES_POR_UNIDAD / 2;
+    }
+
+    /**
+     * Lee una variante en el formato de texto, o por nombre: "clasica",
+     * "vegas" o "6a5".
+     *
+     * @throws IllegalArgumentException Si alguna opción no se reconoce o tiene un valor inválido
+     */
+    public static ReglasMesa leer(String texto) {
+        String nombre = texto.trim().toLowerCase(Locale.ROOT);
+        if (nombre.equals("clasica")) {
+            return CLASICA;
+        } else if (nombre.equals("vegas")) {
+            return VEGAS;
+        } else if (nombre.equals("6a5")) {
+            return SEIS_A_CINCO;
+        }
+
+        int mazos = CLASICA.mazos;
+        boolean h17 = CLASICA.crupierPideBlando17;
+        int numerador = CLASICA.pagoNumerador;
+        int denominador = CLASICA.pagoDenominador;
+        int doblar = CLASICA.doblar;
+        boolean das = CLASICA.doblarTrasDividir;
+        int manos = CLASICA.manosMaximas;
+        boolean rendicion = CLASICA.rendicion;
+        for (String opcion : nombre.split(",")) {
+            opcion = opcion.trim();
+            int igual = opcion.indexOf('=');
+            String clave = igual < 0 ? opcion : opcion.substring(0, igual).trim();
+            String valor = igual < 0 ? "" : opcion.substring(igual + 1).trim();
+            try {
+                switch (clave) {
+                    case "s17": h17 = false; break;
+                    case "h17": h17 = true; break;
+                    case "das": das = true; break;
+                    case "rendicion": rendicion = true; break;
+                    case "mazos": mazos = Integer.parseInt(valor); break;
+                    case "dividir": manos = Integer.parseInt(valor); break;
+                    case "bj": {
+                        String[] partes = valor.split(":");
+                        if (partes.length != 2) {
+                            throw new IllegalArgumentException("Pago de blackjack inválido: " + valor);
+                        }
+                        numerador = Integer.parseInt(partes[0].trim());
+                        denominador = Integer.parseInt(partes[1].trim());
+                        break;
+                    }
+                    case "doblar":
+                        doblar = Arrays.asList(NOMBRES_DOBLAR).indexOf(valor);
+                        if (doblar < 0) {
+                            throw new IllegalArgumentException("Regla de doblar inválida: " + valor);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción de reglas desconocida: " + opcion);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido en " + opcion);
+            }
+        }
+        return new ReglasMesa(mazos, h17, numerador, denominador, doblar, das, manos, rendicion);
+    }
+
+    /**
+     * La misma variante con otra cantidad de mazos.
+     */
+    public ReglasMesa conMazos(int mazos) {
+        if (mazos == this.mazos) {
+            return this;
+        }
+        return new ReglasMesa(mazos, crupierPideBlando17, pagoNumerador, pagoDenominador, doblar,
+            doblarTrasDividir, manosMaximas, rendicion);
+    }
+
+    // === CONSULTAS DEL BUCLE DE JUEGO ===
+
+    /**
+     * Si el crupier pide carta en este estado, según la variante.
+     */
+    public boolean crupierPide(int estado) {
+        return crupierPide[estado];
+    }
+
+    /**
+     * Si una mano en este estado se puede doblar: dos cartas y un total permitido.
+     */
+    public boolean sePuedeDoblar(int estado) {
+        return doblable[estado];
+    }
+
+    /**
+     * Ganancia neta de un resultado por unidad apostada, en
+     * {@link #FRACCIONES_POR_UNIDAD} fracciones.
+     *
+     * @param resultado Uno de los de {@link ReglasPago}
+     */
+    public int neto(int resultado) {
+        return neto[resultado];
+    }
+
+    /**
+     * Cantidad que se devuelve al saldo al liquidar una mano, como
+     * {@link ReglasPago#devolucion(int, int)} pero con el pago de la
+     * variante; las fracciones de ficha se redondean hacia abajo.
+     *
+     * @param apuesta   Apuesta de la mano, ya duplicada si se dobló
+     * @param resultado Uno de los de {@link ReglasPago}
+     */
+    public int devolucion(int apuesta, int resultado) {
+        switch (resultado) {
+            case ReglasPago.BLACKJACK: return apuesta + apuesta * pagoNumerador / pagoDenominador;
+            case ReglasPago.GANA: return apuesta * 2;
+            case ReglasPago.EMPATE: return apuesta;
+            case ReglasPago.RENDICION: return apuesta / 2;
+            default: return 0;
+        }
+    }
+
+    // === OPCIONES ===
+
+    public int getMazos() {
+        return mazos;
+    }
+
+    public boolean isCrupierPideBlando17() {
+        return crupierPideBlando17;
+    }
+
+    /**
+     * Ganancia de un blackjack por unidad apostada (1.5 con 3:2).
+     */
+    public double getPagoBlackjack() {
+        return (double) pagoNumerador / pagoDenominador;
+    }
+
+    public int getDoblar() {
+        return doblar;
+    }
+
+    public boolean isDoblarTrasDividir() {
+        return doblarTrasDividir;
+    }
+
+    public int getManosMaximas() {
+        return manosMaximas;
+    }
+
+    public boolean isRendicion() {
+        return rendicion;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        texto.append("mazos=").append(mazos)
+            .append(crupierPideBlando17 ? ",H17" : ",S17")
+            .append(",bj=").append(pagoNumerador).append(':').append(pagoDenominador)
+            .append(",doblar=").append(NOMBRES_DOBLAR[doblar]);
+        if (doblarTrasDividir) {
+            texto.append(",das");
+        }
+        texto.append(",dividir=").append(manosMaximas);
+        if (rendicion) {
+            texto.append(",rendicion");
+        }
+        return texto.toString();
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (!(otro instanceof ReglasMesa)) {
+            return false;
+        }
+        return toString().equals(otro.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.modelo;
+
+/**
+ * Reglas de liquidación de una ronda de Blackjack.
+ *
+ * Concentra en un único lugar la comparación de puntajes y el pago que
+ * antes vivían dentro de {@code BlackjackControlador.plantarse} y
+ * {@code terminarRonda}, de modo que la interfaz gráfica y los motores de
+ * simulación liquiden las manos exactamente igual.
+ */
+public final class ReglasPago {
+
+    /** El jugador pierde su apuesta */
+    public static final int PIERDE = 0;
+
+    /** Empate: el jugador recupera su apuesta */
+    public static final int EMPATE = 1;
+
+    /** El jugador gana: recupera su apuesta y gana otra igual */
+    public static final int GANA = 2;
+
+    /** Blackjack natural: el jugador cobra 3 a 2 */
+    public static final int BLACKJACK = 3;
+
+    /** El jugador se rindió: recupera media apuesta */
+    public static final int RENDICION = 4;
+
+    private ReglasPago() {
+    }
+
+    /**
+     * Compara los puntajes finales de jugador y crupier.
+     *
+     * @param puntosJugador Puntos finales del jugador
+     * @param puntosCrupier Puntos finales del crupier
+     * @return {@link #PIERDE}, {@link #EMPATE} o {@link #GANA}
+     */
+    public static int resultado(int puntosJugador, int puntosCrupier) {
+        if (puntosJugador > 21) {
+            return PIERDE;
+        }
+        if (puntosCrupier > 21 || puntosJugador > puntosCrupier) {
+            return GANA;
+        }
+        return puntosJugador == puntosCrupier ? EMPATE : PIERDE;
+    }
+
+    /**
+     * Cantidad que se devuelve al saldo del jugador al liquidar la ronda.
+     * La apuesta ya fue descontada del saldo al comenzar la partida.
+     *
+     * @param apuesta   Apuesta de la ronda
+     * @param resultado Resultado obtenido con {@link #resultado(int, int)} o {@link #BLACKJACK}
+     * @return Apuesta más ganancia, sólo la apuesta, o cero
+     */
+    public static int devolucion(int apuesta, int resultado) {
+        switch (resultado) {
+            case BLACKJACK: return apuesta * 2 + apuesta / 2;  // Apuesta + apuesta + mitad de apuesta
+            case GANA: return apuesta * 2;
+            case EMPATE: return apuesta;
+            case RENDICION: return apuesta / 2;
+            default: return 0;
+        }
+    }
+
+    /**
+     * Ganancia neta de la ronda expresada en medias apuestas
+     * (blackjack = +3, gana = +2, empate = 0, rendición = -1, pierde = -2).
+     *
+     * Permite acumular resultados de millones de manos en enteros sin
+     * perder el medio punto del pago 3 a 2.
+     *
+     * @param resultado Resultado de la ronda
+     * @return Ganancia neta en medias apuestas
+     */
+    public static int netoMediasApuestas(int resultado) {
+        switch (resultado) {
+            case BLACKJACK: return 3;
+            case GANA: return 2;
+            case EMPATE: return 0;
+            case RENDICION: return -1;
+            default: return -2;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.modelo;
+
+/**
+ * Sistema de conteo de cartas: cuánto suma o resta cada valor de carta a
+ * la cuenta corriente (ver {@link ContadorZapato}).
+ *
+ * Un sistema balanceado suma cero sobre una baraja completa, así que su
+ * cuenta corriente empieza en cero y dividida por las barajas restantes da
+ * la cuenta real. Uno desbalanceado, como KO, empieza en una cuenta
+ * inicial que depende de la cantidad de barajas para que la cuenta
+ * corriente se pueda usar sin convertir.
+ */
+public final class SistemaConteo {
+
+    /** Hi-Lo: 2 a 6 suman uno, 7 a 9 no cuentan, 10 y As restan uno */
+    public static final SistemaConteo HI_LO = new SistemaConteo("Hi-Lo",
+        new int[] {-1, 1, 1, 1, 1, 1, 0, 0, 0, -1}, 0);
+
+    /** Knock-Out: como Hi-Lo pero el 7 también suma; desbalanceado, empieza en -4 por baraja extra */
+    public static final SistemaConteo KO = new SistemaConteo("KO",
+        new int[] {-1, 1, 1, 1, 1, 1, 1, 0, 0, -1}, -4);
+
+    private final String nombre;
+    /** Marca de cada valor de carta (ver CodigoCarta#valor) */
+    private final int[] marcas;
+    private final int inicialPorBaraja;
+
+    /**
+     * @param nombre            Nombre del sistema
+     * @param marcas            Lo que suma cada valor de carta, del As (0) al diez (9)
+     * @param inicialPorBaraja  Cuenta inicial por cada baraja después de la primera
+     *                          (0 en los sistemas balanceados)
+     */
+    public SistemaConteo(String nombre, int[] marcas, int inicialPorBaraja) {
+        if (marcas.length != CodigoCarta.VALORES_DISTINTOS) {
+            throw new IllegalArgumentException("Se esperaban " + CodigoCarta.VALORES_DISTINTOS + " marcas");
+        }
+        this.nombre = nombre;
+        this.marcas = marcas.clone();
+        this.inicialPorBaraja = inicialPorBaraja;
+    }
+
+    /**
+     * Cuenta corriente con el zapato recién barajado.
+     */
+    public int cuentaInicial(int mazos) {
+        return inicialPorBaraja * (mazos - 1);
+    }
+
+    /**
+     * Lo que suma a la cuenta una carta del valor dado.
+     */
+    public int marca(int valor) {
+        return marcas[valor];
+    }
+
+    /**
+     * Suma de las marcas sobre una baraja completa; 0 si es balanceado.
+     */
+    public int sumaPorBaraja() {
+        int suma = 0;
+        for (int valor = 0; valor < marcas.length; valor++) {
+            suma += marcas[valor] * (valor == CodigoCarta.VALORES_DISTINTOS - 1 ? 16 : 4);
+        }
+        return suma;
+    }
+
+    public boolean esBalanceado() {
+        return sumaPorBaraja() == 0;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
@@ -0,0 +1,359 @@
+package com.example.probabilidad;
+
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.Mazo;
+import com.example.modelo.Persona;
+import com.example.modelo.ReglasPago;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Valor esperado de pedir carta o plantarse, dependiente de la composición
+ * del zapato.
+ *
+ * Explora el árbol de decisiones del jugador: en cada mano posible compara
+ * plantarse (usando {@link ProbabilidadCrupier}) contra pedir y seguir
+ * jugando de la mejor manera, con las mismas reglas que
+ * {@code BlackjackControlador}: al llegar a 21 el jugador se planta solo y
+ * las manos se liquidan con {@link ReglasPago}.
+ *
+ * Las primeras cartas pedidas ({@link #CARTAS_EXACTAS_POR_DEFECTO}) se
+ * quitan del zapato; a partir de ahí la composición queda congelada y las
+ * siguientes se sacan con reposición, así que el valor de una mano ya sólo
+ * depende de su estado y de esas primeras cartas. Eso acota el árbol a unas
+ * decenas de composiciones aunque la mano empiece en 4 o 5; sin el límite,
+ * una mano baja recorre todas las combinaciones de cartas chicas que no
+ * pasan de 21, cada una con su propio recorrido del crupier. En un zapato
+ * de seis mazos el error de la composición congelada queda por debajo de
+ * una milésima de apuesta.
+ *
+ * Dentro de una consulta, las manos a las que se llega por distintos órdenes
+ * de cartas se calculan una sola vez; entre consultas se reutiliza la caché
+ * de resultados del crupier. Las ramas de las dos primeras cartas pedidas
+ * se evalúan en paralelo sobre un pool de fork-join.
+ */
+public class CalculadoraEV {
+
+    /** Bits por valor en la clave de cartas sacadas por el jugador */
+    private static final int BITS_SACADAS = 4;
+
+    /** Cartas pedidas que se quitan del zapato antes de congelar la composición */
+    public static final int CARTAS_EXACTAS_POR_DEFECTO = 2;
+
+    /** Niveles del árbol que se reparten en subtareas (hasta 100 ramas) */
+    private static final int PROFUNDIDAD_PARALELA = 2;
+
+    private final ProbabilidadCrupier crupier;
+    private final ForkJoinPool pool;
+    private final int cartasExactas;
+
+    public CalculadoraEV() {
+        this(new ProbabilidadCrupier(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param crupier Motor de probabilidades del crupier, con su caché compartida
+     * @param pool    Pool donde se evalúan en paralelo las ramas de pedir carta
+     */
+    public CalculadoraEV(ProbabilidadCrupier crupier, ForkJoinPool pool) {
+        this(crupier, pool, CARTAS_EXACTAS_POR_DEFECTO);
+    }
+
+    /**
+     * @param cartasExactas Cartas pedidas que se quitan del zapato; con
+     *                      {@code Integer.MAX_VALUE} el cálculo es exacto
+     */
+    public CalculadoraEV(ProbabilidadCrupier crupier, ForkJoinPool pool, int cartasExactas) {
+        if (cartasExactas < 0) {
+            throw new IllegalArgumentException("Cantidad de cartas exactas inválida: " + cartasExactas);
+        }
+        this.crupier = crupier;
+        this.pool = pool;
+        this.cartasExactas = cartasExactas;
+    }
+
+    /**
+     * Evalúa la mano actual del jugador contra la carta visible del crupier.
+     *
+     * La composición se lee del {@link com.example.modelo.ContadorZapato} del
+     * zapato, sin recorrerlo, y se le suma la carta oculta del crupier, que
+     * el jugador todavía no conoce.
+     *
+     * @param jugador Mano del jugador
+     * @param mesa    Crupier con su carta oculta (primera) y visible (segunda)
+     * @param mazo    Zapato del que se repartieron las cartas
+     */
+    public Evaluacion evaluar(Persona jugador, Crupier mesa, Mazo mazo) {
+        int[] composicion = mazo.getContador().copiarComposicion(new int[CodigoCarta.VALORES_DISTINTOS]);
+        composicion[CodigoCarta.valor(mesa.getCodigo(0))]++;
+        return evaluar(jugador.getEstado(), CodigoCarta.valor(mesa.getCodigo(1)), composicion);
+    }
+
+    /**
+     * Evalúa una mano a partir de su estado y de la composición de cartas no vistas.
+     *
+     * @param estadoJugador Estado de la mano del jugador (ver EstadoMano)
+     * @param valorVisible  Valor de la carta visible del crupier (ver CodigoCarta#valor)
+     * @param composicion   Cartas no vistas por valor, incluida la oculta del crupier; no se modifica
+     */
+    public Evaluacion evaluar(int estadoJugador, int valorVisible, int[] composicion) {
+        Consulta consulta = new Consulta(valorVisible);
+        int[] copia = composicion.clone();
+
+        if (EstadoMano.esBlackjack(estadoJugador)) {
+            double pago = ReglasPago.netoMediasApuestas(ReglasPago.BLACKJACK) / 2.0;
+            return new Evaluacion(pago, Double.NaN);
+        }
+        if (EstadoMano.sePaso(estadoJugador)) {
+            return new Evaluacion(-1.0, Double.NaN);
+        }
+
+        double plantarse = consulta.plantarse(estadoJugador, copia, 0L);
+        double pedir = EstadoMano.total(estadoJugador) == 21
+            ? Double.NaN
+            : pool.invoke(new TareaPedir(consulta, estadoJugador, copia, 0L, 0));
+        return new Evaluacion(plantarse, pedir);
+    }
+
+    public ProbabilidadCrupier getProbabilidadCrupier() {
+        return crupier;
+    }
+
+    /**
+     * Estado de una consulta: carta visible y memo de manos ya evaluadas,
+     * compartido entre las ramas paralelas.
+     */
+    private final class Consulta {
+        final int valorVisible;
+
+        /** Sesión del recorrido del crupier compartida por todas las manos de la consulta */
+        final long sesion = ProbabilidadCrupier.nuevaSesion();
+
+        /** Mejor valor esperado por (cartas sacadas, estado); la composición queda determinada por las sacadas */
+        final Map<Long, Double> memo = new ConcurrentHashMap<>();
+
+        Consulta(int valorVisible) {
+            this.valorVisible = valorVisible;
+        }
+
+        /**
+         * Valor esperado de plantarse con la mano dada.
+         */
+        double plantarse(int estado, int[] composicion, long sacadas) {
+            double[] p = new double[ProbabilidadCrupier.RESULTADOS];
+            if (sacadas == 0L) {
+                // La mano inicial se consulta por la caché: se repite entre consultas
+                p = crupier.probabilidades(valorVisible, composicion);
+            } else {
+                ProbabilidadCrupier.probabilidadesEnSesion(valorVisible, composicion, sacadas, sesion, p);
+            }
+            int total = EstadoMano.total(estado);
+            double ev = p[ProbabilidadCrupier.SE_PASA];
+            for (int i = ProbabilidadCrupier.TERMINA_17; i <= ProbabilidadCrupier.TERMINA_21; i++) {
+                int resultado = ReglasPago.resultado(total, 17 + i);
+                ev += p[i] * ReglasPago.netoMediasApuestas(resultado) / 2.0;
+            }
+            return ev;
+        }
+
+        /**
+         * Valor esperado de jugar de la mejor manera desde la mano dada.
+         */
+        double mejor(int estado, int[] composicion, long sacadas) {
+            if (EstadoMano.sePaso(estado)) {
+                return -1.0;
+            }
+            if (EstadoMano.total(estado) == 21) {
+                return plantarse(estado, composicion, sacadas);  // Al llegar a 21 se planta solo
+            }
+            Double guardado = memo.get(clave(estado, sacadas));
+            if (guardado != null) {
+                return guardado;
+            }
+            return decidir(estado, composicion, sacadas, pedir(estado, composicion, sacadas));
+        }
+
+        /**
+         * Elige entre el valor de pedir ya calculado y plantarse, y guarda el
+         * mejor en el memo.
+         */
+        double decidir(int estado, int[] composicion, long sacadas, double pedir) {
+            double ev = pedir;
+            if (puedePasarse(estado) || EstadoMano.total(estado) >= Crupier.PLANTARSE_EN) {
+                ev = Math.max(ev, plantarse(estado, composicion, sacadas));
+            }
+            memo.put(clave(estado, sacadas), ev);
+            return ev;
+        }
+
+        /**
+         * Indica si la próxima carta pedida todavía se quita de la composición.
+         */
+        boolean esExacta(long sacadas) {
+            int cartas = 0;
+            for (long resto = sacadas; resto != 0; resto >>>= BITS_SACADAS) {
+                cartas += (int) (resto & ((1 << BITS_SACADAS) - 1));
+            }
+            return cartas < cartasExactas;
+        }
+
+        long sacar(long sacadas, int valor) {
+            return sacadas + (1L << (valor * BITS_SACADAS));
+        }
+
+        long clave(int estado, long sacadas) {
+            // Mezcla biyectiva: Long.hashCode agruparía las claves y degradaría el mapa
+            return ((sacadas << 8) | estado) * 0x9E3779B97F4A7C15L;
+        }
+
+        /**
+         * Indica si una carta más puede pasar la mano de 21.
+         *
+         * Si no puede y la mano tiene menos de 17, pedir nunca es peor que
+         * plantarse: plantado sólo se gana si el crupier se pasa, y sacar una
+         * carta al azar no cambia esa probabilidad en promedio, mientras que
+         * después de pedir todavía se puede plantar con un puntaje igual o
+         * mayor. Así se evita consultar al crupier en esas manos.
+         */
+        boolean puedePasarse(int estado) {
+            return !EstadoMano.esBlanda(estado) && EstadoMano.total(estado) > 11;
+        }
+
+        /**
+         * Valor esperado de pedir una carta y seguir jugando de la mejor manera.
+         */
+        double pedir(int estado, int[] composicion, long sacadas) {
+            int total = 0;
+            for (int n : composicion) {
+                total += n;
+            }
+            boolean exacta = esExacta(sacadas);
+            double ev = 0.0;
+            for (int valor = 0; valor < CodigoCarta.VALORES_DISTINTOS; valor++) {
+                int cantidad = composicion[valor];
+                if (cantidad == 0) {
+                    continue;
+                }
+                int siguiente = EstadoMano.siguienteRango(estado, valor);
+                if (exacta) {
+                    composicion[valor] = cantidad - 1;
+                    ev += (double) cantidad / total * mejor(siguiente, composicion, sacar(sacadas, valor));
+                    composicion[valor] = cantidad;
+                } else {
+                    ev += (double) cantidad / total * mejor(siguiente, composicion, sacadas);
+                }
+            }
+            return ev;
+        }
+    }
+
+    /**
+     * Valor esperado de pedir carta (en la raíz) o de jugar de la mejor
+     * manera (en los demás nodos). En los primeros niveles del árbol se
+     * bifurca una subtarea por cada valor posible de la carta pedida, cada
+     * una sobre su propia copia de la composición; más abajo se sigue en el
+     * mismo hilo.
+     */
+    private static final class TareaPedir extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final Consulta consulta;
+        private final int estado;
+        private final int[] composicion;
+        private final long sacadas;
+        private final int profundidad;
+
+        TareaPedir(Consulta consulta, int estado, int[] composicion, long sacadas, int profundidad) {
+            this.consulta = consulta;
+            this.estado = estado;
+            this.composicion = composicion;
+            this.sacadas = sacadas;
+            this.profundidad = profundidad;
+        }
+
+        @Override
+        protected Double compute() {
+            boolean raiz = profundidad == 0;
+            if (!raiz) {
+                if (profundidad >= PROFUNDIDAD_PARALELA || EstadoMano.sePaso(estado) || EstadoMano.total(estado) == 21) {
+                    return consulta.mejor(estado, composicion, sacadas);
+                }
+                Double guardado = consulta.memo.get(consulta.clave(estado, sacadas));
+                if (guardado != null) {
+                    return guardado;
+                }
+            }
+
+            int total = 0;
+            for (int n : composicion) {
+                total += n;
+            }
+            boolean exacta = consulta.esExacta(sacadas);
+            TareaPedir[] ramas = new TareaPedir[CodigoCarta.VALORES_DISTINTOS];
+            for (int valor = 0; valor < CodigoCarta.VALORES_DISTINTOS; valor++) {
+                if (composicion[valor] == 0) {
+                    continue;
+                }
+                int[] resto = composicion.clone();
+                long siguientes = sacadas;
+                if (exacta) {
+                    resto[valor]--;
+                    siguientes = consulta.sacar(sacadas, valor);
+                }
+                ramas[valor] = new TareaPedir(consulta, EstadoMano.siguienteRango(estado, valor), resto,
+                    siguientes, profundidad + 1);
+                ramas[valor].fork();
+            }
+            double pedir = 0.0;
+            for (int valor = CodigoCarta.VALORES_DISTINTOS - 1; valor >= 0; valor--) {
+                if (ramas[valor] != null) {
+                    pedir += (double) composicion[valor] / total * ramas[valor].join();
+                }
+            }
+            return raiz ? pedir : consulta.decidir(estado, composicion, sacadas, pedir);
+        }
+    }
+
+    /**
+     * Resultado de una evaluación: valor esperado de cada decisión por
+     * unidad apostada.
+     */
+    public static final class Evaluacion {
+        private final double plantarse;
+        private final double pedir;
+
+        Evaluacion(double plantarse, double pedir) {
+            this.plantarse = plantarse;
+            this.pedir = pedir;
+        }
+
+        public double getValorPlantarse() {
+            return plantarse;
+        }
+
+        /**
+         * Valor esperado de pedir y seguir jugando de la mejor manera, o NaN
+         * si pedir no es posible (21, blackjack o mano pasada).
+         */
+        public double getValorPedir() {
+            return pedir;
+        }
+
+        public boolean convienePedir() {
+            return pedir > plantarse;
+        }
+
+        public double getMejorValor() {
+            return convienePedir() ? pedir : plantarse;
+        }
+
+        public String toString() {
+            return String.format("Plantarse: %+.4f, Pedir: %+.4f -> %s",
+                plantarse, pedir, convienePedir() ? "pedir" : "plantarse");
+        }
+    }
+}
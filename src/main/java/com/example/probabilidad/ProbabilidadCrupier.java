@@ -0,0 +1,399 @@
+package com.example.probabilidad;
+
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.EstadoMano;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Probabilidades exactas del resultado final del crupier.
+ *
+ * Dada la carta visible y la composición del zapato que el jugador no ve
+ * (incluida la carta oculta del crupier), recorre todas las secuencias de
+ * cartas que puede sacar el crupier con la regla de {@code Crupier.jugarTurno}
+ * (tabla {@link EstadoMano#crupierPide(int)}) y pondera cada una por su
+ * probabilidad sin reposición.
+ *
+ * Las respuestas se guardan en una caché acotada con desalojo LRU, indexada
+ * por composición y carta visible, así que las consultas repetidas durante
+ * un mismo zapato no vuelven a recorrer el árbol. La caché está dividida en
+ * segmentos con su propio candado para que varios hilos puedan consultarla
+ * a la vez; la instancia es segura entre hilos.
+ */
+public class ProbabilidadCrupier {
+
+    /** Índices del arreglo de resultados: el crupier termina con 17 a 21 */
+    public static final int TERMINA_17 = 0;
+    public static final int TERMINA_18 = 1;
+    public static final int TERMINA_19 = 2;
+    public static final int TERMINA_20 = 3;
+    public static final int TERMINA_21 = 4;
+
+    /** Índice del arreglo de resultados: el crupier se pasa de 21 */
+    public static final int SE_PASA = 5;
+
+    /** Cantidad de resultados posibles del crupier */
+    public static final int RESULTADOS = 6;
+
+    /** Capacidad por defecto de la caché, en composiciones */
+    public static final int CAPACIDAD_POR_DEFECTO = 1 << 16;
+
+    private static final int SEGMENTOS = 16;
+
+    /** Bits que ocupa cada valor en la clave empaquetada (los dieces pueden llegar a 128) */
+    private static final int BITS_VALOR = 6;
+    private static final int MAXIMO_VALOR = 8 * 4;
+    private static final int MAXIMO_DIECES = 8 * 16;
+
+    private static final AtomicLong SESIONES = new AtomicLong();
+
+    /** Memoria de trabajo del recorrido, una por hilo */
+    private static final ThreadLocal<Recorrido> RECORRIDOS = ThreadLocal.withInitial(Recorrido::new);
+
+    private final Segmento[] segmentos;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public ProbabilidadCrupier() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param capacidad Cantidad máxima de composiciones guardadas en la caché
+     */
+    public ProbabilidadCrupier(int capacidad) {
+        if (capacidad < SEGMENTOS) {
+            throw new IllegalArgumentException("Capacidad de caché inválida: " + capacidad);
+        }
+        segmentos = new Segmento[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(capacidad / SEGMENTOS);
+        }
+    }
+
+    /**
+     * Probabilidad de cada resultado final del crupier.
+     *
+     * @param valorVisible Valor de la carta visible (ver {@link CodigoCarta#valor(int)})
+     * @param composicion  Cartas que el jugador no ha visto, por valor; debe incluir
+     *                     la carta oculta del crupier y no incluir la visible
+     * @return Arreglo de {@link #RESULTADOS} probabilidades que suman 1. Es compartido
+     *         con la caché y no debe modificarse.
+     */
+    public double[] probabilidades(int valorVisible, int[] composicion) {
+        long clave = empaquetar(composicion);
+        Segmento segmento = segmentos[indiceSegmento(clave, valorVisible)];
+        Clave k = new Clave(clave, valorVisible);
+
+        double[] resultado;
+        synchronized (segmento) {
+            resultado = segmento.get(k);
+        }
+        if (resultado != null) {
+            aciertos.increment();
+            return resultado;
+        }
+        fallos.increment();
+
+        // El recorrido se hace fuera del candado; si dos hilos calculan la misma
+        // composición a la vez, ambos llegan al mismo resultado
+        resultado = new double[RESULTADOS];
+        RECORRIDOS.get().calcular(valorVisible, composicion, 0L, nuevaSesion(), resultado);
+
+        synchronized (segmento) {
+            segmento.put(k, resultado);
+        }
+        return resultado;
+    }
+
+    /**
+     * Variante sin caché para consultas encadenadas sobre un mismo zapato
+     * base, como las de {@link CalculadoraEV}: la composición es la base menos
+     * las cartas {@code retiradas}, y mientras se use la misma sesión los
+     * nodos del recorrido del crupier se comparten entre consultas del mismo
+     * hilo. Estas consultas no pasan por la caché LRU ni por sus contadores,
+     * para no desalojar composiciones que sí se repiten.
+     *
+     * @param retiradas Cartas quitadas de la composición base, 4 bits por valor
+     * @param sesion    Identificador obtenido con {@link #nuevaSesion()}
+     * @param destino   Arreglo de {@link #RESULTADOS} posiciones donde se escribe el resultado
+     */
+    static void probabilidadesEnSesion(int valorVisible, int[] composicion, long retiradas, long sesion,
+                                       double[] destino) {
+        RECORRIDOS.get().calcular(valorVisible, composicion, retiradas, sesion, destino);
+    }
+
+    /**
+     * Probabilidad de que el crupier se pase de 21.
+     */
+    public double probabilidadPasarse(int valorVisible, int[] composicion) {
+        return probabilidades(valorVisible, composicion)[SE_PASA];
+    }
+
+    /**
+     * Posición en el arreglo de resultados de una mano final del crupier.
+     */
+    static int indiceResultado(int estado) {
+        int clase = EstadoMano.clase(estado);
+        if (clase == EstadoMano.CLASE_PASADO) {
+            return SE_PASA;
+        }
+        if (clase == EstadoMano.CLASE_BLACKJACK) {
+            return TERMINA_21;  // En esta mesa el blackjack del crupier cuenta como 21
+        }
+        return clase - 17;
+    }
+
+    /**
+     * Empaqueta una composición en un long: 6 bits por valor del As al 9 y
+     * 8 bits para los dieces, suficiente para un zapato de hasta 8 mazos.
+     */
+    static long empaquetar(int[] composicion) {
+        if (composicion.length != CodigoCarta.VALORES_DISTINTOS) {
+            throw new IllegalArgumentException("La composición debe tener "
+                + CodigoCarta.VALORES_DISTINTOS + " valores");
+        }
+        long clave = 0;
+        for (int valor = 0; valor < CodigoCarta.VALORES_DISTINTOS; valor++) {
+            int cantidad = composicion[valor];
+            int maximo = valor == CodigoCarta.VALORES_DISTINTOS - 1 ? MAXIMO_DIECES : MAXIMO_VALOR;
+            if (cantidad < 0 || cantidad > maximo) {
+                throw new IllegalArgumentException("Cantidad inválida para el valor " + valor + ": " + cantidad);
+            }
+            clave |= (long) cantidad << (valor * BITS_VALOR);
+        }
+        return clave;
+    }
+
+    /**
+     * Identificador nuevo para agrupar consultas que comparten la memoria
+     * del recorrido (ver {@link #probabilidadesEnSesion}).
+     */
+    static long nuevaSesion() {
+        return SESIONES.incrementAndGet();
+    }
+
+    private static int indiceSegmento(long clave, int valorVisible) {
+        long h = (clave + valorVisible) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 60) & (SEGMENTOS - 1);
+    }
+
+    /**
+     * Composición de un zapato completo de la cantidad de mazos indicada.
+     */
+    public static int[] composicionCompleta(int mazos) {
+        int[] composicion = new int[CodigoCarta.VALORES_DISTINTOS];
+        for (int valor = 0; valor < CodigoCarta.VALORES_DISTINTOS - 1; valor++) {
+            composicion[valor] = 4 * mazos;
+        }
+        composicion[CodigoCarta.VALORES_DISTINTOS - 1] = 16 * mazos;
+        return composicion;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * Cantidad de composiciones guardadas actualmente en la caché.
+     */
+    public int getTamanoCache() {
+        int tamano = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                tamano += segmento.size();
+            }
+        }
+        return tamano;
+    }
+
+    /**
+     * Vacía la caché y reinicia los contadores.
+     */
+    public void limpiarCache() {
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.clear();
+            }
+        }
+        aciertos.reset();
+        fallos.reset();
+    }
+
+    /**
+     * Imprime la tabla de resultados del crupier para un zapato completo.
+     *
+     * Uso: {@code ProbabilidadCrupier [mazos]}
+     */
+    public static void main(String[] args) {
+        int mazos = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        ProbabilidadCrupier probabilidad = new ProbabilidadCrupier();
+        String[] nombres = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10"};
+
+        System.out.println("Visible      17      18      19      20      21  Se pasa     us");
+        for (int ronda = 0; ronda < 2; ronda++) {
+            for (int visible = 0; visible < CodigoCarta.VALORES_DISTINTOS; visible++) {
+                int[] composicion = composicionCompleta(mazos);
+                composicion[visible]--;
+                long inicio = System.nanoTime();
+                double[] p = probabilidad.probabilidades(visible, composicion);
+                long micros = (System.nanoTime() - inicio) / 1000;
+                if (ronda == 0) {
+                    System.out.printf("%7s  %6.4f  %6.4f  %6.4f  %6.4f  %6.4f  %7.4f  %5d%n", nombres[visible],
+                        p[TERMINA_17], p[TERMINA_18], p[TERMINA_19], p[TERMINA_20], p[TERMINA_21], p[SE_PASA], micros);
+                }
+            }
+        }
+        System.out.println("Aciertos de caché: " + probabilidad.getAciertos()
+            + ", fallos: " + probabilidad.getFallos());
+    }
+
+    /**
+     * Recorrido en profundidad de las cartas que puede sacar el crupier.
+     *
+     * El puntaje del crupier sólo depende del conjunto de cartas que sacó, no
+     * del orden, así que cada nodo intermedio se identifica por su estado y por
+     * el conjunto de cartas quitadas de la composición base (4 bits por valor):
+     * las retiradas por el jugador más las sacadas por el crupier. Dentro de
+     * una sesión, dos manos del jugador que llevan al crupier a la misma
+     * composición y al mismo estado comparten el nodo.
+     *
+     * Las distribuciones se guardan en una tabla de direccionamiento abierto
+     * que se reutiliza entre consultas del mismo hilo, sin crear objetos por
+     * nodo. Un recorrido nunca bifurca tareas, así que la tabla no se comparte
+     * entre consultas en curso.
+     */
+    private static final class Recorrido {
+        private static final int CAPACIDAD = 1 << 14;
+        private static final int BITS_SACADAS = 4;
+
+        /** Nodos que puede agregar una sola consulta, con margen */
+        private static final int NODOS_POR_CONSULTA = 1 << 12;
+
+        private final long[] claves = new long[CAPACIDAD];
+        private final int[] generaciones = new int[CAPACIDAD];
+        private final double[] distribuciones = new double[CAPACIDAD * RESULTADOS];
+        private final int[] composicion = new int[CodigoCarta.VALORES_DISTINTOS];
+        private int generacion;
+        private int usados;
+        private long sesion;
+        private int visible = -1;
+
+        void calcular(int valorVisible, int[] inicial, long retiradas, long sesionActual, double[] resultado) {
+            // Cambiar de generación invalida todas las entradas sin recorrer la tabla
+            if (sesionActual != sesion || valorVisible != visible || usados > CAPACIDAD / 2 - NODOS_POR_CONSULTA) {
+                generacion++;
+                usados = 0;
+                sesion = sesionActual;
+                visible = valorVisible;
+            }
+            System.arraycopy(inicial, 0, composicion, 0, CodigoCarta.VALORES_DISTINTOS);
+            int total = 0;
+            for (int n : composicion) {
+                total += n;
+            }
+            int estado = EstadoMano.siguienteRango(EstadoMano.INICIAL, valorVisible);
+            int nodo = nodo(estado, total, retiradas);
+            System.arraycopy(distribuciones, nodo * RESULTADOS, resultado, 0, RESULTADOS);
+        }
+
+        /**
+         * Calcula (o encuentra) la distribución de un nodo en el que el crupier
+         * todavía debe pedir y devuelve su posición en la tabla.
+         */
+        private int nodo(int estado, int total, long quitadas) {
+            long clave = (quitadas << 8) | estado;
+            int indice = (int) ((clave * 0x9E3779B97F4A7C15L) >>> 48) & (CAPACIDAD - 1);
+            while (generaciones[indice] == generacion) {
+                if (claves[indice] == clave) {
+                    return indice;
+                }
+                indice = (indice + 1) & (CAPACIDAD - 1);
+            }
+            if (usados >= CAPACIDAD - 1) {
+                throw new IllegalStateException("Demasiados nodos en el recorrido del crupier");
+            }
+            usados++;
+            generaciones[indice] = generacion;
+            claves[indice] = clave;
+
+            int base = indice * RESULTADOS;
+            for (int i = 0; i < RESULTADOS; i++) {
+                distribuciones[base + i] = 0.0;
+            }
+            for (int valor = 0; valor < CodigoCarta.VALORES_DISTINTOS; valor++) {
+                int cantidad = composicion[valor];
+                if (cantidad == 0) {
+                    continue;
+                }
+                double p = (double) cantidad / total;
+                int siguiente = EstadoMano.siguienteRango(estado, valor);
+                if (!EstadoMano.crupierPide(siguiente)) {
+                    distribuciones[base + indiceResultado(siguiente)] += p;
+                    continue;
+                }
+                composicion[valor] = cantidad - 1;
+                int hijo = nodo(siguiente, total - 1, quitadas + (1L << (valor * BITS_SACADAS)));
+                composicion[valor] = cantidad;
+                int baseHijo = hijo * RESULTADOS;
+                for (int i = 0; i < RESULTADOS; i++) {
+                    distribuciones[base + i] += p * distribuciones[baseHijo + i];
+                }
+            }
+            return indice;
+        }
+    }
+
+    /**
+     * Clave de la caché: composición empaquetada y carta visible.
+     */
+    private static final class Clave {
+        final long composicion;
+        final int visible;
+
+        Clave(long composicion, int visible) {
+            this.composicion = composicion;
+            this.visible = visible;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (!(otro instanceof Clave)) {
+                return false;
+            }
+            Clave k = (Clave) otro;
+            return composicion == k.composicion && visible == k.visible;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(composicion * 31 + visible);
+        }
+    }
+
+    /**
+     * Un segmento de la caché: LinkedHashMap en orden de acceso que desaloja
+     * la entrada menos usada al superar su capacidad.
+     */
+    private static final class Segmento extends LinkedHashMap<Clave, double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacidad;
+
+        Segmento(int capacidad) {
+            super(16, 0.75f, true);
+            this.capacidad = capacidad;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Clave, double[]> mayor) {
+            return size() > capacidad;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.servidor;
+
+import com.example.banca.Billetera;
+import com.example.metricas.Metricas;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Una conexión de cliente: lee comandos línea por línea y los entrega como
+ * acciones a su mesa.
+ *
+ * Corre en su propio hilo, que pasa casi todo el tiempo bloqueado leyendo
+ * (un hilo virtual cuando la plataforma lo permite). Las respuestas no se
+ * escriben en el hilo de quien las manda: la mesa sólo las encola y otro
+ * hilo de la conexión las escribe al socket. Así un cliente que deja de
+ * leer bloquea únicamente a su propio hilo de escritura, nunca a los hilos
+ * de las mesas; si su cola se llena, se corta la conexión.
+ */
+final class Conexion implements Runnable {
+
+    /** Tamaño de los búferes de lectura y escritura; los mensajes son cortos */
+    private static final int BUFER = 512;
+
+    /** Líneas sin escribir que se toleran antes de cortar a un cliente que no lee */
+    private static final int MAXIMO_PENDIENTES = 1024;
+
+    /** Milisegundos que se esperan al cerrar para que salgan las últimas líneas */
+    private static final long ESPERA_CIERRE = 1000;
+
+    /** Marca en la cola que le indica al hilo de escritura que termine; se compara por identidad */
+    private static final String FIN_COLA = new String("");
+
+    private final Socket socket;
+    private final ServidorMesas servidor;
+    private final Writer salida;
+    private final BlockingQueue<String> pendientes = new ArrayBlockingQueue<>(MAXIMO_PENDIENTES);
+    private Mesa mesa;
+    private Mesa.Asiento asiento;
+
+    Conexion(Socket socket, ServidorMesas servidor) throws IOException {
+        this.socket = socket;
+        this.servidor = servidor;
+        socket.setTcpNoDelay(true);
+        this.salida = new BufferedWriter(
+            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII), BUFER);
+    }
+
+    @Override
+    public void run() {
+        Thread escritor = servidor.hiloConexion(this::escribir);
+        escritor.start();
+        try {
+            // Sin try-with-resources: cerrar la entrada cierra el socket antes de que salgan las últimas líneas
+            BufferedReader entrada = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII), BUFER);
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                if (!atender(linea.trim())) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // El cliente cortó la conexión: se trata igual que SALIR
+        } finally {
+            dejarMesa();
+            if (!pendientes.offer(FIN_COLA)) {
+                cerrar();
+            }
+            try {
+                escritor.join(ESPERA_CIERRE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cerrar();
+        }
+    }
+
+    /**
+     * Hilo de escritura: saca las líneas de la cola y las escribe, con un
+     * solo flush por tanda. Termina al recibir {@link #FIN_COLA} o cuando
+     * el cliente se va.
+     */
+    private void escribir() {
+        try {
+            String linea;
+            while ((linea = pendientes.take()) != FIN_COLA) {
+                salida.write(linea);
+                salida.write('\n');
+                if (pendientes.isEmpty()) {
+                    salida.flush();
+                }
+            }
+            salida.flush();
+        } catch (IOException e) {
+            cerrar();  // El cliente se fue; la lectura lo detecta y deja la mesa
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Interpreta un comando del cliente.
+     *
+     * @return false si la conexión debe cerrarse
+     */
+    private boolean atender(String linea) {
+        int espacio = linea.indexOf(' ');
+        String comando = espacio < 0 ? linea : linea.substring(0, espacio);
+        String argumento = espacio < 0 ? "" : linea.substring(espacio + 1).trim();
+
+        switch (comando) {
+            case Protocolo.MESA:
+                if (argumento.isEmpty()) {
+                    enviar(Protocolo.ERROR + " FALTA_MESA");
+                } else if (mesa != null) {
+                    enviar(Protocolo.ERROR + " YA_SENTADO");
+                } else {
+                    String[] partes = argumento.split("\\s+", 2);
+                    sentarse(partes[0], servidor.billetera(partes.length > 1 ? partes[1] : null));
+                }
+                return true;
+            case Protocolo.APUESTA:
+                if (sinMesa()) {
+                    return true;
+                }
+                int monto;
+                try {
+                    monto = Integer.parseInt(argumento);
+                } catch (NumberFormatException e) {
+                    enviar(Protocolo.ERROR + " APUESTA_INVALIDA");
+                    return true;
+                }
+                // La acción corre después en el hilo de la mesa, cuando quizá ya
+                // se dejó la mesa: se toman la mesa y el asiento de ahora
+                Mesa destino = mesa;
+                Mesa.Asiento propio = asiento;
+                long inicioApuesta = Metricas.reloj();
+                destino.enviar(() -> {
+                    destino.apostar(propio, monto);
+                    Metricas.global().registrar(Metricas.NUEVA_PARTIDA, inicioApuesta);
+                });
+                return true;
+            case Protocolo.PEDIR:
+                if (!sinMesa()) {
+                    Mesa destinoPedir = mesa;
+                    Mesa.Asiento propioPedir = asiento;
+                    long inicioPedir = Metricas.reloj();
+                    destinoPedir.enviar(() -> {
+                        destinoPedir.pedir(propioPedir);
+                        Metricas.global().registrar(Metricas.PEDIR_CARTA, inicioPedir);
+                    });
+                }
+                return true;
+            case Protocolo.PLANTARSE:
+                if (!sinMesa()) {
+                    Mesa destinoPlantarse = mesa;
+                    Mesa.Asiento propioPlantarse = asiento;
+                    long inicioPlantarse = Metricas.reloj();
+                    destinoPlantarse.enviar(() -> {
+                        destinoPlantarse.plantarse(propioPlantarse);
+                        Metricas.global().registrar(Metricas.PLANTARSE, inicioPlantarse);
+                    });
+                }
+                return true;
+            case Protocolo.SALIR:
+                dejarMesa();
+                enviar(Protocolo.ADIOS);
+                return false;
+            default:
+                enviar(Protocolo.ERROR + " COMANDO_DESCONOCIDO");
+                return true;
+        }
+    }
+
+    /**
+     * Se sienta en la mesa pedida. Si la mesa se cerró justo antes de
+     * recibir el asiento, se busca (o se crea) otra con el mismo nombre.
+     */
+    private void sentarse(String nombreMesa, Billetera billetera) {
+        while (true) {
+            Mesa candidata = servidor.mesa(nombreMesa);
+            CompletableFuture<Mesa.Asiento> sentado = new CompletableFuture<>();
+            candidata.enviar(() -> sentado.complete(candidata.sentar(this, billetera)));
+            Mesa.Asiento nuevo = sentado.join();
+            if (nuevo != null) {
+                mesa = candidata;
+                asiento = nuevo;
+                return;
+            }
+        }
+    }
+
+    private boolean sinMesa() {
+        if (mesa == null) {
+            enviar(Protocolo.ERROR + " SIN_MESA");
+            return true;
+        }
+        return false;
+    }
+
+    private void dejarMesa() {
+        if (mesa != null) {
+            Mesa anterior = mesa;
+            Mesa.Asiento propio = asiento;
+            anterior.enviar(() -> anterior.levantar(propio));
+            mesa = null;
+            asiento = null;
+        }
+    }
+
+    /**
+     * Encola una línea para el cliente sin esperar a que se escriba. Puede
+     * llamarse desde el hilo de la mesa o desde el de la conexión. Si el
+     * cliente dejó de leer y la cola está llena, se corta la conexión.
+     */
+    void enviar(String linea) {
+        if (!pendientes.offer(linea)) {
+            cerrar();
+        }
+    }
+
+    private void cerrar() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nada más que hacer
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.servidor;
+
+import com.example.banca.Billetera;
+import com.example.banca.Reserva;
+import com.example.estrategia.Estrategia;
+import com.example.historial.EscritorHistorial;
+import com.example.historial.RegistroMano;
+import com.example.metricas.Metricas;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.modelo.ReglasPago;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Una mesa del servidor: su propio zapato, su crupier y sus asientos.
+ *
+ * La mesa funciona como un actor. Las acciones llegan desde los hilos de
+ * las conexiones a un buzón sin candados y se procesan de a una, en orden,
+ * en un hilo del ejecutor compartido; como nunca hay dos hilos dentro de la
+ * misma mesa, su estado no necesita sincronización y las mesas no compiten
+ * entre sí por ningún candado.
+ *
+ * Una ronda empieza cuando todos los asientos apostaron, o cuando vence el
+ * tiempo de apuesta con al menos una apuesta hecha; los demás esperan a la
+ * ronda siguiente. Los jugadores juegan en orden de asiento y después juega
+ * el crupier, con las mismas reglas que {@code BlackjackControlador}. Quien
+ * no actúa dentro del tiempo de su turno se planta solo. Los vencimientos
+ * llegan al buzón como cualquier otra acción y se descartan si la mesa ya
+ * siguió de largo.
+ *
+ * Las apuestas se reservan en la {@link Billetera} del jugador, que puede
+ * estar apostando en otras mesas al mismo tiempo; quien se levanta con una
+ * apuesta hecha la recupera si su mano no se repartió y la pierde si ya
+ * estaba jugando.
+ */
+final class Mesa {
+
+    /** Acciones que se procesan antes de ceder el hilo a otra mesa */
+    private static final int ACCIONES_POR_TURNO = 64;
+
+    /**
+     * Un asiento ocupado por una conexión.
+     */
+    static final class Asiento {
+        final Conexion conexion;
+        final int numero;
+        final JugadorApostador jugador;
+        /** Registro de la mano en curso para el historial */
+        final RegistroMano registro = new RegistroMano();
+        int apuesta;
+        /** Apuesta apartada en la billetera, hasta liquidarla */
+        Reserva reserva;
+        /** Apostó para la próxima ronda o la actual */
+        boolean aposto;
+        /** Recibió cartas en la ronda en curso */
+        boolean jugando;
+
+        Asiento(Conexion conexion, int numero, Billetera billetera) {
+            this.conexion = conexion;
+            this.numero = numero;
+            // Las decisiones llegan por la red, no de una estrategia local
+            this.jugador = new JugadorApostador("Asiento " + numero, billetera, SIN_ESTRATEGIA);
+        }
+    }
+
+    private static final Estrategia SIN_ESTRATEGIA = (estado, visible) -> Estrategia.PLANTARSE;
+
+    private final String nombre;
+    /** Identificador de la mesa en el historial */
+    private final int id;
+    private final ServidorMesas servidor;
+    private final Executor ejecutor;
+    private final Mazo mazo;
+    private final Crupier crupier = new Crupier();
+    private final List<Asiento> asientos = new ArrayList<>(1);
+
+    private final Queue<Runnable> buzon = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean programada = new AtomicBoolean();
+
+    private boolean rondaEnCurso;
+    private long ronda;
+    /** Historial de la ronda en curso, o null si no se guardan las manos */
+    private EscritorHistorial historial;
+    /** Índice en asientos de quien tiene el turno, o -1 */
+    private int turno = -1;
+    /** Cambia con cada turno o carta, para reconocer vencimientos viejos */
+    private long plazo;
+    /** Vencimiento del turno o de las apuestas en curso, o null */
+    private ScheduledFuture<?> limite;
+    private int proximoNumero;
+    private boolean cerrada;
+
+    Mesa(String nombre, int id, ServidorMesas servidor, Executor ejecutor, int mazos) {
+        this.nombre = nombre;
+        this.id = id;
+        this.servidor = servidor;
+        this.ejecutor = ejecutor;
+        this.mazo = new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, servidor.generadorMesa());
+    }
+
+    // === BUZÓN ===
+
+    /**
+     * Encola una acción para que la mesa la procese en su turno. Puede
+     * llamarse desde cualquier hilo.
+     */
+    void enviar(Runnable accion) {
+        buzon.add(accion);
+        if (programada.compareAndSet(false, true)) {
+            programarProceso();
+        }
+    }
+
+    private void programarProceso() {
+        try {
+            ejecutor.execute(this::procesar);
+        } catch (RejectedExecutionException e) {
+            // El servidor se cerró: las conexiones que siguen vivas ya no tienen mesa
+        }
+    }
+
+    private void procesar() {
+        Runnable accion;
+        int procesadas = 0;
+        while (procesadas < ACCIONES_POR_TURNO && (accion = buzon.poll()) != null) {
+            try {
+                accion.run();
+            } catch (RuntimeException e) {
+                // Una acción que falla no puede dejar la mesa sin procesar las siguientes
+                System.err.println("Error en la mesa " + nombre + ": " + e);
+            }
+            procesadas++;
+        }
+        programada.set(false);
+        // Si llegó algo entre el último poll y el set, alguien tiene que programarlo
+        if (!buzon.isEmpty() && programada.compareAndSet(false, true)) {
+            programarProceso();
+        }
+    }
+
+    // === ACCIONES (SÓLO EN EL TURNO DE LA MESA) ===
+
+    /**
+     * Sienta una conexión en la mesa.
+     *
+     * @param billetera Billetera del jugador, quizá compartida con otras mesas
+     * @return El asiento, o null si la mesa ya se cerró y hay que buscar otra
+     */
+    Asiento sentar(Conexion conexion, Billetera billetera) {
+        if (cerrada) {
+            return null;
+        }
+        Asiento asiento = new Asiento(conexion, ++proximoNumero, billetera);
+        asientos.add(asiento);
+        conexion.enviar(Protocolo.SENTADO + " " + asiento.numero + " " + asiento.jugador.getDinero());
+        return asiento;
+    }
+
+    void apostar(Asiento asiento, int monto) {
+        if (asiento.aposto) {
+            asiento.conexion.enviar(Protocolo.ERROR + " YA_APOSTO");
+            return;
+        }
+        if (monto <= 0) {
+            asiento.conexion.enviar(Protocolo.ERROR + " APUESTA_INVALIDA");
+            return;
+        }
+        Reserva reserva = asiento.jugador.getBilletera().reservar(monto);
+        if (reserva == null) {
+            asiento.conexion.enviar(Protocolo.ERROR + " SALDO_INSUFICIENTE");
+            return;
+        }
+        asiento.apuesta = monto;
+        asiento.reserva = reserva;
+        asiento.aposto = true;
+        esperarApuestas();
+    }
+
+    void pedir(Asiento asiento) {
+        if (!esSuTurno(asiento)) {
+            return;
+        }
+        asiento.registro.decision(Estrategia.PEDIR);
+        int codigo = mazo.repartirCodigo();
+        asiento.jugador.recibirCodigo(codigo);
+        int puntos = asiento.jugador.calcularPuntos();
+        asiento.conexion.enviar(Protocolo.CARTA + " " + Protocolo.carta(codigo) + " PUNTOS " + puntos);
+        if (puntos >= 21) {
+            avanzarTurno();  // Al pasarse o llegar a 21 el turno termina solo
+        } else {
+            asiento.conexion.enviar(Protocolo.TURNO + " " + puntos);
+            programarTurno(asiento);
+        }
+    }
+
+    void plantarse(Asiento asiento) {
+        if (esSuTurno(asiento)) {
+            asiento.registro.decision(Estrategia.PLANTARSE);
+            avanzarTurno();
+        }
+    }
+
+    /**
+     * Quita un asiento de la mesa. Si era su turno, se planta; si la mesa
+     * queda vacía, se cierra y el servidor la olvida.
+     */
+    void levantar(Asiento asiento) {
+        int indice = asientos.indexOf(asiento);
+        if (indice < 0) {
+            return;
+        }
+        boolean eraSuTurno = indice == turno;
+        asientos.remove(indice);
+        if (asiento.aposto) {
+            // Sin mano repartida se devuelve la apuesta; con la mano en juego se pierde
+            if (asiento.jugando) {
+                asiento.reserva.liquidar(0);
+            } else {
+                asiento.reserva.anular();
+            }
+        }
+        if (turno > indice) {
+            turno--;
+        }
+        if (asientos.isEmpty()) {
+            cerrada = true;
+            rondaEnCurso = false;
+            turno = -1;
+            cancelarLimite();
+            servidor.olvidar(nombre, this);
+            return;
+        }
+        if (eraSuTurno) {
+            turno--;  // avanzarTurno busca desde el siguiente
+            avanzarTurno();
+        } else {
+            esperarApuestas();
+        }
+    }
+
+    // === TIEMPOS ===
+
+    /**
+     * Da al asiento el tiempo de un turno, reemplazando el vencimiento anterior.
+     */
+    private void programarTurno(Asiento asiento) {
+        cancelarLimite();
+        long plazoTurno = plazo;
+        limite = servidor.programar(this, () -> vencerTurno(asiento, plazoTurno));
+    }
+
+    /**
+     * El asiento no actuó a tiempo: se planta solo y el turno pasa al
+     * siguiente. Si el turno ya cambió, no hace nada.
+     */
+    private void vencerTurno(Asiento asiento, long plazoTurno) {
+        if (plazoTurno != plazo || turno < 0 || asientos.get(turno) != asiento) {
+            return;
+        }
+        limite = null;
+        asiento.conexion.enviar(Protocolo.TIEMPO);
+        asiento.registro.decision(Estrategia.PLANTARSE);
+        avanzarTurno();
+    }
+
+    /**
+     * Sin ronda en curso, la empieza si todos apostaron; si apostaron sólo
+     * algunos, los demás tienen el tiempo de un turno para hacerlo.
+     */
+    private void esperarApuestas() {
+        if (rondaEnCurso) {
+            return;
+        }
+        if (todosApostaron()) {
+            iniciarRonda();
+        } else if (limite == null && algunoAposto()) {
+            long plazoApuestas = plazo;
+            limite = servidor.programar(this, () -> vencerApuestas(plazoApuestas));
+        }
+    }
+
+    /**
+     * Venció el tiempo para apostar: juegan los que apostaron.
+     */
+    private void vencerApuestas(long plazoApuestas) {
+        if (plazoApuestas != plazo || rondaEnCurso || cerrada) {
+            return;
+        }
+        limite = null;
+        if (algunoAposto()) {
+            iniciarRonda();
+        }
+    }
+
+    private void cancelarLimite() {
+        plazo++;
+        if (limite != null) {
+            limite.cancel(false);
+            limite = null;
+        }
+    }
+
+    // === RONDA ===
+
+    private boolean todosApostaron() {
+        for (Asiento asiento : asientos) {
+            if (!asiento.aposto) {
+                return false;
+            }
+        }
+        return !asientos.isEmpty();
+    }
+
+    private boolean algunoAposto() {
+        for (Asiento asiento : asientos) {
+            if (asiento.aposto) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean esSuTurno(Asiento asiento) {
+        if (!rondaEnCurso || turno < 0 || asientos.get(turno) != asiento) {
+            asiento.conexion.enviar(Protocolo.ERROR + " NO_ES_TU_TURNO");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reparte una ronda a los asientos que apostaron.
+     */
+    private void iniciarRonda() {
+        cancelarLimite();
+        rondaEnCurso = true;
+        ronda++;
+        historial = servidor.getHistorial();
+        if (mazo.prepararRonda()) {
+            Metricas.global().barajada();
+        }
+        crupier.limpiarMano();
+        for (Asiento asiento : asientos) {
+            asiento.jugador.limpiarMano();
+            asiento.jugando = asiento.aposto;
+            if (asiento.jugando) {
+                asiento.registro.iniciar(ronda, id, asiento.numero, mazo, asiento.apuesta);
+            }
+        }
+
+        // Mismo orden que en la mesa gráfica: jugadores, crupier oculta, jugadores, crupier visible
+        for (Asiento asiento : asientos) {
+            if (asiento.jugando) {
+                asiento.jugador.recibirCodigo(mazo.repartirCodigo());
+            }
+        }
+        crupier.recibirCodigo(mazo.repartirCodigo());
+        for (Asiento asiento : asientos) {
+            if (asiento.jugando) {
+                asiento.jugador.recibirCodigo(mazo.repartirCodigo());
+            }
+        }
+        int visible = mazo.repartirCodigo();
+        crupier.recibirCodigo(visible);
+
+        String textoVisible = Protocolo.carta(visible);
+        for (Asiento asiento : asientos) {
+            if (!asiento.jugando) {
+                continue;
+            }
+            JugadorApostador jugador = asiento.jugador;
+            asiento.conexion.enviar(Protocolo.MANO + " " + Protocolo.carta(jugador.getCodigo(0))
+                + " " + Protocolo.carta(jugador.getCodigo(1)) + " CRUPIER " + textoVisible
+                + " PUNTOS " + jugador.calcularPuntos());
+        }
+        turno = -1;
+        avanzarTurno();
+    }
+
+    /**
+     * Pasa el turno al siguiente asiento que pueda jugar; si no queda
+     * ninguno, juega el crupier y se liquida la ronda. Los asientos que
+     * llegaron con la ronda empezada esperan a la siguiente.
+     */
+    private void avanzarTurno() {
+        cancelarLimite();
+        for (int i = turno + 1; i < asientos.size(); i++) {
+            JugadorApostador jugador = asientos.get(i).jugador;
+            if (asientos.get(i).jugando && !jugador.esBlackjack() && jugador.calcularPuntos() < 21) {
+                turno = i;
+                asientos.get(i).conexion.enviar(Protocolo.TURNO + " " + jugador.calcularPuntos());
+                programarTurno(asientos.get(i));
+                return;
+            }
+        }
+        turno = -1;
+        terminarRonda();
+    }
+
+    private void terminarRonda() {
+        // El crupier sólo juega si alguien quedó plantado sin pasarse ni tener blackjack
+        boolean algunoEnJuego = false;
+        for (Asiento asiento : asientos) {
+            JugadorApostador jugador = asiento.jugador;
+            algunoEnJuego |= asiento.jugando && !jugador.sePaso() && !jugador.esBlackjack();
+        }
+        if (algunoEnJuego) {
+            crupier.jugarTurno(mazo);
+        }
+
+        StringBuilder manoCrupier = new StringBuilder(" CRUPIER");
+        for (int i = 0; i < crupier.getCantidadCartas(); i++) {
+            manoCrupier.append(' ').append(Protocolo.carta(crupier.getCodigo(i)));
+        }
+        manoCrupier.append(" PUNTOS ").append(crupier.calcularPuntos());
+
+        int liquidadas = 0;
+        for (Asiento asiento : asientos) {
+            if (!asiento.jugando) {
+                continue;
+            }
+            liquidadas++;
+            JugadorApostador jugador = asiento.jugador;
+            int resultado = EstadoMano.resultado(jugador.getEstado(), crupier.getEstado());
+            int devolucion = ReglasPago.devolucion(asiento.apuesta, resultado);
+            long saldo = asiento.reserva.liquidar(devolucion);
+            if (historial != null) {
+                asiento.registro.copiarManos(jugador, crupier);
+                asiento.registro.liquidar(resultado, devolucion);
+                historial.escribir(asiento.registro);
+            }
+            asiento.reserva = null;
+            asiento.aposto = false;
+            asiento.jugando = false;
+            asiento.conexion.enviar(Protocolo.FIN + " " + Protocolo.RESULTADOS[resultado] + " " + devolucion
+                + " " + saldo + manoCrupier);
+        }
+        Metricas.global().ronda(liquidadas);
+        rondaEnCurso = false;
+        esperarApuestas();  // Quienes apostaron durante la ronda juegan la siguiente
+    }
+
+    String getNombre() {
+        return nombre;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.servidor;
+
+import com.example.modelo.CodigoCarta;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Textos del protocolo de líneas del servidor de mesas.
+ *
+ * Cada mensaje es una línea de palabras separadas por espacios. Las cartas
+ * se escriben como rango y palo, por ejemplo "AH" o "10S" (los mismos
+ * nombres de las imágenes sin el guion ni la extensión).
+ */
+public final class Protocolo {
+
+    // === COMANDOS DEL CLIENTE ===
+
+    /**
+     * {@code MESA <nombre> [jugador]}: sentarse en una mesa, que se crea si
+     * no existe. Las mesas de un mismo jugador comparten su saldo.
+     */
+    public static final String MESA = "MESA";
+
+    /** {@code APUESTA <monto>}: apostar para la próxima ronda */
+    public static final String APUESTA = "APUESTA";
+
+    /** {@code PEDIR}: pedir una carta en el turno propio */
+    public static final String PEDIR = "PEDIR";
+
+    /** {@code PLANTARSE}: terminar el turno propio */
+    public static final String PLANTARSE = "PLANTARSE";
+
+    /** {@code SALIR}: dejar la mesa y cerrar la conexión */
+    public static final String SALIR = "SALIR";
+
+    // === MENSAJES DEL SERVIDOR ===
+
+    /** {@code SENTADO <asiento> <saldo>} */
+    public static final String SENTADO = "SENTADO";
+
+    /** {@code MANO <carta> <carta> CRUPIER <carta visible> PUNTOS <puntos>} */
+    public static final String MANO = "MANO";
+
+    /** {@code TURNO <puntos>}: es el turno del asiento */
+    public static final String TURNO = "TURNO";
+
+    /** {@code CARTA <carta> PUNTOS <puntos>} */
+    public static final String CARTA = "CARTA";
+
+    /** {@code FIN <resultado> <devolución> <saldo> CRUPIER <cartas...> PUNTOS <puntos>} */
+    public static final String FIN = "FIN";
+
+    /** {@code TIEMPO}: se acabó el tiempo del turno y el asiento se plantó */
+    public static final String TIEMPO = "TIEMPO";
+
+    /** {@code ADIOS}: respuesta a SALIR */
+    public static final String ADIOS = "ADIOS";
+
+    /** {@code ERROR <motivo>} */
+    public static final String ERROR = "ERROR";
+
+    /** Texto de cada resultado, en el orden de las constantes de ReglasPago */
+    static final String[] RESULTADOS = {"PIERDE", "EMPATE", "GANA", "BLACKJACK"};
+
+    private static final String[] TEXTOS = new String[CodigoCarta.CARTAS_POR_MAZO];
+    private static final Map<String, Integer> CODIGOS = new HashMap<>();
+
+    static {
+        for (int codigo = 0; codigo < CodigoCarta.CARTAS_POR_MAZO; codigo++) {
+            String archivo = CodigoCarta.carta(codigo).getNombreArchivo();
+            TEXTOS[codigo] = archivo.substring(0, archivo.indexOf('.')).replace("-", "");
+            CODIGOS.put(TEXTOS[codigo], codigo);
+        }
+    }
+
+    private Protocolo() {
+    }
+
+    /**
+     * Texto de una carta, por ejemplo "AH".
+     */
+    public static String carta(int codigo) {
+        return TEXTOS[codigo];
+    }
+
+    /**
+     * Código de una carta a partir de su texto.
+     *
+     * @throws IllegalArgumentException Si el texto no es una carta
+     */
+    public static int codigo(String texto) {
+        Integer codigo = CODIGOS.get(texto);
+        if (codigo == null) {
+            throw new IllegalArgumentException("Carta desconocida: " + texto);
+        }
+        return codigo;
+    }
+
+    /**
+     * Resultado según ReglasPago a partir de su texto en un mensaje FIN.
+     */
+    public static int resultado(String texto) {
+        for (int i = 0; i < RESULTADOS.length; i++) {
+            if (RESULTADOS[i].equals(texto)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Resultado desconocido: " + texto);
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.servidor;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.aleatorio.GeneradorSeguro;
+import com.example.banca.Banca;
+import com.example.banca.Billetera;
+import com.example.historial.EscritorHistorial;
+import com.example.metricas.VolcadoMetricas;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor sin interfaz gráfica que hospeda muchas mesas de Blackjack en
+ * una misma JVM.
+ *
+ * Cada mesa tiene su zapato, su crupier y sus asientos, y procesa sus
+ * acciones como un actor (ver {@link Mesa}) sobre un ejecutor acotado con
+ * un hilo por núcleo. Cada conexión tiene un hilo propio que espera sus
+ * comandos; si la plataforma tiene hilos virtuales se usan esos, y si no,
+ * hilos de plataforma con una pila reducida.
+ *
+ * Protocolo de líneas sobre TCP, sólo en la interfaz local (ver {@link Protocolo}):
+ * <pre>
+ * Cliente                 Servidor
+ * MESA &lt;nombre&gt; [jugador] SENTADO &lt;asiento&gt; &lt;saldo&gt;
+ * APUESTA &lt;monto&gt;         MANO &lt;carta&gt; &lt;carta&gt; CRUPIER &lt;visible&gt; PUNTOS &lt;puntos&gt;
+ *                         TURNO &lt;puntos&gt;              (cuando le toca)
+ * PEDIR                   CARTA &lt;carta&gt; PUNTOS &lt;puntos&gt;, y TURNO si sigue
+ * PLANTARSE
+ *                         FIN &lt;resultado&gt; &lt;devolución&gt; &lt;saldo&gt; CRUPIER &lt;cartas&gt; PUNTOS &lt;puntos&gt;
+ *                         TIEMPO                      (se le acabó el turno y se plantó)
+ * SALIR                   ADIOS
+ *                         ERROR &lt;motivo&gt;
+ * </pre>
+ * La ronda de una mesa empieza cuando todos sus asientos apostaron, o
+ * cuando pasa el tiempo de turno desde la primera apuesta: los que no
+ * apostaron esperan a la ronda siguiente. En su turno cada asiento tiene
+ * el mismo tiempo para actuar; si no lo hace, se planta solo y la mesa
+ * sigue (ver {@link #setTiempoTurno(long)}). Los vencimientos los lleva un
+ * temporizador aparte que sólo encola la acción en la mesa. Un jugador que
+ * se identifica al sentarse usa la misma {@link Billetera} en todas sus
+ * mesas; uno anónimo recibe una billetera propia por conexión.
+ */
+public class ServidorMesas implements AutoCloseable {
+
+    /** Saldo con el que se abre la billetera de un jugador nuevo */
+    static final long SALDO_INICIAL = 1000;
+
+    /** Pila de los hilos de conexión cuando no hay hilos virtuales */
+    private static final long PILA_CONEXION = 256 * 1024;
+
+    /** Milisegundos por turno y para apostar si no se indica otra cosa */
+    public static final long TIEMPO_TURNO_POR_DEFECTO = 30_000;
+
+    private final int mazos;
+    /** Generador del que se divide el de cada mesa nueva; se usa bajo su propio monitor */
+    private GeneradorAleatorio generador = new GeneradorSeguro();
+    private final ConcurrentMap<String, Mesa> mesas = new ConcurrentHashMap<>();
+    private final Banca banca = new Banca();
+    private final AtomicInteger idsMesas = new AtomicInteger();
+    private volatile EscritorHistorial historial;
+    private final ExecutorService ejecutorMesas;
+    /** Vence los tiempos de turno y de apuesta; sólo encola acciones en las mesas */
+    private final ScheduledExecutorService temporizador;
+    private volatile long tiempoTurno = TIEMPO_TURNO_POR_DEFECTO;
+    private final ThreadFactory fabricaConexiones;
+    private final boolean hilosVirtuales;
+    private final AtomicInteger conexiones = new AtomicInteger();
+    private ServerSocket servidor;
+    private Thread aceptador;
+
+    /**
+     * Crea un servidor con un hilo de mesas por núcleo.
+     *
+     * @param mazos Mazos del zapato de cada mesa
+     */
+    public ServidorMesas(int mazos) {
+        this(mazos, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param mazos Mazos del zapato de cada mesa
+     * @param hilos Hilos del ejecutor donde juegan las mesas
+     */
+    public ServidorMesas(int mazos, int hilos) {
+        this.mazos = mazos;
+        AtomicInteger numero = new AtomicInteger();
+        this.ejecutorMesas = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "mesas-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.temporizador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "tiempos-mesas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ThreadFactory virtuales = fabricaVirtual("conexion-");
+        this.hilosVirtuales = virtuales != null;
+        this.fabricaConexiones = virtuales != null ? virtuales : tarea -> {
+            Thread hilo = new Thread(null, tarea, "conexion-" + conexiones.get(), PILA_CONEXION);
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Fábrica de hilos virtuales, buscada por reflexión para poder compilar
+     * y correr en Java 11.
+     *
+     * @return La fábrica, o null si la plataforma no tiene hilos virtuales
+     */
+    static ThreadFactory fabricaVirtual(String prefijo) {
+        try {
+            Class<?> constructor = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = constructor.getMethod("name", String.class, long.class).invoke(builder, prefijo, 0L);
+            return (ThreadFactory) constructor.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;  // Java anterior a 21, o hilos virtuales en vista previa sin habilitar
+        }
+    }
+
+    /**
+     * Abre el puerto en la interfaz local y empieza a aceptar conexiones.
+     *
+     * @param puerto Puerto TCP, o 0 para elegir uno libre
+     */
+    public ServidorMesas iniciar(int puerto) throws IOException {
+        servidor = new ServerSocket(puerto, 1024, InetAddress.getLoopbackAddress());
+        aceptador = new Thread(this::aceptar, "aceptador-mesas");
+        aceptador.setDaemon(true);
+        aceptador.start();
+        return this;
+    }
+
+    private void aceptar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                conexiones.incrementAndGet();
+                fabricaConexiones.newThread(new Conexion(socket, this)).start();
+            } catch (SocketException e) {
+                return;  // Se cerró el servidor
+            } catch (IOException e) {
+                System.err.println("Error aceptando una conexión: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hilo nuevo para una conexión, del mismo tipo que los que leen: la
+     * conexión escribe sus respuestas desde uno propio.
+     */
+    Thread hiloConexion(Runnable tarea) {
+        return fabricaConexiones.newThread(tarea);
+    }
+
+    /**
+     * Mesa con el nombre dado, que se crea si no existe.
+     */
+    Mesa mesa(String nombre) {
+        return mesas.computeIfAbsent(nombre, n -> new Mesa(n, idsMesas.incrementAndGet(), this, ejecutorMesas, mazos));
+    }
+
+    /**
+     * Generador propio para el zapato de una mesa nueva. Las mesas se crean
+     * desde los hilos de conexión, así que la división se serializa.
+     */
+    synchronized GeneradorAleatorio generadorMesa() {
+        return generador.dividir();
+    }
+
+    /**
+     * Cambia el generador del que se dividen los zapatos de las mesas que
+     * se creen desde ahora. Por defecto es {@link GeneradorSeguro}, porque
+     * en las mesas se juega con saldo; con uno determinista y semilla fija
+     * las pruebas de carga se pueden repetir.
+     */
+    public synchronized void setGenerador(GeneradorAleatorio generador) {
+        this.generador = generador;
+    }
+
+    /**
+     * Programa una acción para una mesa después del tiempo de turno.
+     *
+     * @return El vencimiento, o null si no hay límite de tiempo o el servidor ya se cerró
+     */
+    ScheduledFuture<?> programar(Mesa mesa, Runnable accion) {
+        long milis = tiempoTurno;
+        if (milis == 0) {
+            return null;
+        }
+        try {
+            return temporizador.schedule(() -> mesa.enviar(accion), milis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // El servidor se cerró mientras la mesa terminaba lo que tenía en el buzón
+            return null;
+        }
+    }
+
+    /**
+     * Cambia el tiempo que tiene cada asiento para actuar en su turno, y
+     * el que esperan los demás a que apueste. Se aplica desde el próximo turno.
+     *
+     * @param milis Milisegundos, o 0 para esperar sin límite
+     */
+    public void setTiempoTurno(long milis) {
+        if (milis < 0) {
+            throw new IllegalArgumentException("Tiempo de turno inválido: " + milis);
+        }
+        this.tiempoTurno = milis;
+    }
+
+    /**
+     * Quita una mesa que quedó vacía, si sigue registrada con ese nombre.
+     */
+    void olvidar(String nombre, Mesa mesa) {
+        mesas.remove(nombre, mesa);
+    }
+
+    /**
+     * Billetera del jugador, o una nueva sin registrar si es anónimo.
+     *
+     * @param jugador Nombre del jugador, o null
+     */
+    Billetera billetera(String jugador) {
+        return jugador != null ? banca.abrir(jugador, SALDO_INICIAL) : banca.anonima(SALDO_INICIAL);
+    }
+
+    /**
+     * Guarda cada mano de todas las mesas en el historial dado, desde la
+     * próxima ronda de cada una.
+     *
+     * @param historial El historial, o null para no guardar las manos
+     */
+    public void setHistorial(EscritorHistorial historial) {
+        this.historial = historial;
+    }
+
+    EscritorHistorial getHistorial() {
+        return historial;
+    }
+
+    public Banca getBanca() {
+        return banca;
+    }
+
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    public int getMesasAbiertas() {
+        return mesas.size();
+    }
+
+    /**
+     * Indica si las conexiones corren en hilos virtuales.
+     */
+    public boolean usaHilosVirtuales() {
+        return hilosVirtuales;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (servidor != null) {
+            servidor.close();
+        }
+        temporizador.shutdownNow();
+        ejecutorMesas.shutdown();
+        try {
+            ejecutorMesas.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Inicia el servidor desde la línea de comandos.
+     *
+     * Uso: {@code ServidorMesas [puerto] [mazos]}; con
+     * {@code -Dunblackjack.historial=<directorio>} se guarda el historial de manos
+     * y con {@code -Dunblackjack.generador=<splitmix|xoshiro|seguro>} (y
+     * opcionalmente {@code -Dunblackjack.semilla=<n>}) se elige el generador
+     * de los zapatos; {@code -Dunblackjack.tiempo=<ms>} cambia el tiempo de
+     * turno (0 es sin límite). Las métricas se publican por JMX y, con
+     * {@code -Dunblackjack.metricas.volcado=<segundos>}, también por consola.
+     */
+    public static void main(String[] args) throws Exception {
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        int mazos = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+
+        ServidorMesas servidor = new ServidorMesas(mazos);
+        servidor.setTiempoTurno(Long.getLong("unblackjack.tiempo", TIEMPO_TURNO_POR_DEFECTO));
+        String nombreGenerador = System.getProperty("unblackjack.generador");
+        if (nombreGenerador != null) {
+            long semilla = Long.getLong("unblackjack.semilla", System.nanoTime());
+            servidor.setGenerador(GeneradorAleatorio.crear(nombreGenerador, semilla));
+        }
+        String directorio = System.getProperty("unblackjack.historial");
+        if (directorio != null) {
+            EscritorHistorial historial = new EscritorHistorial(Paths.get(directorio));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    historial.close();
+                } catch (IOException e) {
+                    System.err.println("No se pudo cerrar el historial: " + e.getMessage());
+                }
+            }));
+            servidor.setHistorial(historial);
+        }
+        VolcadoMetricas.configurar();
+        servidor.iniciar(puerto);
+        System.out.println("Servidor de mesas en el puerto " + servidor.getPuerto()
+            + (servidor.usaHilosVirtuales() ? " (hilos virtuales)" : " (hilos de plataforma)"));
+        Thread.currentThread().join();  // El servidor sigue hasta que se corte el proceso
+    }
+}
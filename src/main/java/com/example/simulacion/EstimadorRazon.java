@@ -0,0 +1,99 @@
+package com.example.simulacion;
+
+/**
+ * Media y varianza corrientes (Welford) de un cociente de sumas, como la
+ * ganancia por unidad apostada: cada muestra aporta una ganancia y las
+ * unidades apostadas para lograrla, y la estimación es la suma de las
+ * ganancias sobre la suma de las unidades.
+ *
+ * Las muestras tienen distinto tamaño (un zapato juega más o menos manos,
+ * con apuestas variables), así que el error estándar sale del método delta
+ * sobre las medias y la covarianza de ganancias y unidades. Las varianzas
+ * se actualizan de a una muestra, sin guardar las sumas de cuadrados
+ * crudas, para no perder precisión en corridas largas. Dos estimadores
+ * llenados por separado se juntan con {@link #combinar(EstimadorRazon)}.
+ */
+public final class EstimadorRazon {
+
+    private long muestras;
+    private double mediaGanancia;
+    private double mediaUnidades;
+    /** Sumas de productos de desvíos respecto de las medias */
+    private double m2Ganancia;
+    private double m2Unidades;
+    private double coGananciaUnidades;
+
+    /**
+     * Suma una muestra.
+     *
+     * @param ganancia Ganancia de la muestra en unidades
+     * @param unidades Unidades apostadas en la muestra
+     */
+    public void agregar(double ganancia, double unidades) {
+        muestras++;
+        double dg = ganancia - mediaGanancia;
+        double du = unidades - mediaUnidades;
+        mediaGanancia += dg / muestras;
+        mediaUnidades += du / muestras;
+        m2Ganancia += dg * (ganancia - mediaGanancia);
+        m2Unidades += du * (unidades - mediaUnidades);
+        coGananciaUnidades += dg * (unidades - mediaUnidades);
+    }
+
+    /**
+     * Suma las muestras de otro estimador a este, como si se hubieran
+     * agregado aquí.
+     *
+     * @return Este mismo estimador, para encadenar
+     */
+    public EstimadorRazon combinar(EstimadorRazon otro) {
+        if (otro.muestras == 0) {
+            return this;
+        }
+        long total = muestras + otro.muestras;
+        double peso = (double) muestras * otro.muestras / total;
+        double dg = otro.mediaGanancia - mediaGanancia;
+        double du = otro.mediaUnidades - mediaUnidades;
+        m2Ganancia += otro.m2Ganancia + dg * dg * peso;
+        m2Unidades += otro.m2Unidades + du * du * peso;
+        coGananciaUnidades += otro.coGananciaUnidades + dg * du * peso;
+        mediaGanancia += dg * otro.muestras / total;
+        mediaUnidades += du * otro.muestras / total;
+        muestras = total;
+        return this;
+    }
+
+    public long getMuestras() {
+        return muestras;
+    }
+
+    /**
+     * Ganancia por unidad apostada.
+     */
+    public double getRazon() {
+        return mediaUnidades == 0 ? 0.0 : mediaGanancia / mediaUnidades;
+    }
+
+    /**
+     * Error estándar de {@link #getRazon()}, o infinito con menos de dos muestras.
+     */
+    public double getErrorEstandar() {
+        if (muestras < 2 || mediaUnidades == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double razon = getRazon();
+        double varianza = (m2Ganancia - 2 * razon * coGananciaUnidades + razon * razon * m2Unidades)
+            / (muestras - 1);
+        return Math.sqrt(Math.max(0, varianza) / muestras) / mediaUnidades;
+    }
+
+    /**
+     * Varianza de la ganancia por unidad apostada, repartida por unidad:
+     * el error estándar al cuadrado por las unidades apostadas. Sirve para
+     * comparar métodos que jugaron cantidades distintas.
+     */
+    public double getVarianzaPorUnidad() {
+        double error = getErrorEstandar();
+        return error * error * mediaUnidades * muestras;
+    }
+}
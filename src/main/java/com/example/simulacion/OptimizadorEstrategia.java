@@ -0,0 +1,635 @@
+package com.example.simulacion;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.aleatorio.GeneradorSplitMix;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.ReglasPago;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Busca la tabla de pedir o plantarse con mayor valor esperado, con el
+ * crupier jugando como en {@code Crupier.jugarTurno}.
+ *
+ * Cada celda de la tabla (total duro de 4 a 20 o blando de 12 a 20, por
+ * valor visible del crupier) es una candidata a cambiar. En cada pasada se
+ * juegan manos con la tabla actual y, cada vez que una mano consulta una
+ * celda, se vuelve a jugar desde la misma posición del zapato con esa
+ * celda cambiada. Así todas las candidatas se comparan sobre exactamente
+ * las mismas cartas (números aleatorios comunes): la diferencia de una mano
+ * es cero salvo que pase por la celda, y la varianza de la comparación es
+ * mucho menor que la de dos simulaciones independientes.
+ *
+ * Las manos se juegan por lotes en un pool de fork-join. Después de cada
+ * lote, una celda queda decidida cuando el intervalo de confianza de su
+ * diferencia deja de contener el cero; la pasada termina cuando todas
+ * están decididas o se llega al máximo de manos. Al terminar se cambian
+ * las celdas que resultaron mejores y se empieza otra pasada, hasta que
+ * ninguna mejora.
+ *
+ * Después de cada lote se puede guardar un punto de control (ver
+ * {@link #setPuntoControl(Path)}); {@link #cargar(Path)} sigue desde ahí.
+ * Los generadores de cada lote salen de la semilla, la pasada y el número
+ * de lote, así que una corrida reanudada da el mismo resultado que una
+ * sin cortes, con cualquier cantidad de hilos.
+ */
+public class OptimizadorEstrategia {
+
+    /** Filas de la tabla: duros de 4 a 20 y blandos de 12 a 20; con 21 el jugador se planta solo */
+    private static final int DURO_MINIMO = 4;
+    private static final int DUROS = 21 - DURO_MINIMO;
+    private static final int BLANDO_MINIMO = 12;
+    private static final int BLANDOS = 21 - BLANDO_MINIMO;
+
+    /** Cantidad de celdas candidatas */
+    public static final int CELDAS = (DUROS + BLANDOS) * CodigoCarta.VALORES_DISTINTOS;
+
+    /** Fila de cada estado de mano, o -1 si en ese estado no se decide */
+    private static final int[] FILA = new int[EstadoMano.ESTADOS];
+
+    /** Ganancia en medias apuestas de cada resultado */
+    private static final int[] NETO = new int[4];
+
+    /** Porciones fijas de cada lote, para que el resultado no dependa de los hilos */
+    private static final int PORCIONES = 16;
+
+    /** Veces que una celda tiene que aparecer antes de poder decidirla */
+    private static final long VISITAS_MINIMAS = 200;
+
+    /** Orden de las columnas en el texto de la tabla: 2..10 y el As */
+    private static final int[] VALOR_COLUMNA = {1, 2, 3, 4, 5, 6, 7, 8, 9, 0};
+
+    static {
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            int total = EstadoMano.total(estado);
+            FILA[estado] = -1;
+            if (EstadoMano.cartas(estado) >= 2 && total < 21) {
+                if (!EstadoMano.esBlanda(estado) && total >= DURO_MINIMO) {
+                    FILA[estado] = total - DURO_MINIMO;
+                } else if (EstadoMano.esBlanda(estado) && total >= BLANDO_MINIMO) {
+                    FILA[estado] = DUROS + total - BLANDO_MINIMO;
+                }
+            }
+        }
+        for (int res = 0; res < NETO.length; res++) {
+            NETO[res] = ReglasPago.netoMediasApuestas(res);
+        }
+    }
+
+    // === CONFIGURACIÓN ===
+
+    private final int mazos;
+    private final double penetracion;
+    private final long semilla;
+    private double confianza = 3.0;
+    private long manosPorLote = 4L << 20;
+    private long maximoManosPorPasada = 64L << 20;
+    private int maximoPasadas = 20;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private Path puntoControl;
+    private PrintStream registro;
+
+    // === ESTADO DE LA BÚSQUEDA ===
+
+    /** Decisión actual de cada celda: {@link Estrategia#PEDIR} o {@link Estrategia#PLANTARSE} */
+    private final byte[] decisiones = new byte[CELDAS];
+    private int pasada;
+    /** Lotes jugados en la pasada actual */
+    private int lote;
+    private boolean terminado;
+    private Acumulado acumulado = new Acumulado();
+
+    /**
+     * @param mazos       Cantidad de mazos en el zapato (1 a 8)
+     * @param penetracion Fracción del zapato repartida antes de barajar (0 a 1)
+     * @param semilla     Semilla de la que salen todos los lotes
+     * @param inicial     Tabla desde la que empieza la búsqueda
+     */
+    public OptimizadorEstrategia(int mazos, double penetracion, long semilla, Estrategia inicial) {
+        if (mazos < 1 || mazos > 8) {
+            throw new IllegalArgumentException("Cantidad de mazos inválida: " + mazos);
+        }
+        if (penetracion <= 0 || penetracion > 1) {
+            throw new IllegalArgumentException("Penetración inválida: " + penetracion);
+        }
+        this.mazos = mazos;
+        this.penetracion = penetracion;
+        this.semilla = semilla;
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            if (FILA[estado] >= 0) {
+                for (int valor = 0; valor < CodigoCarta.VALORES_DISTINTOS; valor++) {
+                    decisiones[FILA[estado] * CodigoCarta.VALORES_DISTINTOS + valor] =
+                        (byte) inicial.decidir(estado, valor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ancho del intervalo de confianza en errores estándar (por defecto 3).
+     */
+    public void setConfianza(double confianza) {
+        this.confianza = confianza;
+    }
+
+    public void setManosPorLote(long manosPorLote) {
+        this.manosPorLote = manosPorLote;
+    }
+
+    /**
+     * Manos tras las cuales una pasada termina aunque queden celdas sin
+     * decidir; esas celdas se quedan como están.
+     */
+    public void setMaximoManosPorPasada(long maximoManosPorPasada) {
+        this.maximoManosPorPasada = maximoManosPorPasada;
+    }
+
+    public void setMaximoPasadas(int maximoPasadas) {
+        this.maximoPasadas = maximoPasadas;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Archivo donde se guarda el estado después de cada lote, o null para no guardarlo.
+     */
+    public void setPuntoControl(Path puntoControl) {
+        this.puntoControl = puntoControl;
+    }
+
+    /**
+     * Dónde escribir una línea de progreso por lote, o null para no escribir nada.
+     */
+    public void setRegistro(PrintStream registro) {
+        this.registro = registro;
+    }
+
+    // === BÚSQUEDA ===
+
+    /**
+     * Busca hasta que ninguna celda mejora o se llega al máximo de pasadas.
+     * Si el optimizador viene de un punto de control, sigue desde ahí.
+     *
+     * @return La mejor tabla encontrada
+     * @throws IOException Si no se puede guardar el punto de control
+     */
+    public EstrategiaTabla optimizar() throws IOException {
+        while (!terminado) {
+            byte[] decididas = decididas();
+            Acumulado parcial = pool.invoke(new TareaLote(0, PORCIONES, decididas));
+            acumulado.combinar(parcial);
+            lote++;
+
+            decididas = decididas();
+            int pendientes = 0;
+            for (byte decidida : decididas) {
+                pendientes += decidida == 0 ? 1 : 0;
+            }
+            if (registro != null) {
+                registro.printf("pasada %d, lote %d: %,d manos, EV %+.5f +/- %.5f, %d celdas sin decidir%n",
+                    pasada, lote, acumulado.manos, getValorEsperado(), confianza * getErrorEstandar(), pendientes);
+            }
+            if (pendientes == 0 || acumulado.manos >= maximoManosPorPasada) {
+                terminarPasada();
+            }
+            if (puntoControl != null) {
+                guardar(puntoControl);
+            }
+        }
+        return getTabla();
+    }
+
+    /**
+     * Cambia las celdas que resultaron mejores y empieza otra pasada, o
+     * termina si no hubo ninguna.
+     */
+    private void terminarPasada() {
+        int cambios = 0;
+        for (int celda = 0; celda < CELDAS; celda++) {
+            if (acumulado.suma[celda] > 0 && separada(celda)) {
+                decisiones[celda] ^= 1;
+                cambios++;
+                if (registro != null) {
+                    registro.printf("  %s contra %s: %s (%+.5f por mano)%n", nombreFila(celda / CodigoCarta.VALORES_DISTINTOS),
+                        nombreValor(celda % CodigoCarta.VALORES_DISTINTOS),
+                        decisiones[celda] == Estrategia.PEDIR ? "pedir" : "plantarse",
+                        acumulado.suma[celda] / 2.0 / acumulado.manos);
+                }
+            }
+        }
+        pasada++;
+        lote = 0;
+        acumulado = new Acumulado();
+        terminado = cambios == 0 || pasada >= maximoPasadas;
+    }
+
+    /**
+     * Para cada celda, 1 si ya se sabe si conviene cambiarla.
+     */
+    private byte[] decididas() {
+        byte[] decididas = new byte[CELDAS];
+        for (int celda = 0; celda < CELDAS; celda++) {
+            decididas[celda] = (byte) (separada(celda) ? 1 : 0);
+        }
+        return decididas;
+    }
+
+    /**
+     * Si el intervalo de confianza de la diferencia de una celda ya no contiene el cero.
+     * Una celda que nunca cambió el resultado de una mano también está decidida.
+     */
+    private boolean separada(int celda) {
+        long n = acumulado.manos;
+        if (acumulado.visitas[celda] < VISITAS_MINIMAS) {
+            return false;
+        }
+        double media = (double) acumulado.suma[celda] / n;
+        double varianza = (double) acumulado.cuadrados[celda] / n - media * media;
+        return varianza <= 0 || Math.abs(media) > confianza * Math.sqrt(varianza / n);
+    }
+
+    // === RESULTADOS ===
+
+    /**
+     * Tabla con las decisiones actuales; las filas de 21 se plantan.
+     */
+    public EstrategiaTabla getTabla() {
+        StringBuilder texto = new StringBuilder();
+        for (int fila = 0; fila < DUROS + BLANDOS; fila++) {
+            texto.append(nombreFila(fila));
+            for (int columna : VALOR_COLUMNA) {
+                texto.append(' ').append(decisiones[fila * CodigoCarta.VALORES_DISTINTOS + columna] == Estrategia.PEDIR ? 'P' : 'Q');
+            }
+            texto.append('\n');
+        }
+        texto.append("D21 Q Q Q Q Q Q Q Q Q Q\nB21 Q Q Q Q Q Q Q Q Q Q\n");
+        return EstrategiaTabla.leer(texto.toString());
+    }
+
+    public int getPasada() {
+        return pasada;
+    }
+
+    public boolean isTerminado() {
+        return terminado;
+    }
+
+    /**
+     * Valor esperado por mano de la tabla actual en la pasada en curso.
+     */
+    public double getValorEsperado() {
+        return acumulado.manos == 0 ? 0 : acumulado.sumaActual / 2.0 / acumulado.manos;
+    }
+
+    public double getErrorEstandar() {
+        long n = acumulado.manos;
+        if (n == 0) {
+            return 0;
+        }
+        double media = (double) acumulado.sumaActual / n;
+        double varianza = (double) acumulado.cuadradosActual / n - media * media;
+        return Math.sqrt(Math.max(0, varianza) / n) / 2.0;
+    }
+
+    private static String nombreFila(int fila) {
+        return fila < DUROS ? "D" + (fila + DURO_MINIMO) : "B" + (fila - DUROS + BLANDO_MINIMO);
+    }
+
+    private static String nombreValor(int valor) {
+        return valor == 0 ? "A" : String.valueOf(valor + 1);
+    }
+
+    // === SIMULACIÓN ===
+
+    /**
+     * Sumas de una pasada: las de la tabla actual y, por celda, las de la
+     * diferencia entre cambiarla y no cambiarla, en medias apuestas.
+     */
+    static final class Acumulado {
+        long manos;
+        long sumaActual;
+        long cuadradosActual;
+        final long[] suma = new long[CELDAS];
+        final long[] cuadrados = new long[CELDAS];
+        final long[] visitas = new long[CELDAS];
+
+        Acumulado combinar(Acumulado otro) {
+            manos += otro.manos;
+            sumaActual += otro.sumaActual;
+            cuadradosActual += otro.cuadradosActual;
+            for (int celda = 0; celda < CELDAS; celda++) {
+                suma[celda] += otro.suma[celda];
+                cuadrados[celda] += otro.cuadrados[celda];
+                visitas[celda] += otro.visitas[celda];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Divide las porciones de un lote a la mitad hasta quedar con una.
+     */
+    private class TareaLote extends RecursiveTask<Acumulado> {
+        private static final long serialVersionUID = 1L;
+
+        private final int desde;
+        private final int hasta;
+        private final byte[] decididas;
+
+        TareaLote(int desde, int hasta, byte[] decididas) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.decididas = decididas;
+        }
+
+        @Override
+        protected Acumulado compute() {
+            if (hasta - desde == 1) {
+                long manos = manosPorLote / PORCIONES + (desde < manosPorLote % PORCIONES ? 1 : 0);
+                GeneradorAleatorio rand = new GeneradorSplitMix(mezclar(semilla, pasada, lote, desde));
+                return new Jugador(rand, decisiones, decididas).jugar(manos);
+            }
+            int mitad = (desde + hasta) >>> 1;
+            TareaLote izquierda = new TareaLote(desde, mitad, decididas);
+            izquierda.fork();
+            Acumulado resultado = new TareaLote(mitad, hasta, decididas).compute();
+            return resultado.combinar(izquierda.join());
+        }
+    }
+
+    /**
+     * Semilla de una porción: mezcla de SplitMix64 sobre la semilla y su posición.
+     */
+    private static long mezclar(long semilla, int pasada, int lote, int porcion) {
+        long z = semilla;
+        for (long parte : new long[] {pasada, lote, porcion}) {
+            z += 0x9E3779B97F4A7C15L * (parte + 1);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            z ^= z >>> 31;
+        }
+        return z;
+    }
+
+    /**
+     * Juega las manos de una porción sobre su propio zapato. No vuelve a
+     * barajar a mitad de mano, para que cada repetición vea las mismas
+     * cartas: si una mano agotara el zapato sigue desde el principio, cosa
+     * que con la penetración habitual no ocurre.
+     */
+    private final class Jugador {
+        private final GeneradorAleatorio rand;
+        private final byte[] actuales;
+        private final byte[] decididas;
+        private final byte[] cartas = new byte[mazos * CodigoCarta.CARTAS_POR_MAZO];
+        private final int corte = (int) (cartas.length * penetracion);
+        private int cursor;
+        private int usadas;
+        private int repartidas;
+        /** Celdas que consultó la mano actual con la tabla actual */
+        private final int[] visitadas = new int[32];
+        private int cantidadVisitadas;
+
+        Jugador(GeneradorAleatorio rand, byte[] actuales, byte[] decididas) {
+            this.rand = rand;
+            this.actuales = actuales;
+            this.decididas = decididas;
+            for (int i = 0; i < cartas.length; i++) {
+                cartas[i] = (byte) (i % CodigoCarta.CARTAS_POR_MAZO);
+            }
+            barajar();
+        }
+
+        private void barajar() {
+            for (int i = cartas.length - 1; i > 0; i--) {
+                int j = rand.enteroHasta(i + 1);
+                byte temp = cartas[i];
+                cartas[i] = cartas[j];
+                cartas[j] = temp;
+            }
+            cursor = 0;
+            usadas = 0;
+        }
+
+        private int carta() {
+            int codigo = cartas[cursor];
+            cursor = cursor + 1 == cartas.length ? 0 : cursor + 1;
+            repartidas++;
+            return codigo;
+        }
+
+        Acumulado jugar(long manos) {
+            Acumulado acumulado = new Acumulado();
+            for (long n = 0; n < manos; n++) {
+                if (usadas >= corte) {
+                    barajar();
+                }
+                int inicio = cursor;
+                repartidas = 0;
+                cantidadVisitadas = 0;
+                int actual = mano(-1);
+                int fin = cursor;
+                usadas += repartidas;
+                acumulado.sumaActual += actual;
+                acumulado.cuadradosActual += actual * actual;
+
+                // Las mismas cartas con cada celda consultada cambiada
+                for (int k = 0; k < cantidadVisitadas; k++) {
+                    int celda = visitadas[k];
+                    acumulado.visitas[celda]++;
+                    if (decididas[celda] == 0) {
+                        cursor = inicio;
+                        int diferencia = mano(celda) - actual;
+                        acumulado.suma[celda] += diferencia;
+                        acumulado.cuadrados[celda] += diferencia * diferencia;
+                    }
+                }
+                cursor = fin;
+            }
+            acumulado.manos = manos;
+            return acumulado;
+        }
+
+        /**
+         * Juega una mano desde el cursor actual.
+         *
+         * @param cambiada Celda cuya decisión se invierte, o -1 para jugar
+         *                 con la tabla actual y anotar las celdas consultadas
+         * @return Ganancia en medias apuestas
+         */
+        private int mano(int cambiada) {
+            int jugador = EstadoMano.siguiente(EstadoMano.INICIAL, carta());
+            int crupier = EstadoMano.siguiente(EstadoMano.INICIAL, carta());
+            jugador = EstadoMano.siguiente(jugador, carta());
+            int visible = carta();
+            crupier = EstadoMano.siguiente(crupier, visible);
+            int valorVisible = CodigoCarta.valor(visible);
+
+            if (!EstadoMano.esBlackjack(jugador)) {
+                while (EstadoMano.total(jugador) < 21) {
+                    int celda = FILA[jugador] * CodigoCarta.VALORES_DISTINTOS + valorVisible;
+                    if (cambiada < 0) {
+                        visitadas[cantidadVisitadas++] = celda;
+                    }
+                    int decision = celda == cambiada ? actuales[celda] ^ 1 : actuales[celda];
+                    if (decision != Estrategia.PEDIR) {
+                        break;
+                    }
+                    jugador = EstadoMano.siguiente(jugador, carta());
+                }
+                if (!EstadoMano.sePaso(jugador)) {
+                    while (EstadoMano.crupierPide(crupier)) {
+                        crupier = EstadoMano.siguiente(crupier, carta());
+                    }
+                }
+            }
+            return NETO[EstadoMano.resultado(jugador, crupier)];
+        }
+    }
+
+    // === PUNTO DE CONTROL ===
+
+    /**
+     * Guarda la configuración y el estado de la búsqueda. Escribe en un
+     * archivo temporal y lo mueve encima del anterior, así que un corte a
+     * mitad de escritura deja el punto de control previo intacto.
+     */
+    public void guardar(Path archivo) throws IOException {
+        Properties datos = new Properties();
+        datos.setProperty("mazos", Integer.toString(mazos));
+        datos.setProperty("penetracion", Double.toString(penetracion));
+        datos.setProperty("semilla", Long.toString(semilla));
+        datos.setProperty("confianza", Double.toString(confianza));
+        datos.setProperty("manosPorLote", Long.toString(manosPorLote));
+        datos.setProperty("maximoManosPorPasada", Long.toString(maximoManosPorPasada));
+        datos.setProperty("maximoPasadas", Integer.toString(maximoPasadas));
+        datos.setProperty("pasada", Integer.toString(pasada));
+        datos.setProperty("lote", Integer.toString(lote));
+        datos.setProperty("terminado", Boolean.toString(terminado));
+        datos.setProperty("tabla", getTabla().aTexto());
+        datos.setProperty("manos", Long.toString(acumulado.manos));
+        datos.setProperty("sumaActual", Long.toString(acumulado.sumaActual));
+        datos.setProperty("cuadradosActual", Long.toString(acumulado.cuadradosActual));
+        datos.setProperty("suma", unir(acumulado.suma));
+        datos.setProperty("cuadrados", unir(acumulado.cuadrados));
+        datos.setProperty("visitas", unir(acumulado.visitas));
+
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (Writer escritor = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+            datos.store(escritor, "Punto de control de OptimizadorEstrategia");
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reconstruye un optimizador desde un punto de control; {@link #optimizar()}
+     * sigue con el lote siguiente y vuelve a guardar en el mismo archivo.
+     *
+     * @throws IOException              Si no se puede leer el archivo
+     * @throws IllegalArgumentException Si al archivo le falta algún dato
+     */
+    public static OptimizadorEstrategia cargar(Path archivo) throws IOException {
+        Properties datos = new Properties();
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            datos.load(lector);
+        }
+        OptimizadorEstrategia optimizador = new OptimizadorEstrategia(
+            Integer.parseInt(dato(datos, "mazos")), Double.parseDouble(dato(datos, "penetracion")),
+            Long.parseLong(dato(datos, "semilla")), EstrategiaTabla.leer(dato(datos, "tabla")));
+        optimizador.confianza = Double.parseDouble(dato(datos, "confianza"));
+        optimizador.manosPorLote = Long.parseLong(dato(datos, "manosPorLote"));
+        optimizador.maximoManosPorPasada = Long.parseLong(dato(datos, "maximoManosPorPasada"));
+        optimizador.maximoPasadas = Integer.parseInt(dato(datos, "maximoPasadas"));
+        optimizador.pasada = Integer.parseInt(dato(datos, "pasada"));
+        optimizador.lote = Integer.parseInt(dato(datos, "lote"));
+        optimizador.terminado = Boolean.parseBoolean(dato(datos, "terminado"));
+        Acumulado acumulado = optimizador.acumulado;
+        acumulado.manos = Long.parseLong(dato(datos, "manos"));
+        acumulado.sumaActual = Long.parseLong(dato(datos, "sumaActual"));
+        acumulado.cuadradosActual = Long.parseLong(dato(datos, "cuadradosActual"));
+        separar(dato(datos, "suma"), acumulado.suma);
+        separar(dato(datos, "cuadrados"), acumulado.cuadrados);
+        separar(dato(datos, "visitas"), acumulado.visitas);
+        optimizador.puntoControl = archivo;
+        return optimizador;
+    }
+
+    private static String dato(Properties datos, String clave) {
+        String valor = datos.getProperty(clave);
+        if (valor == null) {
+            throw new IllegalArgumentException("Al punto de control le falta " + clave);
+        }
+        return valor;
+    }
+
+    private static String unir(long[] valores) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < valores.length; i++) {
+            texto.append(i == 0 ? "" : ",").append(valores[i]);
+        }
+        return texto.toString();
+    }
+
+    private static void separar(String texto, long[] destino) {
+        String[] partes = texto.split(",");
+        if (partes.length != destino.length) {
+            throw new IllegalArgumentException("Se esperaban " + destino.length + " valores y hay " + partes.length);
+        }
+        for (int i = 0; i < partes.length; i++) {
+            destino[i] = Long.parseLong(partes[i]);
+        }
+    }
+
+    /**
+     * Optimiza desde la línea de comandos.
+     *
+     * Uso: {@code OptimizadorEstrategia [puntoControl] [semilla] [mazos] [inicial]}
+     *
+     * Si el punto de control existe se reanuda desde él y se ignoran los
+     * demás argumentos. La tabla inicial puede ser "basica", un umbral
+     * numérico (por defecto 17) o la ruta de un archivo de tabla. Al
+     * terminar se imprime la tabla en el formato de {@link EstrategiaTabla}.
+     */
+    public static void main(String[] args) throws IOException {
+        Path archivo = Paths.get(args.length > 0 ? args[0] : "optimizador.properties");
+        OptimizadorEstrategia optimizador;
+        if (Files.exists(archivo)) {
+            optimizador = cargar(archivo);
+            System.out.println("Reanudando desde " + archivo + " (pasada " + optimizador.pasada
+                + ", lote " + optimizador.lote + ")");
+        } else {
+            long semilla = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+            int mazos = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+            String inicial = args.length > 3 ? args[3] : "17";
+            Estrategia estrategia;
+            if (inicial.equals("basica")) {
+                estrategia = EstrategiaTabla.basica();
+            } else if (inicial.matches("\\d+")) {
+                estrategia = EstrategiaTabla.umbral(Integer.parseInt(inicial));
+            } else {
+                estrategia = EstrategiaTabla.cargar(Paths.get(inicial));
+            }
+            optimizador = new OptimizadorEstrategia(mazos, 0.75, semilla, estrategia);
+            optimizador.setPuntoControl(archivo);
+            System.out.println("Optimizando con " + mazos + " mazos desde " + inicial + " (semilla " + semilla + ")");
+        }
+        optimizador.setRegistro(System.out);
+        EstrategiaTabla tabla = optimizador.optimizar();
+        System.out.print(tabla.aTexto());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.simulacion;
+
+/**
+ * Apuesta según la cuenta real del zapato (ver
+ * {@link com.example.modelo.ContadorZapato#getCuentaRealEntera()}): una
+ * unidad mientras la cuenta está por debajo del primer escalón y, desde
+ * cada escalón, las unidades que indica. Es inmutable y la comparten todos
+ * los trabajadores.
+ */
+public final class RampaApuestas {
+
+    /** Rampa de 1 a 8 unidades con Hi-Lo: 2 desde +2, 4 desde +3, 6 desde +4 y 8 desde +5 */
+    public static final RampaApuestas UNO_A_OCHO = leer("2:2,3:4,4:6,5:8");
+
+    /** Cuenta desde la que rige cada escalón, de menor a mayor */
+    private final int[] desde;
+    private final int[] unidades;
+
+    private RampaApuestas(int[] desde, int[] unidades) {
+        this.desde = desde;
+        this.unidades = unidades;
+    }
+
+    /**
+     * Lee una rampa escrita como {@code cuenta:unidades,cuenta:unidades,...},
+     * por ejemplo {@code "2:2,3:4,4:8"}.
+     *
+     * @throws IllegalArgumentException Si el texto no tiene ese formato, las
+     *         cuentas no crecen o alguna apuesta no es positiva
+     */
+    public static RampaApuestas leer(String texto) {
+        String[] escalones = texto.split(",");
+        int[] desde = new int[escalones.length];
+        int[] unidades = new int[escalones.length];
+        for (int i = 0; i < escalones.length; i++) {
+            String[] partes = escalones[i].trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Escalón inválido: " + escalones[i]);
+            }
+            try {
+                desde[i] = Integer.parseInt(partes[0].trim());
+                unidades[i] = Integer.parseInt(partes[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Escalón inválido: " + escalones[i]);
+            }
+            if (unidades[i] <= 0 || (i > 0 && desde[i] <= desde[i - 1])) {
+                throw new IllegalArgumentException("Rampa inválida: " + texto);
+            }
+        }
+        return new RampaApuestas(desde, unidades);
+    }
+
+    /**
+     * Unidades a apostar con la cuenta real dada.
+     */
+    public int apuesta(int cuentaReal) {
+        int apuesta = 1;
+        for (int i = 0; i < desde.length && cuentaReal >= desde[i]; i++) {
+            apuesta = unidades[i];
+        }
+        return apuesta;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < desde.length; i++) {
+            texto.append(i == 0 ? "" : ",").append(desde[i]).append(':').append(unidades[i]);
+        }
+        return texto.toString();
+    }
+}
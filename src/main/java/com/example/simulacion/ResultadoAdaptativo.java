@@ -0,0 +1,75 @@
+package com.example.simulacion;
+
+/**
+ * Resultado de {@link SimuladorAdaptativo}: los conteos de siempre más la
+ * estimación del valor esperado con su error estándar.
+ *
+ * Con variables de control la estimación no es el cociente crudo de
+ * ganancias sobre apuestas sino el corregido por las cartas que salieron,
+ * así que {@link #getValorEsperado()} devuelve ese y
+ * {@link #getValorEsperadoCrudo()} el de los conteos.
+ */
+public class ResultadoAdaptativo extends ResultadoSimulacion {
+
+    final EstimadorRazon estimador = new EstimadorRazon();
+    int modo;
+    double confianza;
+    int lotes;
+
+    /**
+     * Valor esperado estimado por unidad apostada.
+     */
+    @Override
+    public double getValorEsperado() {
+        return estimador.getRazon();
+    }
+
+    /**
+     * Cociente crudo de ganancia sobre unidades apostadas, sin corregir.
+     */
+    public double getValorEsperadoCrudo() {
+        return super.getValorEsperado();
+    }
+
+    public double getErrorEstandar() {
+        return estimador.getErrorEstandar();
+    }
+
+    /**
+     * Mitad del ancho del intervalo de confianza pedido.
+     */
+    public double getPrecision() {
+        return confianza * estimador.getErrorEstandar();
+    }
+
+    /**
+     * Varianza por unidad apostada; menor es mejor a igual costo por mano.
+     */
+    public double getVarianzaPorUnidad() {
+        return estimador.getVarianzaPorUnidad();
+    }
+
+    /**
+     * Muestras independientes del estimador: zapatos, o pares de zapatos con {@link SimuladorAdaptativo#ANTITETICO}.
+     */
+    public long getMuestras() {
+        return estimador.getMuestras();
+    }
+
+    public int getModo() {
+        return modo;
+    }
+
+    public int getLotes() {
+        return lotes;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + String.format(
+            "%nPrecisión: %.5f (%.2f errores estándar), %,d muestras en %d lotes, modo %s"
+          + "%nVarianza por unidad: %.4f, valor esperado crudo %+.5f",
+            getPrecision(), confianza, getMuestras(), lotes, SimuladorAdaptativo.nombreModo(modo),
+            getVarianzaPorUnidad(), getValorEsperadoCrudo());
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.simulacion;
+
+import com.example.modelo.ReglasMesa;
+
+/**
+ * Conteos acumulados de una simulación de Blackjack.
+ *
+ * Cada trabajador llena su propia instancia sin sincronización y al final
+ * los resultados parciales se combinan con {@link #combinar(ResultadoSimulacion)}.
+ *
+ * Hay dos unidades y cada cifra dice cuál usa. Las manos son las iniciales,
+ * una por asiento y ronda, y sobre ellas se miden la apuesta media, la
+ * ganancia por mano y el rendimiento. Las victorias, empates, derrotas,
+ * blackjacks y rendiciones se cuentan por mano liquidada: una mano que se
+ * divide suma una por cada mano que resulta, así que sus porcentajes se
+ * calculan sobre {@link #getManosLiquidadas()} y suman 100. Las unidades
+ * apostadas son las apuestas iniciales, así que el valor esperado incluye
+ * lo que se ganó o perdió doblando y dividiendo.
+ */
+public class ResultadoSimulacion {
+
+    /** Manos iniciales: una por asiento y ronda, antes de dividir */
+    long manos;
+
+    /** Manos ganadas por comparación de puntos o porque el crupier se pasó */
+    long victorias;
+
+    /** Manos empatadas */
+    long empates;
+
+    /** Manos perdidas (incluye cuando el jugador se pasa de 21) */
+    long derrotas;
+
+    /** Blackjacks naturales del jugador */
+    long blackjacks;
+
+    /** Manos rendidas */
+    long rendiciones;
+
+    /** Ganancia neta acumulada en fracciones de unidad (ver ReglasMesa.FRACCIONES_POR_UNIDAD) */
+    long neto;
+
+    /** Unidades apostadas en total; igual a las manos con apuesta fija */
+    long unidadesApostadas;
+
+    /** Nanosegundos de reloj que tomó la simulación completa */
+    long nanos;
+
+    /**
+     * Suma los conteos de otro resultado parcial a este.
+     *
+     * @param otro Resultado parcial de otro trabajador
+     * @return Este mismo resultado, para encadenar
+     */
+    public ResultadoSimulacion combinar(ResultadoSimulacion otro) {
+        manos += otro.manos;
+        victorias += otro.victorias;
+        empates += otro.empates;
+        derrotas += otro.derrotas;
+        blackjacks += otro.blackjacks;
+        rendiciones += otro.rendiciones;
+        neto += otro.neto;
+        unidadesApostadas += otro.unidadesApostadas;
+        return this;
+    }
+
+    /**
+     * Manos iniciales, una por asiento y ronda.
+     */
+    public long getManos() {
+        return manos;
+    }
+
+    /**
+     * Manos liquidadas, contando por separado cada mano que sale de dividir;
+     * es la base de los porcentajes de victorias, empates y derrotas.
+     */
+    public long getManosLiquidadas() {
+        return victorias + empates + derrotas + blackjacks + rendiciones;
+    }
+
+    public long getVictorias() {
+        return victorias;
+    }
+
+    public long getEmpates() {
+        return empates;
+    }
+
+    public long getDerrotas() {
+        return derrotas;
+    }
+
+    public long getBlackjacks() {
+        return blackjacks;
+    }
+
+    public long getRendiciones() {
+        return rendiciones;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getUnidadesApostadas() {
+        return unidadesApostadas;
+    }
+
+    /**
+     * Valor esperado por unidad apostada (negativo = ventaja de la casa).
+     */
+    public double getValorEsperado() {
+        return unidadesApostadas == 0 ? 0.0 : (double) neto / ReglasMesa.FRACCIONES_POR_UNIDAD / unidadesApostadas;
+    }
+
+    /**
+     * Unidades apostadas por mano inicial en promedio; 1 con apuesta fija.
+     */
+    public double getApuestaMedia() {
+        return manos == 0 ? 0.0 : (double) unidadesApostadas / manos;
+    }
+
+    /**
+     * Ganancia neta por mano inicial en unidades, que con apuestas
+     * variables es lo que rinde la rampa completa.
+     */
+    public double getGananciaPorMano() {
+        return manos == 0 ? 0.0 : (double) neto / ReglasMesa.FRACCIONES_POR_UNIDAD / manos;
+    }
+
+    /**
+     * Manos iniciales simuladas por segundo de reloj.
+     */
+    public double getManosPorSegundo() {
+        return nanos == 0 ? 0.0 : manos * 1e9 / nanos;
+    }
+
+    public String toString() {
+        String texto = String.format(
+            "Manos: %,d (%,d liquidadas contando las divididas)%n"
+          + "Victorias: %,d (%.4f%%)%n"
+          + "Empates: %,d (%.4f%%)%n"
+          + "Derrotas: %,d (%.4f%%)%n"
+          + "Blackjacks: %,d (%.4f%%)%n"
+          + "Valor esperado: %+.5f por unidad apostada%n"
+          + "Rendimiento: %,.0f manos/s",
+            manos, getManosLiquidadas(),
+            victorias, porcentaje(victorias),
+            empates, porcentaje(empates),
+            derrotas, porcentaje(derrotas),
+            blackjacks, porcentaje(blackjacks),
+            getValorEsperado(),
+            getManosPorSegundo());
+        if (rendiciones > 0) {
+            texto += String.format("%nRendiciones: %,d (%.4f%%)", rendiciones, porcentaje(rendiciones));
+        }
+        if (unidadesApostadas != manos) {
+            texto += String.format("%nApuesta media: %.3f unidades, ganancia %+.5f unidades por mano inicial",
+                getApuestaMedia(), getGananciaPorMano());
+        }
+        return texto;
+    }
+
+    /**
+     * Porcentaje sobre las manos liquidadas, que con divisiones son más que las iniciales.
+     */
+    private double porcentaje(long cantidad) {
+        long liquidadas = getManosLiquidadas();
+        return liquidadas == 0 ? 0.0 : cantidad * 100.0 / liquidadas;
+    }
+}
@@ -0,0 +1,598 @@
+package com.example.simulacion;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.aleatorio.GeneradorSplitMix;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.ReglasMesa;
+import com.example.modelo.ReglasPago;
+import com.example.modelo.SistemaConteo;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulación que juega hasta alcanzar una precisión pedida en el valor
+ * esperado, en lugar de una cantidad fija de manos.
+ *
+ * Las manos son las de {@link SimuladorMonteCarlo}: mismo orden de reparto,
+ * el crupier pide bajo 17 y el pago sale de {@link ReglasPago} como en
+ * {@code BlackjackControlador.terminarRonda}. La muestra es el zapato
+ * completo, de barajada a barajada, porque las manos de un mismo zapato no
+ * son independientes; un {@link EstimadorRazon} lleva la media y la
+ * varianza de la ganancia por unidad apostada y, después de cada lote,
+ * la simulación se detiene si el intervalo de confianza ya es tan angosto
+ * como se pidió.
+ *
+ * Hay dos reducciones de varianza, que se combinan:
+ * <ul>
+ *   <li>{@link #ANTITETICO}: cada zapato se juega dos veces, la segunda con
+ *   los rangos reflejados (el 2 pasa a ser As, el 3 un K, y así hasta el 8,
+ *   que queda igual). El reflejo de un orden uniforme también es uniforme,
+ *   así que cada mitad del par es un zapato válido, y un zapato bueno para
+ *   el jugador se vuelve malo: la cuenta Hi-Lo queda exactamente con el
+ *   signo cambiado.</li>
+ *   <li>{@link #CONTROL}: a cada carta repartida se le resta lo que se
+ *   esperaba ganar antes de verla, con las tablas de valor de un zapato
+ *   infinito y la composición real del que queda. Para la primera carta,
+ *   la carta oculta, la segunda y la visible, eso es estratificar por la
+ *   mano inicial con los pesos exactos del zapato; se sigue con cada carta
+ *   que piden el jugador y el crupier. Cada término tiene media exactamente
+ *   cero dada la composición, así que la estimación no tiene sesgo, y lo
+ *   que queda de varianza es sólo la diferencia entre el zapato real y el
+ *   infinito.</li>
+ * </ul>
+ *
+ * Como en {@link OptimizadorEstrategia}, los lotes se parten en porciones
+ * fijas con generadores divididos en orden de un generador raíz: la misma
+ * semilla da el mismo resultado con cualquier cantidad de hilos.
+ */
+public class SimuladorAdaptativo {
+
+    /** Sin reducción de varianza: el cociente crudo, zapato por zapato */
+    public static final int NINGUNA = 0;
+
+    /** Pares de zapatos con los rangos reflejados */
+    public static final int ANTITETICO = 1;
+
+    /** Variables de control carta por carta con las tablas del zapato infinito */
+    public static final int CONTROL = 2;
+
+    /** Las dos reducciones juntas */
+    public static final int TODAS = ANTITETICO | CONTROL;
+
+    private static final String[] NOMBRES_MODO = {"ninguna", "antitetico", "control", "todas"};
+
+    /** Porciones fijas de cada lote, para que el resultado no dependa de los hilos */
+    private static final int PORCIONES = 16;
+
+    /** Totales de jugador plantado que indexan la tabla del crupier */
+    private static final int TOTALES = 22;
+
+    /** Rango reflejado: 2↔A, 3↔K, 4↔Q, 5↔J, 6↔10, 7↔9 y el 8 queda */
+    private static final int[] REFLEJO_RANGO = {1, 0, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    /** Código reflejado de cada código, en el mismo palo */
+    private static final byte[] REFLEJO = new byte[CodigoCarta.CARTAS_POR_MAZO];
+
+    /** Valor de juego de cada código */
+    private static final byte[] VALOR = new byte[CodigoCarta.CARTAS_POR_MAZO];
+
+    /** Marca Hi-Lo de cada código, para la cuenta de la rampa */
+    private static final byte[] MARCA = new byte[CodigoCarta.CARTAS_POR_MAZO];
+
+    /** Probabilidad de cada valor en un zapato infinito */
+    private static final double[] PROBABILIDAD = new double[CodigoCarta.VALORES_DISTINTOS];
+
+    static {
+        for (int codigo = 0; codigo < CodigoCarta.CARTAS_POR_MAZO; codigo++) {
+            REFLEJO[codigo] = (byte) CodigoCarta.codificar(CodigoCarta.palo(codigo),
+                REFLEJO_RANGO[CodigoCarta.rango(codigo)]);
+            VALOR[codigo] = (byte) CodigoCarta.valor(codigo);
+            MARCA[codigo] = (byte) SistemaConteo.HI_LO.marca(CodigoCarta.valor(codigo));
+        }
+        for (int rango = 0; rango < CodigoCarta.RANGOS; rango++) {
+            PROBABILIDAD[CodigoCarta.valor(rango)] += 1.0 / CodigoCarta.RANGOS;
+        }
+    }
+
+    private final int mazos;
+    private final double penetracion;
+    private final Estrategia estrategia;
+    private final RampaApuestas rampa;
+    private final ForkJoinPool pool;
+    private int modo = TODAS;
+    private double confianza = 1.96;
+    private int zapatosPorPorcion = 256;
+
+    // === TABLAS DE VALOR DEL ZAPATO INFINITO ===
+    // Ganancia esperada en unidades desde cada punto de la mano, jugando con
+    // la estrategia y cartas con reposición. Sólo se usan como controles.
+
+    /** Crupier en un estado contra un total plantado: CRUPIER[estado * TOTALES + total] */
+    private final double[] crupier = new double[EstadoMano.ESTADOS * TOTALES];
+
+    /** Jugador en un estado, con la oculta y la visible dadas: JUGADOR[(estado * 10 + oculta) * 10 + visible] */
+    private final double[] jugador = new double[EstadoMano.ESTADOS * 100];
+
+    /** Antes de la visible: SIN_VISIBLE[estado * 10 + oculta] */
+    private final double[] sinVisible = new double[EstadoMano.ESTADOS * 10];
+
+    /** Antes de la segunda carta del jugador, por cada segunda carta: SEGUNDA[(primera * 10 + oculta) * 10 + valor] */
+    private final double[] segunda = new double[1000];
+
+    /** Antes de la oculta, por cada oculta: OCULTA[primera * 10 + oculta] */
+    private final double[] oculta = new double[100];
+
+    /** Antes de repartir, por cada primera carta del jugador */
+    private final double[] primera = new double[10];
+
+    /**
+     * @param mazos       Cantidad de mazos en el zapato (1 a 8)
+     * @param penetracion Fracción del zapato repartida antes de barajar (0 a 1)
+     * @param estrategia  Estrategia inmutable del jugador, compartida por todos los hilos
+     * @param rampa       Apuesta según la cuenta real Hi-Lo de cada zapato, o null para apuesta fija
+     * @param pool        Pool donde se reparten las porciones de cada lote
+     */
+    public SimuladorAdaptativo(int mazos, double penetracion, Estrategia estrategia, RampaApuestas rampa,
+                               ForkJoinPool pool) {
+        if (mazos < 1 || mazos > 8) {
+            throw new IllegalArgumentException("Cantidad de mazos inválida: " + mazos);
+        }
+        if (penetracion <= 0 || penetracion > 1) {
+            throw new IllegalArgumentException("Penetración inválida: " + penetracion);
+        }
+        this.mazos = mazos;
+        this.penetracion = penetracion;
+        this.estrategia = estrategia;
+        this.rampa = rampa;
+        this.pool = pool;
+        armarTablas();
+    }
+
+    /**
+     * Reducciones de varianza a usar: {@link #NINGUNA}, {@link #ANTITETICO},
+     * {@link #CONTROL} o {@link #TODAS} (por defecto).
+     */
+    public void setModo(int modo) {
+        if (modo < NINGUNA || modo > TODAS) {
+            throw new IllegalArgumentException("Modo inválido: " + modo);
+        }
+        this.modo = modo;
+    }
+
+    /**
+     * Errores estándar que abarca la precisión pedida (por defecto 1.96, el 95%).
+     */
+    public void setConfianza(double confianza) {
+        this.confianza = confianza;
+    }
+
+    /**
+     * Zapatos (o pares de zapatos) que juega cada porción de un lote; un
+     * lote tiene {@value #PORCIONES} porciones.
+     */
+    public void setZapatosPorPorcion(int zapatosPorPorcion) {
+        this.zapatosPorPorcion = zapatosPorPorcion;
+    }
+
+    public static String nombreModo(int modo) {
+        return NOMBRES_MODO[modo];
+    }
+
+    /**
+     * Lee un modo por nombre: "ninguna", "antitetico", "control" o "todas".
+     *
+     * @throws IllegalArgumentException Si el nombre no es ninguno de esos
+     */
+    public static int modo(String nombre) {
+        for (int modo = 0; modo < NOMBRES_MODO.length; modo++) {
+            if (NOMBRES_MODO[modo].equalsIgnoreCase(nombre)) {
+                return modo;
+            }
+        }
+        throw new IllegalArgumentException("Modo desconocido: " + nombre);
+    }
+
+    // === SIMULACIÓN ===
+
+    /**
+     * Juega lotes hasta que la mitad del intervalo de confianza del valor
+     * esperado sea a lo sumo la precisión pedida, o hasta el máximo de manos.
+     *
+     * @param precision   Mitad del ancho de intervalo buscada, en unidades por unidad apostada
+     * @param maximoManos Manos tras las cuales se detiene aunque no haya llegado
+     * @param semilla     Semilla raíz; la misma semilla produce el mismo resultado
+     * @return Conteos y estimación con su error
+     */
+    public ResultadoAdaptativo simular(double precision, long maximoManos, long semilla) {
+        long inicio = System.nanoTime();
+        GeneradorAleatorio raiz = new GeneradorSplitMix(semilla);
+        ResultadoAdaptativo resultado = new ResultadoAdaptativo();
+        resultado.modo = modo;
+        resultado.confianza = confianza;
+        do {
+            GeneradorAleatorio[] generadores = new GeneradorAleatorio[PORCIONES];
+            for (int i = 0; i < PORCIONES; i++) {
+                generadores[i] = raiz.dividir();
+            }
+            ResultadoAdaptativo lote = pool.invoke(new TareaLote(generadores, 0, PORCIONES));
+            resultado.combinar(lote);
+            resultado.estimador.combinar(lote.estimador);
+            resultado.lotes++;
+        } while (confianza * resultado.getErrorEstandar() > precision && resultado.manos < maximoManos);
+        resultado.nanos = System.nanoTime() - inicio;
+        return resultado;
+    }
+
+    /**
+     * Divide las porciones de un lote a la mitad hasta quedar con una.
+     */
+    private class TareaLote extends RecursiveTask<ResultadoAdaptativo> {
+        private static final long serialVersionUID = 1L;
+
+        private final GeneradorAleatorio[] generadores;
+        private final int desde;
+        private final int hasta;
+
+        TareaLote(GeneradorAleatorio[] generadores, int desde, int hasta) {
+            this.generadores = generadores;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected ResultadoAdaptativo compute() {
+            if (hasta - desde == 1) {
+                ResultadoAdaptativo parcial = new ResultadoAdaptativo();
+                new Trabajador(generadores[desde]).jugar(zapatosPorPorcion, parcial);
+                return parcial;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            TareaLote izquierda = new TareaLote(generadores, desde, mitad);
+            izquierda.fork();
+            ResultadoAdaptativo resultado = new TareaLote(generadores, mitad, hasta).compute();
+            ResultadoAdaptativo otro = izquierda.join();
+            resultado.combinar(otro);
+            resultado.estimador.combinar(otro.estimador);
+            return resultado;
+        }
+    }
+
+    /**
+     * Juega zapatos completos sobre su propio arreglo de cartas y lleva la
+     * composición por valor que necesitan los controles y la cuenta.
+     */
+    private final class Trabajador {
+        private final GeneradorAleatorio rand;
+        private byte[] cartas = new byte[mazos * CodigoCarta.CARTAS_POR_MAZO];
+        /** Orden reflejado del zapato, para la segunda mitad del par */
+        private byte[] gemelo = new byte[cartas.length];
+        private final int corte = (int) (cartas.length * penetracion);
+        private int cursor;
+        private final int[] restantes = new int[CodigoCarta.VALORES_DISTINTOS];
+        private int quedan;
+        private int cuenta;
+        private final boolean conControl = (modo & CONTROL) != 0;
+        /** Valores desde el punto actual para cada carta posible */
+        private final double[] fila = new double[CodigoCarta.VALORES_DISTINTOS];
+
+        private long victorias, empates, derrotas, blackjacks, neto, apostado, manos;
+        /** Ganancia corregida y unidades apostadas del zapato en curso */
+        private double ganancia;
+        private long unidades;
+
+        Trabajador(GeneradorAleatorio rand) {
+            this.rand = rand;
+            for (int i = 0; i < cartas.length; i++) {
+                cartas[i] = (byte) (i % CodigoCarta.CARTAS_POR_MAZO);
+            }
+        }
+
+        void jugar(int zapatos, ResultadoAdaptativo resultado) {
+            for (int z = 0; z < zapatos; z++) {
+                barajar();
+                ganancia = 0;
+                unidades = 0;
+                if ((modo & ANTITETICO) != 0) {
+                    for (int i = 0; i < cartas.length; i++) {
+                        gemelo[i] = REFLEJO[cartas[i]];
+                    }
+                    jugarZapato();
+                    byte[] temp = cartas;
+                    cartas = gemelo;
+                    gemelo = temp;
+                    reiniciar();
+                }
+                jugarZapato();
+                resultado.estimador.agregar(ganancia, unidades);
+            }
+            resultado.manos += manos;
+            resultado.victorias += victorias;
+            resultado.empates += empates;
+            resultado.derrotas += derrotas;
+            resultado.blackjacks += blackjacks;
+            resultado.neto += neto * (ReglasMesa.FRACCIONES_POR_UNIDAD / 2);
+            resultado.unidadesApostadas += apostado;
+        }
+
+        private void barajar() {
+            for (int i = cartas.length - 1; i > 0; i--) {
+                int j = rand.enteroHasta(i + 1);
+                byte temp = cartas[i];
+                cartas[i] = cartas[j];
+                cartas[j] = temp;
+            }
+            reiniciar();
+        }
+
+        /** Zapato completo sin cartas repartidas */
+        private void reiniciar() {
+            cursor = 0;
+            cuenta = 0;
+            quedan = cartas.length;
+            Arrays.fill(restantes, 4 * mazos);
+            restantes[CodigoCarta.VALORES_DISTINTOS - 1] = 16 * mazos;
+        }
+
+        /** Rondas hasta la carta de corte, como con {@code Mazo.prepararRonda} */
+        private void jugarZapato() {
+            do {
+                ronda();
+            } while (cursor < corte);
+        }
+
+        /**
+         * Reparte una carta y la descuenta de la composición. Si una ronda
+         * agota el zapato se baraja en el momento, como en {@code Mazo}.
+         */
+        private int carta() {
+            if (cursor == cartas.length) {
+                barajar();
+            }
+            int codigo = cartas[cursor++];
+            cuenta += MARCA[codigo];
+            return VALOR[codigo];
+        }
+
+        /**
+         * Control de una carta de valor dado: su valor en la fila menos el
+         * promedio de la fila con la composición que quedaba. Después la
+         * descuenta de la composición.
+         */
+        private double paso(double[] valores, int desde, int valor) {
+            double suma = 0;
+            for (int c = 0; c < CodigoCarta.VALORES_DISTINTOS; c++) {
+                suma += restantes[c] * valores[desde + c];
+            }
+            double control = valores[desde + valor] - suma / quedan;
+            restantes[valor]--;
+            quedan--;
+            return control;
+        }
+
+        private void sacar(int valor) {
+            restantes[valor]--;
+            quedan--;
+        }
+
+        private void ronda() {
+            int apuesta = 1;
+            if (rampa != null) {
+                double real = quedan == 0 ? cuenta : cuenta * (double) CodigoCarta.CARTAS_POR_MAZO / quedan;
+                apuesta = rampa.apuesta((int) Math.floor(real));
+            }
+            double control = 0;
+
+            // Mismo orden que BlackjackControlador.nuevaPartida:
+            // jugador, crupier oculta, jugador, crupier visible
+            int v1 = carta();
+            control += conControl ? paso(primera, 0, v1) : 0;
+            int vOculta = carta();
+            control += conControl ? paso(oculta, v1 * 10, vOculta) : 0;
+            int v2 = carta();
+            control += conControl ? paso(segunda, (v1 * 10 + vOculta) * 10, v2) : 0;
+            int vVisible = carta();
+            int mano = EstadoMano.siguienteRango(EstadoMano.siguienteRango(EstadoMano.INICIAL, v1), v2);
+            control += conControl ? paso(jugador, (mano * 10 + vOculta) * 10, vVisible) : 0;
+            int manoCrupier = EstadoMano.siguienteRango(EstadoMano.siguienteRango(EstadoMano.INICIAL, vOculta), vVisible);
+            if (!conControl) {
+                sacar(v1);
+                sacar(vOculta);
+                sacar(v2);
+                sacar(vVisible);
+            }
+
+            int res;
+            if (EstadoMano.esBlackjack(mano)) {
+                res = ReglasPago.BLACKJACK;
+            } else {
+                while (EstadoMano.total(mano) < 21 && estrategia.decidir(mano, vVisible) == Estrategia.PEDIR) {
+                    int valor = carta();
+                    if (conControl) {
+                        for (int c = 0; c < CodigoCarta.VALORES_DISTINTOS; c++) {
+                            fila[c] = jugador[(EstadoMano.siguienteRango(mano, c) * 10 + vOculta) * 10 + vVisible];
+                        }
+                        control += paso(fila, 0, valor);
+                    } else {
+                        sacar(valor);
+                    }
+                    mano = EstadoMano.siguienteRango(mano, valor);
+                }
+
+                if (EstadoMano.sePaso(mano)) {
+                    res = ReglasPago.PIERDE;
+                } else {
+                    int total = EstadoMano.total(mano);
+                    while (EstadoMano.crupierPide(manoCrupier)) {
+                        int valor = carta();
+                        if (conControl) {
+                            for (int c = 0; c < CodigoCarta.VALORES_DISTINTOS; c++) {
+                                fila[c] = crupier[EstadoMano.siguienteRango(manoCrupier, c) * TOTALES + total];
+                            }
+                            control += paso(fila, 0, valor);
+                        } else {
+                            sacar(valor);
+                        }
+                        manoCrupier = EstadoMano.siguienteRango(manoCrupier, valor);
+                    }
+                    res = EstadoMano.resultado(mano, manoCrupier);
+                }
+            }
+
+            switch (res) {
+                case ReglasPago.BLACKJACK: blackjacks++; break;
+                case ReglasPago.GANA: victorias++; break;
+                case ReglasPago.EMPATE: empates++; break;
+                default: derrotas++;
+            }
+            int medias = ReglasPago.netoMediasApuestas(res);
+            manos++;
+            neto += apuesta * medias;
+            apostado += apuesta;
+            ganancia += apuesta * (medias / 2.0 - control);
+            unidades += apuesta;
+        }
+    }
+
+    // === TABLAS ===
+
+    /**
+     * Arma las tablas de valor del zapato infinito para la estrategia, de
+     * atrás hacia adelante: el crupier, el jugador con las dos cartas del
+     * crupier a la vista, y después promediando cada carta de la mano
+     * inicial en orden inverso al del reparto.
+     */
+    private void armarTablas() {
+        Arrays.fill(crupier, Double.NaN);
+        Arrays.fill(jugador, Double.NaN);
+        for (int vOculta = 0; vOculta < 10; vOculta++) {
+            for (int vVisible = 0; vVisible < 10; vVisible++) {
+                int manoCrupier = EstadoMano.siguienteRango(
+                    EstadoMano.siguienteRango(EstadoMano.INICIAL, vOculta), vVisible);
+                for (int v1 = 0; v1 < 10; v1++) {
+                    for (int v2 = 0; v2 < 10; v2++) {
+                        int mano = EstadoMano.siguienteRango(EstadoMano.siguienteRango(EstadoMano.INICIAL, v1), v2);
+                        valorJugador(mano, vOculta, vVisible, manoCrupier);
+                    }
+                }
+            }
+        }
+        for (int v1 = 0; v1 < 10; v1++) {
+            int uno = EstadoMano.siguienteRango(EstadoMano.INICIAL, v1);
+            for (int v2 = 0; v2 < 10; v2++) {
+                int mano = EstadoMano.siguienteRango(uno, v2);
+                for (int vOculta = 0; vOculta < 10; vOculta++) {
+                    double suma = 0;
+                    for (int vVisible = 0; vVisible < 10; vVisible++) {
+                        suma += PROBABILIDAD[vVisible] * jugador[(mano * 10 + vOculta) * 10 + vVisible];
+                    }
+                    sinVisible[mano * 10 + vOculta] = suma;
+                }
+            }
+            double suma = 0;
+            for (int vOculta = 0; vOculta < 10; vOculta++) {
+                double sumaOculta = 0;
+                for (int v2 = 0; v2 < 10; v2++) {
+                    double valor = sinVisible[EstadoMano.siguienteRango(uno, v2) * 10 + vOculta];
+                    segunda[(v1 * 10 + vOculta) * 10 + v2] = valor;
+                    sumaOculta += PROBABILIDAD[v2] * valor;
+                }
+                oculta[v1 * 10 + vOculta] = sumaOculta;
+                suma += PROBABILIDAD[vOculta] * sumaOculta;
+            }
+            primera[v1] = suma;
+        }
+    }
+
+    /**
+     * Ganancia esperada del jugador desde un estado, pidiendo según la
+     * estrategia. Guarda también los estados finales (pasado, blackjack o
+     * plantado), que los controles leen al pedir.
+     */
+    private double valorJugador(int mano, int vOculta, int vVisible, int manoCrupier) {
+        int indice = (mano * 10 + vOculta) * 10 + vVisible;
+        if (!Double.isNaN(jugador[indice])) {
+            return jugador[indice];
+        }
+        double valor;
+        if (EstadoMano.sePaso(mano)) {
+            valor = -1;
+        } else if (EstadoMano.esBlackjack(mano)) {
+            valor = ReglasPago.netoMediasApuestas(ReglasPago.BLACKJACK) / 2.0;
+        } else if (EstadoMano.total(mano) == 21 || estrategia.decidir(mano, vVisible) != Estrategia.PEDIR) {
+            valor = valorCrupier(manoCrupier, EstadoMano.total(mano));
+        } else {
+            valor = 0;
+            for (int c = 0; c < 10; c++) {
+                valor += PROBABILIDAD[c] * valorJugador(EstadoMano.siguienteRango(mano, c), vOculta, vVisible, manoCrupier);
+            }
+        }
+        jugador[indice] = valor;
+        return valor;
+    }
+
+    /**
+     * Ganancia esperada de un jugador plantado con el total dado mientras el
+     * crupier juega desde su estado.
+     */
+    private double valorCrupier(int manoCrupier, int total) {
+        int indice = manoCrupier * TOTALES + total;
+        if (!Double.isNaN(crupier[indice])) {
+            return crupier[indice];
+        }
+        double valor;
+        if (EstadoMano.crupierPide(manoCrupier)) {
+            valor = 0;
+            for (int c = 0; c < 10; c++) {
+                valor += PROBABILIDAD[c] * valorCrupier(EstadoMano.siguienteRango(manoCrupier, c), total);
+            }
+        } else {
+            // Un jugador de tres cartas con ese total, para que nunca cuente como blackjack
+            int plantado = (3 << 6) | total;
+            valor = ReglasPago.netoMediasApuestas(EstadoMano.resultado(plantado, manoCrupier)) / 2.0;
+        }
+        crupier[indice] = valor;
+        return valor;
+    }
+
+    /**
+     * Simula hasta una precisión desde la línea de comandos.
+     *
+     * Uso: {@code SimuladorAdaptativo [precision] [mazos] [semilla] [estrategia] [modo] [rampa]}
+     *
+     * La precisión es la mitad del intervalo del 95% (por defecto 0.0005).
+     * La estrategia es "basica", un umbral numérico (por defecto 17) o la
+     * ruta de un archivo de tabla; el modo, uno de los de {@link #modo(String)}
+     * (por defecto "todas"); la rampa, como en {@link SimuladorMonteCarlo}.
+     */
+    public static void main(String[] args) throws java.io.IOException {
+        double precision = args.length > 0 ? Double.parseDouble(args[0]) : 0.0005;
+        int mazos = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        String nombreEstrategia = args.length > 3 ? args[3] : "17";
+        int modo = args.length > 4 ? modo(args[4]) : TODAS;
+        RampaApuestas rampa = null;
+        if (args.length > 5) {
+            rampa = args[5].equals("contador") ? RampaApuestas.UNO_A_OCHO : RampaApuestas.leer(args[5]);
+        }
+
+        Estrategia estrategia;
+        if (nombreEstrategia.equals("basica")) {
+            estrategia = EstrategiaTabla.basica();
+        } else if (nombreEstrategia.matches("\\d+")) {
+            estrategia = EstrategiaTabla.umbral(Integer.parseInt(nombreEstrategia));
+        } else {
+            estrategia = EstrategiaTabla.cargar(java.nio.file.Paths.get(nombreEstrategia));
+        }
+        SimuladorAdaptativo simulador = new SimuladorAdaptativo(mazos, 0.75, estrategia, rampa,
+            ForkJoinPool.commonPool());
+        simulador.setModo(modo);
+        System.out.println("Simulando hasta +/-" + precision + " con " + mazos + " mazos (semilla " + semilla
+            + ", estrategia " + nombreEstrategia + ", modo " + nombreModo(modo)
+            + (rampa != null ? ", rampa " + rampa : "") + ")");
+        System.out.println(simulador.simular(precision, Long.MAX_VALUE, semilla));
+    }
+}
@@ -0,0 +1,373 @@
+package com.example.simulacion;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.estrategia.Estrategia;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.ReglasMesa;
+import com.example.modelo.ReglasPago;
+import com.example.modelo.SistemaConteo;
+import java.util.Arrays;
+
+/**
+ * Juega miles de manos independientes a la vez, guardadas en columnas
+ * primitivas en lugar de un objeto por mano.
+ *
+ * Cada carril es una mesa con su propio zapato y su propio generador: los
+ * zapatos van uno detrás de otro en un solo arreglo de bytes y el estado de
+ * cada carril (cursor, manos de jugador y crupier, cuenta, apuesta y
+ * resultado) vive en un arreglo por campo. Una ronda avanza todos los
+ * carriles por fases (reparto, turno del jugador, turno del crupier y
+ * liquidación), y cada fase es un bucle corto sobre esas columnas; los
+ * turnos recorren sólo los carriles que siguen pidiendo.
+ *
+ * Un carril reproduce carta por carta lo que haría un {@code Mazo} creado
+ * con el mismo generador y jugado con {@code JugadorApostador} y
+ * {@code Crupier}: arma y baraja el zapato igual, vuelve a barajar en los
+ * mismos momentos y decide con las mismas tablas de {@link EstadoMano}.
+ * Como el zapato, un lote pertenece a un solo hilo.
+ */
+public final class SimuladorLote {
+
+    /** Carriles por defecto: suficientes para que las columnas llenen la caché sin desbordarla */
+    public static final int CARRILES_POR_DEFECTO = 2048;
+
+    /** Marca Hi-Lo de cada código, para la cuenta de los carriles con rampa */
+    private static final byte[] MARCA = new byte[CodigoCarta.CARTAS_POR_MAZO];
+
+    /** Ganancia en medias apuestas de cada resultado, para liquidar sin el switch de ReglasPago */
+    private static final int[] NETO = new int[4];
+
+    static {
+        for (int codigo = 0; codigo < CodigoCarta.CARTAS_POR_MAZO; codigo++) {
+            MARCA[codigo] = (byte) SistemaConteo.HI_LO.marca(CodigoCarta.valor(codigo));
+        }
+        for (int res = 0; res < NETO.length; res++) {
+            NETO[res] = ReglasPago.netoMediasApuestas(res);
+        }
+    }
+
+    private final int carriles;
+    private final int mazos;
+    /** Cartas de cada zapato */
+    private final int tamano;
+    /** Cartas que se reparten antes de volver a barajar */
+    private final int corte;
+    private final Estrategia estrategia;
+    /** Apuesta según la cuenta real, o null para apostar siempre una unidad */
+    private final RampaApuestas rampa;
+    private final GeneradorAleatorio[] generadores;
+
+    // === COLUMNAS ===
+
+    /** Zapatos de todos los carriles: el del carril i empieza en i * tamano */
+    private final byte[] cartas;
+    private final int[] cursor;
+    /** Primera carta de la ronda en curso de cada zapato */
+    private final int[] inicio;
+    /** Cuenta corriente Hi-Lo de cada zapato; sólo se lleva con rampa */
+    private final int[] cuenta;
+    private final int[] apuesta;
+    private final int[] jugador;
+    private final int[] crupier;
+    /** Valor de la carta visible del crupier */
+    private final int[] visible;
+    private final byte[] resultado;
+    /** Carriles que siguen en el turno actual; se compacta en cada vuelta */
+    private final int[] activos;
+
+    // === TOTALES DESDE QUE SE CREÓ ===
+
+    private long rondasJugadas;
+    /** Manos por resultado, indexadas por las constantes de ReglasPago */
+    private final long[] porResultado = new long[4];
+    private long neto;
+    private long apostado;
+
+    /**
+     * @param carriles    Manos que se juegan a la vez
+     * @param mazos       Cantidad de mazos de 52 cartas en cada zapato
+     * @param penetracion Fracción del zapato que se reparte antes de volver a barajar
+     * @param estrategia  Estrategia del jugador, la misma en todos los carriles
+     * @param rampa       Apuesta según la cuenta real Hi-Lo de cada zapato, o null para apuesta fija
+     * @param raiz        Generador del que se divide uno por carril, en orden
+     */
+    public SimuladorLote(int carriles, int mazos, double penetracion, Estrategia estrategia,
+                         RampaApuestas rampa, GeneradorAleatorio raiz) {
+        if (carriles < 1) {
+            throw new IllegalArgumentException("Cantidad de carriles inválida: " + carriles);
+        }
+        this.carriles = carriles;
+        this.mazos = mazos;
+        this.tamano = mazos * CodigoCarta.CARTAS_POR_MAZO;
+        this.corte = (int) (tamano * penetracion);
+        this.estrategia = estrategia;
+        this.rampa = rampa;
+        this.generadores = new GeneradorAleatorio[carriles];
+        this.cartas = new byte[carriles * tamano];
+        this.cursor = new int[carriles];
+        this.inicio = new int[carriles];
+        this.cuenta = rampa == null ? null : new int[carriles];
+        this.apuesta = new int[carriles];
+        this.jugador = new int[carriles];
+        this.crupier = new int[carriles];
+        this.visible = new int[carriles];
+        this.resultado = new byte[carriles];
+        this.activos = new int[carriles];
+
+        for (int i = 0; i < carriles; i++) {
+            generadores[i] = raiz.dividir();
+            int base = i * tamano;
+            for (int c = 0; c < tamano; c++) {
+                cartas[base + c] = (byte) (c % CodigoCarta.CARTAS_POR_MAZO);
+            }
+            barajar(i);
+        }
+        Arrays.fill(apuesta, 1);
+    }
+
+    /**
+     * Fisher–Yates sobre el zapato del carril, en el mismo orden que {@code Mazo.barajar}.
+     */
+    private void barajar(int carril) {
+        GeneradorAleatorio rand = generadores[carril];
+        int base = carril * tamano;
+        for (int i = tamano - 1; i > 0; i--) {
+            int j = base + rand.enteroHasta(i + 1);
+            byte temp = cartas[base + i];
+            cartas[base + i] = cartas[j];
+            cartas[j] = temp;
+        }
+        cursor[carril] = 0;
+        if (cuenta != null) {
+            cuenta[carril] = 0;
+        }
+    }
+
+    /**
+     * Baraja sólo los descartes cuando una ronda agota el zapato, como
+     * {@code Mazo}: las cartas de la ronda pasan al principio y siguen en la
+     * mesa, y la cuenta arranca con ellas.
+     */
+    private void barajarDescartes(int carril) {
+        int desde = inicio[carril];
+        if (desde == 0) {
+            throw new IllegalStateException("La ronda repartió las " + tamano + " cartas del zapato");
+        }
+        GeneradorAleatorio rand = generadores[carril];
+        int base = carril * tamano;
+        int enMesa = tamano - desde;
+        byte[] mesa = Arrays.copyOfRange(cartas, base + desde, base + tamano);
+        System.arraycopy(cartas, base, cartas, base + enMesa, desde);
+        System.arraycopy(mesa, 0, cartas, base, enMesa);
+        for (int i = tamano - 1; i > enMesa; i--) {
+            int j = base + enMesa + rand.enteroHasta(i - enMesa + 1);
+            byte temp = cartas[base + i];
+            cartas[base + i] = cartas[j];
+            cartas[j] = temp;
+        }
+        cursor[carril] = enMesa;
+        inicio[carril] = 0;
+        if (cuenta != null) {
+            int marcas = 0;
+            for (int i = 0; i < enMesa; i++) {
+                marcas += MARCA[cartas[base + i]];
+            }
+            cuenta[carril] = marcas;
+        }
+    }
+
+    /**
+     * Siguiente carta del zapato del carril; si la ronda lo agota se barajan los descartes.
+     */
+    private int repartir(int carril) {
+        int c = cursor[carril];
+        if (c == tamano) {
+            barajarDescartes(carril);
+            c = cursor[carril];
+        }
+        cursor[carril] = c + 1;
+        int codigo = cartas[carril * tamano + c];
+        if (cuenta != null) {
+            cuenta[carril] += MARCA[codigo];
+        }
+        return codigo;
+    }
+
+    /**
+     * Juega una mano en cada carril. Los resultados quedan en
+     * {@link #getResultado(int)} y {@link #getApuesta(int)} hasta la ronda siguiente.
+     */
+    public void jugarRonda() {
+        // Una sola pasada para barajar donde salió la carta de corte, decidir
+        // la apuesta, repartir jugador, crupier oculta, jugador y crupier
+        // visible, y anotar quién juega su turno (todos salvo los blackjacks)
+        int n = 0;
+        for (int i = 0; i < carriles; i++) {
+            int cur = cursor[i];
+            if (cur >= corte) {
+                barajar(i);
+                cur = 0;
+            }
+            inicio[i] = cur;
+            int j, c, carta;
+            if (cuenta == null && cur + 4 <= tamano) {
+                // Lo normal: las cuatro cartas están en el zapato y se leen de corrido
+                int p = i * tamano + cur;
+                j = EstadoMano.siguiente(EstadoMano.INICIAL, cartas[p]);
+                c = EstadoMano.siguiente(EstadoMano.INICIAL, cartas[p + 1]);
+                j = EstadoMano.siguiente(j, cartas[p + 2]);
+                carta = cartas[p + 3];
+                cursor[i] = cur + 4;
+            } else {
+                if (rampa != null) {
+                    int restantes = tamano - cur;
+                    double real = restantes == 0 ? cuenta[i]
+                        : cuenta[i] * (double) CodigoCarta.CARTAS_POR_MAZO / restantes;
+                    apuesta[i] = rampa.apuesta((int) Math.floor(real));
+                }
+                j = EstadoMano.siguiente(EstadoMano.INICIAL, repartir(i));
+                c = EstadoMano.siguiente(EstadoMano.INICIAL, repartir(i));
+                j = EstadoMano.siguiente(j, repartir(i));
+                carta = repartir(i);
+            }
+            jugador[i] = j;
+            crupier[i] = EstadoMano.siguiente(c, carta);
+            visible[i] = CodigoCarta.valor(carta);
+            activos[n] = i;
+            n += EstadoMano.esBlackjack(j) ? 0 : 1;
+        }
+
+        // Turno del jugador: una carta por vuelta a cada carril que sigue pidiendo.
+        // La decisión se usa como 0 o 1 (PLANTARSE o PEDIR) para avanzar la
+        // mano, el cursor y la lista de activos sin saltos que dependan de las cartas.
+        while (n > 0) {
+            int quedan = 0;
+            for (int k = 0; k < n; k++) {
+                int i = activos[k];
+                int j = jugador[i];
+                int cur = cursor[i];
+                if (cur == tamano) {
+                    // Zapato agotado a mitad de ronda: se barajan los descartes sólo si de verdad pide
+                    if (EstadoMano.total(j) < 21 && estrategia.decidir(j, visible[i]) == Estrategia.PEDIR) {
+                        jugador[i] = EstadoMano.siguiente(j, repartir(i));
+                        activos[quedan++] = i;
+                    }
+                    continue;
+                }
+                int pide = estrategia.decidir(j, visible[i]) & ((EstadoMano.total(j) - 21) >>> 31);
+                int codigo = cartas[i * tamano + cur];
+                jugador[i] = j + ((EstadoMano.siguiente(j, codigo) - j) & -pide);
+                cursor[i] = cur + pide;
+                if (cuenta != null) {
+                    cuenta[i] += MARCA[codigo] & -pide;
+                }
+                activos[quedan] = i;
+                quedan += pide;
+            }
+            n = quedan;
+        }
+
+        // Turno del crupier, sólo donde el jugador no tuvo blackjack ni se pasó
+        for (int i = 0; i < carriles; i++) {
+            int j = jugador[i];
+            activos[n] = i;
+            n += EstadoMano.esBlackjack(j) || EstadoMano.sePaso(j) ? 0 : 1;
+        }
+        while (n > 0) {
+            int quedan = 0;
+            for (int k = 0; k < n; k++) {
+                int i = activos[k];
+                int c = crupier[i];
+                int cur = cursor[i];
+                if (cur == tamano) {
+                    if (EstadoMano.crupierPide(c)) {
+                        crupier[i] = EstadoMano.siguiente(c, repartir(i));
+                        activos[quedan++] = i;
+                    }
+                    continue;
+                }
+                int pide = EstadoMano.crupierPide(c) ? 1 : 0;
+                int codigo = cartas[i * tamano + cur];
+                crupier[i] = c + ((EstadoMano.siguiente(c, codigo) - c) & -pide);
+                cursor[i] = cur + pide;
+                if (cuenta != null) {
+                    cuenta[i] += MARCA[codigo] & -pide;
+                }
+                activos[quedan] = i;
+                quedan += pide;
+            }
+            n = quedan;
+        }
+
+        // Liquidación: con el jugador pasado o con blackjack la tabla ya ignora al crupier
+        for (int i = 0; i < carriles; i++) {
+            int res = EstadoMano.resultado(jugador[i], crupier[i]);
+            resultado[i] = (byte) res;
+            porResultado[res]++;
+            neto += apuesta[i] * NETO[res];
+            apostado += apuesta[i];
+        }
+        rondasJugadas++;
+    }
+
+    /**
+     * Juega la cantidad indicada de rondas (cada una con una mano por
+     * carril) y acumula los conteos en el resultado.
+     */
+    public void jugar(long rondas, ResultadoSimulacion total) {
+        long[] antes = porResultado.clone();
+        long netoAntes = neto, apostadoAntes = apostado;
+        for (long r = 0; r < rondas; r++) {
+            jugarRonda();
+        }
+        total.manos += rondas * carriles;
+        total.victorias += porResultado[ReglasPago.GANA] - antes[ReglasPago.GANA];
+        total.empates += porResultado[ReglasPago.EMPATE] - antes[ReglasPago.EMPATE];
+        total.derrotas += porResultado[ReglasPago.PIERDE] - antes[ReglasPago.PIERDE];
+        total.blackjacks += porResultado[ReglasPago.BLACKJACK] - antes[ReglasPago.BLACKJACK];
+        // Las medias apuestas del lote pasan a las fracciones de unidad del resultado
+        total.neto += (neto - netoAntes) * (ReglasMesa.FRACCIONES_POR_UNIDAD / 2);
+        total.unidadesApostadas += apostado - apostadoAntes;
+    }
+
+    public int getCarriles() {
+        return carriles;
+    }
+
+    public int getMazos() {
+        return mazos;
+    }
+
+    /**
+     * Rondas jugadas desde que se creó el lote; cada una es una mano por carril.
+     */
+    public long getRondasJugadas() {
+        return rondasJugadas;
+    }
+
+    /**
+     * Resultado de la última ronda en un carril, según {@link ReglasPago}.
+     */
+    public int getResultado(int carril) {
+        return resultado[carril];
+    }
+
+    /**
+     * Unidades apostadas en la última ronda de un carril.
+     */
+    public int getApuesta(int carril) {
+        return apuesta[carril];
+    }
+
+    /**
+     * Estados finales (ver {@link EstadoMano}) de la última ronda de un carril.
+     */
+    public int getEstadoJugador(int carril) {
+        return jugador[carril];
+    }
+
+    public int getEstadoCrupier(int carril) {
+        return crupier[carril];
+    }
+}
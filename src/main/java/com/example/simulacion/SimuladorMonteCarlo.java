@@ -0,0 +1,228 @@
+package com.example.simulacion;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.aleatorio.GeneradorSplitMix;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.ReglasMesa;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Motor de simulación Monte Carlo de Blackjack sin interfaz gráfica.
+ *
+ * Juega manos con una variante de reglas ({@link ReglasMesa}); por defecto
+ * la clásica de la mesa, en la que el crupier pide mientras tenga menos de
+ * 17 ({@code Crupier.debePedir}) y las manos se liquidan con
+ * {@code ReglasPago}, igual que en {@code BlackjackControlador}. El jugador
+ * decide con una {@link Estrategia}, que todos los trabajadores comparten y
+ * por eso debe ser inmutable (por ejemplo una {@link EstrategiaTabla}); el
+ * simulador la compila para la variante una sola vez al crearse.
+ *
+ * El trabajo se divide con fork-join en bloques de manos; cada bloque hoja
+ * usa su propio zapato y un generador obtenido con
+ * {@link GeneradorAleatorio#dividir()}, de modo que la corrida es
+ * reproducible para una semilla dada y los hilos nunca comparten estado.
+ *
+ * La mesa puede tener hasta siete asientos que juegan con la misma
+ * estrategia y comparten zapato y crupier: el crupier juega una vez por
+ * ronda para todos, así que cada mano cuesta menos que jugando mano a mano.
+ * Las manos pedidas se redondean hacia arriba a rondas completas.
+ */
+public class SimuladorMonteCarlo {
+
+    /** Manos por bloque hoja; por debajo de esto no se sigue dividiendo */
+    private static final long MANOS_POR_BLOQUE = 1L << 20;
+
+    /** Asientos que entran en una mesa, como en {@code BlackjackControlador} */
+    public static final int MAXIMO_ASIENTOS = 7;
+
+    private final ReglasMesa reglas;
+    private final int asientos;
+    private final double penetracion;
+    private final Estrategia estrategia;
+    private final RampaApuestas rampa;
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un simulador que usa el pool común de fork-join.
+     *
+     * @param mazos         Cantidad de mazos en el zapato (1 a 8)
+     * @param penetracion   Fracción del zapato repartida antes de barajar (0 a 1)
+     * @param umbralJugador El jugador pide carta mientras tenga menos de este puntaje
+     */
+    public SimuladorMonteCarlo(int mazos, double penetracion, int umbralJugador) {
+        this(mazos, penetracion, umbralJugador, ForkJoinPool.commonPool());
+    }
+
+    public SimuladorMonteCarlo(int mazos, double penetracion, int umbralJugador, ForkJoinPool pool) {
+        this(mazos, penetracion, EstrategiaTabla.umbral(umbralJugador), pool);
+    }
+
+    /**
+     * @param mazos       Cantidad de mazos en el zapato (1 a 8)
+     * @param penetracion Fracción del zapato repartida antes de barajar (0 a 1)
+     * @param estrategia  Estrategia inmutable del jugador, compartida por todos los hilos
+     * @param pool        Pool donde se reparten los bloques de manos
+     */
+    public SimuladorMonteCarlo(int mazos, double penetracion, Estrategia estrategia, ForkJoinPool pool) {
+        this(mazos, penetracion, estrategia, null, pool);
+    }
+
+    /**
+     * @param mazos       Cantidad de mazos en el zapato (1 a 8)
+     * @param penetracion Fracción del zapato repartida antes de barajar (0 a 1)
+     * @param estrategia  Estrategia inmutable del jugador, compartida por todos los hilos
+     * @param rampa       Apuesta según la cuenta real Hi-Lo de cada zapato, o null para apuesta fija
+     * @param pool        Pool donde se reparten los bloques de manos
+     */
+    public SimuladorMonteCarlo(int mazos, double penetracion, Estrategia estrategia, RampaApuestas rampa,
+                               ForkJoinPool pool) {
+        this(ReglasMesa.CLASICA.conMazos(mazos), penetracion, estrategia, rampa, pool);
+    }
+
+    /**
+     * @param reglas      Variante de reglas, con la cantidad de mazos del zapato
+     * @param penetracion Fracción del zapato repartida antes de barajar (0 a 1)
+     * @param estrategia  Estrategia inmutable del jugador; se usa su versión para la variante
+     * @param rampa       Apuesta según la cuenta real Hi-Lo de cada zapato, o null para apuesta fija
+     * @param pool        Pool donde se reparten los bloques de manos
+     */
+    public SimuladorMonteCarlo(ReglasMesa reglas, double penetracion, Estrategia estrategia, RampaApuestas rampa,
+                               ForkJoinPool pool) {
+        this(reglas, 1, penetracion, estrategia, rampa, pool);
+    }
+
+    /**
+     * @param reglas      Variante de reglas, con la cantidad de mazos del zapato
+     * @param asientos    Asientos por ronda que comparten zapato y crupier (1 a 7)
+     * @param penetracion Fracción del zapato repartida antes de barajar (0 a 1)
+     * @param estrategia  Estrategia inmutable de todos los asientos; se usa su versión para la variante
+     * @param rampa       Apuesta según la cuenta real Hi-Lo de cada zapato, o null para apuesta fija
+     * @param pool        Pool donde se reparten los bloques de manos
+     */
+    public SimuladorMonteCarlo(ReglasMesa reglas, int asientos, double penetracion, Estrategia estrategia,
+                               RampaApuestas rampa, ForkJoinPool pool) {
+        if (asientos < 1 || asientos > MAXIMO_ASIENTOS) {
+            throw new IllegalArgumentException("Cantidad de asientos inválida: " + asientos);
+        }
+        if (penetracion <= 0 || penetracion > 1) {
+            throw new IllegalArgumentException("Penetración inválida: " + penetracion);
+        }
+        this.reglas = reglas;
+        this.asientos = asientos;
+        this.penetracion = penetracion;
+        this.estrategia = estrategia.para(reglas);
+        this.rampa = rampa;
+        this.pool = pool;
+    }
+
+    /**
+     * Simula la cantidad de manos indicada repartida entre todos los núcleos.
+     *
+     * @param manos   Cantidad total de manos a jugar, contando una por asiento
+     * @param semilla Semilla raíz; la misma semilla produce el mismo resultado
+     * @return Conteos combinados de todos los trabajadores
+     */
+    public ResultadoSimulacion simular(long manos, long semilla) {
+        return simular(manos, new GeneradorSplitMix(semilla));
+    }
+
+    /**
+     * Simula con un generador raíz elegido; cada bloque recibe un flujo
+     * dividido de él.
+     *
+     * @param manos Cantidad total de manos a jugar, contando una por asiento
+     * @param raiz  Generador raíz; queda en uso por la simulación hasta que termina
+     * @return Conteos combinados de todos los trabajadores
+     */
+    public ResultadoSimulacion simular(long manos, GeneradorAleatorio raiz) {
+        long inicio = System.nanoTime();
+        long rondas = (manos + asientos - 1) / asientos;
+        ResultadoSimulacion resultado = pool.invoke(new TareaSimulacion(rondas, raiz));
+        resultado.nanos = System.nanoTime() - inicio;
+        return resultado;
+    }
+
+    /**
+     * Divide el rango de rondas a la mitad hasta llegar al tamaño de bloque.
+     * El generador se divide antes de bifurcar para que cada mitad tenga
+     * una secuencia independiente y determinista.
+     */
+    private class TareaSimulacion extends RecursiveTask<ResultadoSimulacion> {
+        private static final long serialVersionUID = 1L;
+
+        private final long rondas;
+        private final GeneradorAleatorio rand;
+
+        TareaSimulacion(long rondas, GeneradorAleatorio rand) {
+            this.rondas = rondas;
+            this.rand = rand;
+        }
+
+        @Override
+        protected ResultadoSimulacion compute() {
+            if (rondas * asientos <= MANOS_POR_BLOQUE) {
+                ResultadoSimulacion parcial = new ResultadoSimulacion();
+                new TrabajadorSimulacion(reglas, asientos, penetracion, estrategia, rampa, rand).jugar(rondas, parcial);
+                return parcial;
+            }
+            long mitad = rondas / 2;
+            TareaSimulacion izquierda = new TareaSimulacion(mitad, rand.dividir());
+            TareaSimulacion derecha = new TareaSimulacion(rondas - mitad, rand);
+            izquierda.fork();
+            ResultadoSimulacion resultado = derecha.compute();
+            return resultado.combinar(izquierda.join());
+        }
+    }
+
+    /**
+     * Ejecuta una simulación desde la línea de comandos.
+     *
+     * Uso: {@code SimuladorMonteCarlo [manos] [mazos] [semilla] [estrategia] [generador] [rampa] [reglas] [asientos]}
+     *
+     * La estrategia puede ser "basica", un umbral numérico (por defecto 17,
+     * la política del crupier) o la ruta de un archivo de tabla; con reglas
+     * dadas, "basica" es la estrategia básica calculada para ellas. Las
+     * reglas son un nombre o el texto de {@link ReglasMesa#leer(String)}, y
+     * la cantidad de mazos del segundo argumento reemplaza la suya. El generador
+     * es "splitmix" (por defecto), "xoshiro" o "seguro". La rampa, si se da,
+     * varía la apuesta según la cuenta real Hi-Lo (ver {@link RampaApuestas#leer(String)});
+     * "contador" usa {@link RampaApuestas#UNO_A_OCHO} y "fija" es apuesta fija.
+     * Los asientos (1 por defecto) juegan cada ronda contra el mismo crupier.
+     */
+    public static void main(String[] args) throws java.io.IOException {
+        long manos = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+        int mazos = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        String nombreEstrategia = args.length > 3 ? args[3] : "17";
+        GeneradorAleatorio raiz = GeneradorAleatorio.crear(args.length > 4 ? args[4] : GeneradorSplitMix.NOMBRE, semilla);
+        RampaApuestas rampa = null;
+        if (args.length > 5 && !args[5].equals("fija")) {
+            rampa = args[5].equals("contador") ? RampaApuestas.UNO_A_OCHO : RampaApuestas.leer(args[5]);
+        }
+        ReglasMesa reglas = args.length > 6 ? ReglasMesa.leer(args[6]).conMazos(mazos) : null;
+        int asientos = args.length > 7 ? Integer.parseInt(args[7]) : 1;
+
+        Estrategia estrategia;
+        if (nombreEstrategia.equals("basica")) {
+            estrategia = reglas != null ? EstrategiaTabla.basica(reglas) : EstrategiaTabla.basica();
+        } else if (nombreEstrategia.matches("\\d+")) {
+            estrategia = EstrategiaTabla.umbral(Integer.parseInt(nombreEstrategia));
+        } else {
+            estrategia = EstrategiaTabla.cargar(java.nio.file.Paths.get(nombreEstrategia));
+        }
+        if (reglas == null) {
+            reglas = ReglasMesa.CLASICA.conMazos(mazos);
+        }
+        SimuladorMonteCarlo simulador = new SimuladorMonteCarlo(reglas, asientos, 0.75, estrategia, rampa,
+            ForkJoinPool.commonPool());
+        System.out.println("Simulando " + manos + " manos con " + mazos + " mazos en "
+            + ForkJoinPool.commonPool().getParallelism() + " hilos (semilla " + semilla
+            + ", estrategia " + nombreEstrategia + ", generador " + raiz.getNombre()
+            + (rampa != null ? ", rampa " + rampa : "") + ", reglas " + reglas
+            + (asientos > 1 ? ", " + asientos + " asientos" : "") + ")");
+        System.out.println(simulador.simular(manos, raiz));
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.simulacion;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.estrategia.Estrategia;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.ContadorZapato;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.Mazo;
+import com.example.modelo.ReglasMesa;
+import com.example.modelo.ReglasPago;
+
+/**
+ * Juega manos completas sobre su propio zapato y su propio generador.
+ *
+ * No comparte estado con otros trabajadores: cada hoja del fork-join crea
+ * uno, así que el bucle interno no toca ningún candado ni objeto compartido.
+ * Las cartas se reparten como códigos y cada mano avanza con una lectura de
+ * la tabla de {@link EstadoMano}, sin objetos Carta ni ajustes de ases.
+ *
+ * Las reglas de la variante llegan ya compiladas: el crupier pide según la
+ * tabla de {@link ReglasMesa#crupierPide(int)}, los pagos salen de
+ * {@link ReglasMesa#neto(int)} y la estrategia sólo devuelve doblar,
+ * rendirse o dividir donde la variante los permite. El bucle no consulta
+ * ninguna opción de la variante salvo la cantidad máxima de manos.
+ *
+ * Una ronda puede tener varios asientos que juegan con la misma estrategia
+ * contra el mismo crupier: se reparte como en la mesa (todos los asientos,
+ * crupier oculta, todos los asientos, crupier visible), cada asiento juega
+ * su mano y el crupier juega una sola vez para todos. Con un asiento la
+ * secuencia de cartas es la de siempre y se juega con su propio bucle: los
+ * bucles por asiento le cuestan cerca de un 10% aun con una sola vuelta.
+ */
+class TrabajadorSimulacion {
+
+    /** Marca en el estado final de una mano que se dobló; desplazada a la derecha da el exponente de la apuesta */
+    private static final int DOBLADA = 1 << 8;
+
+    private final Mazo mazo;
+    /** Cuenta del zapato, sólo si hay rampa */
+    private final ContadorZapato contador;
+    private final Estrategia estrategia;
+    /** Apuesta según la cuenta real, o null para apostar siempre una unidad */
+    private final RampaApuestas rampa;
+    private final ReglasMesa reglas;
+    private final int manosMaximas;
+    private final int asientos;
+
+    /**
+     * Estados finales de las manos de la ronda de toda la mesa, con la marca
+     * {@link #DOBLADA}; las que salen de dividir ya no cuentan como blackjack
+     */
+    private final int[] finales;
+    /** Las dos primeras cartas de cada asiento */
+    private final int[] primerasCartas, segundasCartas;
+    /** Primera carta de cada mano que sale de dividir */
+    private final int[] primeras;
+
+    /**
+     * @param reglas      Variante de reglas; de ella sale la cantidad de mazos del zapato
+     * @param penetracion Fracción del zapato que se reparte antes de volver a barajar
+     * @param estrategia  Estrategia del jugador, ya compilada para las reglas; se consulta en cada decisión
+     * @param rampa       Apuesta según la cuenta real, o null para apuesta fija
+     * @param rand        Generador propio de este trabajador
+     */
+    TrabajadorSimulacion(ReglasMesa reglas, double penetracion, Estrategia estrategia, RampaApuestas rampa,
+                         GeneradorAleatorio rand) {
+        this(reglas, 1, penetracion, estrategia, rampa, rand);
+    }
+
+    /**
+     * @param reglas      Variante de reglas; de ella sale la cantidad de mazos del zapato
+     * @param asientos    Asientos que juegan cada ronda contra el mismo crupier
+     * @param penetracion Fracción del zapato que se reparte antes de volver a barajar
+     * @param estrategia  Estrategia de todos los asientos, ya compilada para las reglas
+     * @param rampa       Apuesta según la cuenta real, o null para apuesta fija
+     * @param rand        Generador propio de este trabajador
+     */
+    TrabajadorSimulacion(ReglasMesa reglas, int asientos, double penetracion, Estrategia estrategia,
+                         RampaApuestas rampa, GeneradorAleatorio rand) {
+        this.mazo = new Mazo(reglas.getMazos(), penetracion, rand);
+        // Con apuesta fija no hace falta la cuenta, y el zapato reparte sin llevarla
+        this.contador = rampa == null ? null : mazo.getContador();
+        this.estrategia = estrategia;
+        this.rampa = rampa;
+        this.reglas = reglas;
+        this.manosMaximas = reglas.getManosMaximas();
+        this.asientos = asientos;
+        this.finales = new int[asientos * manosMaximas];
+        this.primeras = new int[manosMaximas];
+        this.primerasCartas = new int[asientos];
+        this.segundasCartas = new int[asientos];
+    }
+
+    /**
+     * Juega la cantidad indicada de rondas y acumula los conteos en el
+     * resultado; cada ronda suma una mano por asiento.
+     */
+    void jugar(long rondas, ResultadoSimulacion resultado) {
+        if (asientos == 1) {
+            jugarManoAMano(rondas, resultado);
+        } else {
+            jugarMesa(rondas, resultado);
+        }
+    }
+
+    /**
+     * Rondas de un solo asiento contra el crupier.
+     */
+    private void jugarManoAMano(long rondas, ResultadoSimulacion resultado) {
+        long victorias = 0, empates = 0, derrotas = 0, blackjacks = 0, rendiciones = 0, neto = 0, apostado = 0;
+
+        for (long n = 0; n < rondas; n++) {
+            mazo.prepararRonda();
+            // La apuesta se decide antes de repartir, con la cuenta del zapato tal como quedó
+            int apuesta = rampa == null ? 1 : rampa.apuesta(contador.getCuentaRealEntera());
+            apostado += apuesta;
+
+            // Mismo orden que BlackjackControlador.nuevaPartida:
+            // jugador, crupier oculta, jugador, crupier visible
+            int primera = mazo.repartirCodigo();
+            int jugador = EstadoMano.siguiente(EstadoMano.INICIAL, primera);
+            int crupier = EstadoMano.siguiente(EstadoMano.INICIAL, mazo.repartirCodigo());
+            int segunda = mazo.repartirCodigo();
+            jugador = EstadoMano.siguiente(jugador, segunda);
+            int visible = mazo.repartirCodigo();
+            crupier = EstadoMano.siguiente(crupier, visible);
+            int valorVisible = CodigoCarta.valor(visible);
+
+            if (EstadoMano.esBlackjack(jugador)) {
+                blackjacks++;
+                neto += apuesta * reglas.neto(ReglasPago.BLACKJACK);
+                continue;
+            }
+            int decision = estrategia.decidir(jugador, valorVisible);
+            if (decision == Estrategia.RENDIRSE) {
+                rendiciones++;
+                neto += apuesta * reglas.neto(ReglasPago.RENDICION);
+                continue;
+            }
+
+            int cantidad = 1;
+            int valorPar = CodigoCarta.valor(primera);
+            if (valorPar == CodigoCarta.valor(segunda) && manosMaximas > 1
+                    && estrategia.dividir(valorPar, valorVisible)) {
+                cantidad = dividir(primera, segunda, valorPar, valorVisible, 0);
+            } else {
+                finales[0] = jugarMano(jugador, decision, valorVisible);
+            }
+
+            // El crupier no juega si todas las manos del jugador se pasaron
+            boolean quedanManos = !EstadoMano.sePaso(finales[0] & 0xFF);
+            for (int i = 1; i < cantidad; i++) {
+                quedanManos |= !EstadoMano.sePaso(finales[i] & 0xFF);
+            }
+            if (quedanManos) {
+                while (reglas.crupierPide(crupier)) {
+                    crupier = EstadoMano.siguiente(crupier, mazo.repartirCodigo());
+                }
+            }
+
+            for (int i = 0; i < cantidad; i++) {
+                int res = EstadoMano.resultado(finales[i] & 0xFF, crupier);
+                switch (res) {
+                    case ReglasPago.GANA: victorias++; break;
+                    case ReglasPago.EMPATE: empates++; break;
+                    default: derrotas++;
+                }
+                neto += (apuesta << (finales[i] >>> 8)) * reglas.neto(res);
+            }
+        }
+
+        resultado.manos += rondas;
+        resultado.victorias += victorias;
+        resultado.empates += empates;
+        resultado.derrotas += derrotas;
+        resultado.blackjacks += blackjacks;
+        resultado.rendiciones += rendiciones;
+        resultado.neto += neto;
+        resultado.unidadesApostadas += apostado;
+    }
+
+    /**
+     * Rondas de varios asientos con una sola jugada del crupier.
+     */
+    private void jugarMesa(long rondas, ResultadoSimulacion resultado) {
+        long victorias = 0, empates = 0, derrotas = 0, blackjacks = 0, rendiciones = 0, neto = 0, apostado = 0;
+
+        for (long n = 0; n < rondas; n++) {
+            mazo.prepararRonda();
+            // La apuesta se decide antes de repartir, con la cuenta del zapato tal como quedó
+            int apuesta = rampa == null ? 1 : rampa.apuesta(contador.getCuentaRealEntera());
+            apostado += (long) apuesta * asientos;
+
+            // Mismo orden que BlackjackControlador.nuevaPartida:
+            // jugadores, crupier oculta, jugadores, crupier visible
+            for (int a = 0; a < asientos; a++) {
+                primerasCartas[a] = mazo.repartirCodigo();
+            }
+            int crupier = EstadoMano.siguiente(EstadoMano.INICIAL, mazo.repartirCodigo());
+            for (int a = 0; a < asientos; a++) {
+                segundasCartas[a] = mazo.repartirCodigo();
+            }
+            int visible = mazo.repartirCodigo();
+            crupier = EstadoMano.siguiente(crupier, visible);
+            int valorVisible = CodigoCarta.valor(visible);
+
+            // Manos terminadas de toda la mesa, en orden; el crupier no juega si todas se pasaron
+            int cantidad = 0;
+            boolean quedanManos = false;
+            for (int a = 0; a < asientos; a++) {
+                int primera = primerasCartas[a];
+                int segunda = segundasCartas[a];
+                int jugador = EstadoMano.siguiente(EstadoMano.siguiente(EstadoMano.INICIAL, primera), segunda);
+                if (EstadoMano.esBlackjack(jugador)) {
+                    blackjacks++;
+                    neto += apuesta * reglas.neto(ReglasPago.BLACKJACK);
+                    continue;
+                }
+                int decision = estrategia.decidir(jugador, valorVisible);
+                if (decision == Estrategia.RENDIRSE) {
+                    rendiciones++;
+                    neto += apuesta * reglas.neto(ReglasPago.RENDICION);
+                    continue;
+                }
+
+                int valorPar = CodigoCarta.valor(primera);
+                if (valorPar == CodigoCarta.valor(segunda) && manosMaximas > 1
+                        && estrategia.dividir(valorPar, valorVisible)) {
+                    int desde = cantidad;
+                    cantidad = dividir(primera, segunda, valorPar, valorVisible, desde);
+                    for (int i = desde; i < cantidad; i++) {
+                        quedanManos |= !EstadoMano.sePaso(finales[i] & 0xFF);
+                    }
+                } else {
+                    int fin = jugarMano(jugador, decision, valorVisible);
+                    finales[cantidad++] = fin;
+                    quedanManos |= !EstadoMano.sePaso(fin & 0xFF);
+                }
+            }
+
+            if (quedanManos) {
+                while (reglas.crupierPide(crupier)) {
+                    crupier = EstadoMano.siguiente(crupier, mazo.repartirCodigo());
+                }
+            }
+
+            for (int i = 0; i < cantidad; i++) {
+                int res = EstadoMano.resultado(finales[i] & 0xFF, crupier);
+                switch (res) {
+                    case ReglasPago.GANA: victorias++; break;
+                    case ReglasPago.EMPATE: empates++; break;
+                    default: derrotas++;
+                }
+                neto += (apuesta << (finales[i] >>> 8)) * reglas.neto(res);
+            }
+        }
+
+        resultado.manos += rondas * asientos;
+        resultado.victorias += victorias;
+        resultado.empates += empates;
+        resultado.derrotas += derrotas;
+        resultado.blackjacks += blackjacks;
+        resultado.rendiciones += rendiciones;
+        resultado.neto += neto;
+        resultado.unidadesApostadas += apostado;
+    }
+
+    /**
+     * Juega una mano a partir de la primera decisión: dobla, o pide según
+     * la estrategia hasta plantarse, pasarse o llegar a 21.
+     *
+     * @return Estado final, con {@link #DOBLADA} si se dobló
+     */
+    private int jugarMano(int estado, int decision, int valorVisible) {
+        if (decision == Estrategia.DOBLAR) {
+            return EstadoMano.siguiente(estado, mazo.repartirCodigo()) | DOBLADA;
+        }
+        while (EstadoMano.total(estado) < 21 && decision == Estrategia.PEDIR) {
+            estado = EstadoMano.siguiente(estado, mazo.repartirCodigo());
+            decision = estrategia.decidir(estado, valorVisible);
+        }
+        return estado;
+    }
+
+    /**
+     * Divide la pareja y juega cada mano, volviendo a dividir mientras la
+     * estrategia quiera y las reglas dejen. Los ases divididos reciben una
+     * sola carta.
+     *
+     * @param desde Primer lugar libre en {@link #finales}
+     * @return Siguiente lugar libre en {@link #finales}, después de las manos jugadas
+     */
+    private int dividir(int primera, int segunda, int valorPar, int valorVisible, int desde) {
+        primeras[0] = primera;
+        primeras[1] = segunda;
+        int abiertas = 2;
+        boolean ases = valorPar == CodigoCarta.AS;
+        for (int i = 0; i < abiertas; i++) {
+            int codigo = mazo.repartirCodigo();
+            while (!ases && abiertas < manosMaximas && CodigoCarta.valor(codigo) == valorPar
+                    && estrategia.dividir(valorPar, valorVisible)) {
+                primeras[abiertas++] = codigo;
+                codigo = mazo.repartirCodigo();
+            }
+            int estado = EstadoMano.siguiente(EstadoMano.siguiente(EstadoMano.INICIAL, primeras[i]), codigo);
+            int fin = ases ? estado
+                : jugarMano(estado, estrategia.decidirTrasDividir(estado, valorVisible), valorVisible);
+            // Un 21 de dos cartas después de dividir no es blackjack
+            finales[desde + i] = EstadoMano.sinBlackjack(fin);
+        }
+        return desde + abiertas;
+    }
+}
@@ -2,9 +2,14 @@ package com.example.vista;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import com.example.controlador.BlackjackControlador;
+import com.example.controlador.InstantaneaAsiento;
+import com.example.controlador.InstantaneaMesa;
+import com.example.metricas.Metricas;
 
 /**
  * Interfaz gráfica del juego de Blackjack.
@@ -23,8 +28,19 @@ import com.example.controlador.BlackjackControlador;
  * - Proporcionar controles para las acciones del jugador
  * - Cargar y mostrar imágenes de cartas
  * - Mantener la interfaz actualizada con el estado del juego
+ * 
+ * La lógica del juego corre en el hilo del motor del controlador, que
+ * publica instantáneas inmutables de la mesa. La vista se queda sólo con
+ * la más reciente y la aplica en el hilo de eventos, así que aunque el
+ * motor publique más rápido de lo que se puede pintar, la interfaz sigue
+ * respondiendo.
  */
-public class BlackjackGUI extends JFrame {
+public class BlackjackGUI extends JFrame implements VistaMesa {
+
+    private static final long serialVersionUID = 1L;
+    
+    /** Texto de cada resultado según ReglasPago, para las etiquetas de los asientos */
+    private static final String[] RESULTADOS = {"Pierde", "Empate", "Gana", "Blackjack", "Se rinde"};
     
     // === COMPONENTES DE INFORMACIÓN ===
     
@@ -48,6 +64,12 @@ public class BlackjackGUI extends JFrame {
     /** Botón para terminar el turno del jugador */
     private JButton plantarseBtn;
     
+    /** Botón para doblar la apuesta; sólo se habilita si las reglas lo permiten */
+    private JButton doblarBtn;
+    
+    /** Botón para rendirse; sólo se habilita si las reglas lo permiten */
+    private JButton rendirseBtn;
+    
     /** Botón para iniciar una nueva partida */
     private JButton nuevaPartidaBtn;
     
@@ -56,16 +78,35 @@ public class BlackjackGUI extends JFrame {
     /** Referencia al controlador que maneja la lógica del juego */
     private BlackjackControlador controlador;
     
+    // === INSTANTÁNEAS DEL MOTOR ===
+    
+    /** Última instantánea publicada que todavía no se aplicó (null si no hay) */
+    private final AtomicReference<InstantaneaMesa> pendiente = new AtomicReference<>();
+    
+    /** Última instantánea aplicada; sólo se usa en el hilo de eventos */
+    private InstantaneaMesa aplicada;
+    
+    /** Mensajes importantes ya mostrados de la generación actual */
+    private int importantesMostrados;
+    
     // === PANELES DE LA MESA ===
     
     /** Panel principal que simula la mesa de casino (fondo verde) */
     private JPanel mesaPanel;
     
-    /** Panel donde se muestran las cartas del crupier */
-    private JPanel crupierPanel;
-    
-    /** Panel donde se muestran las cartas del jugador */
-    private JPanel jugadorPanel;
+    /** Mesa dibujada donde se muestran y animan las cartas del crupier y del jugador */
+    private PanelMesa cartasPanel;
+
+    // === IMÁGENES DE LAS CARTAS ===
+
+    /** Alto inicial de la ventana; las cartas se escalan en proporción a él */
+    private static final int ALTO_VENTANA_BASE = 550;
+
+    /** Caché compartida de imágenes ya decodificadas y escaladas */
+    private final CacheSprites sprites = new CacheSprites();
+
+    /** Temporizador que agrupa los eventos de redimensionado antes de reescalar */
+    private final Timer temporizadorReescalado;
 
     /**
      * Constructor de la interfaz gráfica.
@@ -117,21 +158,11 @@ public class BlackjackGUI extends JFrame {
         mesaPanel.add(Box.createVerticalStrut(10));
         mesaPanel.add(puntajesPanel);
 
-        // === PANEL DE CARTAS DEL CRUPIER ===
-        crupierPanel = new JPanel();
-        crupierPanel.setOpaque(false);
-        crupierPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        mesaPanel.add(Box.createVerticalStrut(10));
-        mesaPanel.add(crupierPanel);
-
-        // Espacio entre crupier y jugador
-        mesaPanel.add(Box.createVerticalStrut(40));
-
-        // === PANEL DE CARTAS DEL JUGADOR ===
-        jugadorPanel = new JPanel();
-        jugadorPanel.setOpaque(false);
-        jugadorPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        mesaPanel.add(jugadorPanel);
+        // === MESA DE CARTAS (CRUPIER ARRIBA, JUGADOR ABAJO) ===
+        cartasPanel = new PanelMesa(sprites);
+        Metricas.global().setFuenteSprites(sprites::getAciertos, sprites::getFallos);
+        cartasPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        mesaPanel.add(cartasPanel);
 
         // === ÁREA DE MENSAJES ===
         mensajesArea = new JTextArea(3, 40);
@@ -151,12 +182,44 @@ public class BlackjackGUI extends JFrame {
         JPanel botonesPanel = new JPanel();
         pedirCartaBtn = new JButton("Pedir carta");
         plantarseBtn = new JButton("Plantarse");
+        doblarBtn = new JButton("Doblar");
+        rendirseBtn = new JButton("Rendirse");
         nuevaPartidaBtn = new JButton("Nueva partida");
+        pedirCartaBtn.setEnabled(false);  // Se habilitan en el turno del jugador
+        plantarseBtn.setEnabled(false);
+        doblarBtn.setEnabled(false);
+        rendirseBtn.setEnabled(false);
         
         botonesPanel.add(pedirCartaBtn);
         botonesPanel.add(plantarseBtn);
+        botonesPanel.add(doblarBtn);
+        botonesPanel.add(rendirseBtn);
         botonesPanel.add(nuevaPartidaBtn);
         add(botonesPanel, BorderLayout.SOUTH);
+
+        // === REESCALADO DE CARTAS AL CAMBIAR EL TAMAÑO ===
+        temporizadorReescalado = new Timer(150, e -> reescalarCartas());
+        temporizadorReescalado.setRepeats(false);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                temporizadorReescalado.restart();
+            }
+        });
+    }
+
+    /**
+     * Escala las cartas en proporción al alto de la ventana. El escalado
+     * corre fuera del hilo de eventos y al terminar se redibujan las cartas.
+     */
+    private void reescalarCartas() {
+        double factor = Math.max(0.5, Math.min(CacheSprites.ESCALA_MAXIMA, (double) getHeight() / ALTO_VENTANA_BASE));
+        int ancho = (int) Math.round(CacheSprites.ANCHO_POR_DEFECTO * factor);
+        int alto = (int) Math.round(CacheSprites.ALTO_POR_DEFECTO * factor);
+        if (ancho == sprites.getAncho() && alto == sprites.getAlto()) {
+            return;
+        }
+        sprites.reescalar(ancho, alto).thenRun(() -> SwingUtilities.invokeLater(cartasPanel::reacomodar));
     }
 
     /**
@@ -182,11 +245,116 @@ public class BlackjackGUI extends JFrame {
         plantarseBtn.addActionListener(e -> {
             if (controlador != null) controlador.plantarse();
         });
+        doblarBtn.addActionListener(e -> {
+            if (controlador != null) controlador.doblar();
+        });
+        rendirseBtn.addActionListener(e -> {
+            if (controlador != null) controlador.rendirse();
+        });
         nuevaPartidaBtn.addActionListener(e -> {
-            if (controlador != null) controlador.nuevaPartida();
+            if (controlador != null) solicitarApuesta();
         });
     }
 
+    /**
+     * Pide la apuesta al usuario y la envía al controlador.
+     * 
+     * Corre en el hilo de eventos; el controlador valida la apuesta en su
+     * propio hilo. Un texto que no es un número se envía como apuesta 0,
+     * que el controlador rechaza como inválida.
+     */
+    private void solicitarApuesta() {
+        long saldo = aplicada != null ? aplicada.getSaldo() : 0;
+        if (aplicada != null && saldo <= 0) {
+            controlador.nuevaPartida(0);  // El controlador avisa que no hay saldo
+            return;
+        }
+        String apuestaStr = JOptionPane.showInputDialog(
+            this, 
+            "¿Cuánto deseas apostar? (Saldo: $" + saldo + ")"
+        );
+        
+        if (apuestaStr == null) return; // Usuario canceló
+        
+        int apuesta;
+        try {
+            apuesta = Integer.parseInt(apuestaStr.trim());
+        } catch (NumberFormatException e) {
+            apuesta = 0;
+        }
+        controlador.nuevaPartida(apuesta);
+    }
+
+    /**
+     * Recibe una instantánea del motor del juego. Puede llamarse desde
+     * cualquier hilo.
+     * 
+     * Si ya hay una instantánea esperando a ser aplicada, la nueva la
+     * reemplaza y no se agenda otra actualización: ante una ráfaga de
+     * publicaciones se pinta sólo el estado más reciente.
+     * 
+     * @param instantanea El estado de la mesa al terminar una acción
+     */
+    @Override
+    public void publicar(InstantaneaMesa instantanea) {
+        if (pendiente.getAndSet(instantanea) == null) {
+            SwingUtilities.invokeLater(this::aplicarPendiente);
+        }
+    }
+
+    /**
+     * Aplica la última instantánea publicada, comparándola con la anterior
+     * para tocar sólo lo que cambió.
+     */
+    private void aplicarPendiente() {
+        InstantaneaMesa nueva = pendiente.getAndSet(null);
+        if (nueva == null) {
+            return;
+        }
+        InstantaneaMesa anterior = aplicada;
+        aplicada = nueva;
+
+        actualizarSaldo(nueva.getSaldo());
+        actualizarPuntajeJugador(nueva.getPuntajeJugador());
+        actualizarPuntajeCrupier(nueva.getPuntajeCrupier());
+        pedirCartaBtn.setEnabled(nueva.isTurnoJugador());
+        plantarseBtn.setEnabled(nueva.isTurnoJugador());
+        doblarBtn.setEnabled(nueva.isPuedeDoblar());
+        rendirseBtn.setEnabled(nueva.isPuedeRendirse());
+
+        // === CARTAS ===
+        if (anterior == null || anterior.getRonda() != nueva.getRonda()) {
+            limpiarCartas();
+        }
+        mostrarCartasJugador(nueva.getCartasJugador());
+        mostrarAsientos(nueva.getAsientos());
+        mostrarCartasCrupier(nueva.getCartasCrupier(), nueva.isOcultarPrimera());
+
+        // === MENSAJES ===
+        // Se agregan sólo los nuevos; si se limpiaron, se reescribe todo
+        boolean mismaGeneracion = anterior != null
+            && anterior.getGeneracionMensajes() == nueva.getGeneracionMensajes();
+        int desde = mismaGeneracion ? anterior.getMensajes().size() : 0;
+        if (!mismaGeneracion) {
+            limpiarMensajes();
+            importantesMostrados = 0;
+        }
+        List<String> mensajes = nueva.getMensajes();
+        for (int i = desde; i < mensajes.size(); i++) {
+            mostrarMensaje(mensajes.get(i));
+        }
+
+        // Las ventanas emergentes van al final: son modales y, mientras están
+        // abiertas, pueden aplicarse instantáneas más nuevas
+        List<String> importantes = nueva.getMensajesImportantes();
+        while (importantesMostrados < importantes.size()) {
+            mostrarMensajeImportante(importantes.get(importantesMostrados++));
+            if (aplicada != nueva) {
+                break;  // Una instantánea más nueva ya mostró los que quedaban
+            }
+        }
+    }
+
     /**
      * Muestra un mensaje normal en el área de texto fija.
      * 
@@ -214,7 +382,7 @@ public class BlackjackGUI extends JFrame {
      * 
      * @param saldo El nuevo saldo del jugador
      */
-    public void actualizarSaldo(int saldo) {
+    public void actualizarSaldo(long saldo) {
         saldoLabel.setText("Saldo: $" + saldo);
     }
 
@@ -228,10 +396,10 @@ public class BlackjackGUI extends JFrame {
     /**
      * Actualiza la etiqueta del puntaje del jugador.
      * 
-     * @param puntos Los puntos actuales del jugador
+     * @param texto Los puntos actuales del jugador, o "?" antes de repartir
      */
-    public void actualizarPuntajeJugador(int puntos) {
-        puntajeJugadorLabel.setText("Jugador: " + puntos);
+    public void actualizarPuntajeJugador(String texto) {
+        puntajeJugadorLabel.setText("Jugador: " + texto);
     }
 
     /**
@@ -247,81 +415,68 @@ public class BlackjackGUI extends JFrame {
     }
 
     /**
-     * Muestra las cartas del crupier en su panel correspondiente.
+     * Quita las cartas de la mesa al comenzar una nueva ronda.
+     */
+    public void limpiarCartas() {
+        cartasPanel.limpiar();
+    }
+
+    /**
+     * Muestra las cartas del crupier en la mesa.
+     * 
+     * Las cartas nuevas se reparten con una animación; cuando la primera
+     * carta deja de estar oculta, se voltea.
      * 
      * @param nombresArchivos Lista de nombres de archivos de las cartas
      * @param ocultarPrimera Si es true, la primera carta se muestra como reverso
      */
     public void mostrarCartasCrupier(List<String> nombresArchivos, boolean ocultarPrimera) {
-        crupierPanel.removeAll();  // Limpiar cartas anteriores
-        
-        for (int i = 0; i < nombresArchivos.size(); i++) {
-            String nombre = nombresArchivos.get(i);
-            JLabel carta;
-            
-            if (i == 0 && ocultarPrimera) {
-                // Mostrar reverso de carta para la primera carta oculta
-                carta = crearLabelCarta("BACK.png");
-            } else {
-                // Mostrar carta real
-                carta = crearLabelCarta(nombre);
-            }
-            crupierPanel.add(carta);
-        }
-        
-        // Actualizar la visualización
-        crupierPanel.revalidate();
-        crupierPanel.repaint();
+        cartasPanel.mostrarCrupier(indices(nombresArchivos), ocultarPrimera);
     }
 
     /**
-     * Muestra las cartas del jugador en su panel correspondiente.
+     * Muestra las cartas del jugador en la mesa; las nuevas se reparten con una animación.
      * 
      * @param nombresArchivos Lista de nombres de archivos de las cartas del jugador
      */
     public void mostrarCartasJugador(List<String> nombresArchivos) {
-        jugadorPanel.removeAll();  // Limpiar cartas anteriores
-        
-        for (String nombre : nombresArchivos) {
-            JLabel carta = crearLabelCarta(nombre);
-            jugadorPanel.add(carta);
-        }
-        
-        // Actualizar la visualización
-        jugadorPanel.revalidate();
-        jugadorPanel.repaint();
+        cartasPanel.mostrarJugador(indices(nombresArchivos));
     }
 
     /**
-     * Crea un JLabel con la imagen de una carta.
+     * Muestra las cartas de cada asiento con su nombre, puntaje y apuesta.
+     * Con un solo asiento no hace falta: la mesa queda como siempre.
      * 
-     * Este método:
-     * 1. Busca la imagen en la carpeta de recursos
-     * 2. Escala la imagen al tamaño apropiado (90x130 píxeles)
-     * 3. Crea un JLabel con la imagen
-     * 4. Si no encuentra la imagen, muestra "?" como fallback
+     * @param asientos Los asientos de la instantánea, el del jugador primero
+     */
+    public void mostrarAsientos(List<InstantaneaAsiento> asientos) {
+        if (asientos.size() < 2) {
+            return;
+        }
+        for (int i = 0; i < asientos.size(); i++) {
+            InstantaneaAsiento asiento = asientos.get(i);
+            String etiqueta = asiento.getNombre() + ": " + asiento.getPuntaje() + "  $" + asiento.getApuesta();
+            if (asiento.getResultado() != InstantaneaAsiento.SIN_RESULTADO) {
+                etiqueta += "  " + RESULTADOS[asiento.getResultado()];
+            }
+            cartasPanel.mostrarAsiento(i, indices(asiento.getCartas()), etiqueta, asiento.isDecidiendo());
+        }
+    }
+
+    /**
+     * Convierte nombres de archivo en índices del atlas de cartas.
      * 
-     * @param nombreArchivo El nombre del archivo de imagen de la carta
-     * @return Un JLabel con la imagen de la carta
+     * @param nombresArchivos Los nombres de archivo de las cartas
+     * @return Los índices de cada carta (-1 si no hay imagen para el archivo)
      */
-    private JLabel crearLabelCarta(String nombreArchivo) {
-        try {
-            // Buscar la imagen en la carpeta de recursos
-            java.net.URL url = getClass().getResource("/cartas/" + nombreArchivo);
-            
-            if (url == null) {
-                System.out.println("DEBUG: No se encontró la imagen de la carta: " + nombreArchivo);
-                return new JLabel("?");  // Fallback si no encuentra la imagen
+    private int[] indices(List<String> nombresArchivos) {
+        int[] indices = new int[nombresArchivos.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = CacheSprites.indice(nombresArchivos.get(i));
+            if (indices[i] < 0) {
+                System.out.println("DEBUG: No se encontró la imagen de la carta: " + nombresArchivos.get(i));
             }
-            
-            // Cargar y escalar la imagen
-            ImageIcon icon = new ImageIcon(url);
-            Image img = icon.getImage().getScaledInstance(90, 130, Image.SCALE_SMOOTH);
-            return new JLabel(new ImageIcon(img));
-            
-        } catch (Exception e) {
-            System.out.println("DEBUG: Error cargando la imagen de la carta: " + nombreArchivo);
-            return new JLabel("?");  // Fallback en caso de error
         }
+        return indices;
     }
-} 
\ No newline at end of file
+}
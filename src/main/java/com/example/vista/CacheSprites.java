@@ -0,0 +1,383 @@
+package com.example.vista;
+
+import com.example.modelo.CodigoCarta;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+/**
+ * Caché de las imágenes de las cartas ya decodificadas y escaladas.
+ *
+ * Las 52 cartas y el reverso (BACK.png) se decodifican una sola vez, en
+ * paralelo y fuera del hilo de eventos de Swing, y se guardan escaladas al
+ * tamaño de carta actual. Todas las etiquetas comparten las mismas
+ * instancias de {@link Icon}, así que mostrar una carta ya no lee ni escala
+ * ningún PNG. Cuando cambia el tamaño de la ventana, {@link #reescalar(int, int)}
+ * vuelve a escalar, también en segundo plano, desde una copia de cada imagen
+ * reducida al tamaño máximo admitido ({@link #ESCALA_MAXIMA}).
+ *
+ * Ningún método espera a la carga: hasta que termina, {@link #getAtlas()} y
+ * {@link #getIcono(int)} devuelven null y quien dibuja muestra un lugar
+ * vacío y repinta al completarse {@link #getCarga()}.
+ */
+public class CacheSprites {
+
+    /** Ancho por defecto de una carta en pantalla */
+    public static final int ANCHO_POR_DEFECTO = 90;
+
+    /** Alto por defecto de una carta en pantalla */
+    public static final int ALTO_POR_DEFECTO = 130;
+
+    /** Nombre del archivo del reverso de las cartas */
+    public static final String REVERSO = "BACK.png";
+
+    /** Cantidad de imágenes: 52 cartas más el reverso */
+    public static final int SPRITES = CodigoCarta.CARTAS_POR_MAZO + 1;
+
+    /** Índice del reverso; las cartas usan su código como índice */
+    public static final int INDICE_REVERSO = CodigoCarta.CARTAS_POR_MAZO;
+
+    /** Factor máximo de escala respecto del tamaño por defecto */
+    public static final double ESCALA_MAXIMA = 2.0;
+
+    private static final String CARPETA = "/cartas/";
+
+    /** Índice de cada nombre de archivo */
+    private static final Map<String, Integer> INDICES = new HashMap<>();
+
+    static {
+        for (int codigo = 0; codigo < CodigoCarta.CARTAS_POR_MAZO; codigo++) {
+            INDICES.put(CodigoCarta.carta(codigo).getNombreArchivo(), codigo);
+        }
+        INDICES.put(REVERSO, INDICE_REVERSO);
+    }
+
+    private final ExecutorService ejecutor;
+    /** Imágenes fuente, reducidas al tamaño máximo para no guardar los PNG completos */
+    private final BufferedImage[] originales = new BufferedImage[SPRITES];
+    private final CompletableFuture<Void> carga;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    /** Íconos escalados al tamaño actual; se reemplaza completo al reescalar */
+    private volatile Icon[] iconos;
+
+    /** Atlas con todas las imágenes al tamaño actual; se publica junto con los íconos */
+    private volatile Atlas atlas;
+    private volatile int ancho = ANCHO_POR_DEFECTO;
+    private volatile int alto = ALTO_POR_DEFECTO;
+    private volatile long milisCarga;
+
+    /** Último pedido de tamaño; la carga inicial es el 0 */
+    private final AtomicInteger generacion = new AtomicInteger();
+
+    /**
+     * Crea la caché y empieza a cargar las imágenes en segundo plano.
+     */
+    public CacheSprites() {
+        int hilos = Math.max(1, Math.min(SPRITES, Runtime.getRuntime().availableProcessors()));
+        ejecutor = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "carga-sprites");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long inicio = System.nanoTime();
+        CompletableFuture<?>[] tareas = new CompletableFuture<?>[SPRITES];
+        for (int i = 0; i < SPRITES; i++) {
+            int indice = i;
+            tareas[i] = CompletableFuture.runAsync(() -> originales[indice] = reducir(leer(nombre(indice))), ejecutor);
+        }
+        carga = CompletableFuture.allOf(tareas)
+            .thenCompose(v -> escalarTodos(ANCHO_POR_DEFECTO, ALTO_POR_DEFECTO, 0))
+            .thenRun(() -> milisCarga = (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Ícono compartido de una carta, por nombre de archivo (por ejemplo "A-H.png").
+     *
+     * @return El ícono, o null si el nombre no corresponde a ninguna imagen o
+     *         la carga inicial todavía no terminó (ver {@link #getCarga()})
+     */
+    public Icon getIcono(String nombreArchivo) {
+        Integer indice = INDICES.get(nombreArchivo);
+        if (indice == null) {
+            fallos.increment();
+            return null;
+        }
+        return getIcono(indice);
+    }
+
+    /**
+     * Ícono compartido por índice: el código de la carta, o {@link #INDICE_REVERSO}.
+     * Nunca espera a la carga, porque se llama desde el hilo de eventos.
+     *
+     * @return El ícono, o null si la carga inicial todavía no terminó
+     */
+    public Icon getIcono(int indice) {
+        Icon[] actuales = iconos;
+        if (actuales == null) {
+            return null;
+        }
+        Icon icono = actuales[indice];
+        if (icono == null) {
+            fallos.increment();
+        } else {
+            aciertos.increment();
+        }
+        return icono;
+    }
+
+    /**
+     * Vuelve a escalar todas las imágenes al nuevo tamaño en segundo plano.
+     * Mientras tanto se siguen entregando los íconos del tamaño anterior. Si
+     * se pide otro tamaño antes de que termine, este resultado se descarta y
+     * queda publicado el del último pedido.
+     *
+     * @return Futuro que se completa cuando los nuevos íconos están
+     *         disponibles, o cuando se descartan por un pedido posterior
+     */
+    public CompletableFuture<Void> reescalar(int nuevoAncho, int nuevoAlto) {
+        if (nuevoAncho <= 0 || nuevoAlto <= 0
+                || nuevoAncho > ANCHO_POR_DEFECTO * ESCALA_MAXIMA || nuevoAlto > ALTO_POR_DEFECTO * ESCALA_MAXIMA) {
+            throw new IllegalArgumentException("Tamaño inválido: " + nuevoAncho + "x" + nuevoAlto);
+        }
+        int pedido = generacion.incrementAndGet();
+        return carga.thenCompose(v -> escalarTodos(nuevoAncho, nuevoAlto, pedido));
+    }
+
+    /**
+     * Futuro de la carga inicial, para quien quiera esperarla o encadenar acciones.
+     */
+    public CompletableFuture<Void> getCarga() {
+        return carga;
+    }
+
+    /**
+     * Atlas actual con todas las imágenes. Nunca espera a la carga: quien
+     * dibuja puede encadenar un repintado a {@link #getCarga()}.
+     *
+     * @return El atlas, o null si la carga inicial todavía no terminó
+     */
+    public Atlas getAtlas() {
+        return atlas;
+    }
+
+    /**
+     * Índice de sprite de un nombre de archivo, o -1 si no corresponde a ninguna imagen.
+     */
+    public static int indice(String nombreArchivo) {
+        Integer indice = INDICES.get(nombreArchivo);
+        return indice == null ? -1 : indice;
+    }
+
+    /**
+     * Escala todas las imágenes y publica el resultado si nadie pidió otro
+     * tamaño mientras tanto.
+     *
+     * @param pedido Generación del pedido (ver {@link #generacion})
+     */
+    private CompletableFuture<Void> escalarTodos(int nuevoAncho, int nuevoAlto, int pedido) {
+        BufferedImage[] escaladas = new BufferedImage[SPRITES];
+        CompletableFuture<?>[] tareas = new CompletableFuture<?>[SPRITES];
+        for (int i = 0; i < SPRITES; i++) {
+            int indice = i;
+            tareas[i] = CompletableFuture.runAsync(() -> {
+                BufferedImage original = originales[indice];
+                if (original != null) {
+                    escaladas[indice] = escalar(original, nuevoAncho, nuevoAlto);
+                }
+            }, ejecutor);
+        }
+        return CompletableFuture.allOf(tareas).thenRun(() -> {
+            Icon[] nuevos = new Icon[SPRITES];
+            for (int i = 0; i < SPRITES; i++) {
+                if (escaladas[i] != null) {
+                    nuevos[i] = new ImageIcon(escaladas[i]);
+                }
+            }
+            Atlas nuevoAtlas = new Atlas(escaladas, nuevoAncho, nuevoAlto, aciertos, fallos);
+            // Dos escalados pueden terminar en cualquier orden: sólo publica el
+            // último pedido, y bajo el candado para que uno viejo no lo pise
+            synchronized (this) {
+                if (pedido != generacion.get()) {
+                    return;
+                }
+                ancho = nuevoAncho;
+                alto = nuevoAlto;
+                atlas = nuevoAtlas;
+                iconos = nuevos;  // Publicación atómica del juego completo
+            }
+        });
+    }
+
+    private static BufferedImage escalar(BufferedImage original, int ancho, int alto) {
+        BufferedImage escalada = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = escalada.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.drawImage(original, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+        return escalada;
+    }
+
+    /**
+     * Reduce una imagen decodificada al tamaño máximo de carta, si es más grande.
+     */
+    private static BufferedImage reducir(BufferedImage imagen) {
+        int anchoMaximo = (int) (ANCHO_POR_DEFECTO * ESCALA_MAXIMA);
+        int altoMaximo = (int) (ALTO_POR_DEFECTO * ESCALA_MAXIMA);
+        if (imagen == null || (imagen.getWidth() <= anchoMaximo && imagen.getHeight() <= altoMaximo)) {
+            return imagen;
+        }
+        return escalar(imagen, anchoMaximo, altoMaximo);
+    }
+
+    private static BufferedImage leer(String nombreArchivo) {
+        try (InputStream entrada = CacheSprites.class.getResourceAsStream(CARPETA + nombreArchivo)) {
+            if (entrada == null) {
+                System.out.println("DEBUG: No se encontró la imagen de la carta: " + nombreArchivo);
+                return null;
+            }
+            return ImageIO.read(entrada);
+        } catch (IOException e) {
+            System.out.println("DEBUG: Error cargando la imagen de la carta: " + nombreArchivo);
+            return null;
+        }
+    }
+
+    /**
+     * Nombre de archivo de un índice de sprite.
+     */
+    public static String nombre(int indice) {
+        return indice == INDICE_REVERSO ? REVERSO : CodigoCarta.carta(indice).getNombreArchivo();
+    }
+
+    public int getAncho() {
+        return ancho;
+    }
+
+    public int getAlto() {
+        return alto;
+    }
+
+    /**
+     * Milisegundos que tomó la carga inicial (0 si todavía no terminó).
+     */
+    public long getMilisCarga() {
+        return milisCarga;
+    }
+
+    /**
+     * Memoria aproximada de las imágenes fuente y escaladas, en bytes
+     * (4 bytes por píxel).
+     */
+    public long getBytesEnMemoria() {
+        long bytes = 0;
+        for (BufferedImage original : originales) {
+            if (original != null) {
+                bytes += 4L * original.getWidth() * original.getHeight();
+            }
+        }
+        Icon[] actuales = iconos;
+        if (actuales != null) {
+            for (Icon icono : actuales) {
+                if (icono != null) {
+                    bytes += 4L * icono.getIconWidth() * icono.getIconHeight();
+                }
+            }
+        }
+        Atlas actual = atlas;
+        if (actual != null) {
+            bytes += 4L * actual.imagen.getWidth() * actual.imagen.getHeight();
+        }
+        return bytes;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * Todas las imágenes de un mismo tamaño en una sola textura: una fila
+     * por palo (en el orden de los códigos de carta) y el reverso al
+     * comienzo de la última fila. Dibujar cualquier carta es copiar un
+     * rectángulo de la misma imagen.
+     */
+    public static final class Atlas {
+        private static final int COLUMNAS = CodigoCarta.RANGOS;
+
+        private final BufferedImage imagen;
+        private final int ancho;
+        private final int alto;
+        private final boolean[] disponibles = new boolean[SPRITES];
+        /** Contadores de la caché que creó el atlas */
+        private final LongAdder aciertos;
+        private final LongAdder fallos;
+
+        Atlas(BufferedImage[] sprites, int ancho, int alto, LongAdder aciertos, LongAdder fallos) {
+            this.ancho = ancho;
+            this.alto = alto;
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            int filas = (SPRITES + COLUMNAS - 1) / COLUMNAS;
+            imagen = new BufferedImage(COLUMNAS * ancho, filas * alto, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = imagen.createGraphics();
+            try {
+                for (int i = 0; i < SPRITES; i++) {
+                    if (sprites[i] != null) {
+                        g.drawImage(sprites[i], (i % COLUMNAS) * ancho, (i / COLUMNAS) * alto, null);
+                        disponibles[i] = true;
+                    }
+                }
+            } finally {
+                g.dispose();
+            }
+        }
+
+        /**
+         * Dibuja un sprite en el rectángulo dado; si el ancho es menor que
+         * el del sprite se comprime horizontalmente (para voltear cartas).
+         *
+         * @return false si el atlas no tiene imagen para ese índice
+         */
+        public boolean dibujar(Graphics2D g, int indice, int x, int y, int anchoDestino, int altoDestino) {
+            if (indice < 0 || indice >= SPRITES || !disponibles[indice]) {
+                fallos.increment();
+                return false;
+            }
+            aciertos.increment();
+            int sx = (indice % COLUMNAS) * ancho;
+            int sy = (indice / COLUMNAS) * alto;
+            g.drawImage(imagen, x, y, x + anchoDestino, y + altoDestino, sx, sy, sx + ancho, sy + alto, null);
+            return true;
+        }
+
+        public int getAncho() {
+            return ancho;
+        }
+
+        public int getAlto() {
+            return alto;
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.example.vista;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Mesa de cartas dibujada a mano.
+ *
+ * Reemplaza a los paneles con un JLabel por carta: la mesa guarda las
+ * cartas de cada fila como ranuras y las pinta directamente desde el atlas
+ * de {@link CacheSprites}, sin crear componentes de Swing ni forzar un
+ * nuevo layout. Cada cambio (una carta repartida, una carta volteada, una
+ * fila que se recentra) se anima con un {@link Timer} que sólo corre
+ * mientras hay animaciones pendientes, y en cada cuadro se repinta
+ * únicamente la zona que ocupaban y ocupan las cartas que se mueven.
+ *
+ * Con varios asientos, la fila de los jugadores se parte en tramos iguales,
+ * uno por asiento, y bajo cada tramo va el nombre y el puntaje del asiento;
+ * el que todavía decide se resalta. Con un solo asiento la mesa se ve igual
+ * que siempre, sin etiquetas.
+ *
+ * Todos los métodos deben llamarse desde el hilo de eventos de Swing.
+ */
+public class PanelMesa extends JComponent {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Color de fondo, el mismo verde de la mesa */
+    static final Color VERDE_MESA = new Color(0, 80, 0);
+
+    /** Milisegundos entre cuadros (unos 60 por segundo) */
+    private static final int MILIS_POR_CUADRO = 16;
+
+    /** Duración de la animación de repartir o mover una carta */
+    private static final long NANOS_MOVIMIENTO = 280_000_000L;
+
+    /** Duración de la animación de voltear una carta */
+    private static final long NANOS_VOLTEO = 320_000_000L;
+
+    /** Separación entre el comienzo de animaciones sucesivas */
+    private static final long NANOS_ESCALONADO = 140_000_000L;
+
+    private static final int MARGEN = 10;
+    private static final int SEPARACION = 10;
+    private static final int ESPACIO_ENTRE_FILAS = 40;
+    private static final int ALTO_ETIQUETA = 36;
+
+    /** Color de la etiqueta del asiento que todavía decide */
+    private static final Color RESALTADO = new Color(255, 215, 0);
+
+    private static final Font FUENTE_ETIQUETA = new Font("Arial", Font.BOLD, 12);
+
+    private final CacheSprites sprites;
+    private final List<Ranura> crupier = new ArrayList<>();
+    /** Cartas de cada asiento; el primero es el del jugador de la ventana */
+    private final List<List<Ranura>> asientos = new ArrayList<>();
+    /** Texto bajo cada asiento, o null si no lleva */
+    private final List<String> etiquetas = new ArrayList<>();
+    /** Asientos que todavía deciden, para resaltarlos */
+    private final List<Boolean> activos = new ArrayList<>();
+    private final Timer temporizador;
+    private final Rectangle sucio = new Rectangle();
+
+    /** Momento a partir del cual puede empezar la próxima animación encolada */
+    private long proximoInicio;
+
+    /** Instante del cuadro actual; la zona sucia y el dibujo usan el mismo */
+    private long cuadro = System.nanoTime();
+
+    /**
+     * Una carta sobre la mesa: qué muestra, dónde está y qué animación tiene en curso.
+     */
+    private static final class Ranura {
+        /** Sprite de la cara de la carta (-1 si no hay imagen) */
+        int cara;
+        /** Si la carta debe terminar boca abajo */
+        boolean oculta;
+
+        /** Movimiento desde (x0, y0) hasta (x, y) */
+        double x0, y0, x, y;
+        long inicioMovimiento;
+
+        /** Volteo en curso: de boca abajo a boca arriba o al revés */
+        boolean volteando;
+        long inicioVolteo;
+
+        /** Zona ocupada en el último cuadro dibujado */
+        final Rectangle dibujada = new Rectangle();
+    }
+
+    public PanelMesa(CacheSprites sprites) {
+        this.sprites = sprites;
+        agregarAsiento();
+        setOpaque(true);
+        temporizador = new Timer(MILIS_POR_CUADRO, e -> avanzarCuadro());
+        temporizador.setCoalesce(true);
+        // Hasta que terminan de cargar las imágenes se dibujan lugares vacíos
+        sprites.getCarga().thenRun(() -> SwingUtilities.invokeLater(this::repaint));
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                reacomodar();
+            }
+        });
+    }
+
+    /**
+     * Muestra las cartas del crupier. Las cartas nuevas se reparten con una
+     * animación y las que cambian de oculta a visible se voltean.
+     *
+     * @param indices        Índices de sprite de las cartas (ver CacheSprites#indice)
+     * @param ocultarPrimera Si la primera carta va boca abajo
+     */
+    public void mostrarCrupier(int[] indices, boolean ocultarPrimera) {
+        actualizarFila(crupier, indices, ocultarPrimera);
+    }
+
+    /**
+     * Muestra las cartas del jugador; las nuevas se reparten con una animación.
+     */
+    public void mostrarJugador(int[] indices) {
+        actualizarFila(asientos.get(0), indices, false);
+    }
+
+    /**
+     * Muestra las cartas de un asiento y su etiqueta. Si el asiento es
+     * nuevo, la mesa se vuelve a repartir en tramos.
+     *
+     * @param asiento  Posición del asiento, desde 0
+     * @param indices  Índices de sprite de las cartas (ver CacheSprites#indice)
+     * @param etiqueta Nombre y puntaje a mostrar bajo las cartas, o null
+     * @param activo   Si el asiento todavía decide y va resaltado
+     */
+    public void mostrarAsiento(int asiento, int[] indices, String etiqueta, boolean activo) {
+        if (asiento >= asientos.size()) {
+            while (asiento >= asientos.size()) {
+                agregarAsiento();
+            }
+            reacomodar();
+        }
+        if (!Objects.equals(etiquetas.get(asiento), etiqueta) || activos.get(asiento) != activo) {
+            etiquetas.set(asiento, etiqueta);
+            activos.set(asiento, activo);
+            repaint(zonaEtiqueta(asiento));
+        }
+        actualizarFila(asientos.get(asiento), indices, false);
+    }
+
+    private void agregarAsiento() {
+        asientos.add(new ArrayList<>());
+        etiquetas.add(null);
+        activos.add(Boolean.FALSE);
+    }
+
+    /**
+     * Quita todas las cartas de la mesa sin animación, al empezar una ronda.
+     */
+    public void limpiar() {
+        crupier.clear();
+        for (List<Ranura> fila : asientos) {
+            fila.clear();
+        }
+        proximoInicio = 0;
+        temporizador.stop();
+        repaint();
+    }
+
+    /**
+     * Vuelve a ubicar las cartas después de un cambio de tamaño de la ventana
+     * o de las imágenes, sin animación.
+     */
+    public void reacomodar() {
+        ubicar(crupier, filaCrupier(), 0, getWidth(), true);
+        for (int i = 0; i < asientos.size(); i++) {
+            ubicar(asientos.get(i), filaJugador(), inicioTramo(i), inicioTramo(i + 1), true);
+        }
+        revalidate();
+        repaint();
+    }
+
+    private void actualizarFila(List<Ranura> fila, int[] indices, boolean ocultarPrimera) {
+        long ahora = System.nanoTime();
+        if (indices.length < fila.size()) {
+            fila.subList(indices.length, fila.size()).clear();
+        }
+
+        // Cartas ya en la mesa: sólo puede cambiar si la primera está oculta
+        for (int i = 0; i < fila.size(); i++) {
+            Ranura ranura = fila.get(i);
+            boolean oculta = i == 0 && ocultarPrimera;
+            ranura.cara = indices[i];
+            if (ranura.oculta != oculta) {
+                ranura.oculta = oculta;
+                ranura.volteando = true;
+                ranura.inicioVolteo = encolar(ahora);
+            }
+        }
+
+        // Cartas nuevas: salen del zapato, en la esquina superior derecha
+        double xZapato = getWidth() - MARGEN - sprites.getAncho();
+        for (int i = fila.size(); i < indices.length; i++) {
+            Ranura ranura = new Ranura();
+            ranura.cara = indices[i];
+            ranura.oculta = i == 0 && ocultarPrimera;
+            ranura.x0 = xZapato;
+            ranura.y0 = MARGEN;
+            ranura.x = xZapato;
+            ranura.y = MARGEN;
+            ranura.inicioMovimiento = encolar(ahora);
+            fila.add(ranura);
+        }
+
+        if (fila == crupier) {
+            ubicar(fila, filaCrupier(), 0, getWidth(), false);
+        } else {
+            int i = asientos.indexOf(fila);
+            ubicar(fila, filaJugador(), inicioTramo(i), inicioTramo(i + 1), false);
+        }
+        if (!temporizador.isRunning()) {
+            temporizador.start();
+        }
+        avanzarCuadro();
+    }
+
+    /**
+     * Reserva el momento de inicio de la próxima animación, para que las
+     * cartas repartidas juntas lleguen una tras otra.
+     */
+    private long encolar(long ahora) {
+        long inicio = Math.max(ahora, proximoInicio);
+        proximoInicio = inicio + NANOS_ESCALONADO;
+        return inicio;
+    }
+
+    /**
+     * Calcula la posición final de cada carta de una fila, centrada entre
+     * desde y hasta y superponiendo las cartas si no entran. Las que cambian
+     * de lugar se deslizan desde donde están, salvo que se pida ubicarlas de
+     * inmediato.
+     */
+    private void ubicar(List<Ranura> fila, int y, int desde, int hasta, boolean inmediato) {
+        int n = fila.size();
+        if (n == 0) {
+            return;
+        }
+        int ancho = sprites.getAncho();
+        int disponible = Math.max(ancho / 4, hasta - desde - 2 * MARGEN - ancho);
+        int paso = ancho + SEPARACION;
+        if (n > 1 && paso * (n - 1) > disponible) {
+            paso = disponible / (n - 1);
+        }
+        int x = desde + (hasta - desde - (paso * (n - 1) + ancho)) / 2;
+        long ahora = System.nanoTime();
+        for (Ranura ranura : fila) {
+            if (ranura.x != x || ranura.y != y) {
+                if (inmediato) {
+                    ranura.x0 = x;
+                    ranura.y0 = y;
+                } else if (ranura.inicioMovimiento <= ahora) {
+                    // Ya estaba quieta o en camino: sigue desde su posición actual
+                    ranura.x0 = posicion(ranura.x0, ranura.x, progreso(ranura.inicioMovimiento, NANOS_MOVIMIENTO, ahora));
+                    ranura.y0 = posicion(ranura.y0, ranura.y, progreso(ranura.inicioMovimiento, NANOS_MOVIMIENTO, ahora));
+                    ranura.inicioMovimiento = ahora;
+                }
+                ranura.x = x;
+                ranura.y = y;
+            }
+            x += paso;
+        }
+    }
+
+    private int filaCrupier() {
+        return MARGEN;
+    }
+
+    private int filaJugador() {
+        return MARGEN + sprites.getAlto() + ESPACIO_ENTRE_FILAS;
+    }
+
+    /** Borde izquierdo del tramo de un asiento; el tramo siguiente empieza donde termina este */
+    private int inicioTramo(int asiento) {
+        return (int) ((long) getWidth() * asiento / asientos.size());
+    }
+
+    /** Zona donde va la etiqueta de un asiento, bajo sus cartas */
+    private Rectangle zonaEtiqueta(int asiento) {
+        int x = inicioTramo(asiento);
+        return new Rectangle(x, filaJugador() + sprites.getAlto(), inicioTramo(asiento + 1) - x, ALTO_ETIQUETA);
+    }
+
+    /**
+     * Avanza un cuadro: marca como sucia la zona de cada carta animada y
+     * detiene el temporizador cuando no queda nada por animar.
+     */
+    private void avanzarCuadro() {
+        long ahora = System.nanoTime();
+        cuadro = ahora;
+        boolean pendientes = marcarSucias(crupier, ahora);
+        for (List<Ranura> fila : asientos) {
+            pendientes |= marcarSucias(fila, ahora);
+        }
+        if (!pendientes) {
+            temporizador.stop();
+        }
+    }
+
+    private boolean marcarSucias(List<Ranura> fila, long ahora) {
+        boolean pendientes = false;
+        for (Ranura ranura : fila) {
+            boolean moviendo = ranura.x0 != ranura.x || ranura.y0 != ranura.y;
+            if (!moviendo && !ranura.volteando && !ranura.dibujada.isEmpty()) {
+                continue;
+            }
+            double p = progreso(ranura.inicioMovimiento, NANOS_MOVIMIENTO, ahora);
+            if (moviendo && p >= 1.0) {
+                ranura.x0 = ranura.x;
+                ranura.y0 = ranura.y;
+            }
+            if (ranura.volteando && progreso(ranura.inicioVolteo, NANOS_VOLTEO, ahora) >= 1.0) {
+                ranura.volteando = false;
+            }
+            pendientes |= moviendo || ranura.volteando;
+
+            // Zona anterior más la nueva; el dibujo actualiza dibujada
+            sucio.setBounds(ranura.dibujada);
+            if (sucio.isEmpty()) {
+                sucio.setBounds(
+                    (int) posicion(ranura.x0, ranura.x, p), (int) posicion(ranura.y0, ranura.y, p),
+                    sprites.getAncho(), sprites.getAlto());
+            }
+            int x = (int) posicion(ranura.x0, ranura.x, p);
+            int y = (int) posicion(ranura.y0, ranura.y, p);
+            sucio.add(x, y);
+            sucio.add(x + sprites.getAncho() + 1, y + sprites.getAlto() + 1);
+            repaint(sucio);
+        }
+        return pendientes;
+    }
+
+    @Override
+    protected void paintComponent(Graphics graficos) {
+        Graphics2D g = (Graphics2D) graficos;
+        Rectangle recorte = g.getClipBounds();
+        g.setColor(VERDE_MESA);
+        if (recorte != null) {
+            g.fillRect(recorte.x, recorte.y, recorte.width, recorte.height);
+        } else {
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+
+        CacheSprites.Atlas atlas = sprites.getAtlas();
+        dibujarFila(g, atlas, crupier, recorte, cuadro);
+        for (int i = 0; i < asientos.size(); i++) {
+            dibujarFila(g, atlas, asientos.get(i), recorte, cuadro);
+            dibujarEtiqueta(g, i, recorte);
+        }
+    }
+
+    private void dibujarEtiqueta(Graphics2D g, int asiento, Rectangle recorte) {
+        String etiqueta = etiquetas.get(asiento);
+        Rectangle zona = zonaEtiqueta(asiento);
+        if (etiqueta == null || (recorte != null && !recorte.intersects(zona))) {
+            return;
+        }
+        g.setFont(FUENTE_ETIQUETA);
+        g.setColor(activos.get(asiento) ? RESALTADO : Color.WHITE);
+        FontMetrics medidas = g.getFontMetrics();
+        int y = zona.y + (ALTO_ETIQUETA + medidas.getAscent() - medidas.getDescent()) / 2;
+        g.drawString(etiqueta, zona.x + Math.max(0, (zona.width - medidas.stringWidth(etiqueta)) / 2), y);
+    }
+
+    /**
+     * @param atlas Atlas de las cartas, o null si todavía se está cargando
+     */
+    private void dibujarFila(Graphics2D g, CacheSprites.Atlas atlas, List<Ranura> fila,
+                             Rectangle recorte, long ahora) {
+        int ancho = atlas != null ? atlas.getAncho() : sprites.getAncho();
+        int alto = atlas != null ? atlas.getAlto() : sprites.getAlto();
+        for (Ranura ranura : fila) {
+            if (ranura.inicioMovimiento > ahora) {
+                ranura.dibujada.setBounds(0, 0, 0, 0);
+                continue;  // Todavía no sale del zapato
+            }
+            double p = progreso(ranura.inicioMovimiento, NANOS_MOVIMIENTO, ahora);
+            int x = (int) posicion(ranura.x0, ranura.x, p);
+            int y = (int) posicion(ranura.y0, ranura.y, p);
+            ranura.dibujada.setBounds(x, y, ancho + 1, alto + 1);
+            if (recorte != null && !recorte.intersects(ranura.dibujada)) {
+                continue;
+            }
+
+            // Un volteo comprime la carta hasta el canto y la abre mostrando la otra cara
+            boolean bocaAbajo = ranura.oculta;
+            int anchoVisible = ancho;
+            if (ranura.volteando && ranura.inicioVolteo <= ahora) {
+                double v = progreso(ranura.inicioVolteo, NANOS_VOLTEO, ahora);
+                bocaAbajo = v < 0.5 ? !ranura.oculta : ranura.oculta;
+                anchoVisible = Math.max(1, (int) Math.round(ancho * Math.abs(1.0 - 2.0 * v)));
+            } else if (ranura.volteando) {
+                bocaAbajo = !ranura.oculta;  // Volteo encolado, todavía sin empezar
+            }
+            int indice = bocaAbajo ? CacheSprites.INDICE_REVERSO : ranura.cara;
+            int xVisible = x + (ancho - anchoVisible) / 2;
+            if (atlas == null) {
+                dibujarPendiente(g, xVisible, y, anchoVisible, alto);
+            } else if (!atlas.dibujar(g, indice, xVisible, y, anchoVisible, alto)) {
+                dibujarFaltante(g, xVisible, y, anchoVisible, alto);
+            }
+        }
+    }
+
+    private static void dibujarPendiente(Graphics2D g, int x, int y, int ancho, int alto) {
+        g.setColor(Color.WHITE);
+        g.drawRect(x, y, ancho - 1, alto - 1);
+    }
+
+    private static void dibujarFaltante(Graphics2D g, int x, int y, int ancho, int alto) {
+        g.setColor(Color.WHITE);
+        g.drawRect(x, y, ancho - 1, alto - 1);
+        g.setFont(new Font("Arial", Font.BOLD, 24));
+        g.drawString("?", x + ancho / 2 - 6, y + alto / 2 + 8);
+    }
+
+    /** Progreso de 0 a 1 de una animación, con salida suave */
+    private static double progreso(long inicio, long duracion, long ahora) {
+        double t = (double) (ahora - inicio) / duracion;
+        if (t <= 0.0) {
+            return 0.0;
+        }
+        if (t >= 1.0) {
+            return 1.0;
+        }
+        double resto = 1.0 - t;
+        return 1.0 - resto * resto * resto;
+    }
+
+    private static double posicion(double desde, double hasta, double progreso) {
+        return desde + (hasta - desde) * progreso;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        // Con varios asientos cada tramo debe mostrar al menos dos cartas y su etiqueta
+        int n = asientos.size();
+        int anchoTramos = n > 1 ? n * (2 * MARGEN + 2 * sprites.getAncho()) : 0;
+        return new Dimension(
+            Math.max(2 * MARGEN + 5 * (sprites.getAncho() + SEPARACION), anchoTramos),
+            2 * MARGEN + 2 * sprites.getAlto() + ESPACIO_ENTRE_FILAS + (n > 1 ? ALTO_ETIQUETA : 0));
+    }
+}
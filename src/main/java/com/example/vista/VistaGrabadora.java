@@ -0,0 +1,79 @@
+package com.example.vista;
+
+import com.example.controlador.InstantaneaMesa;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vista sin pantalla que guarda lo que el controlador publica.
+ *
+ * Cuenta las publicaciones y se queda con la última; si se pide, también
+ * con todas, en orden. Quien maneja el controlador desde otro hilo (un bot,
+ * una prueba de carga) encola una acción y espera la publicación que le
+ * sigue con {@link #esperar(long)}.
+ */
+public class VistaGrabadora implements VistaMesa {
+
+    private final boolean guardarTodas;
+    private final List<InstantaneaMesa> todas = new ArrayList<>();
+    private InstantaneaMesa ultima;
+    private long publicaciones;
+
+    /**
+     * Vista que guarda sólo la última instantánea.
+     */
+    public VistaGrabadora() {
+        this(false);
+    }
+
+    /**
+     * @param guardarTodas Si se guardan todas las instantáneas además de la última
+     */
+    public VistaGrabadora(boolean guardarTodas) {
+        this.guardarTodas = guardarTodas;
+    }
+
+    @Override
+    public synchronized void publicar(InstantaneaMesa instantanea) {
+        ultima = instantanea;
+        publicaciones++;
+        if (guardarTodas) {
+            todas.add(instantanea);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Espera hasta que haya al menos la cantidad indicada de publicaciones.
+     *
+     * @param cantidad Publicaciones a esperar desde que se creó la vista
+     * @return La última instantánea publicada
+     */
+    public synchronized InstantaneaMesa esperar(long cantidad) throws InterruptedException {
+        while (publicaciones < cantidad) {
+            wait();
+        }
+        return ultima;
+    }
+
+    /**
+     * Publicaciones recibidas desde que se creó la vista.
+     */
+    public synchronized long getPublicaciones() {
+        return publicaciones;
+    }
+
+    /**
+     * Última instantánea publicada, o null si todavía no hubo ninguna.
+     */
+    public synchronized InstantaneaMesa getUltima() {
+        return ultima;
+    }
+
+    /**
+     * Copia de todas las instantáneas en orden; vacía si no se pidió guardarlas.
+     */
+    public synchronized List<InstantaneaMesa> getTodas() {
+        return new ArrayList<>(todas);
+    }
+}
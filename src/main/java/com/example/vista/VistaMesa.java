@@ -0,0 +1,26 @@
+package com.example.vista;
+
+import com.example.controlador.InstantaneaMesa;
+
+/**
+ * Lo que el controlador necesita de una vista: recibir una
+ * {@link InstantaneaMesa} al terminar cada acción.
+ *
+ * El controlador publica desde el hilo del motor del juego, así que las
+ * implementaciones deben aceptar llamadas desde cualquier hilo y volver
+ * rápido; la ventana de Swing ({@link BlackjackGUI}) agenda el pintado en
+ * el hilo de eventos y {@link VistaGrabadora} sólo guarda la instantánea,
+ * para jugar sin pantalla.
+ */
+public interface VistaMesa {
+
+    /** Vista que descarta todo, para usar el controlador sin mirar la mesa */
+    VistaMesa NINGUNA = instantanea -> { };
+
+    /**
+     * Recibe el estado de la mesa al terminar una acción.
+     *
+     * @param instantanea Foto inmutable de la mesa
+     */
+    void publicar(InstantaneaMesa instantanea);
+}
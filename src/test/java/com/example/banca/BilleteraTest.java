@@ -0,0 +1,130 @@
+package com.example.banca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class BilleteraTest {
+
+    @Test
+    void reservarApartaElMontoHastaLiquidar() {
+        Billetera billetera = new Billetera("Jugador", 100);
+        Reserva reserva = billetera.reservar(30);
+        assertNotNull(reserva);
+        assertEquals(70, billetera.getSaldo());
+        assertEquals(30, billetera.getEnJuego());
+        assertEquals(70, reserva.getSaldoAlReservar());
+        assertTrue(reserva.estaPendiente());
+        assertTrue(billetera.estaConciliada());
+
+        assertEquals(130, reserva.liquidar(60));
+        assertFalse(reserva.estaPendiente());
+        assertEquals(130, billetera.getSaldo());
+        assertEquals(0, billetera.getEnJuego());
+        assertTrue(billetera.estaConciliada());
+    }
+
+    @Test
+    void sinSaldoNoSeReservaNada() {
+        Billetera billetera = new Billetera("Jugador", 50);
+        assertNull(billetera.reservar(51));
+        assertEquals(50, billetera.getSaldo());
+        assertEquals(0, billetera.getEnJuego());
+        assertNotNull(billetera.reservar(50));
+        assertNull(billetera.reservar(1));
+        assertTrue(billetera.estaConciliada());
+    }
+
+    @Test
+    void unaReservaSeLiquidaUnaSolaVez() {
+        Billetera billetera = new Billetera("Jugador", 100);
+        Reserva reserva = billetera.reservar(10);
+        assertThrows(IllegalArgumentException.class, () -> reserva.liquidar(-1));
+        assertTrue(reserva.estaPendiente());
+        assertEquals(100, reserva.anular());
+        assertThrows(IllegalStateException.class, () -> reserva.liquidar(20));
+        assertThrows(IllegalStateException.class, reserva::anular);
+        assertEquals(100, billetera.getSaldo());
+        assertTrue(billetera.estaConciliada());
+    }
+
+    @Test
+    void montosInvalidos() {
+        Billetera billetera = new Billetera("Jugador", 100);
+        assertThrows(IllegalArgumentException.class, () -> billetera.reservar(0));
+        assertThrows(IllegalArgumentException.class, () -> billetera.depositar(-5));
+        assertEquals(150, billetera.depositar(50));
+    }
+
+    @Test
+    void laAuditoriaAnotaCadaMovimiento() {
+        Auditoria auditoria = new Auditoria();
+        Billetera billetera = new Billetera("Jugador", 100, auditoria);
+        billetera.reservar(40).liquidar(0);
+        billetera.reservar(500);
+
+        List<Movimiento> movimientos = auditoria.movimientos();
+        int[] tipos = {Auditoria.DEPOSITO, Auditoria.RESERVA, Auditoria.LIQUIDACION, Auditoria.RECHAZO};
+        long[] saldos = {100, 60, 60, 60};
+        assertEquals(tipos.length, movimientos.size());
+        for (int i = 0; i < tipos.length; i++) {
+            assertEquals(billetera.getId(), movimientos.get(i).getBilletera());
+            assertEquals(tipos[i], movimientos.get(i).getTipo());
+            assertEquals(saldos[i], movimientos.get(i).getSaldo());
+        }
+    }
+
+    @Test
+    void variasMesasALaVezNoDejanElSaldoNegativoNiPierdenPagos() throws InterruptedException {
+        Billetera billetera = new Billetera("Jugador", 1_000);
+        int hilos = 8;
+        AtomicLong devuelto = new AtomicLong();
+        AtomicLong apostado = new AtomicLong();
+        AtomicLong minimo = new AtomicLong(Long.MAX_VALUE);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> mesas = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            SplittableRandom rand = new SplittableRandom(h);
+            Thread mesa = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 20_000; i++) {
+                    long monto = 1 + rand.nextInt(50);
+                    Reserva reserva = billetera.reservar(monto);
+                    if (reserva == null) {
+                        continue;
+                    }
+                    minimo.accumulateAndGet(reserva.getSaldoAlReservar(), Math::min);
+                    long devolucion = monto * rand.nextInt(3);
+                    apostado.addAndGet(monto);
+                    devuelto.addAndGet(devolucion);
+                    reserva.liquidar(devolucion);
+                }
+            });
+            mesa.start();
+            mesas.add(mesa);
+        }
+        largada.countDown();
+        for (Thread mesa : mesas) {
+            mesa.join();
+        }
+
+        assertTrue(minimo.get() >= 0);
+        assertEquals(1_000 - apostado.get() + devuelto.get(), billetera.getSaldo());
+        assertEquals(0, billetera.getEnJuego());
+        assertTrue(billetera.estaConciliada());
+    }
+}
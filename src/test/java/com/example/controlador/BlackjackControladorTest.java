@@ -0,0 +1,110 @@
+package com.example.controlador;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.banca.Billetera;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.eventos.OyenteJuego;
+import com.example.modelo.ReglasMesa;
+import com.example.vista.CacheSprites;
+import com.example.vista.VistaGrabadora;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class BlackjackControladorTest {
+
+    @Test
+    void sieteAsientosConUnMazoNoRepitenCartasEnLaRonda() throws InterruptedException {
+        VistaGrabadora vista = new VistaGrabadora();
+        BlackjackControlador controlador =
+            new BlackjackControlador(vista, new Billetera("Jugador", 1_000_000), ReglasMesa.CLASICA);
+        for (int i = 2; i <= BlackjackControlador.MAXIMO_ASIENTOS; i++) {
+            controlador.sentar("Bot " + i, new Billetera("Bot " + i, 1_000_000),
+                EstrategiaTabla.basica(ReglasMesa.CLASICA), 1);
+        }
+        long publicaciones = BlackjackControlador.MAXIMO_ASIENTOS;
+        vista.esperar(publicaciones);
+
+        for (int ronda = 1; ronda <= 2000; ronda++) {
+            controlador.nuevaPartida(1);
+            controlador.plantarse();
+            publicaciones += 2;
+            InstantaneaMesa mesa = vista.esperar(publicaciones);
+            assertEquals(ronda, mesa.getRonda());
+            assertFalse(mesa.isOcultarPrimera(), "La ronda " + ronda + " no terminó");
+
+            Set<String> cartas = new HashSet<>(mesa.getCartasCrupier());
+            int total = cartas.size();
+            assertEquals(BlackjackControlador.MAXIMO_ASIENTOS, mesa.getAsientos().size());
+            for (InstantaneaAsiento asiento : mesa.getAsientos()) {
+                cartas.addAll(asiento.getCartas());
+                total += asiento.getCartas().size();
+            }
+            assertEquals(total, cartas.size(), "Carta repetida en la ronda " + ronda);
+        }
+    }
+
+    @Test
+    void laCartaOcultaDelCrupierNoLlegaALaVista() throws InterruptedException {
+        VistaGrabadora vista = new VistaGrabadora();
+        BlackjackControlador controlador =
+            new BlackjackControlador(vista, new Billetera("Jugador", 1_000_000), ReglasMesa.CLASICA);
+        long publicaciones = 1;
+        vista.esperar(publicaciones);
+
+        int ocultas = 0;
+        for (int ronda = 1; ronda <= 200; ronda++) {
+            controlador.nuevaPartida(1);
+            InstantaneaMesa mesa = vista.esperar(++publicaciones);
+            if (mesa.isOcultarPrimera()) {
+                assertEquals(CacheSprites.REVERSO, mesa.getCartasCrupier().get(0), "Ronda " + ronda);
+                ocultas++;
+            }
+            controlador.plantarse();
+            mesa = vista.esperar(++publicaciones);
+            assertFalse(mesa.getCartasCrupier().contains(CacheSprites.REVERSO), "Ronda " + ronda);
+        }
+        assertTrue(ocultas > 0);
+    }
+
+    @Test
+    void nuevaPartidaAMitadDeRondaLiquidaLosDemasAsientos() throws InterruptedException {
+        VistaGrabadora vista = new VistaGrabadora();
+        Billetera jugador = new Billetera("Jugador", 10_000);
+        Billetera bot = new Billetera("Bot", 10_000);
+        AtomicInteger manosBot = new AtomicInteger();
+        AtomicLong netoBot = new AtomicLong();
+        BlackjackControlador controlador = new BlackjackControlador(vista, jugador, ReglasMesa.CLASICA);
+        controlador.setOyente(new OyenteJuego() {
+            @Override
+            public void manoLiquidada(String nombre, int puntosJugador, int puntosCrupier,
+                                      int resultado, int apuesta, int devolucion) {
+                if (nombre.equals("Bot")) {
+                    manosBot.incrementAndGet();
+                    netoBot.addAndGet(devolucion - apuesta);
+                }
+            }
+        });
+        controlador.sentar("Bot", bot, EstrategiaTabla.basica(ReglasMesa.CLASICA), 10);
+
+        // El jugador nunca se planta: cada ronda nueva abandona la anterior
+        int rondas = 200;
+        for (int i = 0; i < rondas; i++) {
+            controlador.nuevaPartida(10);
+        }
+        controlador.plantarse();
+        vista.esperar(2 + rondas + 1);
+
+        assertEquals(rondas, manosBot.get());
+        assertEquals(10_000 + netoBot.get(), bot.getSaldo());
+        assertEquals(0, bot.getEnJuego());
+        assertEquals(0, jugador.getEnJuego());
+        assertTrue(bot.estaConciliada());
+        assertTrue(jugador.estaConciliada());
+    }
+}
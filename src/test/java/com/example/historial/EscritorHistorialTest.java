@@ -0,0 +1,224 @@
+package com.example.historial;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.estrategia.Estrategia;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.modelo.ReglasMesa;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EscritorHistorialTest {
+
+    private static final ReglasMesa[] VARIANTES = {
+        ReglasMesa.CLASICA, ReglasMesa.VEGAS, ReglasMesa.SEIS_A_CINCO,
+        ReglasMesa.leer("mazos=2,H17,bj=7:5,doblar=9-11,dividir=3,rendicion")
+    };
+
+    @TempDir
+    Path directorio;
+
+    /**
+     * Llena el registro de la mano número {@code n} con valores que dependen
+     * sólo de {@code n}, para poder compararlos al leer.
+     */
+    private static void llenar(RegistroMano registro, int n, Mazo[] zapatos) {
+        ReglasMesa reglas = VARIANTES[n % VARIANTES.length];
+        Mazo mazo = zapatos[n % VARIANTES.length];
+        registro.iniciar(n, n % 5, 1 + n % 7, mazo, reglas, 10 + n);
+        for (int i = 0; i < n % 4; i++) {
+            registro.decision(i % 2 == 0 ? Estrategia.PEDIR : Estrategia.PLANTARSE);
+        }
+        if (n % 4 == 0) {
+            registro.decision(Estrategia.DOBLAR);
+        }
+        JugadorApostador jugador = new JugadorApostador("Jugador", 0);
+        Crupier crupier = new Crupier();
+        for (int i = 0; i < 2 + n % 3; i++) {
+            jugador.recibirCodigo((n + i) % CodigoCarta.CARTAS_POR_MAZO);
+            crupier.recibirCodigo((n + 13 * i) % CodigoCarta.CARTAS_POR_MAZO);
+        }
+        registro.copiarManos(jugador, crupier);
+        registro.liquidar(n % 4, 3 * n);
+    }
+
+    private static void comparar(RegistroMano esperado, RegistroMano leido) {
+        String mano = "Mano " + esperado.getRonda();
+        assertEquals(esperado.getRonda(), leido.getRonda(), mano);
+        assertEquals(esperado.getInstante(), leido.getInstante(), mano);
+        assertEquals(esperado.getSemilla(), leido.getSemilla(), mano);
+        assertEquals(esperado.getBarajada(), leido.getBarajada(), mano);
+        assertEquals(esperado.getPosicion(), leido.getPosicion(), mano);
+        assertEquals(esperado.getMazos(), leido.getMazos(), mano);
+        assertEquals(esperado.getMesa(), leido.getMesa(), mano);
+        assertEquals(esperado.getAsiento(), leido.getAsiento(), mano);
+        assertEquals(esperado.getApuesta(), leido.getApuesta(), mano);
+        assertEquals(esperado.getResultado(), leido.getResultado(), mano);
+        assertEquals(esperado.getDevolucion(), leido.getDevolucion(), mano);
+        assertEquals(esperado.getReglas(), leido.getReglas(), mano);
+        assertEquals(esperado.getCantidadDecisiones(), leido.getCantidadDecisiones(), mano);
+        for (int i = 0; i < esperado.getCantidadDecisiones(); i++) {
+            assertEquals(esperado.getDecision(i), leido.getDecision(i), mano);
+        }
+        assertEquals(esperado.getCantidadJugador(), leido.getCantidadJugador(), mano);
+        for (int i = 0; i < esperado.getCantidadJugador(); i++) {
+            assertEquals(esperado.getCartaJugador(i), leido.getCartaJugador(i), mano);
+        }
+        assertEquals(esperado.getCantidadCrupier(), leido.getCantidadCrupier(), mano);
+        for (int i = 0; i < esperado.getCantidadCrupier(); i++) {
+            assertEquals(esperado.getCartaCrupier(i), leido.getCartaCrupier(i), mano);
+        }
+    }
+
+    private static Mazo[] zapatos() {
+        Mazo[] zapatos = new Mazo[VARIANTES.length];
+        for (int i = 0; i < zapatos.length; i++) {
+            zapatos[i] = new Mazo(VARIANTES[i].getMazos(), Mazo.PENETRACION_POR_DEFECTO, 100L + i);
+        }
+        return zapatos;
+    }
+
+    @Test
+    void loQueSeEscribeSeLeeIgualEnVariosSegmentos() throws IOException {
+        int manos = 250;
+        Mazo[] zapatos = zapatos();
+        List<RegistroMano> escritos = new ArrayList<>();
+        try (EscritorHistorial historial = new EscritorHistorial(directorio, 100)) {
+            for (int n = 0; n < manos; n++) {
+                RegistroMano registro = new RegistroMano();
+                llenar(registro, n, zapatos);
+                historial.escribir(registro);
+                escritos.add(registro);
+            }
+            assertEquals(manos, historial.getEscritos());
+        }
+
+        List<Path> segmentos = LectorHistorial.segmentos(directorio);
+        assertEquals(3, segmentos.size());
+        RegistroMano leido = new RegistroMano();
+        int n = 0;
+        for (Path segmento : segmentos) {
+            try (LectorHistorial lector = new LectorHistorial(segmento)) {
+                while (lector.siguiente(leido)) {
+                    comparar(escritos.get(n++), leido);
+                }
+                assertEquals(0, lector.getCorruptos());
+            }
+        }
+        assertEquals(manos, n);
+    }
+
+    @Test
+    void unRegistroDanadoSeSalteaYSeCuenta() throws IOException {
+        Mazo[] zapatos = zapatos();
+        RegistroMano registro = new RegistroMano();
+        try (EscritorHistorial historial = new EscritorHistorial(directorio, 100)) {
+            for (int n = 0; n < 10; n++) {
+                llenar(registro, n, zapatos);
+                historial.escribir(registro);
+            }
+        }
+        Path segmento = LectorHistorial.segmentos(directorio).get(0);
+        try (RandomAccessFile archivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            long posicion = EscritorHistorial.CABECERA + 4L * RegistroMano.TAMANO + 33;
+            archivo.seek(posicion);
+            int original = archivo.read();
+            archivo.seek(posicion);
+            archivo.write(original ^ 0x40);
+        }
+
+        List<Long> rondas = new ArrayList<>();
+        try (LectorHistorial lector = new LectorHistorial(segmento)) {
+            while (lector.siguiente(registro)) {
+                rondas.add(registro.getRonda());
+            }
+            assertEquals(1, lector.getCorruptos());
+        }
+        assertEquals(List.of(0L, 1L, 2L, 3L, 5L, 6L, 7L, 8L, 9L), rondas);
+    }
+
+    @Test
+    void variosHilosEscribenSinPisarse() throws Exception {
+        int hilos = 4;
+        int porHilo = 2_000;
+        try (EscritorHistorial historial = new EscritorHistorial(directorio, 512)) {
+            List<Thread> mesas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int primera = h * porHilo;
+                Thread mesa = new Thread(() -> {
+                    Mazo[] zapatos = zapatos();
+                    RegistroMano registro = new RegistroMano();
+                    for (int n = primera; n < primera + porHilo; n++) {
+                        llenar(registro, n, zapatos);
+                        historial.escribir(registro);
+                    }
+                });
+                mesa.start();
+                mesas.add(mesa);
+            }
+            for (Thread mesa : mesas) {
+                mesa.join();
+            }
+        }
+
+        BitSet vistas = new BitSet();
+        RegistroMano leido = new RegistroMano();
+        for (Path segmento : LectorHistorial.segmentos(directorio)) {
+            try (LectorHistorial lector = new LectorHistorial(segmento)) {
+                while (lector.siguiente(leido)) {
+                    int n = (int) leido.getRonda();
+                    assertFalse(vistas.get(n), "Mano " + n + " repetida");
+                    vistas.set(n);
+                    assertEquals(10 + n, leido.getApuesta());
+                    assertEquals(3 * n, leido.getDevolucion());
+                    assertEquals(VARIANTES[n % VARIANTES.length], leido.getReglas());
+                }
+                assertEquals(0, lector.getCorruptos());
+            }
+        }
+        assertEquals(hilos * porHilo, vistas.cardinality());
+    }
+
+    @Test
+    void alReabrirSigueDespuesDelUltimoSegmento() throws IOException {
+        Mazo[] zapatos = zapatos();
+        RegistroMano registro = new RegistroMano();
+        for (int apertura = 0; apertura < 3; apertura++) {
+            try (EscritorHistorial historial = new EscritorHistorial(directorio, 100)) {
+                llenar(registro, apertura, zapatos);
+                historial.escribir(registro);
+            }
+        }
+        List<Path> segmentos = LectorHistorial.segmentos(directorio);
+        assertEquals(3, segmentos.size());
+        for (int i = 0; i < segmentos.size(); i++) {
+            try (LectorHistorial lector = new LectorHistorial(segmentos.get(i))) {
+                assertEquals(i + 1, lector.getNumero());
+                assertTrue(lector.siguiente(registro));
+                assertEquals(i, registro.getRonda());
+                assertFalse(lector.siguiente(registro));
+            }
+        }
+    }
+
+    @Test
+    void elHistorialCerradoNoAceptaRegistros() throws IOException {
+        EscritorHistorial historial = new EscritorHistorial(directorio, 100);
+        historial.close();
+        RegistroMano registro = new RegistroMano();
+        llenar(registro, 1, zapatos());
+        assertThrows(IllegalStateException.class, () -> historial.escribir(registro));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.historial;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.example.banca.Billetera;
+import com.example.controlador.BlackjackControlador;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import com.example.modelo.ReglasMesa;
+import com.example.modelo.ReglasPago;
+import com.example.vista.VistaGrabadora;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ReproductorHistorialTest {
+
+    @TempDir
+    Path directorio;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"clasica", "vegas", "6a5", "mazos=2,H17,bj=7:5,doblar=9-11,rendicion"})
+    void lasManosDeLaMesaSeVerificanConSusReglas(String variante) throws Exception {
+        ReglasMesa reglas = ReglasMesa.leer(variante);
+        int rondas = 1000;
+        try (EscritorHistorial historial = new EscritorHistorial(directorio, 4096)) {
+            VistaGrabadora vista = new VistaGrabadora();
+            BlackjackControlador controlador =
+                new BlackjackControlador(vista, new Billetera("Jugador", 1_000_000), reglas);
+            controlador.setHistorial(historial);
+            for (int i = 2; i <= BlackjackControlador.MAXIMO_ASIENTOS; i++) {
+                controlador.sentar("Bot " + i, new Billetera("Bot " + i, 1_000_000),
+                    EstrategiaTabla.basica(reglas), 10);
+            }
+            long publicaciones = BlackjackControlador.MAXIMO_ASIENTOS;
+            for (int ronda = 0; ronda < rondas; ronda++) {
+                controlador.nuevaPartida(10);
+                controlador.plantarse();
+                publicaciones += 2;
+            }
+            vista.esperar(publicaciones);
+        }
+
+        ReproductorHistorial reproductor = new ReproductorHistorial();
+        RegistroMano registro = new RegistroMano();
+        long dobladas = 0;
+        long rendidas = 0;
+        for (Path segmento : LectorHistorial.segmentos(directorio)) {
+            try (LectorHistorial lector = new LectorHistorial(segmento)) {
+                while (lector.siguiente(registro)) {
+                    assertEquals(reglas, registro.getReglas());
+                    assertNull(reproductor.verificar(registro), "Ronda " + registro.getRonda()
+                        + ", asiento " + registro.getAsiento());
+                    if (registro.getCantidadDecisiones() > 0) {
+                        dobladas += registro.getDecision(0) == Estrategia.DOBLAR ? 1 : 0;
+                        rendidas += registro.getDecision(0) == Estrategia.RENDIRSE ? 1 : 0;
+                    }
+                }
+            }
+        }
+        assertEquals(rondas * BlackjackControlador.MAXIMO_ASIENTOS,
+            reproductor.getVerificadas() + reproductor.getIncompletas());
+        assertEquals(reglas.getDoblar() != ReglasMesa.DOBLAR_NUNCA, dobladas > 0);
+        assertEquals(reglas.isRendicion(), rendidas > 0);
+    }
+
+    /**
+     * Arma el registro de una mano con las cartas dadas como rangos (0 es
+     * el As, 9 el diez); la primera del crupier es la oculta.
+     */
+    private static RegistroMano mano(ReglasMesa reglas, int[] jugador, int[] decisiones, int[] crupier,
+                                     int resultado, int devolucion) {
+        JugadorApostador manoJugador = new JugadorApostador("Jugador", 0, EstrategiaTabla.basica());
+        Crupier manoCrupier = new Crupier();
+        for (int i = 0; i < jugador.length; i++) {
+            manoJugador.recibirCodigo(CodigoCarta.codificar(0, jugador[i]));
+        }
+        for (int i = 0; i < crupier.length; i++) {
+            manoCrupier.recibirCodigo(CodigoCarta.codificar(1, crupier[i]));
+        }
+        RegistroMano registro = new RegistroMano();
+        registro.iniciar(1, 0, 1, new Mazo(reglas.getMazos(), 0.75, 1L), reglas, 10);
+        for (int decision : decisiones) {
+            registro.decision(decision);
+        }
+        registro.copiarManos(manoJugador, manoCrupier);
+        registro.liquidar(resultado, devolucion);
+        return registro;
+    }
+
+    @Test
+    void doblarSoloDondeLasReglasLoPermiten() {
+        // 6 y 5 dobla y recibe un 10; el crupier 10 y 6 pide un 9 y se pasa. Paga dos apuestas
+        int[] jugador = {5, 4, 9};
+        int[] decisiones = {Estrategia.DOBLAR};
+        int[] crupier = {9, 5, 8};
+        assertNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.VEGAS, jugador, decisiones, crupier, ReglasPago.GANA, 40)));
+        assertNotNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.CLASICA, jugador, decisiones, crupier, ReglasPago.GANA, 40)));
+        assertNotNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.VEGAS, jugador, decisiones, crupier, ReglasPago.GANA, 20)));
+    }
+
+    @Test
+    void rendirseSoloConRendicion() {
+        int[] jugador = {9, 5};
+        int[] decisiones = {Estrategia.RENDIRSE};
+        int[] crupier = {9, 9};
+        assertNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.VEGAS, jugador, decisiones, crupier, ReglasPago.RENDICION, 5)));
+        assertNotNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.SEIS_A_CINCO, jugador, decisiones, crupier, ReglasPago.RENDICION, 5)));
+    }
+
+    @Test
+    void elCrupierPideConDiecisieteBlandoSoloEnH17() {
+        // 10 y 8 se planta; el crupier As y 6 se planta en S17 y en H17 pide un 2
+        int[] jugador = {9, 7};
+        int[] decisiones = {Estrategia.PLANTARSE};
+        assertNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.VEGAS, jugador, decisiones, new int[] {0, 5}, ReglasPago.GANA, 20)));
+        assertNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.SEIS_A_CINCO, jugador, decisiones, new int[] {0, 5, 1}, ReglasPago.PIERDE, 0)));
+        assertNotNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.SEIS_A_CINCO, jugador, decisiones, new int[] {0, 5}, ReglasPago.GANA, 20)));
+    }
+
+    @Test
+    void elBlackjackPagaLoDeLaVariante() {
+        int[] jugador = {0, 9};
+        int[] crupier = {9, 6};
+        assertNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.VEGAS, jugador, new int[0], crupier, ReglasPago.BLACKJACK, 25)));
+        assertNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.SEIS_A_CINCO, jugador, new int[0], crupier, ReglasPago.BLACKJACK, 22)));
+        assertNotNull(new ReproductorHistorial().verificar(
+            mano(ReglasMesa.SEIS_A_CINCO, jugador, new int[0], crupier, ReglasPago.BLACKJACK, 25)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class EstadoManoTest {
+
+    /** Cartas de la mano más larga que se recorre; desde seis todas se pasan o quedan con 21 */
+    private static final int MAXIMO_CARTAS = 6;
+
+    /**
+     * Recorre todas las secuencias de rangos hasta {@link #MAXIMO_CARTAS}
+     * cartas, llevando en paralelo el estado de la tabla y el puntaje
+     * contado a mano: ases en 1 y uno de ellos en 11 si no se pasa.
+     */
+    private static void recorrer(int estado, int duro, boolean as, int cartas, Visitante visitante) {
+        int total = as && duro + 10 <= 21 ? duro + 10 : duro;
+        visitante.visitar(estado, total, as && duro + 10 <= 21, cartas);
+        if (cartas == MAXIMO_CARTAS || duro > 21) {
+            return;
+        }
+        for (int rango = 0; rango < CodigoCarta.RANGOS; rango++) {
+            boolean esAs = rango == CodigoCarta.AS;
+            recorrer(EstadoMano.siguienteRango(estado, rango), duro + (esAs ? 1 : CodigoCarta.puntosRango(rango)),
+                as || esAs, cartas + 1, visitante);
+        }
+    }
+
+    private interface Visitante {
+        void visitar(int estado, int total, boolean blanda, int cartas);
+    }
+
+    @Test
+    void laTablaCuentaComoElPuntajeAMano() {
+        recorrer(EstadoMano.INICIAL, 0, false, 0, (estado, total, blanda, cartas) -> {
+            String mano = "Estado " + estado + " con " + total + " en " + cartas + " cartas";
+            assertEquals(total > 21, EstadoMano.sePaso(estado), mano);
+            assertEquals(Math.min(cartas, 3), EstadoMano.cartas(estado), mano);
+            assertEquals(cartas == 2 && total == 21, EstadoMano.esBlackjack(estado), mano);
+            if (total <= 21) {
+                assertEquals(total, EstadoMano.total(estado), mano);
+                assertEquals(blanda, EstadoMano.esBlanda(estado), mano);
+                assertEquals(Crupier.debePedir(total), EstadoMano.crupierPide(estado), mano);
+            } else {
+                assertFalse(EstadoMano.crupierPide(estado), mano);
+            }
+        });
+    }
+
+    @Test
+    void siguienteIgnoraElPalo() {
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            for (int codigo = 0; codigo < CodigoCarta.CARTAS_POR_MAZO; codigo++) {
+                assertEquals(EstadoMano.siguienteRango(estado, CodigoCarta.rango(codigo)),
+                    EstadoMano.siguiente(estado, codigo));
+            }
+        }
+    }
+
+    @Test
+    void elResultadoEsElDeReglasPago() {
+        int[] finales = new int[EstadoMano.ESTADOS];
+        int cantidad = 0;
+        boolean[] visto = new boolean[EstadoMano.ESTADOS];
+        int[] pendientes = {EstadoMano.INICIAL};
+        // Todos los estados alcanzables, a lo ancho
+        for (int cartas = 0; cartas < MAXIMO_CARTAS; cartas++) {
+            int[] siguientes = new int[EstadoMano.ESTADOS];
+            int n = 0;
+            for (int estado : pendientes) {
+                for (int rango = 0; rango < CodigoCarta.RANGOS; rango++) {
+                    int otro = EstadoMano.siguienteRango(estado, rango);
+                    if (!visto[otro]) {
+                        visto[otro] = true;
+                        finales[cantidad++] = otro;
+                        siguientes[n++] = otro;
+                    }
+                }
+            }
+            pendientes = Arrays.copyOf(siguientes, n);
+        }
+
+        for (int i = 0; i < cantidad; i++) {
+            int jugador = finales[i];
+            for (int k = 0; k < cantidad; k++) {
+                int crupier = finales[k];
+                int esperado;
+                if (EstadoMano.esBlackjack(jugador)) {
+                    esperado = ReglasPago.BLACKJACK;
+                } else {
+                    int puntosJugador = EstadoMano.sePaso(jugador) ? 22 : EstadoMano.total(jugador);
+                    int puntosCrupier = EstadoMano.sePaso(crupier) ? 22 : EstadoMano.total(crupier);
+                    esperado = ReglasPago.resultado(puntosJugador, puntosCrupier);
+                }
+                assertEquals(esperado, EstadoMano.resultado(jugador, crupier),
+                    "Jugador " + jugador + " contra crupier " + crupier);
+            }
+        }
+    }
+
+    @Test
+    void sinBlackjackConservaElPuntaje() {
+        int estado = EstadoMano.siguienteRango(EstadoMano.siguienteRango(EstadoMano.INICIAL, CodigoCarta.AS), 9);
+        assertTrue(EstadoMano.esBlackjack(estado));
+        int dividida = EstadoMano.sinBlackjack(estado);
+        assertFalse(EstadoMano.esBlackjack(dividida));
+        assertEquals(21, EstadoMano.total(dividida));
+        assertTrue(EstadoMano.esBlanda(dividida));
+    }
+}
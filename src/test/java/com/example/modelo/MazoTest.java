@@ -0,0 +1,84 @@
+package com.example.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class MazoTest {
+
+    /**
+     * Reparte rondas del tamaño indicado y verifica que ninguna carta
+     * aparezca en una ronda más veces de las que hay en el zapato.
+     */
+    private static void verificarRondas(Mazo mazo, int cartasPorRonda, int rondas) {
+        int[] vistas = new int[CodigoCarta.CARTAS_POR_MAZO];
+        for (int r = 0; r < rondas; r++) {
+            Arrays.fill(vistas, 0);
+            mazo.prepararRonda();
+            for (int i = 0; i < cartasPorRonda; i++) {
+                int codigo = mazo.repartirCodigo();
+                assertTrue(++vistas[codigo] <= mazo.getMazos(),
+                    "Carta " + codigo + " repetida en la ronda " + r);
+            }
+        }
+    }
+
+    @Test
+    void rondaQueAgotaElZapatoNoRepiteCartas() {
+        // Siete asientos con un solo mazo: una ronda larga pasa el final del zapato
+        verificarRondas(new Mazo(1, Mazo.PENETRACION_POR_DEFECTO, 7L), 30, 2000);
+    }
+
+    @Test
+    void rondaQueAgotaVariosMazosNoRepiteCartas() {
+        verificarRondas(new Mazo(2, 1.0, 11L), 45, 2000);
+    }
+
+    @Test
+    void barajarDescartesDejaElContadorAlDia() {
+        Mazo mazo = new Mazo(1, 1.0, 3L);
+        ContadorZapato contador = mazo.getContador();
+        mazo.prepararRonda();
+        for (int i = 0; i < 40; i++) {
+            mazo.repartirCodigo();
+        }
+        int barajadas = mazo.getBarajadas();
+        mazo.prepararRonda();
+        for (int i = 0; i < 20; i++) {
+            mazo.repartirCodigo();
+        }
+
+        // La ronda empezó en la carta 40 y repartió 20: las 12 del final y 8 de los descartes
+        assertEquals(barajadas + 1, mazo.getBarajadas());
+        assertEquals(32, mazo.getRestantes());
+        assertEquals(mazo.getRestantes(), contador.getRestantes());
+        int[] composicion = contador.copiarComposicion(new int[CodigoCarta.VALORES_DISTINTOS]);
+        int suma = 0;
+        for (int cantidad : composicion) {
+            suma += cantidad;
+        }
+        assertEquals(32, suma);
+    }
+
+    @Test
+    void sinRondasSeBarajaElZapatoCompleto() {
+        Mazo mazo = new Mazo(1, 1.0, 5L);
+        for (int i = 0; i < 52 * 10; i++) {
+            mazo.repartirCodigo();
+        }
+        assertEquals(10, mazo.getBarajadas());
+    }
+
+    @Test
+    void rondaQueRepartioTodoElZapatoFalla() {
+        Mazo mazo = new Mazo(1, 1.0, 5L);
+        mazo.prepararRonda();
+        for (int i = 0; i < 52; i++) {
+            mazo.repartirCodigo();
+        }
+        assertThrows(IllegalStateException.class, mazo::repartirCodigo);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ReglasMesaTest {
+
+    /** Estado de una mano con los rangos dados (0 es el As, 9 el diez) */
+    private static int mano(int... rangos) {
+        int estado = EstadoMano.INICIAL;
+        for (int rango : rangos) {
+            estado = EstadoMano.siguienteRango(estado, rango);
+        }
+        return estado;
+    }
+
+    @Test
+    void elCrupierClasicoPideComoEstadoMano() {
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            assertEquals(EstadoMano.crupierPide(estado), ReglasMesa.CLASICA.crupierPide(estado), "Estado " + estado);
+        }
+    }
+
+    @Test
+    void conH17SoloCambiaElDiecisieteBlando() {
+        ReglasMesa h17 = ReglasMesa.leer("H17");
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            boolean blando17 = EstadoMano.esBlanda(estado) && EstadoMano.total(estado) == 17;
+            assertEquals(ReglasMesa.CLASICA.crupierPide(estado) || blando17, h17.crupierPide(estado),
+                "Estado " + estado);
+        }
+        assertTrue(h17.crupierPide(mano(0, 5)));
+        assertFalse(h17.crupierPide(mano(9, 6)));
+        assertFalse(ReglasMesa.CLASICA.crupierPide(mano(0, 5)));
+    }
+
+    @Test
+    void doblarSegunLaVariante() {
+        int nueve = mano(4, 3);
+        int diez = mano(5, 3);
+        int once = mano(6, 3);
+        int doce = mano(6, 4);
+        int blando = mano(0, 6);
+        int tresCartas = mano(1, 2, 4);
+
+        ReglasMesa diezOnce = ReglasMesa.leer("doblar=10-11");
+        ReglasMesa nueveOnce = ReglasMesa.leer("doblar=9-11");
+        ReglasMesa todo = ReglasMesa.leer("doblar=todo");
+        for (int estado : new int[] {nueve, diez, once, doce, blando, tresCartas}) {
+            assertFalse(ReglasMesa.CLASICA.sePuedeDoblar(estado));
+        }
+        assertFalse(diezOnce.sePuedeDoblar(nueve));
+        assertTrue(diezOnce.sePuedeDoblar(diez));
+        assertTrue(diezOnce.sePuedeDoblar(once));
+        assertFalse(diezOnce.sePuedeDoblar(doce));
+        assertTrue(nueveOnce.sePuedeDoblar(nueve));
+        assertFalse(nueveOnce.sePuedeDoblar(blando));
+        assertTrue(todo.sePuedeDoblar(doce));
+        assertTrue(todo.sePuedeDoblar(blando));
+        assertFalse(todo.sePuedeDoblar(tresCartas));
+        assertFalse(todo.sePuedeDoblar(mano(0, 9)));
+    }
+
+    @Test
+    void netoYDevolucionSiguenElPago() {
+        for (int resultado = ReglasPago.PIERDE; resultado <= ReglasPago.RENDICION; resultado++) {
+            // Con 3:2 las tablas coinciden con ReglasPago
+            assertEquals(ReglasPago.netoMediasApuestas(resultado) * ReglasMesa.FRACCIONES_POR_UNIDAD / 2,
+                ReglasMesa.CLASICA.neto(resultado));
+            assertEquals(ReglasPago.devolucion(10, resultado), ReglasMesa.CLASICA.devolucion(10, resultado));
+        }
+        assertEquals(24, ReglasMesa.SEIS_A_CINCO.neto(ReglasPago.BLACKJACK));
+        assertEquals(22, ReglasMesa.SEIS_A_CINCO.devolucion(10, ReglasPago.BLACKJACK));
+        assertEquals(28, ReglasMesa.leer("bj=7:5").neto(ReglasPago.BLACKJACK));
+        assertEquals(-10, ReglasMesa.VEGAS.neto(ReglasPago.RENDICION));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"clasica", "vegas", "6a5", "mazos=2,H17,bj=7:5,doblar=9-11,rendicion",
+        "mazos=8,S17,bj=1:1,doblar=10-11,das,dividir=3"})
+    void elTextoVuelveALaMismaVariante(String texto) {
+        ReglasMesa reglas = ReglasMesa.leer(texto);
+        ReglasMesa leida = ReglasMesa.leer(reglas.toString());
+        assertEquals(reglas, leida);
+        assertEquals(reglas.hashCode(), leida.hashCode());
+        assertEquals(reglas.getMazos(), leida.getMazos());
+        assertEquals(reglas.getPagoBlackjack(), leida.getPagoBlackjack());
+        for (int estado = 0; estado < EstadoMano.ESTADOS; estado++) {
+            assertEquals(reglas.crupierPide(estado), leida.crupierPide(estado));
+            assertEquals(reglas.sePuedeDoblar(estado), leida.sePuedeDoblar(estado));
+        }
+    }
+
+    @Test
+    void conMazosCambiaSoloLosMazos() {
+        assertSame(ReglasMesa.VEGAS, ReglasMesa.VEGAS.conMazos(6));
+        ReglasMesa dos = ReglasMesa.VEGAS.conMazos(2);
+        assertEquals(2, dos.getMazos());
+        assertEquals(ReglasMesa.VEGAS.toString().replace("mazos=6", "mazos=2"), dos.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mazos=0", "mazos=9", "bj=3:7", "doblar=8-11", "dividir=0", "seguro", "mazos=x"})
+    void lasOpcionesInvalidasSeRechazan(String texto) {
+        assertThrows(IllegalArgumentException.class, () -> ReglasMesa.leer(texto));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.probabilidad;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.modelo.Crupier;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class CalculadoraEVTest {
+
+    @ParameterizedTest
+    @CsvSource({"1, 0.01", "6, 0.001"})
+    void laComposicionCongeladaNoCambiaLaDecision(int mazos, double tolerancia) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        CalculadoraEV acotada = new CalculadoraEV(new ProbabilidadCrupier(), pool);
+        CalculadoraEV exacta = new CalculadoraEV(new ProbabilidadCrupier(), pool, Integer.MAX_VALUE);
+        Mazo mazo = new Mazo(mazos, Mazo.PENETRACION_POR_DEFECTO, new SplittableRandom(3));
+        JugadorApostador jugador = new JugadorApostador("Bot", 0);
+        Crupier crupier = new Crupier();
+
+        for (int i = 0; i < 300; i++) {
+            mazo.prepararRonda();
+            jugador.limpiarMano();
+            crupier.limpiarMano();
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+            jugador.recibirCodigo(mazo.repartirCodigo());
+            crupier.recibirCodigo(mazo.repartirCodigo());
+
+            CalculadoraEV.Evaluacion esperada = exacta.evaluar(jugador, crupier, mazo);
+            CalculadoraEV.Evaluacion obtenida = acotada.evaluar(jugador, crupier, mazo);
+            assertEquals(esperada.getValorPlantarse(), obtenida.getValorPlantarse(), 1e-12);
+            if (!Double.isNaN(esperada.getValorPedir())) {
+                assertEquals(esperada.getValorPedir(), obtenida.getValorPedir(), tolerancia, "Consulta " + i);
+                assertEquals(esperada.convienePedir(), obtenida.convienePedir(), "Consulta " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.probabilidad;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.modelo.CodigoCarta;
+import org.junit.jupiter.api.Test;
+
+class ProbabilidadCrupierTest {
+
+    /** Zapato de seis mazos sin la carta visible */
+    private static int[] sinVisible(int visible) {
+        int[] composicion = ProbabilidadCrupier.composicionCompleta(6);
+        composicion[visible]--;
+        return composicion;
+    }
+
+    @Test
+    void laMismaComposicionSeRespondeDesdeLaCache() {
+        ProbabilidadCrupier probabilidad = new ProbabilidadCrupier();
+        double[] primera = probabilidad.probabilidades(5, sinVisible(5)).clone();
+        double[] segunda = probabilidad.probabilidades(5, sinVisible(5));
+        assertArrayEquals(primera, segunda);
+        assertEquals(1, probabilidad.getAciertos());
+        assertEquals(1, probabilidad.getFallos());
+
+        // La misma composición con otra carta visible es otra entrada
+        probabilidad.probabilidades(6, sinVisible(5));
+        assertEquals(2, probabilidad.getFallos());
+        assertEquals(2, probabilidad.getTamanoCache());
+    }
+
+    @Test
+    void laCacheNoPasaDeSuCapacidad() {
+        ProbabilidadCrupier probabilidad = new ProbabilidadCrupier(32);
+        for (int sacados = 0; sacados < 60; sacados++) {
+            for (int visible = 0; visible < CodigoCarta.VALORES_DISTINTOS; visible++) {
+                int[] composicion = sinVisible(visible);
+                composicion[CodigoCarta.VALORES_DISTINTOS - 1] -= sacados;
+                probabilidad.probabilidades(visible, composicion);
+            }
+        }
+        assertTrue(probabilidad.getTamanoCache() <= 32);
+        assertEquals(600, probabilidad.getFallos());
+
+        probabilidad.limpiarCache();
+        assertEquals(0, probabilidad.getTamanoCache());
+        assertEquals(0, probabilidad.getFallos());
+    }
+
+    @Test
+    void lasProbabilidadesSumanUno() {
+        ProbabilidadCrupier probabilidad = new ProbabilidadCrupier();
+        for (int visible = 0; visible < CodigoCarta.VALORES_DISTINTOS; visible++) {
+            double suma = 0;
+            for (double p : probabilidad.probabilidades(visible, sinVisible(visible))) {
+                suma += p;
+            }
+            assertEquals(1.0, suma, 1e-12);
+        }
+    }
+}
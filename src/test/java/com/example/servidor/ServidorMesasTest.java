@@ -0,0 +1,141 @@
+package com.example.servidor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ServidorMesasTest {
+
+    private ServidorMesas servidor;
+
+    /** Un cliente del protocolo de líneas que no contesta nada por su cuenta */
+    private final class Cliente implements AutoCloseable {
+        final Socket socket;
+        final BufferedReader entrada;
+        final PrintWriter salida;
+
+        Cliente() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), servidor.getPuerto());
+            socket.setSoTimeout(5000);
+            entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            salida = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        }
+
+        void enviar(String linea) {
+            salida.println(linea);
+        }
+
+        /** Lee líneas hasta una que empiece con el prefijo y la devuelve */
+        String esperar(String prefijo) throws IOException {
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                if (linea.startsWith(prefijo)) {
+                    return linea;
+                }
+            }
+            throw new IOException("Conexión cerrada esperando " + prefijo);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        servidor = new ServidorMesas(1, 2);
+        servidor.setGenerador(GeneradorAleatorio.crear("splitmix", 7));
+        servidor.setTiempoTurno(200);
+        servidor.iniciar(0);
+    }
+
+    @AfterEach
+    void cerrar() throws IOException {
+        servidor.close();
+    }
+
+    @Test
+    void unAsientoQueNoJuegaSePlantaSoloYLaMesaSigue() throws IOException {
+        try (Cliente quieto = new Cliente(); Cliente otro = new Cliente()) {
+            quieto.enviar("MESA quieta");
+            quieto.esperar(Protocolo.SENTADO);
+            otro.enviar("MESA quieta");
+            otro.esperar(Protocolo.SENTADO);
+
+            // Ninguno de los dos juega nunca: cada turno vence solo y la ronda termina igual
+            int vencidos = 0;
+            for (int ronda = 0; ronda < 5; ronda++) {
+                quieto.enviar("APUESTA 10");
+                otro.enviar("APUESTA 10");
+                quieto.esperar(Protocolo.MANO);
+                String linea;
+                while (!(linea = quieto.esperar("")).startsWith(Protocolo.FIN)) {
+                    if (linea.startsWith(Protocolo.TURNO)) {
+                        assertEquals(Protocolo.TIEMPO, quieto.esperar(""));
+                        vencidos++;
+                    }
+                }
+                otro.esperar(Protocolo.FIN);
+            }
+            assertTrue(vencidos > 0);
+        }
+    }
+
+    @Test
+    void laRondaEmpiezaSinQuienNoApuesta() throws IOException {
+        try (Cliente apuesta = new Cliente(); Cliente mira = new Cliente()) {
+            apuesta.enviar("MESA apuestas");
+            apuesta.esperar(Protocolo.SENTADO);
+            mira.enviar("MESA apuestas");
+            mira.esperar(Protocolo.SENTADO);
+
+            apuesta.enviar("APUESTA 10");
+            apuesta.esperar(Protocolo.MANO);
+            apuesta.esperar(Protocolo.FIN);
+
+            // El que no apostó no recibió cartas
+            mira.socket.setSoTimeout(300);
+            boolean recibio = true;
+            try {
+                mira.entrada.readLine();
+            } catch (SocketTimeoutException e) {
+                recibio = false;
+            }
+            assertFalse(recibio);
+        }
+    }
+
+    @Test
+    void quienSeVaConAccionesEnColaNoTrabaLaMesa() throws IOException {
+        try (Cliente mira = new Cliente()) {
+            mira.enviar("MESA traba");
+            mira.esperar(Protocolo.SENTADO);
+
+            // Cada uno deja jugadas en el buzón de la mesa y se levanta antes de que se procesen
+            for (int i = 0; i < 300; i++) {
+                try (Cliente fugaz = new Cliente()) {
+                    fugaz.salida.print("MESA traba\nAPUESTA 10\nPEDIR\nAPUESTA 10\nSALIR\n");
+                    fugaz.salida.flush();
+                }
+            }
+
+            mira.enviar("APUESTA 5");
+            mira.esperar(Protocolo.MANO);
+            mira.esperar(Protocolo.FIN);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.simulacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.aleatorio.GeneradorAleatorio;
+import com.example.aleatorio.GeneradorSplitMix;
+import com.example.estrategia.Estrategia;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.CodigoCarta;
+import com.example.modelo.Crupier;
+import com.example.modelo.EstadoMano;
+import com.example.modelo.JugadorApostador;
+import com.example.modelo.Mazo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SimuladorLoteTest {
+
+    /**
+     * Juega el lote ronda por ronda y cada carril en paralelo con un zapato
+     * de objetos creado con el mismo generador.
+     */
+    private static void verificar(int carriles, int rondas, int mazos, double penetracion, RampaApuestas rampa) {
+        Estrategia estrategia = EstrategiaTabla.basica();
+        SimuladorLote lote = new SimuladorLote(carriles, mazos, penetracion, estrategia, rampa,
+            new GeneradorSplitMix(7));
+        // Los generadores de los carriles salen de la raíz en orden, igual que en el lote
+        GeneradorAleatorio raiz = new GeneradorSplitMix(7);
+        Mazo[] zapatos = new Mazo[carriles];
+        for (int i = 0; i < carriles; i++) {
+            zapatos[i] = new Mazo(mazos, penetracion, raiz.dividir());
+        }
+        JugadorApostador jugador = new JugadorApostador("Bot", 0, estrategia);
+        Crupier crupier = new Crupier();
+
+        for (int r = 0; r < rondas; r++) {
+            lote.jugarRonda();
+            for (int i = 0; i < carriles; i++) {
+                Mazo mazo = zapatos[i];
+                mazo.prepararRonda();
+                int apuesta = rampa == null ? 1 : rampa.apuesta(mazo.getContador().getCuentaRealEntera());
+                jugador.limpiarMano();
+                crupier.limpiarMano();
+                jugador.recibirCodigo(mazo.repartirCodigo());
+                crupier.recibirCodigo(mazo.repartirCodigo());
+                jugador.recibirCodigo(mazo.repartirCodigo());
+                crupier.recibirCodigo(mazo.repartirCodigo());
+                if (!jugador.esBlackjack()) {
+                    jugador.jugarTurno(mazo, CodigoCarta.valor(crupier.getCodigo(1)));
+                    if (!jugador.sePaso()) {
+                        crupier.jugarTurno(mazo);
+                    }
+                }
+
+                String mano = "Carril " + i + ", ronda " + r;
+                assertEquals(jugador.getEstado(), lote.getEstadoJugador(i), mano);
+                if (!jugador.esBlackjack() && !jugador.sePaso()) {
+                    assertEquals(crupier.getEstado(), lote.getEstadoCrupier(i), mano);
+                }
+                assertEquals(EstadoMano.resultado(jugador.getEstado(), crupier.getEstado()), lote.getResultado(i), mano);
+                assertEquals(apuesta, lote.getApuesta(i), mano);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"6, 0.75", "1, 0.75", "2, 0.95", "1, 1.0"})
+    void cadaCarrilJuegaComoElModeloDeObjetos(int mazos, double penetracion) {
+        verificar(64, 400, mazos, penetracion, null);
+    }
+
+    @Test
+    void laRampaApuestaComoElModeloDeObjetos() {
+        verificar(64, 400, 6, Mazo.PENETRACION_POR_DEFECTO, RampaApuestas.UNO_A_OCHO);
+    }
+
+    @Test
+    void jugarAcumulaLasManosDeTodosLosCarriles() {
+        SimuladorLote lote = new SimuladorLote(32, 6, Mazo.PENETRACION_POR_DEFECTO, EstrategiaTabla.basica(), null,
+            new GeneradorSplitMix(5));
+        ResultadoSimulacion total = new ResultadoSimulacion();
+        lote.jugar(100, total);
+        assertEquals(3200, total.manos);
+        assertEquals(total.manos, total.victorias + total.empates + total.derrotas + total.blackjacks);
+        assertEquals(total.manos, total.unidadesApostadas);
+    }
+}
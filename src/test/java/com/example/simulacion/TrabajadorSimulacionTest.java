@@ -0,0 +1,50 @@
+package com.example.simulacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.aleatorio.GeneradorSplitMix;
+import com.example.estrategia.EstrategiaTabla;
+import com.example.modelo.ReglasMesa;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TrabajadorSimulacionTest {
+
+    /** Juega las rondas indicadas con la estrategia básica de la variante */
+    private static ResultadoSimulacion jugar(ReglasMesa reglas, int asientos, double penetracion, long rondas) {
+        TrabajadorSimulacion trabajador = new TrabajadorSimulacion(reglas, asientos, penetracion,
+            EstrategiaTabla.basica(reglas), null, new GeneradorSplitMix(11));
+        ResultadoSimulacion resultado = new ResultadoSimulacion();
+        trabajador.jugar(rondas, resultado);
+        return resultado;
+    }
+
+    /**
+     * Con la carta de corte al final del zapato la última ronda puede
+     * empezar con menos de cuatro cartas, o quedarse sin cartas a mitad de
+     * la mano: el zapato baraja los descartes en lugar de leer fuera del arreglo.
+     */
+    @ParameterizedTest
+    @CsvSource({"1, 0.92", "1, 0.95", "1, 0.99", "1, 1.0", "7, 0.95", "7, 1.0"})
+    void unaPenetracionAltaNoAgotaElZapato(int asientos, double penetracion) {
+        ReglasMesa reglas = ReglasMesa.leer("mazos=1");
+        ResultadoSimulacion resultado = jugar(reglas, asientos, penetracion, 20_000);
+        assertEquals(20_000L * asientos, resultado.getManos());
+    }
+
+    /**
+     * Las divisiones agregan manos liquidadas pero no manos iniciales, y los
+     * porcentajes se toman sobre las liquidadas.
+     */
+    @Test
+    void lasDivisionesCuentanComoManosLiquidadas() {
+        ResultadoSimulacion resultado = jugar(ReglasMesa.VEGAS, 3, 0.75, 50_000);
+        assertEquals(150_000, resultado.getManos());
+        assertTrue(resultado.getManosLiquidadas() > resultado.getManos());
+        double suma = (resultado.getVictorias() + resultado.getEmpates() + resultado.getDerrotas()
+            + resultado.getBlackjacks() + resultado.getRendiciones()) * 100.0 / resultado.getManosLiquidadas();
+        assertEquals(100.0, suma, 1e-9);
+    }
+}